@@ -0,0 +1,96 @@
+package org.arkadipta.projobackend.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.arkadipta.projobackend.enums.ActivityEntityType;
+import org.arkadipta.projobackend.service.ActivityService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/activity")
+@CrossOrigin(origins = { "http://localhost:3000", "http://localhost:5173", "http://localhost:5174",
+        "http://127.0.0.1:5174" })
+@Tag(name = "Activity", description = "Structured activity feed")
+public class ActivityController {
+
+    @Autowired
+    private ActivityService activityService;
+
+    @Operation(summary = "Get activity feed", description = "Newest-first activity, paged by cursor and optionally filtered by project or entity type")
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getFeed(
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(required = false) Long projectId,
+            @RequestParam(required = false) String entityType) {
+        try {
+            ActivityEntityType type = entityType != null ? ActivityEntityType.valueOf(entityType.toUpperCase())
+                    : null;
+            return ResponseEntity.ok(activityService.getFeed(cursor, limit, projectId, type));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @Operation(summary = "Get project activity", description = "Everyone's activity in a project the caller owns or has joined, paged by cursor")
+    @GetMapping("/projects/{projectId}")
+    public ResponseEntity<Map<String, Object>> getProjectStream(@PathVariable Long projectId,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        try {
+            return ResponseEntity.ok(activityService.getProjectStream(projectId, cursor, limit));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @Operation(summary = "Get unread counts", description = "Unread project activity per project, for projects with any")
+    @GetMapping("/projects/unread")
+    public ResponseEntity<Map<Long, Long>> getUnreadCounts() {
+        try {
+            return ResponseEntity.ok(activityService.getUnreadCounts());
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @Operation(summary = "Get project unread count", description = "Entries by other users since the caller last marked the project read")
+    @GetMapping("/projects/{projectId}/unread")
+    public ResponseEntity<Map<String, Object>> getUnreadCount(@PathVariable Long projectId) {
+        try {
+            return ResponseEntity.ok(activityService.getUnreadCount(projectId));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @Operation(summary = "Mark project activity read", description = "Move the caller's read cursor to the newest entry")
+    @PostMapping("/projects/{projectId}/read")
+    public ResponseEntity<Map<String, Object>> markProjectRead(@PathVariable Long projectId) {
+        try {
+            return ResponseEntity.ok(activityService.markProjectRead(projectId));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @Operation(summary = "Get activity history", description = "Activity in a time range; set includeArchive to also read entries past the retention window")
+    @GetMapping("/history")
+    public ResponseEntity<Map<String, Object>> getHistory(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "false") boolean includeArchive,
+            @RequestParam(defaultValue = "200") int limit) {
+        try {
+            return ResponseEntity.ok(activityService.getHistory(from, to, includeArchive, limit));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
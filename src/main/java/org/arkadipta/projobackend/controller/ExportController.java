@@ -0,0 +1,47 @@
+package org.arkadipta.projobackend.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.arkadipta.projobackend.enums.ExportDataset;
+import org.arkadipta.projobackend.enums.ExportFormat;
+import org.arkadipta.projobackend.service.ExportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequestMapping("/api/export")
+@CrossOrigin(origins = { "http://localhost:3000", "http://localhost:5173", "http://localhost:5174",
+        "http://127.0.0.1:5174" })
+@Tag(name = "Export", description = "Streaming CSV and NDJSON exports")
+public class ExportController {
+
+    @Autowired
+    private ExportService exportService;
+
+    @Operation(summary = "Export data", description = "Stream tasks, issues, notes or time-entries as CSV or NDJSON, optionally gzipped")
+    @GetMapping("/{dataset}")
+    public ResponseEntity<StreamingResponseBody> export(
+            @PathVariable String dataset,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        try {
+            ExportDataset exportDataset = ExportDataset.valueOf(dataset.replace('-', '_').toUpperCase());
+            ExportFormat exportFormat = ExportFormat.valueOf(format.toUpperCase());
+
+            MediaType contentType = gzip ? MediaType.parseMediaType("application/gzip")
+                    : exportFormat == ExportFormat.CSV ? MediaType.parseMediaType("text/csv;charset=UTF-8")
+                            : MediaType.parseMediaType("application/x-ndjson;charset=UTF-8");
+            return ResponseEntity.ok()
+                    .contentType(contentType)
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\""
+                            + exportService.fileName(exportDataset, exportFormat, gzip) + "\"")
+                    .body(exportService.export(exportDataset, exportFormat, gzip));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package org.arkadipta.projobackend.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.arkadipta.projobackend.service.ImportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/import")
+@CrossOrigin(origins = { "http://localhost:3000", "http://localhost:5173", "http://localhost:5174",
+        "http://127.0.0.1:5174" })
+@Tag(name = "Import", description = "Bulk CSV import")
+public class ImportController {
+
+    @Autowired
+    private ImportService importService;
+
+    @Operation(summary = "Import tasks", description = "CSV with title, project (id or title), description, status, priority, startDate, dueDate")
+    @PostMapping(value = "/tasks", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<Map<String, Object>> importTasks(@RequestParam("file") MultipartFile file) {
+        try {
+            return ResponseEntity.ok(importService.importTasks(file));
+        } catch (Exception e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+
+    @Operation(summary = "Import issues", description = "CSV with title, project (id or title), description, severity, status")
+    @PostMapping(value = "/issues", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<Map<String, Object>> importIssues(@RequestParam("file") MultipartFile file) {
+        try {
+            return ResponseEntity.ok(importService.importIssues(file));
+        } catch (Exception e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+}
@@ -4,13 +4,21 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.arkadipta.projobackend.dto.request.FilterExpression;
+import org.arkadipta.projobackend.dto.request.IssueFilter;
 import org.arkadipta.projobackend.dto.request.IssueRequest;
+import org.arkadipta.projobackend.dto.request.LabelAssignmentRequest;
 import org.arkadipta.projobackend.dto.response.ApiResponse;
+import org.arkadipta.projobackend.dto.response.IssueCreatedResponse;
+import org.arkadipta.projobackend.dto.response.SimilarIssue;
 import org.arkadipta.projobackend.entity.Issue;
+import org.arkadipta.projobackend.entity.Label;
 import org.arkadipta.projobackend.entity.Task;
 import org.arkadipta.projobackend.enums.IssueStatus;
 import org.arkadipta.projobackend.enums.Severity;
 import org.arkadipta.projobackend.service.IssueService;
+import org.arkadipta.projobackend.service.IssueSimilarityService;
+import org.arkadipta.projobackend.service.LabelService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -33,6 +41,12 @@ public class IssueController {
     @Autowired
     private IssueService issueService;
 
+    @Autowired
+    private LabelService labelService;
+
+    @Autowired
+    private IssueSimilarityService issueSimilarityService;
+
     @Operation(summary = "Get all issues", description = "Retrieve all issues with filtering and pagination")
     @ApiResponses(value = {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Issues retrieved successfully"),
@@ -46,40 +60,71 @@ public class IssueController {
             @RequestParam(defaultValue = "desc") String sortDir,
             @RequestParam(required = false) Long projectId,
             @RequestParam(required = false) IssueStatus status,
-            @RequestParam(required = false) Severity severity) {
+            @RequestParam(required = false) Severity severity,
+            @RequestParam(required = false) String search) {
 
         try {
             Sort sort = sortDir.equalsIgnoreCase("desc") ? Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
 
             Pageable pageable = PageRequest.of(page, size, sort);
-            Page<Issue> issuePage = issueService.getAllIssues(pageable, projectId, status, severity);
+            Page<Issue> issuePage = issueService.getAllIssues(pageable,
+                    new IssueFilter(projectId, status, severity, search));
+
+            List<Map<String, Object>> issueList = issuePage.getContent().stream().map(this::issueListItem).toList();
+            return ResponseEntity.ok(pageResponse(issuePage, issueList));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @Operation(summary = "Filter issues", description = "Retrieve issues matching a boolean filter over status, severity, project and labels, newest first")
+    @PostMapping("/filter")
+    public ResponseEntity<Map<String, Object>> filterIssues(
+            @RequestBody(required = false) FilterExpression filter,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+
+        try {
+            Page<Issue> issuePage = issueService.filterIssues(filter, PageRequest.of(page, size));
+            Map<Long, List<Long>> labelIds = labelService
+                    .getIssueLabelIds(issuePage.getContent().stream().map(Issue::getId).toList());
 
             List<Map<String, Object>> issueList = issuePage.getContent().stream().map(issue -> {
-                Map<String, Object> issueMap = new HashMap<>();
-                issueMap.put("id", issue.getId());
-                issueMap.put("title", issue.getTitle());
-                issueMap.put("description", issue.getDescription());
-                issueMap.put("severity", issue.getSeverity());
-                issueMap.put("status", issue.getStatus());
-                issueMap.put("projectId", issue.getProject().getId());
-                issueMap.put("projectTitle", issue.getProject().getTitle());
-                issueMap.put("createdAt", issue.getCreatedAt());
+                Map<String, Object> issueMap = issueListItem(issue);
+                issueMap.put("labelIds", labelIds.getOrDefault(issue.getId(), List.of()));
                 return issueMap;
             }).toList();
-
-            Map<String, Object> response = new HashMap<>();
-            response.put("content", issueList);
-            response.put("totalElements", issuePage.getTotalElements());
-            response.put("totalPages", issuePage.getTotalPages());
-            response.put("number", issuePage.getNumber());
-            response.put("size", issuePage.getSize());
-
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(pageResponse(issuePage, issueList));
         } catch (Exception e) {
-            return ResponseEntity.badRequest().build();
+            Map<String, Object> response = new HashMap<>();
+            response.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
         }
     }
 
+    private Map<String, Object> issueListItem(Issue issue) {
+        Map<String, Object> issueMap = new HashMap<>();
+        issueMap.put("id", issue.getId());
+        issueMap.put("title", issue.getTitle());
+        issueMap.put("description", issue.getDescription());
+        issueMap.put("severity", issue.getSeverity());
+        issueMap.put("status", issue.getStatus());
+        issueMap.put("projectId", issue.getProject().getId());
+        issueMap.put("projectTitle", issue.getProject().getTitle());
+        issueMap.put("createdAt", issue.getCreatedAt());
+        return issueMap;
+    }
+
+    private Map<String, Object> pageResponse(Page<Issue> issuePage, List<Map<String, Object>> issueList) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("content", issueList);
+        response.put("totalElements", issuePage.getTotalElements());
+        response.put("totalPages", issuePage.getTotalPages());
+        response.put("number", issuePage.getNumber());
+        response.put("size", issuePage.getSize());
+        return response;
+    }
+
     @Operation(summary = "Get issue by ID", description = "Retrieve a specific issue by its ID")
     @GetMapping("/{id}")
     public ResponseEntity<Issue> getIssueById(@PathVariable Long id) {
@@ -91,16 +136,45 @@ public class IssueController {
         }
     }
 
-    @Operation(summary = "Create new issue", description = "Create a new issue in a project")
+    @Operation(summary = "Create new issue", description = "Create a new issue in a project; the response carries the issue and the likely duplicates already in the project")
     @ApiResponses(value = {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Issue created successfully"),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid request data")
     })
     @PostMapping
-    public ResponseEntity<Issue> createIssue(@Valid @RequestBody IssueRequest request) {
+    public ResponseEntity<IssueCreatedResponse> createIssue(@Valid @RequestBody IssueRequest request) {
         try {
+            // Looked up before the insert so the new issue is not its own duplicate
+            List<SimilarIssue> duplicates = issueSimilarityService.findDuplicates(request.getProjectId(),
+                    request.getTitle(), request.getDescription(), 5);
             Issue issue = issueService.createIssue(request);
-            return ResponseEntity.ok(issue);
+            return ResponseEntity.ok(new IssueCreatedResponse(issue, duplicates));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @Operation(summary = "Find possible duplicates", description = "Issues in the project likely to duplicate an issue about to be filed with this title and description")
+    @GetMapping("/similar")
+    public ResponseEntity<List<SimilarIssue>> findDuplicates(
+            @RequestParam Long projectId,
+            @RequestParam String title,
+            @RequestParam(required = false) String description,
+            @RequestParam(defaultValue = "5") int limit) {
+        try {
+            return ResponseEntity.ok(issueSimilarityService.findDuplicates(projectId, title, description, limit));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @Operation(summary = "Get similar issues", description = "Issues in the same project likely to duplicate this one, most similar first")
+    @GetMapping("/{id}/similar")
+    public ResponseEntity<List<SimilarIssue>> getSimilarIssues(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "5") int limit) {
+        try {
+            return ResponseEntity.ok(issueSimilarityService.findSimilar(id, limit));
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
@@ -147,6 +221,18 @@ public class IssueController {
         }
     }
 
+    @Operation(summary = "Set issue labels", description = "Replace the labels of an issue with the given set")
+    @PutMapping("/{id}/labels")
+    public ResponseEntity<ApiResponse<List<Label>>> setIssueLabels(@PathVariable Long id,
+            @Valid @RequestBody LabelAssignmentRequest request) {
+        try {
+            return ResponseEntity.ok(ApiResponse.success("Labels updated", labelService.setIssueLabels(id,
+                    request.getLabelIds())));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<ApiResponse<String>> deleteIssue(@PathVariable Long id) {
         try {
@@ -0,0 +1,69 @@
+package org.arkadipta.projobackend.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.arkadipta.projobackend.dto.request.LabelRequest;
+import org.arkadipta.projobackend.dto.response.ApiResponse;
+import org.arkadipta.projobackend.entity.Label;
+import org.arkadipta.projobackend.service.LabelService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/labels")
+@CrossOrigin(origins = { "http://localhost:3000", "http://localhost:5173", "http://localhost:5174",
+        "http://127.0.0.1:5174" })
+@Tag(name = "Labels", description = "APIs for managing the labels attached to tasks and issues")
+@SecurityRequirement(name = "bearerAuth")
+public class LabelController {
+
+    @Autowired
+    private LabelService labelService;
+
+    @GetMapping
+    @Operation(summary = "Get labels", description = "Retrieve the current user's labels ordered by name")
+    public ResponseEntity<List<Label>> getLabels() {
+        try {
+            return ResponseEntity.ok(labelService.getLabels());
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @PostMapping
+    @Operation(summary = "Create label", description = "Create a label; names are unique per user")
+    public ResponseEntity<ApiResponse<Label>> createLabel(@Valid @RequestBody LabelRequest request) {
+        try {
+            return ResponseEntity.ok(ApiResponse.success("Label created", labelService.createLabel(request)));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @PutMapping("/{id}")
+    @Operation(summary = "Update label", description = "Rename or recolour a label")
+    public ResponseEntity<ApiResponse<Label>> updateLabel(@PathVariable Long id,
+            @Valid @RequestBody LabelRequest request) {
+        try {
+            return ResponseEntity.ok(ApiResponse.success("Label updated", labelService.updateLabel(id, request)));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @DeleteMapping("/{id}")
+    @Operation(summary = "Delete label", description = "Delete a label and detach it from every task and issue")
+    public ResponseEntity<ApiResponse<String>> deleteLabel(@PathVariable Long id) {
+        try {
+            labelService.deleteLabel(id);
+            return ResponseEntity.ok(ApiResponse.success("Label deleted successfully"));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+}
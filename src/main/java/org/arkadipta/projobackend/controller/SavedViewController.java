@@ -0,0 +1,69 @@
+package org.arkadipta.projobackend.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.arkadipta.projobackend.dto.request.SavedViewRequest;
+import org.arkadipta.projobackend.dto.response.ApiResponse;
+import org.arkadipta.projobackend.entity.SavedView;
+import org.arkadipta.projobackend.service.SavedViewService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/views")
+@CrossOrigin(origins = { "http://localhost:3000", "http://localhost:5173", "http://localhost:5174",
+        "http://127.0.0.1:5174" })
+@Tag(name = "Saved Views", description = "APIs for managing saved task views")
+@SecurityRequirement(name = "bearerAuth")
+public class SavedViewController {
+
+    @Autowired
+    private SavedViewService savedViewService;
+
+    @GetMapping
+    @Operation(summary = "Get saved views", description = "Retrieve the current user's saved views ordered by name")
+    public ResponseEntity<List<SavedView>> getViews() {
+        try {
+            return ResponseEntity.ok(savedViewService.getViews());
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @PostMapping
+    @Operation(summary = "Create saved view", description = "Save a task filter under a name; names are unique per user")
+    public ResponseEntity<ApiResponse<SavedView>> createView(@Valid @RequestBody SavedViewRequest request) {
+        try {
+            return ResponseEntity.ok(ApiResponse.success("View created", savedViewService.createView(request)));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @PutMapping("/{id}")
+    @Operation(summary = "Update saved view", description = "Rename a view or change its criteria")
+    public ResponseEntity<ApiResponse<SavedView>> updateView(@PathVariable Long id,
+            @Valid @RequestBody SavedViewRequest request) {
+        try {
+            return ResponseEntity.ok(ApiResponse.success("View updated", savedViewService.updateView(id, request)));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @DeleteMapping("/{id}")
+    @Operation(summary = "Delete saved view", description = "Delete a saved view")
+    public ResponseEntity<ApiResponse<String>> deleteView(@PathVariable Long id) {
+        try {
+            savedViewService.deleteView(id);
+            return ResponseEntity.ok(ApiResponse.success("View deleted successfully"));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package org.arkadipta.projobackend.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.arkadipta.projobackend.dto.response.ApiResponse;
+import org.arkadipta.projobackend.dto.response.SearchHit;
+import org.arkadipta.projobackend.dto.response.TitleSuggestion;
+import org.arkadipta.projobackend.enums.SearchDocumentType;
+import org.arkadipta.projobackend.service.SearchIndexService;
+import org.arkadipta.projobackend.service.TypeaheadService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/search")
+@CrossOrigin(origins = { "http://localhost:3000", "http://localhost:5173", "http://localhost:5174",
+        "http://127.0.0.1:5174" })
+@Tag(name = "Search", description = "Full-text search across tasks, issues, notes and projects")
+@SecurityRequirement(name = "bearerAuth")
+public class SearchController {
+
+    @Autowired
+    private SearchIndexService searchIndexService;
+
+    @Autowired
+    private TypeaheadService typeaheadService;
+
+    @GetMapping
+    @Operation(summary = "Search", description = "Ranked matches for every word of the query, with the matched words highlighted; the last word also matches as a prefix")
+    public ResponseEntity<Map<String, Object>> search(
+            @RequestParam String q,
+            @RequestParam(required = false) Set<SearchDocumentType> types,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+
+        try {
+            Page<SearchHit> hits = searchIndexService.search(q, types, PageRequest.of(page, Math.min(size, 100)));
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("content", hits.getContent());
+            response.put("totalElements", hits.getTotalElements());
+            response.put("totalPages", hits.getTotalPages());
+            response.put("number", hits.getNumber());
+            response.put("size", hits.getSize());
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
+    @GetMapping("/suggest")
+    @Operation(summary = "Suggest titles", description = "Projects and tasks with a title word starting with the prefix, for pickers and typeahead")
+    public ResponseEntity<ApiResponse<List<TitleSuggestion>>> suggest(
+            @RequestParam String q,
+            @RequestParam(required = false) Set<SearchDocumentType> types,
+            @RequestParam(defaultValue = "10") int limit) {
+        try {
+            return ResponseEntity.ok(ApiResponse.success("Suggestions retrieved successfully",
+                    typeaheadService.suggest(q, types, limit)));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @PostMapping("/rebuild")
+    @Operation(summary = "Rebuild search index", description = "Rebuild the current user's search index from the database")
+    public ResponseEntity<ApiResponse<Integer>> rebuild() {
+        try {
+            return ResponseEntity.ok(ApiResponse.success("Search index rebuilt", searchIndexService.rebuild()));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+}
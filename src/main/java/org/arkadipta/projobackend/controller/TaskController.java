@@ -1,12 +1,30 @@
 package org.arkadipta.projobackend.controller;
 
 import jakarta.validation.Valid;
+import org.arkadipta.projobackend.dto.request.BulkTaskRequest;
+import org.arkadipta.projobackend.dto.request.FilterExpression;
+import org.arkadipta.projobackend.dto.request.LabelAssignmentRequest;
+import org.arkadipta.projobackend.dto.request.TaskDependencyRequest;
+import org.arkadipta.projobackend.dto.request.TaskFilter;
 import org.arkadipta.projobackend.dto.request.TaskRequest;
 import org.arkadipta.projobackend.dto.response.ApiResponse;
+import org.arkadipta.projobackend.dto.response.GanttTask;
+import org.arkadipta.projobackend.dto.response.KanbanCard;
+import org.arkadipta.projobackend.dto.response.KanbanColumn;
+import org.arkadipta.projobackend.dto.response.SubtaskNode;
+import org.arkadipta.projobackend.dto.response.TaskRollup;
+import org.arkadipta.projobackend.dto.response.TaskSummary;
+import org.arkadipta.projobackend.entity.Label;
 import org.arkadipta.projobackend.entity.Task;
+import org.arkadipta.projobackend.entity.TaskDependency;
 import org.arkadipta.projobackend.entity.TaskTimeTracking;
 import org.arkadipta.projobackend.enums.Priority;
 import org.arkadipta.projobackend.enums.TaskStatus;
+import org.arkadipta.projobackend.service.TaskDependencyService;
+import org.arkadipta.projobackend.service.LabelService;
+import org.arkadipta.projobackend.service.SavedViewService;
+import org.arkadipta.projobackend.service.TaskHierarchyService;
+import org.arkadipta.projobackend.service.TaskRecurrenceService;
 import org.arkadipta.projobackend.service.TaskService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -22,6 +40,7 @@ import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @RestController
@@ -33,6 +52,21 @@ public class TaskController {
     @Autowired
     private TaskService taskService;
 
+    @Autowired
+    private TaskDependencyService taskDependencyService;
+
+    @Autowired
+    private TaskHierarchyService taskHierarchyService;
+
+    @Autowired
+    private TaskRecurrenceService taskRecurrenceService;
+
+    @Autowired
+    private LabelService labelService;
+
+    @Autowired
+    private SavedViewService savedViewService;
+
     @GetMapping
     public ResponseEntity<Map<String, Object>> getAllTasks(
             @RequestParam(defaultValue = "0") int page,
@@ -41,50 +75,102 @@ public class TaskController {
             @RequestParam(defaultValue = "desc") String sortDir,
             @RequestParam(required = false) Long projectId,
             @RequestParam(required = false) TaskStatus status,
-            @RequestParam(required = false) Priority priority) {
+            @RequestParam(required = false) Priority priority,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueTo,
+            @RequestParam(required = false) String search) {
 
         try {
             Sort sort = sortDir.equalsIgnoreCase("desc") ? Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
 
             Pageable pageable = PageRequest.of(page, size, sort);
-            Page<Task> taskPage = taskService.getAllTasks(pageable, projectId, status, priority);
+            Page<Task> taskPage = taskService.getAllTasks(pageable,
+                    new TaskFilter(projectId, status, priority, dueFrom, dueTo, search));
+
+            List<Map<String, Object>> taskList = taskPage.getContent().stream().map(this::taskListItem).toList();
+            return ResponseEntity.ok(pageResponse(taskPage, taskList));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Tasks matching a boolean filter over status, priority, project and labels, newest first
+     */
+    @PostMapping("/filter")
+    public ResponseEntity<Map<String, Object>> filterTasks(
+            @RequestBody(required = false) FilterExpression filter,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+
+        try {
+            Page<Task> taskPage = taskService.filterTasks(filter, PageRequest.of(page, size));
+            Map<Long, List<Long>> labelIds = labelService
+                    .getTaskLabelIds(taskPage.getContent().stream().map(Task::getId).toList());
 
             List<Map<String, Object>> taskList = taskPage.getContent().stream().map(task -> {
-                Map<String, Object> taskMap = new HashMap<>();
-                taskMap.put("id", task.getId());
-                taskMap.put("title", task.getTitle());
-                taskMap.put("description", task.getDescription());
-                taskMap.put("startDate", task.getStartDate());
-                taskMap.put("dueDate", task.getDueDate());
-                taskMap.put("priority", task.getPriority());
-                taskMap.put("status", task.getStatus());
-                taskMap.put("projectId", task.getProject().getId());
-                taskMap.put("projectTitle", task.getProject().getTitle());
-                taskMap.put("createdAt", task.getCreatedAt());
-                taskMap.put("isTimerRunning", taskService.isTimerRunning(task.getId()));
-                taskMap.put("totalTimeSpent", taskService.getTotalTimeSpent(task.getId()));
+                Map<String, Object> taskMap = taskListItem(task);
+                taskMap.put("labelIds", labelIds.getOrDefault(task.getId(), List.of()));
                 return taskMap;
             }).toList();
+            return ResponseEntity.ok(pageResponse(taskPage, taskList));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(errorResponse(e));
+        }
+    }
 
-            Map<String, Object> response = new HashMap<>();
-            response.put("content", taskList);
-            response.put("totalElements", taskPage.getTotalElements());
-            response.put("totalPages", taskPage.getTotalPages());
-            response.put("number", taskPage.getNumber());
-            response.put("size", taskPage.getSize());
+    /**
+     * One page of a saved view, served from its cached result set
+     */
+    @GetMapping("/views/{viewId}")
+    public ResponseEntity<Map<String, Object>> openSavedView(
+            @PathVariable Long viewId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
 
-            return ResponseEntity.ok(response);
+        try {
+            Page<Task> taskPage = savedViewService.openView(viewId, PageRequest.of(page, size));
+            List<Map<String, Object>> taskList = taskPage.getContent().stream().map(this::taskListItem).toList();
+            return ResponseEntity.ok(pageResponse(taskPage, taskList));
         } catch (Exception e) {
-            return ResponseEntity.badRequest().build();
+            return ResponseEntity.badRequest().body(errorResponse(e));
         }
     }
 
+    private Map<String, Object> taskListItem(Task task) {
+        Map<String, Object> taskMap = new HashMap<>();
+        taskMap.put("id", task.getId());
+        taskMap.put("title", task.getTitle());
+        taskMap.put("description", task.getDescription());
+        taskMap.put("startDate", task.getStartDate());
+        taskMap.put("dueDate", task.getDueDate());
+        taskMap.put("priority", task.getPriority());
+        taskMap.put("status", task.getStatus());
+        taskMap.put("projectId", task.getProject().getId());
+        taskMap.put("projectTitle", task.getProject().getTitle());
+        taskMap.put("parentId", task.getParentId());
+        taskMap.put("createdAt", task.getCreatedAt());
+        taskMap.put("isTimerRunning", taskService.isTimerRunning(task));
+        taskMap.put("totalTimeSpent", task.getTotalTimeSeconds());
+        return taskMap;
+    }
+
+    private Map<String, Object> pageResponse(Page<Task> taskPage, List<Map<String, Object>> taskList) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("content", taskList);
+        response.put("totalElements", taskPage.getTotalElements());
+        response.put("totalPages", taskPage.getTotalPages());
+        response.put("number", taskPage.getNumber());
+        response.put("size", taskPage.getSize());
+        return response;
+    }
+
     @GetMapping("/kanban")
     public ResponseEntity<Map<String, List<Map<String, Object>>>> getTasksForKanban(
             @RequestParam(required = false) Long projectId) {
 
         try {
-            List<Task> tasks = taskService.getTasksForKanban(projectId);
+            List<KanbanCard> tasks = taskService.getTasksForKanban(projectId);
 
             Map<String, List<Map<String, Object>>> kanbanBoard = tasks.stream()
                     .collect(Collectors.groupingBy(
@@ -95,7 +181,7 @@ public class TaskController {
                                 taskMap.put("title", task.getTitle());
                                 taskMap.put("priority", task.getPriority());
                                 taskMap.put("dueDate", task.getDueDate());
-                                taskMap.put("projectTitle", task.getProject().getTitle());
+                                taskMap.put("projectTitle", task.getProjectTitle());
                                 return taskMap;
                             }, Collectors.toList())));
 
@@ -110,12 +196,38 @@ public class TaskController {
         }
     }
 
+    @GetMapping("/kanban/board")
+    public ResponseEntity<Map<TaskStatus, KanbanColumn>> getKanbanBoard(
+            @RequestParam(required = false) Long projectId,
+            @RequestParam(defaultValue = "20") int limit) {
+
+        try {
+            return ResponseEntity.ok(taskService.getKanbanBoard(projectId, limit));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/kanban/columns/{status}")
+    public ResponseEntity<KanbanColumn> getKanbanColumn(
+            @PathVariable TaskStatus status,
+            @RequestParam(required = false) Long projectId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+
+        try {
+            return ResponseEntity.ok(taskService.getKanbanColumn(projectId, status, cursor, limit));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @GetMapping("/gantt")
     public ResponseEntity<List<Map<String, Object>>> getTasksForGantt(
             @RequestParam(required = false) Long projectId) {
 
         try {
-            List<Task> tasks = taskService.getTasksForGantt(projectId);
+            List<GanttTask> tasks = taskService.getTasksForGantt(projectId);
 
             List<Map<String, Object>> ganttTasks = tasks.stream().map(task -> {
                 Map<String, Object> taskMap = new HashMap<>();
@@ -134,9 +246,11 @@ public class TaskController {
                 };
                 taskMap.put("progress", progress);
 
-                taskMap.put("projectId", task.getProject().getId());
-                taskMap.put("projectTitle", task.getProject().getTitle());
+                taskMap.put("projectId", task.getProjectId());
+                taskMap.put("projectTitle", task.getProjectTitle());
                 taskMap.put("priority", task.getPriority());
+                taskMap.put("slackDays", task.getSlackDays());
+                taskMap.put("critical", task.isCritical());
 
                 return taskMap;
             }).toList();
@@ -153,7 +267,7 @@ public class TaskController {
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end) {
 
         try {
-            List<Task> tasks = taskService.getTasksForCalendar(start, end);
+            List<TaskSummary> tasks = taskService.getTasksForCalendar(start, end);
 
             List<Map<String, Object>> calendarEvents = tasks.stream().map(task -> {
                 Map<String, Object> event = new HashMap<>();
@@ -175,12 +289,15 @@ public class TaskController {
                 };
                 event.put("borderColor", borderColor);
 
-                event.put("url", "/tasks/" + task.getId());
+                // Virtual occurrences of a recurring task link to their series until materialized
+                event.put("url", "/tasks/" + (task.getId() != null ? task.getId() : task.getSeriesId()));
 
                 Map<String, Object> extendedProps = new HashMap<>();
                 extendedProps.put("priority", task.getPriority());
                 extendedProps.put("status", task.getStatus());
-                extendedProps.put("projectTitle", task.getProject().getTitle());
+                extendedProps.put("projectTitle", task.getProjectTitle());
+                extendedProps.put("seriesId", task.getSeriesId());
+                extendedProps.put("occurrenceDate", task.getOccurrenceDate());
                 event.put("extendedProps", extendedProps);
 
                 return event;
@@ -223,6 +340,26 @@ public class TaskController {
         }
     }
 
+    // Kanban drag and drop: previousId/nextId are the cards directly above and below the drop point
+    @PatchMapping("/{id}/position")
+    public ResponseEntity<Map<String, Object>> moveTask(@PathVariable Long id,
+            @RequestBody Map<String, String> request) {
+        try {
+            TaskStatus status = request.get("status") != null ? TaskStatus.valueOf(request.get("status")) : null;
+            Long previousId = request.get("previousId") != null ? Long.valueOf(request.get("previousId")) : null;
+            Long nextId = request.get("nextId") != null ? Long.valueOf(request.get("nextId")) : null;
+
+            String rank = taskService.moveTask(id, status, previousId, nextId);
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("id", id);
+            response.put("rank", rank);
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(errorResponse(e));
+        }
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<ApiResponse<String>> deleteTask(@PathVariable Long id) {
         try {
@@ -233,6 +370,202 @@ public class TaskController {
         }
     }
 
+    // Dependency endpoints
+    @PostMapping("/{id}/dependencies")
+    public ResponseEntity<Map<String, Object>> addDependency(@PathVariable Long id,
+            @Valid @RequestBody TaskDependencyRequest request) {
+        try {
+            TaskDependency dependency = taskDependencyService.addDependency(id, request);
+            Map<String, Object> response = dependencyMap(dependency);
+            response.put("success", true);
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(errorResponse(e));
+        }
+    }
+
+    @DeleteMapping("/dependencies/{dependencyId}")
+    public ResponseEntity<ApiResponse<String>> removeDependency(@PathVariable Long dependencyId) {
+        try {
+            taskDependencyService.removeDependency(dependencyId);
+            return ResponseEntity.ok(ApiResponse.success("Dependency removed successfully"));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @GetMapping("/dependencies")
+    public ResponseEntity<List<Map<String, Object>>> getProjectDependencies(@RequestParam Long projectId) {
+        try {
+            List<Map<String, Object>> dependencies = taskDependencyService.getProjectDependencies(projectId)
+                    .stream().map(this::dependencyMap).toList();
+            return ResponseEntity.ok(dependencies);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // Subtask endpoints: a null parentId moves the task to the top level
+    @PatchMapping("/{id}/parent")
+    public ResponseEntity<Map<String, Object>> moveUnderParent(@PathVariable Long id,
+            @RequestBody Map<String, Long> request) {
+        try {
+            Task task = taskHierarchyService.moveTask(id, request.get("parentId"));
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("id", task.getId());
+            response.put("parentId", task.getParentId());
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(errorResponse(e));
+        }
+    }
+
+    @GetMapping("/{id}/subtasks")
+    public ResponseEntity<List<SubtaskNode>> getSubtasks(@PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(taskHierarchyService.getSubtasks(id));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/{id}/rollup")
+    public ResponseEntity<TaskRollup> getRollup(@PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(taskHierarchyService.getRollup(id));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // Replaces the task's labels with the given set
+    @PutMapping("/{id}/labels")
+    public ResponseEntity<Map<String, Object>> setTaskLabels(@PathVariable Long id,
+            @Valid @RequestBody LabelAssignmentRequest request) {
+        try {
+            List<Label> labels = labelService.setTaskLabels(id, request.getLabelIds());
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("labels", labels);
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(errorResponse(e));
+        }
+    }
+
+    // Recurrence endpoints: a blank or missing rule stops the task from repeating
+    @PutMapping("/{id}/recurrence")
+    public ResponseEntity<Map<String, Object>> setRecurrence(@PathVariable Long id,
+            @RequestBody Map<String, String> request) {
+        try {
+            Task task = taskRecurrenceService.setRecurrence(id, request.get("rule"));
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("id", task.getId());
+            response.put("rule", task.getRecurrenceRule());
+            response.put("recurrenceEnd", task.getRecurrenceEnd());
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(errorResponse(e));
+        }
+    }
+
+    // Occurrences are addressed by series id and date until they are materialized
+    @PostMapping("/{id}/occurrences/{date}")
+    public ResponseEntity<Task> materializeOccurrence(@PathVariable Long id,
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        try {
+            return ResponseEntity.ok(taskRecurrenceService.materializeOccurrence(id, date));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @PatchMapping("/{id}/occurrences/{date}/status")
+    public ResponseEntity<Task> updateOccurrenceStatus(@PathVariable Long id,
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestBody Map<String, String> request) {
+        try {
+            TaskStatus status = TaskStatus.valueOf(request.get("status"));
+            return ResponseEntity.ok(taskService.updateOccurrenceStatus(id, date, status));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @PostMapping("/{id}/occurrences/{date}/timer/start")
+    public ResponseEntity<Map<String, Object>> startOccurrenceTimer(@PathVariable Long id,
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        try {
+            Task occurrence = taskService.startOccurrenceTimer(id, date);
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("taskId", occurrence.getId());
+            response.put("startTime", LocalDateTime.now());
+            response.put("message", "Timer started");
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(errorResponse(e));
+        }
+    }
+
+    private Map<String, Object> dependencyMap(TaskDependency dependency) {
+        Map<String, Object> dependencyMap = new HashMap<>();
+        dependencyMap.put("id", dependency.getId());
+        dependencyMap.put("predecessorId", dependency.getPredecessor().getId());
+        dependencyMap.put("successorId", dependency.getSuccessor().getId());
+        dependencyMap.put("type", dependency.getType());
+        dependencyMap.put("lagDays", dependency.getLagDays());
+        return dependencyMap;
+    }
+
+    // Bulk endpoints
+    @PatchMapping("/bulk/status")
+    public ResponseEntity<Map<String, Object>> bulkUpdateStatus(@Valid @RequestBody BulkTaskRequest request) {
+        try {
+            int updated = taskService.bulkUpdateStatus(request.getTaskIds(), request.getStatus());
+            return ResponseEntity.ok(bulkResponse(request, updated));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(errorResponse(e));
+        }
+    }
+
+    @PostMapping("/bulk/move")
+    public ResponseEntity<Map<String, Object>> bulkMoveTasks(@Valid @RequestBody BulkTaskRequest request) {
+        try {
+            int moved = taskService.bulkMoveTasks(request.getTaskIds(), request.getProjectId());
+            return ResponseEntity.ok(bulkResponse(request, moved));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(errorResponse(e));
+        }
+    }
+
+    @PostMapping("/bulk/delete")
+    public ResponseEntity<Map<String, Object>> bulkDeleteTasks(@Valid @RequestBody BulkTaskRequest request) {
+        try {
+            int deleted = taskService.bulkDeleteTasks(request.getTaskIds());
+            return ResponseEntity.ok(bulkResponse(request, deleted));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(errorResponse(e));
+        }
+    }
+
+    private Map<String, Object> bulkResponse(BulkTaskRequest request, int affected) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("requested", request.getTaskIds().size());
+        response.put("updated", affected);
+        return response;
+    }
+
+    private Map<String, Object> errorResponse(Exception e) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", false);
+        response.put("message", e.getMessage());
+        return response;
+    }
+
     // Timer endpoints
     @PostMapping("/{taskId}/timer/start")
     public ResponseEntity<Map<String, Object>> startTimer(@PathVariable Long taskId) {
@@ -271,22 +604,14 @@ public class TaskController {
     @GetMapping("/{taskId}/timer/status")
     public ResponseEntity<Map<String, Object>> getTimerStatus(@PathVariable Long taskId) {
         try {
-            boolean running = taskService.isTimerRunning(taskId);
+            Optional<LocalDateTime> startTime = taskService.getActiveTimerStart(taskId);
             Map<String, Object> response = new HashMap<>();
-            response.put("running", running);
-
-            if (running) {
-                List<TaskTimeTracking> history = taskService.getTimeHistory(taskId);
-                if (!history.isEmpty()) {
-                    TaskTimeTracking activeTimer = history.get(0);
-                    response.put("startTime", activeTimer.getStartTime());
-
-                    long currentDuration = java.time.Duration.between(
-                            activeTimer.getStartTime(),
-                            LocalDateTime.now()).getSeconds();
-                    response.put("currentDuration", currentDuration);
-                }
-            }
+            response.put("running", startTime.isPresent());
+
+            startTime.ifPresent(start -> {
+                response.put("startTime", start);
+                response.put("currentDuration", java.time.Duration.between(start, LocalDateTime.now()).getSeconds());
+            });
 
             return ResponseEntity.ok(response);
         } catch (Exception e) {
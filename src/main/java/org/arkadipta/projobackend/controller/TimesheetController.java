@@ -0,0 +1,62 @@
+package org.arkadipta.projobackend.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.arkadipta.projobackend.enums.TimesheetGrouping;
+import org.arkadipta.projobackend.service.TimesheetService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.StringWriter;
+import java.time.LocalDate;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/timesheet")
+@CrossOrigin(origins = { "http://localhost:3000", "http://localhost:5173", "http://localhost:5174",
+        "http://127.0.0.1:5174" })
+@Tag(name = "Timesheet", description = "Tracked time reports grouped by day, week, project or task")
+public class TimesheetController {
+
+    @Autowired
+    private TimesheetService timesheetService;
+
+    @Operation(summary = "Get timesheet", description = "Seconds tracked in a date range, grouped by day, week, project or task")
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getTimesheet(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "day") String groupBy) {
+        try {
+            TimesheetGrouping grouping = TimesheetGrouping.valueOf(groupBy.toUpperCase());
+            return ResponseEntity.ok(timesheetService.getTimesheet(from, to, grouping));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @Operation(summary = "Export timesheet", description = "Download the grouped timesheet as CSV")
+    @GetMapping("/export")
+    public ResponseEntity<String> exportTimesheet(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "day") String groupBy) {
+        try {
+            TimesheetGrouping grouping = TimesheetGrouping.valueOf(groupBy.toUpperCase());
+            StringWriter csv = new StringWriter();
+            timesheetService.writeTimesheetCsv(from, to, grouping, csv);
+
+            return ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType("text/csv;charset=UTF-8"))
+                    .header(HttpHeaders.CONTENT_DISPOSITION,
+                            "attachment; filename=\"timesheet-" + from + "-" + to + ".csv\"")
+                    .body(csv.toString());
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
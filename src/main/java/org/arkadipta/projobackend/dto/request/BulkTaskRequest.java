@@ -0,0 +1,54 @@
+package org.arkadipta.projobackend.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import org.arkadipta.projobackend.enums.TaskStatus;
+
+import java.util.List;
+
+public class BulkTaskRequest {
+    @NotEmpty(message = "Task IDs are required")
+    @Size(max = 1000, message = "At most 1000 tasks can be changed at once")
+    private List<Long> taskIds;
+
+    // Required for status changes
+    private TaskStatus status;
+
+    // Required for moves
+    private Long projectId;
+
+    // Constructors
+    public BulkTaskRequest() {
+    }
+
+    public BulkTaskRequest(List<Long> taskIds, TaskStatus status, Long projectId) {
+        this.taskIds = taskIds;
+        this.status = status;
+        this.projectId = projectId;
+    }
+
+    // Getters and Setters
+    public List<Long> getTaskIds() {
+        return taskIds;
+    }
+
+    public void setTaskIds(List<Long> taskIds) {
+        this.taskIds = taskIds;
+    }
+
+    public TaskStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(TaskStatus status) {
+        this.status = status;
+    }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(Long projectId) {
+        this.projectId = projectId;
+    }
+}
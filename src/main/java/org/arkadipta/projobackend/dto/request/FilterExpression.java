@@ -0,0 +1,91 @@
+package org.arkadipta.projobackend.dto.request;
+
+import java.util.List;
+
+/**
+ * Boolean filter tree. A node matches when all of its parts match: field is
+ * one of values, every "and" child, at least one "or" child, and not the "not"
+ * child. Example: {"and": [{"field": "status", "values": ["TO_DO"]},
+ * {"or": [{"field": "label", "values": ["12"]}, {"field": "priority", "values": ["HIGH"]}]}]}
+ */
+public class FilterExpression {
+    // status, priority (tasks), severity (issues), project or label
+    private String field;
+
+    // Enum names, or ids for project and label
+    private List<String> values;
+
+    private List<FilterExpression> and;
+
+    private List<FilterExpression> or;
+
+    private FilterExpression not;
+
+    // Constructors
+    public FilterExpression() {
+    }
+
+    public FilterExpression(String field, List<String> values) {
+        this.field = field;
+        this.values = values;
+    }
+
+    public static FilterExpression allOf(FilterExpression... children) {
+        FilterExpression expression = new FilterExpression();
+        expression.setAnd(List.of(children));
+        return expression;
+    }
+
+    public static FilterExpression anyOf(FilterExpression... children) {
+        FilterExpression expression = new FilterExpression();
+        expression.setOr(List.of(children));
+        return expression;
+    }
+
+    public static FilterExpression negate(FilterExpression child) {
+        FilterExpression expression = new FilterExpression();
+        expression.setNot(child);
+        return expression;
+    }
+
+    // Getters and Setters
+    public String getField() {
+        return field;
+    }
+
+    public void setField(String field) {
+        this.field = field;
+    }
+
+    public List<String> getValues() {
+        return values;
+    }
+
+    public void setValues(List<String> values) {
+        this.values = values;
+    }
+
+    public List<FilterExpression> getAnd() {
+        return and;
+    }
+
+    public void setAnd(List<FilterExpression> and) {
+        this.and = and;
+    }
+
+    public List<FilterExpression> getOr() {
+        return or;
+    }
+
+    public void setOr(List<FilterExpression> or) {
+        this.or = or;
+    }
+
+    public FilterExpression getNot() {
+        return not;
+    }
+
+    public void setNot(FilterExpression not) {
+        this.not = not;
+    }
+}
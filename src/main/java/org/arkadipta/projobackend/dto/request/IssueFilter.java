@@ -0,0 +1,62 @@
+package org.arkadipta.projobackend.dto.request;
+
+import org.arkadipta.projobackend.enums.IssueStatus;
+import org.arkadipta.projobackend.enums.Severity;
+
+/**
+ * Optional criteria of the issue list; every criterion that is set must match
+ */
+public class IssueFilter {
+    private Long projectId;
+
+    private IssueStatus status;
+
+    private Severity severity;
+
+    // Case-insensitive match anywhere in the title
+    private String search;
+
+    // Constructors
+    public IssueFilter() {
+    }
+
+    public IssueFilter(Long projectId, IssueStatus status, Severity severity, String search) {
+        this.projectId = projectId;
+        this.status = status;
+        this.severity = severity;
+        this.search = search;
+    }
+
+    // Getters and Setters
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(Long projectId) {
+        this.projectId = projectId;
+    }
+
+    public IssueStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(IssueStatus status) {
+        this.status = status;
+    }
+
+    public Severity getSeverity() {
+        return severity;
+    }
+
+    public void setSeverity(Severity severity) {
+        this.severity = severity;
+    }
+
+    public String getSearch() {
+        return search;
+    }
+
+    public void setSearch(String search) {
+        this.search = search;
+    }
+}
@@ -0,0 +1,30 @@
+package org.arkadipta.projobackend.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class LabelAssignmentRequest {
+    // The complete set of labels; an empty list removes them all
+    @NotNull(message = "Label IDs are required")
+    @Size(max = 50, message = "At most 50 labels can be attached")
+    private List<Long> labelIds;
+
+    // Constructors
+    public LabelAssignmentRequest() {
+    }
+
+    public LabelAssignmentRequest(List<Long> labelIds) {
+        this.labelIds = labelIds;
+    }
+
+    // Getters and Setters
+    public List<Long> getLabelIds() {
+        return labelIds;
+    }
+
+    public void setLabelIds(List<Long> labelIds) {
+        this.labelIds = labelIds;
+    }
+}
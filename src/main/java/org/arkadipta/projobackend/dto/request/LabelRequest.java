@@ -0,0 +1,40 @@
+package org.arkadipta.projobackend.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+
+public class LabelRequest {
+    @NotBlank(message = "Name is required")
+    @Size(max = 50, message = "Name must not exceed 50 characters")
+    private String name;
+
+    @Pattern(regexp = "#[0-9a-fA-F]{6}", message = "Color must be a hex colour such as #d73a4a")
+    private String color;
+
+    // Constructors
+    public LabelRequest() {
+    }
+
+    public LabelRequest(String name, String color) {
+        this.name = name;
+        this.color = color;
+    }
+
+    // Getters and Setters
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getColor() {
+        return color;
+    }
+
+    public void setColor(String color) {
+        this.color = color;
+    }
+}
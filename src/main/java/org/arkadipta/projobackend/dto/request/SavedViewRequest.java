@@ -0,0 +1,135 @@
+package org.arkadipta.projobackend.dto.request;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import org.arkadipta.projobackend.enums.Priority;
+import org.arkadipta.projobackend.enums.TaskStatus;
+
+import java.time.LocalDate;
+
+public class SavedViewRequest {
+    @NotBlank(message = "Name is required")
+    @Size(max = 100, message = "Name must not exceed 100 characters")
+    private String name;
+
+    private Long projectId;
+
+    private TaskStatus status;
+
+    private Priority priority;
+
+    private LocalDate dueFrom;
+
+    private LocalDate dueTo;
+
+    // Tasks due from today through today plus this many days
+    @Min(value = 0, message = "Due window must not be negative")
+    @Max(value = 366, message = "Due window must not exceed 366 days")
+    private Integer dueWithinDays;
+
+    @Size(max = 255, message = "Search must not exceed 255 characters")
+    private String search;
+
+    private String sortBy = "createdAt";
+
+    @Pattern(regexp = "(?i)asc|desc", message = "Sort direction must be asc or desc")
+    private String sortDir = "desc";
+
+    // Constructors
+    public SavedViewRequest() {
+    }
+
+    public SavedViewRequest(String name, Long projectId, TaskStatus status, Priority priority,
+            Integer dueWithinDays, String search) {
+        this.name = name;
+        this.projectId = projectId;
+        this.status = status;
+        this.priority = priority;
+        this.dueWithinDays = dueWithinDays;
+        this.search = search;
+    }
+
+    // Getters and Setters
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(Long projectId) {
+        this.projectId = projectId;
+    }
+
+    public TaskStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(TaskStatus status) {
+        this.status = status;
+    }
+
+    public Priority getPriority() {
+        return priority;
+    }
+
+    public void setPriority(Priority priority) {
+        this.priority = priority;
+    }
+
+    public LocalDate getDueFrom() {
+        return dueFrom;
+    }
+
+    public void setDueFrom(LocalDate dueFrom) {
+        this.dueFrom = dueFrom;
+    }
+
+    public LocalDate getDueTo() {
+        return dueTo;
+    }
+
+    public void setDueTo(LocalDate dueTo) {
+        this.dueTo = dueTo;
+    }
+
+    public Integer getDueWithinDays() {
+        return dueWithinDays;
+    }
+
+    public void setDueWithinDays(Integer dueWithinDays) {
+        this.dueWithinDays = dueWithinDays;
+    }
+
+    public String getSearch() {
+        return search;
+    }
+
+    public void setSearch(String search) {
+        this.search = search;
+    }
+
+    public String getSortBy() {
+        return sortBy;
+    }
+
+    public void setSortBy(String sortBy) {
+        this.sortBy = sortBy;
+    }
+
+    public String getSortDir() {
+        return sortDir;
+    }
+
+    public void setSortDir(String sortDir) {
+        this.sortDir = sortDir;
+    }
+}
@@ -0,0 +1,49 @@
+package org.arkadipta.projobackend.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+import org.arkadipta.projobackend.enums.DependencyType;
+
+public class TaskDependencyRequest {
+    @NotNull(message = "Predecessor task ID is required")
+    private Long predecessorId;
+
+    private DependencyType type = DependencyType.FINISH_TO_START;
+
+    // Days between the linked dates, negative for lead time
+    private Integer lagDays = 0;
+
+    // Constructors
+    public TaskDependencyRequest() {
+    }
+
+    public TaskDependencyRequest(Long predecessorId, DependencyType type, Integer lagDays) {
+        this.predecessorId = predecessorId;
+        this.type = type;
+        this.lagDays = lagDays;
+    }
+
+    // Getters and Setters
+    public Long getPredecessorId() {
+        return predecessorId;
+    }
+
+    public void setPredecessorId(Long predecessorId) {
+        this.predecessorId = predecessorId;
+    }
+
+    public DependencyType getType() {
+        return type;
+    }
+
+    public void setType(DependencyType type) {
+        this.type = type;
+    }
+
+    public Integer getLagDays() {
+        return lagDays;
+    }
+
+    public void setLagDays(Integer lagDays) {
+        this.lagDays = lagDays;
+    }
+}
@@ -0,0 +1,88 @@
+package org.arkadipta.projobackend.dto.request;
+
+import org.arkadipta.projobackend.enums.Priority;
+import org.arkadipta.projobackend.enums.TaskStatus;
+
+import java.time.LocalDate;
+
+/**
+ * Optional criteria of the task list; every criterion that is set must match
+ */
+public class TaskFilter {
+    private Long projectId;
+
+    private TaskStatus status;
+
+    private Priority priority;
+
+    // Inclusive due date range; either end may be open
+    private LocalDate dueFrom;
+
+    private LocalDate dueTo;
+
+    // Case-insensitive match anywhere in the title
+    private String search;
+
+    // Constructors
+    public TaskFilter() {
+    }
+
+    public TaskFilter(Long projectId, TaskStatus status, Priority priority, LocalDate dueFrom, LocalDate dueTo,
+            String search) {
+        this.projectId = projectId;
+        this.status = status;
+        this.priority = priority;
+        this.dueFrom = dueFrom;
+        this.dueTo = dueTo;
+        this.search = search;
+    }
+
+    // Getters and Setters
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(Long projectId) {
+        this.projectId = projectId;
+    }
+
+    public TaskStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(TaskStatus status) {
+        this.status = status;
+    }
+
+    public Priority getPriority() {
+        return priority;
+    }
+
+    public void setPriority(Priority priority) {
+        this.priority = priority;
+    }
+
+    public LocalDate getDueFrom() {
+        return dueFrom;
+    }
+
+    public void setDueFrom(LocalDate dueFrom) {
+        this.dueFrom = dueFrom;
+    }
+
+    public LocalDate getDueTo() {
+        return dueTo;
+    }
+
+    public void setDueTo(LocalDate dueTo) {
+        this.dueTo = dueTo;
+    }
+
+    public String getSearch() {
+        return search;
+    }
+
+    public void setSearch(String search) {
+        this.search = search;
+    }
+}
@@ -28,6 +28,13 @@ public class TaskRequest {
     @NotNull(message = "Project ID is required")
     private Long projectId;
 
+    // Only read on create; existing tasks are re-parented through PATCH /api/tasks/{id}/parent
+    private Long parentId;
+
+    // Only read on create; existing tasks change their rule through PUT /api/tasks/{id}/recurrence
+    @Size(max = 255, message = "Recurrence rule must not exceed 255 characters")
+    private String recurrenceRule;
+
     // Constructors
     public TaskRequest() {
     }
@@ -99,4 +106,20 @@ public class TaskRequest {
     public void setProjectId(Long projectId) {
         this.projectId = projectId;
     }
+
+    public Long getParentId() {
+        return parentId;
+    }
+
+    public void setParentId(Long parentId) {
+        this.parentId = parentId;
+    }
+
+    public String getRecurrenceRule() {
+        return recurrenceRule;
+    }
+
+    public void setRecurrenceRule(String recurrenceRule) {
+        this.recurrenceRule = recurrenceRule;
+    }
 }
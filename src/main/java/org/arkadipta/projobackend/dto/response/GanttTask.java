@@ -0,0 +1,119 @@
+package org.arkadipta.projobackend.dto.response;
+
+import org.arkadipta.projobackend.enums.Priority;
+import org.arkadipta.projobackend.enums.TaskStatus;
+
+import java.time.LocalDate;
+
+public class GanttTask {
+    private Long id;
+    private String title;
+    private LocalDate startDate;
+    private LocalDate dueDate;
+    private TaskStatus status;
+    private Priority priority;
+    private Long projectId;
+    private String projectTitle;
+    // Days the task can slip without delaying the project, null until scheduled
+    private Integer slackDays;
+    private boolean critical;
+
+    // Constructors
+    public GanttTask() {
+    }
+
+    public GanttTask(Long id, String title, LocalDate startDate, LocalDate dueDate, TaskStatus status,
+            Priority priority, Long projectId, String projectTitle, Integer slackDays) {
+        this.id = id;
+        this.title = title;
+        this.startDate = startDate;
+        this.dueDate = dueDate;
+        this.status = status;
+        this.priority = priority;
+        this.projectId = projectId;
+        this.projectTitle = projectTitle;
+        this.slackDays = slackDays;
+        this.critical = slackDays != null && slackDays == 0;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public LocalDate getDueDate() {
+        return dueDate;
+    }
+
+    public void setDueDate(LocalDate dueDate) {
+        this.dueDate = dueDate;
+    }
+
+    public TaskStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(TaskStatus status) {
+        this.status = status;
+    }
+
+    public Priority getPriority() {
+        return priority;
+    }
+
+    public void setPriority(Priority priority) {
+        this.priority = priority;
+    }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(Long projectId) {
+        this.projectId = projectId;
+    }
+
+    public String getProjectTitle() {
+        return projectTitle;
+    }
+
+    public void setProjectTitle(String projectTitle) {
+        this.projectTitle = projectTitle;
+    }
+
+    public Integer getSlackDays() {
+        return slackDays;
+    }
+
+    public void setSlackDays(Integer slackDays) {
+        this.slackDays = slackDays;
+    }
+
+    public boolean isCritical() {
+        return critical;
+    }
+
+    public void setCritical(boolean critical) {
+        this.critical = critical;
+    }
+}
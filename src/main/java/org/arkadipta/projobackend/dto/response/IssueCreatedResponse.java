@@ -0,0 +1,40 @@
+package org.arkadipta.projobackend.dto.response;
+
+import org.arkadipta.projobackend.entity.Issue;
+
+import java.util.List;
+
+/**
+ * A newly filed issue with the issues already in its project that likely
+ * duplicate it
+ */
+public class IssueCreatedResponse {
+    private Issue issue;
+    private List<SimilarIssue> possibleDuplicates;
+
+    // Constructors
+    public IssueCreatedResponse() {
+    }
+
+    public IssueCreatedResponse(Issue issue, List<SimilarIssue> possibleDuplicates) {
+        this.issue = issue;
+        this.possibleDuplicates = possibleDuplicates;
+    }
+
+    // Getters and Setters
+    public Issue getIssue() {
+        return issue;
+    }
+
+    public void setIssue(Issue issue) {
+        this.issue = issue;
+    }
+
+    public List<SimilarIssue> getPossibleDuplicates() {
+        return possibleDuplicates;
+    }
+
+    public void setPossibleDuplicates(List<SimilarIssue> possibleDuplicates) {
+        this.possibleDuplicates = possibleDuplicates;
+    }
+}
@@ -0,0 +1,98 @@
+package org.arkadipta.projobackend.dto.response;
+
+import org.arkadipta.projobackend.enums.Priority;
+import org.arkadipta.projobackend.enums.TaskStatus;
+
+import java.time.LocalDate;
+
+public class KanbanCard {
+    private Long id;
+    private String title;
+    private Priority priority;
+    private LocalDate dueDate;
+    private TaskStatus status;
+    private String rank;
+    private Long projectId;
+    private String projectTitle;
+
+    // Constructors
+    public KanbanCard() {
+    }
+
+    public KanbanCard(Long id, String title, Priority priority, LocalDate dueDate, TaskStatus status,
+            String rank, Long projectId, String projectTitle) {
+        this.id = id;
+        this.title = title;
+        this.priority = priority;
+        this.dueDate = dueDate;
+        this.status = status;
+        this.rank = rank;
+        this.projectId = projectId;
+        this.projectTitle = projectTitle;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public Priority getPriority() {
+        return priority;
+    }
+
+    public void setPriority(Priority priority) {
+        this.priority = priority;
+    }
+
+    public LocalDate getDueDate() {
+        return dueDate;
+    }
+
+    public void setDueDate(LocalDate dueDate) {
+        this.dueDate = dueDate;
+    }
+
+    public TaskStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(TaskStatus status) {
+        this.status = status;
+    }
+
+    public String getRank() {
+        return rank;
+    }
+
+    public void setRank(String rank) {
+        this.rank = rank;
+    }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(Long projectId) {
+        this.projectId = projectId;
+    }
+
+    public String getProjectTitle() {
+        return projectTitle;
+    }
+
+    public void setProjectTitle(String projectTitle) {
+        this.projectTitle = projectTitle;
+    }
+}
@@ -0,0 +1,59 @@
+package org.arkadipta.projobackend.dto.response;
+
+import org.arkadipta.projobackend.enums.TaskStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class KanbanColumn {
+    private TaskStatus status;
+    // Total cards in the column; only filled in on the board view
+    private Long count;
+    private List<KanbanCard> cards = new ArrayList<>();
+    // Pass back to the column endpoint to load the next page, null on the last page
+    private String nextCursor;
+
+    // Constructors
+    public KanbanColumn() {
+    }
+
+    public KanbanColumn(TaskStatus status, Long count, List<KanbanCard> cards, String nextCursor) {
+        this.status = status;
+        this.count = count;
+        this.cards = cards;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters and Setters
+    public TaskStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(TaskStatus status) {
+        this.status = status;
+    }
+
+    public Long getCount() {
+        return count;
+    }
+
+    public void setCount(Long count) {
+        this.count = count;
+    }
+
+    public List<KanbanCard> getCards() {
+        return cards;
+    }
+
+    public void setCards(List<KanbanCard> cards) {
+        this.cards = cards;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -0,0 +1,78 @@
+package org.arkadipta.projobackend.dto.response;
+
+import org.arkadipta.projobackend.enums.SearchDocumentType;
+
+/**
+ * One search result. Title and snippet are HTML-escaped with the matched
+ * words wrapped in mark tags.
+ */
+public class SearchHit {
+    private SearchDocumentType type;
+    private Long id;
+    private Long projectId;
+    private String title;
+    private String snippet;
+    private double score;
+
+    // Constructors
+    public SearchHit() {
+    }
+
+    public SearchHit(SearchDocumentType type, Long id, Long projectId, String title, String snippet, double score) {
+        this.type = type;
+        this.id = id;
+        this.projectId = projectId;
+        this.title = title;
+        this.snippet = snippet;
+        this.score = score;
+    }
+
+    // Getters and Setters
+    public SearchDocumentType getType() {
+        return type;
+    }
+
+    public void setType(SearchDocumentType type) {
+        this.type = type;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(Long projectId) {
+        this.projectId = projectId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getSnippet() {
+        return snippet;
+    }
+
+    public void setSnippet(String snippet) {
+        this.snippet = snippet;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public void setScore(double score) {
+        this.score = score;
+    }
+}
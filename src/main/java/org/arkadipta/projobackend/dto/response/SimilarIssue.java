@@ -0,0 +1,58 @@
+package org.arkadipta.projobackend.dto.response;
+
+import org.arkadipta.projobackend.enums.IssueStatus;
+
+/**
+ * An issue in the same project that is likely a duplicate, with the
+ * estimated share of text the two have in common
+ */
+public class SimilarIssue {
+    private Long id;
+    private String title;
+    private IssueStatus status;
+    private double similarity;
+
+    // Constructors
+    public SimilarIssue() {
+    }
+
+    public SimilarIssue(Long id, String title, IssueStatus status, double similarity) {
+        this.id = id;
+        this.title = title;
+        this.status = status;
+        this.similarity = similarity;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public IssueStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(IssueStatus status) {
+        this.status = status;
+    }
+
+    public double getSimilarity() {
+        return similarity;
+    }
+
+    public void setSimilarity(double similarity) {
+        this.similarity = similarity;
+    }
+}
@@ -0,0 +1,97 @@
+package org.arkadipta.projobackend.dto.response;
+
+import org.arkadipta.projobackend.enums.Priority;
+import org.arkadipta.projobackend.enums.TaskStatus;
+
+import java.time.LocalDate;
+
+public class SubtaskNode {
+    private Long id;
+    private Long parentId;
+    private Integer depth;
+    private String title;
+    private TaskStatus status;
+    private Priority priority;
+    private LocalDate dueDate;
+    private Long trackedSeconds;
+
+    // Constructors
+    public SubtaskNode() {
+    }
+
+    public SubtaskNode(Long id, Long parentId, Integer depth, String title, TaskStatus status, Priority priority, LocalDate dueDate, Long trackedSeconds) {
+        this.id = id;
+        this.parentId = parentId;
+        this.depth = depth;
+        this.title = title;
+        this.status = status;
+        this.priority = priority;
+        this.dueDate = dueDate;
+        this.trackedSeconds = trackedSeconds;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getParentId() {
+        return parentId;
+    }
+
+    public void setParentId(Long parentId) {
+        this.parentId = parentId;
+    }
+
+    public Integer getDepth() {
+        return depth;
+    }
+
+    public void setDepth(Integer depth) {
+        this.depth = depth;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public TaskStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(TaskStatus status) {
+        this.status = status;
+    }
+
+    public Priority getPriority() {
+        return priority;
+    }
+
+    public void setPriority(Priority priority) {
+        this.priority = priority;
+    }
+
+    public LocalDate getDueDate() {
+        return dueDate;
+    }
+
+    public void setDueDate(LocalDate dueDate) {
+        this.dueDate = dueDate;
+    }
+
+    public Long getTrackedSeconds() {
+        return trackedSeconds;
+    }
+
+    public void setTrackedSeconds(Long trackedSeconds) {
+        this.trackedSeconds = trackedSeconds;
+    }
+}
@@ -0,0 +1,62 @@
+package org.arkadipta.projobackend.dto.response;
+
+public class TaskRollup {
+    private Long taskId;
+    private Long totalTasks;
+    private Long completedTasks;
+    private Integer percentComplete;
+    private Long trackedSeconds;
+
+    // Constructors
+    public TaskRollup() {
+    }
+
+    public TaskRollup(Long taskId, Long totalTasks, Long completedTasks, Integer percentComplete, Long trackedSeconds) {
+        this.taskId = taskId;
+        this.totalTasks = totalTasks;
+        this.completedTasks = completedTasks;
+        this.percentComplete = percentComplete;
+        this.trackedSeconds = trackedSeconds;
+    }
+
+    // Getters and Setters
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    public void setTaskId(Long taskId) {
+        this.taskId = taskId;
+    }
+
+    public Long getTotalTasks() {
+        return totalTasks;
+    }
+
+    public void setTotalTasks(Long totalTasks) {
+        this.totalTasks = totalTasks;
+    }
+
+    public Long getCompletedTasks() {
+        return completedTasks;
+    }
+
+    public void setCompletedTasks(Long completedTasks) {
+        this.completedTasks = completedTasks;
+    }
+
+    public Integer getPercentComplete() {
+        return percentComplete;
+    }
+
+    public void setPercentComplete(Integer percentComplete) {
+        this.percentComplete = percentComplete;
+    }
+
+    public Long getTrackedSeconds() {
+        return trackedSeconds;
+    }
+
+    public void setTrackedSeconds(Long trackedSeconds) {
+        this.trackedSeconds = trackedSeconds;
+    }
+}
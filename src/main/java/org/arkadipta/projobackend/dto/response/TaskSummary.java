@@ -0,0 +1,107 @@
+package org.arkadipta.projobackend.dto.response;
+
+import org.arkadipta.projobackend.enums.Priority;
+import org.arkadipta.projobackend.enums.TaskStatus;
+
+import java.time.LocalDate;
+
+public class TaskSummary {
+    private Long id;
+    private String title;
+    private LocalDate dueDate;
+    private Priority priority;
+    private TaskStatus status;
+    private Long projectId;
+    private String projectTitle;
+    // Set on virtual occurrences of a recurring series, which have no id yet
+    private Long seriesId;
+    private LocalDate occurrenceDate;
+
+    // Constructors
+    public TaskSummary() {
+    }
+
+    public TaskSummary(Long id, String title, LocalDate dueDate, Priority priority, TaskStatus status,
+            Long projectId, String projectTitle) {
+        this.id = id;
+        this.title = title;
+        this.dueDate = dueDate;
+        this.priority = priority;
+        this.status = status;
+        this.projectId = projectId;
+        this.projectTitle = projectTitle;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public LocalDate getDueDate() {
+        return dueDate;
+    }
+
+    public void setDueDate(LocalDate dueDate) {
+        this.dueDate = dueDate;
+    }
+
+    public Priority getPriority() {
+        return priority;
+    }
+
+    public void setPriority(Priority priority) {
+        this.priority = priority;
+    }
+
+    public TaskStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(TaskStatus status) {
+        this.status = status;
+    }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(Long projectId) {
+        this.projectId = projectId;
+    }
+
+    public String getProjectTitle() {
+        return projectTitle;
+    }
+
+    public void setProjectTitle(String projectTitle) {
+        this.projectTitle = projectTitle;
+    }
+
+    public Long getSeriesId() {
+        return seriesId;
+    }
+
+    public void setSeriesId(Long seriesId) {
+        this.seriesId = seriesId;
+    }
+
+    public LocalDate getOccurrenceDate() {
+        return occurrenceDate;
+    }
+
+    public void setOccurrenceDate(LocalDate occurrenceDate) {
+        this.occurrenceDate = occurrenceDate;
+    }
+}
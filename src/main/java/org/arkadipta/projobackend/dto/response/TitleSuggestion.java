@@ -0,0 +1,57 @@
+package org.arkadipta.projobackend.dto.response;
+
+import org.arkadipta.projobackend.enums.SearchDocumentType;
+
+/**
+ * A project or task offered by the typeahead, with its title as stored
+ */
+public class TitleSuggestion {
+    private SearchDocumentType type;
+    private Long id;
+    private Long projectId;
+    private String title;
+
+    // Constructors
+    public TitleSuggestion() {
+    }
+
+    public TitleSuggestion(SearchDocumentType type, Long id, Long projectId, String title) {
+        this.type = type;
+        this.id = id;
+        this.projectId = projectId;
+        this.title = title;
+    }
+
+    // Getters and Setters
+    public SearchDocumentType getType() {
+        return type;
+    }
+
+    public void setType(SearchDocumentType type) {
+        this.type = type;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(Long projectId) {
+        this.projectId = projectId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+}
@@ -6,18 +6,29 @@ import jakarta.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import org.hibernate.annotations.CreationTimestamp;
+import org.arkadipta.projobackend.enums.ActivityEntityType;
+import org.arkadipta.projobackend.enums.ActivityVerb;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "activity_logs")
+@Table(name = "activity_logs", indexes = {
+        @Index(name = "idx_activity_logs_user_id", columnList = "user_id, id"),
+        @Index(name = "idx_activity_logs_user_entity", columnList = "user_id, entity_type, id"),
+        @Index(name = "idx_activity_logs_project_id", columnList = "project_id, id"),
+        @Index(name = "idx_activity_logs_user_timestamp", columnList = "user_id, timestamp"),
+        @Index(name = "idx_activity_logs_timestamp", columnList = "timestamp")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class ActivityLog {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "activity_logs_seq")
+    // One id per nextval, so ids follow nextval order across instances; pooled blocks would hand each
+    // instance its own range. Batches from the async writer still commit concurrently, so a row can
+    // become visible after rows with higher ids: id cursors may skip it, see ActivityService.getFeed
+    @SequenceGenerator(name = "activity_logs_seq", sequenceName = "activity_logs_seq", allocationSize = 1)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -29,7 +40,27 @@ public class ActivityLog {
     @Column(nullable = false)
     private String action;
 
-    @CreationTimestamp
+    // Structured fields; rows written before these existed only carry the action text
+    @Enumerated(EnumType.STRING)
+    @Column(length = 32)
+    private ActivityVerb verb;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", length = 16)
+    private ActivityEntityType entityType;
+
+    @Column(name = "entity_id")
+    private Long entityId;
+
+    // Plain column rather than a foreign key so the history survives project deletion
+    @Column(name = "project_id")
+    private Long projectId;
+
+    // JSON object with verb-specific details
+    @Column(columnDefinition = "TEXT")
+    private String payload;
+
+    // When the action happened; the asynchronous writer persists it slightly later
     @Column(nullable = false, updatable = false)
     private LocalDateTime timestamp;
 
@@ -37,4 +68,11 @@ public class ActivityLog {
         this.user = user;
         this.action = action;
     }
+
+    @PrePersist
+    protected void onCreate() {
+        if (timestamp == null) {
+            timestamp = LocalDateTime.now();
+        }
+    }
 }
@@ -0,0 +1,49 @@
+package org.arkadipta.projobackend.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+/**
+ * How far a user has read a project's activity stream. unreadCount is bumped by
+ * the activity writer for entries by other users, so the badge never needs a COUNT(*).
+ */
+@Entity
+@Table(name = "activity_read_cursors", uniqueConstraints = @UniqueConstraint(name = "uq_activity_read_cursors_user_project", columnNames = {
+        "user_id", "project_id" }), indexes = @Index(name = "idx_activity_read_cursors_project", columnList = "project_id"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActivityReadCursor {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @JsonIgnore
+    private User user;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "project_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @JsonIgnore
+    private Project project;
+
+    @Column(name = "last_read_id", nullable = false)
+    private Long lastReadId = 0L;
+
+    @Column(name = "unread_count", nullable = false)
+    private Long unreadCount = 0L;
+
+    public ActivityReadCursor(User user, Project project, Long lastReadId) {
+        this.user = user;
+        this.project = project;
+        this.lastReadId = lastReadId;
+    }
+}
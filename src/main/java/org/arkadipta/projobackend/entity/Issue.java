@@ -14,13 +14,20 @@ import org.hibernate.annotations.CreationTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "issues")
+@Table(name = "issues", indexes = {
+        // Issue list: user_id (or project_id) leads, then the optional filter and sort columns
+        @Index(name = "idx_issues_user_created", columnList = "user_id, created_at"),
+        @Index(name = "idx_issues_user_status_created", columnList = "user_id, status, created_at"),
+        @Index(name = "idx_issues_user_severity_created", columnList = "user_id, severity, created_at"),
+        @Index(name = "idx_issues_user_title", columnList = "user_id, title"),
+        @Index(name = "idx_issues_project_status_created", columnList = "project_id, status, created_at") })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Issue {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "issues_seq")
+    @SequenceGenerator(name = "issues_seq", sequenceName = "issues_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Title is required")
@@ -0,0 +1,41 @@
+package org.arkadipta.projobackend.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.io.Serializable;
+
+/**
+ * A label attached to an issue. Rows go away with either side.
+ */
+@Entity
+@Table(name = "issue_labels", indexes = @Index(name = "idx_issue_labels_label", columnList = "label_id, issue_id"))
+@IdClass(IssueLabel.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IssueLabel {
+    @Id
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "issue_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Issue issue;
+
+    @Id
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "label_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Label label;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long issue;
+        private Long label;
+    }
+}
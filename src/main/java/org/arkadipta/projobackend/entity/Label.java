@@ -0,0 +1,56 @@
+package org.arkadipta.projobackend.entity;
+
+import com.fasterxml.jackson.annotation.JsonBackReference;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDateTime;
+
+/**
+ * A user's label, attached to tasks and issues through task_labels and
+ * issue_labels. Names are unique per user.
+ */
+@Entity
+@Table(name = "labels", uniqueConstraints = @UniqueConstraint(name = "uq_labels_user_name", columnNames = {
+        "user_id", "name" }))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Label {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "labels_seq")
+    @SequenceGenerator(name = "labels_seq", sequenceName = "labels_seq", allocationSize = 50)
+    private Long id;
+
+    @NotBlank(message = "Name is required")
+    @Size(max = 50, message = "Name must not exceed 50 characters")
+    @Column(nullable = false, length = 50)
+    private String name;
+
+    // Hex colour such as #d73a4a, chosen by the client
+    @Column(length = 7)
+    private String color;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @JsonBackReference
+    private User user;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    public Label(String name, String color, User user) {
+        this.name = name;
+        this.color = color;
+        this.user = user;
+    }
+}
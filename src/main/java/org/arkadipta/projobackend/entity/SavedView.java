@@ -0,0 +1,72 @@
+package org.arkadipta.projobackend.entity;
+
+import com.fasterxml.jackson.annotation.JsonBackReference;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.arkadipta.projobackend.enums.Priority;
+import org.arkadipta.projobackend.enums.TaskStatus;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A named task filter the user opens repeatedly. Criteria left null match
+ * everything; dueWithinDays is a window starting today and is re-evaluated
+ * every day, while dueFrom and dueTo are fixed dates.
+ */
+@Entity
+@Table(name = "saved_views", uniqueConstraints = @UniqueConstraint(name = "uq_saved_views_user_name", columnNames = {
+        "user_id", "name" }))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SavedView {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "saved_views_seq")
+    @SequenceGenerator(name = "saved_views_seq", sequenceName = "saved_views_seq", allocationSize = 50)
+    private Long id;
+
+    @NotBlank(message = "Name is required")
+    @Size(max = 100, message = "Name must not exceed 100 characters")
+    @Column(nullable = false, length = 100)
+    private String name;
+
+    private Long projectId;
+
+    @Enumerated(EnumType.STRING)
+    private TaskStatus status;
+
+    @Enumerated(EnumType.STRING)
+    private Priority priority;
+
+    private LocalDate dueFrom;
+
+    private LocalDate dueTo;
+
+    private Integer dueWithinDays;
+
+    private String search;
+
+    @Column(nullable = false, length = 20)
+    private String sortBy = "createdAt";
+
+    @Column(nullable = false)
+    private boolean sortAscending;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @JsonBackReference
+    private User user;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
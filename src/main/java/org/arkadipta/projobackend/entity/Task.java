@@ -1,6 +1,7 @@
 package org.arkadipta.projobackend.entity;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
@@ -9,6 +10,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.arkadipta.projobackend.enums.Priority;
 import org.arkadipta.projobackend.enums.TaskStatus;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.LocalDate;
@@ -17,13 +19,24 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "tasks")
+@Table(name = "tasks", uniqueConstraints = @UniqueConstraint(name = "uq_tasks_series_occurrence", columnNames = {
+        "series_id", "occurrence_date" }), indexes = {
+        @Index(name = "idx_tasks_project_status_rank", columnList = "project_id, status, board_rank"),
+        @Index(name = "idx_tasks_parent", columnList = "parent_id"),
+        // Task list: user_id (or project_id) leads, then the optional filter and sort columns
+        @Index(name = "idx_tasks_user_created", columnList = "user_id, created_at"),
+        @Index(name = "idx_tasks_user_due", columnList = "user_id, due_date"),
+        @Index(name = "idx_tasks_user_status_due", columnList = "user_id, status, due_date"),
+        @Index(name = "idx_tasks_user_priority_due", columnList = "user_id, priority, due_date"),
+        @Index(name = "idx_tasks_user_title", columnList = "user_id, title"),
+        @Index(name = "idx_tasks_project_due", columnList = "project_id, due_date") })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Task {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_seq")
+    @SequenceGenerator(name = "tasks_seq", sequenceName = "tasks_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Title is required")
@@ -72,10 +85,67 @@ public class Task {
     @Column(name = "is_completed", nullable = false)
     private Boolean isCompleted = false;
 
+    // Start of the running timer, claimed and released only by the compare-and-set queries in TaskRepository
+    @Column(name = "timer_started_at", insertable = false, updatable = false)
+    private LocalDateTime timerStartedAt;
+
+    // Sum of closed timer durations in seconds, changed only by the timer queries in TaskRepository
+    @ColumnDefault("0")
+    @Column(name = "total_time_seconds", nullable = false, updatable = false)
+    private Long totalTimeSeconds = 0L;
+
     @CreationTimestamp
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
+    // Bumped by every timer start and stop; written only by the timer queries in TaskRepository
+    @JsonIgnore
+    @ColumnDefault("0")
+    @Column(name = "timer_version", nullable = false, insertable = false, updatable = false)
+    private Long timerVersion;
+
+    // Fractional position within the kanban column, see RankKeys. Set once on insert and afterwards
+    // changed only by the rank queries in TaskRepository, so whole-entity saves never write back a stale rank
+    @Column(name = "board_rank", updatable = false)
+    private String boardRank;
+
+    // Parent in the subtask hierarchy, written only by TaskHierarchyService together with task_closure
+    @Column(name = "parent_id", insertable = false, updatable = false)
+    private Long parentId;
+
+    // A series task carries an RRULE-style rule and its last occurrence (null when open-ended);
+    // its other occurrences stay virtual until TaskRecurrenceService materializes one, which then
+    // points back at the series and keeps the date it was generated for
+    @Column(name = "recurrence_rule")
+    private String recurrenceRule;
+
+    @Column(name = "recurrence_end")
+    private LocalDate recurrenceEnd;
+
+    @Column(name = "series_id")
+    private Long seriesId;
+
+    @Column(name = "occurrence_date")
+    private LocalDate occurrenceDate;
+
+    // Schedule columns are written only by TaskScheduleService: position in the project's
+    // dependency order, earliest start as an epoch day, length in days of the longest chain
+    // starting here, and total slack against the project's finish (0 = critical)
+    @JsonIgnore
+    @Column(name = "topo_order", insertable = false, updatable = false)
+    private Integer topoOrder;
+
+    @JsonIgnore
+    @Column(name = "schedule_es", insertable = false, updatable = false)
+    private Long scheduleEarliestStart;
+
+    @JsonIgnore
+    @Column(name = "schedule_tail", insertable = false, updatable = false)
+    private Integer scheduleTail;
+
+    @Column(name = "slack_days", insertable = false, updatable = false)
+    private Integer slackDays;
+
     @OneToMany(mappedBy = "task", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<TaskTimeTracking> timeTrackings = new ArrayList<>();
 
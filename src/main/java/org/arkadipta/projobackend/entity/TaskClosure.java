@@ -0,0 +1,46 @@
+package org.arkadipta.projobackend.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.io.Serializable;
+
+/**
+ * Closure table of the subtask hierarchy: one row for every ancestor/descendant
+ * pair, including each task paired with itself at depth 0. Rows are maintained
+ * only by TaskHierarchyService with set-based statements.
+ */
+@Entity
+@Table(name = "task_closure", indexes = @Index(name = "idx_task_closure_descendant", columnList = "descendant_id, depth"))
+@IdClass(TaskClosure.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskClosure {
+    @Id
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "ancestor_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Task ancestor;
+
+    @Id
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "descendant_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Task descendant;
+
+    @Column(nullable = false)
+    private Integer depth;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long ancestor;
+        private Long descendant;
+    }
+}
@@ -0,0 +1,62 @@
+package org.arkadipta.projobackend.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.arkadipta.projobackend.enums.DependencyType;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+/**
+ * Edge of a project's task dependency graph: the successor is constrained by the
+ * predecessor according to the type, shifted by lagDays (negative for lead time).
+ * Both tasks always belong to the edge's project.
+ */
+@Entity
+@Table(name = "task_dependencies", uniqueConstraints = @UniqueConstraint(name = "uq_task_dependencies_edge", columnNames = {
+        "predecessor_id", "successor_id" }), indexes = {
+                @Index(name = "idx_task_dependencies_successor", columnList = "successor_id"),
+                @Index(name = "idx_task_dependencies_project", columnList = "project_id") })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskDependency {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "predecessor_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @JsonIgnore
+    private Task predecessor;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "successor_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @JsonIgnore
+    private Task successor;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "project_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @JsonIgnore
+    private Project project;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private DependencyType type = DependencyType.FINISH_TO_START;
+
+    @Column(name = "lag_days", nullable = false)
+    private Integer lagDays = 0;
+
+    public TaskDependency(Task predecessor, Task successor, DependencyType type, Integer lagDays) {
+        this.predecessor = predecessor;
+        this.successor = successor;
+        this.project = successor.getProject();
+        this.type = type;
+        this.lagDays = lagDays;
+    }
+}
@@ -0,0 +1,41 @@
+package org.arkadipta.projobackend.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.io.Serializable;
+
+/**
+ * A label attached to a task. Rows go away with either side.
+ */
+@Entity
+@Table(name = "task_labels", indexes = @Index(name = "idx_task_labels_label", columnList = "label_id, task_id"))
+@IdClass(TaskLabel.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskLabel {
+    @Id
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "task_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Task task;
+
+    @Id
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "label_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Label label;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long task;
+        private Long label;
+    }
+}
@@ -0,0 +1,53 @@
+package org.arkadipta.projobackend.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDate;
+
+/**
+ * Seconds tracked per task per calendar day, maintained as timers stop so
+ * timesheet reports never scan task_time_tracking.
+ */
+@Entity
+@Table(name = "time_tracking_daily", uniqueConstraints = @UniqueConstraint(name = "uq_time_tracking_daily_task_date", columnNames = {
+        "task_id", "work_date" }), indexes = @Index(name = "idx_time_tracking_daily_user_date", columnList = "user_id, work_date"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TimeTrackingDaily {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "time_tracking_daily_seq")
+    @SequenceGenerator(name = "time_tracking_daily_seq", sequenceName = "time_tracking_daily_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "task_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @JsonIgnore
+    private Task task;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @JsonIgnore
+    private User user;
+
+    @Column(name = "work_date", nullable = false)
+    private LocalDate workDate;
+
+    @Column(nullable = false)
+    private Long seconds = 0L;
+
+    public TimeTrackingDaily(Task task, User user, LocalDate workDate, Long seconds) {
+        this.task = task;
+        this.user = user;
+        this.workDate = workDate;
+        this.seconds = seconds;
+    }
+}
@@ -0,0 +1,9 @@
+package org.arkadipta.projobackend.enums;
+
+public enum ActivityEntityType {
+    USER,
+    PROJECT,
+    TASK,
+    ISSUE,
+    NOTE
+}
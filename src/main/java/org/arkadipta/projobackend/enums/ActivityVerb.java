@@ -0,0 +1,20 @@
+package org.arkadipta.projobackend.enums;
+
+public enum ActivityVerb {
+    CREATED,
+    UPDATED,
+    DELETED,
+    STATUS_CHANGED,
+    CONVERTED,
+    IMPORTED,
+    TIMER_STARTED,
+    TIMER_STOPPED,
+    TIMER_AUTO_STOPPED,
+    TIMER_RESET,
+    LOGGED_IN,
+    REGISTERED,
+    EMAIL_VERIFIED,
+    OTP_RESENT,
+    PASSWORD_RESET_REQUESTED,
+    PASSWORD_RESET
+}
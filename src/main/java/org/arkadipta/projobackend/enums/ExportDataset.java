@@ -0,0 +1,5 @@
+package org.arkadipta.projobackend.enums;
+
+public enum ExportDataset {
+    TASKS, ISSUES, NOTES, TIME_ENTRIES
+}
@@ -0,0 +1,5 @@
+package org.arkadipta.projobackend.enums;
+
+public enum SearchDocumentType {
+    TASK, ISSUE, NOTE, PROJECT
+}
@@ -0,0 +1,5 @@
+package org.arkadipta.projobackend.enums;
+
+public enum TimesheetGrouping {
+    DAY, WEEK, PROJECT, TASK
+}
@@ -2,6 +2,7 @@ package org.arkadipta.projobackend.repository;
 
 import org.arkadipta.projobackend.entity.ActivityLog;
 import org.arkadipta.projobackend.entity.User;
+import org.arkadipta.projobackend.enums.ActivityEntityType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -18,7 +19,7 @@ public interface ActivityLogRepository extends JpaRepository<ActivityLog, Long>
 
     List<ActivityLog> findByUserOrderByTimestampDesc(User user);
 
-    @Query("SELECT a FROM ActivityLog a WHERE a.user = :user ORDER BY a.timestamp DESC")
+    @Query("SELECT a FROM ActivityLog a WHERE a.user = :user ORDER BY a.id DESC")
     List<ActivityLog> findRecentActivitiesByUser(@Param("user") User user, Pageable pageable);
 
     @Query("SELECT a FROM ActivityLog a WHERE a.user = :user AND a.timestamp BETWEEN :startDate AND :endDate")
@@ -26,4 +27,37 @@ public interface ActivityLogRepository extends JpaRepository<ActivityLog, Long>
             @Param("startDate") LocalDateTime startDate,
             @Param("endDate") LocalDateTime endDate,
             Pageable pageable);
+
+    @Query("SELECT a FROM ActivityLog a JOIN FETCH a.user WHERE a.user = :user AND a.timestamp >= :from "
+            + "AND a.timestamp < :to ORDER BY a.timestamp DESC, a.id DESC")
+    List<ActivityLog> findHistory(@Param("user") User user, @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to, Pageable pageable);
+
+    // Keyset-paged feed queries; each filter combination seeks one of the (..., id) indexes
+    @Query("SELECT a FROM ActivityLog a JOIN FETCH a.user WHERE a.user = :user AND a.id < :cursor ORDER BY a.id DESC")
+    List<ActivityLog> findFeed(@Param("user") User user, @Param("cursor") Long cursor, Pageable pageable);
+
+    @Query("SELECT a FROM ActivityLog a JOIN FETCH a.user WHERE a.projectId = :projectId AND a.user = :user "
+            + "AND a.id < :cursor ORDER BY a.id DESC")
+    List<ActivityLog> findFeedByProject(@Param("user") User user, @Param("projectId") Long projectId,
+            @Param("cursor") Long cursor, Pageable pageable);
+
+    @Query("SELECT a FROM ActivityLog a JOIN FETCH a.user WHERE a.user = :user AND a.entityType = :entityType "
+            + "AND a.id < :cursor ORDER BY a.id DESC")
+    List<ActivityLog> findFeedByEntityType(@Param("user") User user,
+            @Param("entityType") ActivityEntityType entityType, @Param("cursor") Long cursor, Pageable pageable);
+
+    @Query("SELECT a FROM ActivityLog a JOIN FETCH a.user WHERE a.projectId = :projectId AND a.user = :user "
+            + "AND a.entityType = :entityType AND a.id < :cursor ORDER BY a.id DESC")
+    List<ActivityLog> findFeedByProjectAndEntityType(@Param("user") User user, @Param("projectId") Long projectId,
+            @Param("entityType") ActivityEntityType entityType, @Param("cursor") Long cursor, Pageable pageable);
+
+    // Everyone's activity in a project, read by the owner and accepted members
+    @Query("SELECT a FROM ActivityLog a JOIN FETCH a.user WHERE a.projectId = :projectId AND a.id < :cursor "
+            + "ORDER BY a.id DESC")
+    List<ActivityLog> findProjectStream(@Param("projectId") Long projectId, @Param("cursor") Long cursor,
+            Pageable pageable);
+
+    @Query("SELECT COALESCE(MAX(a.id), 0) FROM ActivityLog a WHERE a.projectId = :projectId")
+    Long findLatestIdByProjectId(@Param("projectId") Long projectId);
 }
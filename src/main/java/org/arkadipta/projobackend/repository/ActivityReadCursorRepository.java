@@ -0,0 +1,26 @@
+package org.arkadipta.projobackend.repository;
+
+import org.arkadipta.projobackend.entity.ActivityReadCursor;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ActivityReadCursorRepository extends JpaRepository<ActivityReadCursor, Long> {
+    Optional<ActivityReadCursor> findByUserIdAndProjectId(Long userId, Long projectId);
+
+    @Query("SELECT c.project.id, c.unreadCount FROM ActivityReadCursor c WHERE c.user.id = :userId AND c.unreadCount > 0")
+    List<Object[]> findUnreadCountsByUserId(@Param("userId") Long userId);
+
+    // Never moves the cursor backwards
+    @Modifying
+    @Query("UPDATE ActivityReadCursor c SET c.lastReadId = CASE WHEN c.lastReadId < :lastReadId THEN :lastReadId "
+            + "ELSE c.lastReadId END, c.unreadCount = 0 WHERE c.user.id = :userId AND c.project.id = :projectId")
+    int markRead(@Param("userId") Long userId, @Param("projectId") Long projectId,
+            @Param("lastReadId") Long lastReadId);
+}
@@ -0,0 +1,26 @@
+package org.arkadipta.projobackend.repository;
+
+import org.arkadipta.projobackend.entity.IssueLabel;
+import org.arkadipta.projobackend.entity.User;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface IssueLabelRepository extends JpaRepository<IssueLabel, IssueLabel.Key> {
+    // (issue id, label id) pairs
+    @Query("SELECT l.issue.id, l.label.id FROM IssueLabel l WHERE l.label.user = :user")
+    List<Object[]> findPairsByUser(@Param("user") User user);
+
+    @Query("SELECT l.issue.id, l.label.id FROM IssueLabel l WHERE l.issue.id IN :issueIds")
+    List<Object[]> findPairsByIssueIdIn(@Param("issueIds") Collection<Long> issueIds);
+
+    @Modifying
+    @Query("DELETE FROM IssueLabel l WHERE l.issue.id = :issueId")
+    int deleteByIssueId(@Param("issueId") Long issueId);
+}
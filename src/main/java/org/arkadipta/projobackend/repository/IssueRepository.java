@@ -8,26 +8,20 @@ import org.arkadipta.projobackend.enums.Severity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface IssueRepository extends JpaRepository<Issue, Long> {
-    Page<Issue> findByUser(User user, Pageable pageable);
-
-    Page<Issue> findByProject(Project project, Pageable pageable);
-
+public interface IssueRepository extends JpaRepository<Issue, Long>, JpaSpecificationExecutor<Issue> {
     Page<Issue> findByUserAndProject(User user, Project project, Pageable pageable);
 
-    Page<Issue> findByUserAndStatus(User user, IssueStatus status, Pageable pageable);
-
-    Page<Issue> findByUserAndSeverity(User user, Severity severity, Pageable pageable);
-
-    Page<Issue> findByProjectAndStatus(Project project, IssueStatus status, Pageable pageable);
-
     List<Issue> findByUser(User user);
 
     List<Issue> findByProject(Project project);
@@ -45,4 +39,28 @@ public interface IssueRepository extends JpaRepository<Issue, Long> {
     long countByUserAndSeverity(User user, Severity severity);
 
     long countByUserAndCreatedAtAfter(User user, LocalDateTime date);
+
+    // Filter index: (id, status, severity, project id) rows and the page fetch for resolved ids
+    @Query("SELECT i.id, i.status, i.severity, i.project.id FROM Issue i WHERE i.user = :user")
+    List<Object[]> findFacetsByUser(@Param("user") User user);
+
+    @Query("SELECT i.id, i.status, i.severity, i.project.id FROM Issue i WHERE i.id IN :ids AND i.user = :user")
+    List<Object[]> findFacetsByIdIn(@Param("ids") Collection<Long> ids, @Param("user") User user);
+
+    @Query("SELECT i FROM Issue i JOIN FETCH i.project WHERE i.id IN :ids")
+    List<Issue> findWithProjectByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Search index: (id, title, description) of the issues to index
+    @Query("SELECT i.id, i.title, i.description FROM Issue i WHERE i.user = :user")
+    List<Object[]> findSearchTextByUser(@Param("user") User user);
+
+    @Query("SELECT i.id, i.title, i.description FROM Issue i WHERE i.id IN :ids AND i.user = :user")
+    List<Object[]> findSearchTextByIdIn(@Param("ids") Collection<Long> ids, @Param("user") User user);
+
+    // Duplicate detection: (id, title, description) of a project's issues and (id, project id, title, description) of changed ones
+    @Query("SELECT i.id, i.title, i.description FROM Issue i WHERE i.project.id = :projectId")
+    List<Object[]> findSimilarityTextByProjectId(@Param("projectId") Long projectId);
+
+    @Query("SELECT i.id, i.project.id, i.title, i.description FROM Issue i WHERE i.id IN :ids AND i.user = :user")
+    List<Object[]> findSimilarityTextByIdIn(@Param("ids") Collection<Long> ids, @Param("user") User user);
 }
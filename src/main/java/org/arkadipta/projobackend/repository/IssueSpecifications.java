@@ -0,0 +1,72 @@
+package org.arkadipta.projobackend.repository;
+
+import jakarta.persistence.criteria.JoinType;
+import org.arkadipta.projobackend.dto.request.IssueFilter;
+import org.arkadipta.projobackend.entity.Issue;
+import org.arkadipta.projobackend.entity.User;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Predicates of the issue list, composed into one statement like
+ * {@link TaskSpecifications}
+ */
+public final class IssueSpecifications {
+
+    // Sortable properties, each backed by an index that starts with user_id
+    private static final Set<String> SORT_FIELDS = Set.of("createdAt", "status", "severity", "title");
+
+    private IssueSpecifications() {
+    }
+
+    /**
+     * Every criterion of the filter that is set, scoped to the user's issues
+     */
+    public static Specification<Issue> matching(User user, IssueFilter filter) {
+        List<Specification<Issue>> specs = new ArrayList<>();
+        specs.add(ownedBy(user));
+        specs.add(withProject());
+        if (filter.getProjectId() != null) {
+            specs.add((root, query, cb) -> cb.equal(root.get("project").get("id"), filter.getProjectId()));
+        }
+        if (filter.getStatus() != null) {
+            specs.add((root, query, cb) -> cb.equal(root.get("status"), filter.getStatus()));
+        }
+        if (filter.getSeverity() != null) {
+            specs.add((root, query, cb) -> cb.equal(root.get("severity"), filter.getSeverity()));
+        }
+        if (filter.getSearch() != null && !filter.getSearch().isBlank()) {
+            String pattern = TaskSpecifications.containsPattern(filter.getSearch());
+            specs.add((root, query, cb) -> cb.like(cb.lower(root.get("title")), pattern, '\\'));
+        }
+        return Specification.allOf(specs);
+    }
+
+    /**
+     * Reject sorting on properties without a supporting index
+     */
+    public static void requireIndexedSort(Sort sort) {
+        for (Sort.Order order : sort) {
+            if (!SORT_FIELDS.contains(order.getProperty())) {
+                throw new RuntimeException("Cannot sort by " + order.getProperty());
+            }
+        }
+    }
+
+    public static Specification<Issue> ownedBy(User user) {
+        return (root, query, cb) -> cb.equal(root.get("user"), user);
+    }
+
+    private static Specification<Issue> withProject() {
+        return (root, query, cb) -> {
+            if (query.getResultType() != Long.class && query.getResultType() != long.class) {
+                root.fetch("project", JoinType.INNER);
+            }
+            return null;
+        };
+    }
+}
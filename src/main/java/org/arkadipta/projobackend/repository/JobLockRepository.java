@@ -0,0 +1,30 @@
+package org.arkadipta.projobackend.repository;
+
+import org.arkadipta.projobackend.entity.JobLock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface JobLockRepository extends JpaRepository<JobLock, String> {
+
+    // Plain insert rather than save(), which would merge over a row another instance just created
+    @Modifying
+    @Query(value = "INSERT INTO job_locks (name, locked_until) VALUES (:name, :lockedUntil)", nativeQuery = true)
+    int insert(@Param("name") String name, @Param("lockedUntil") LocalDateTime lockedUntil);
+
+    // Compare-and-set: only an expired lease can be taken over
+    @Modifying
+    @Query("UPDATE JobLock l SET l.lockedUntil = :lockedUntil, l.lockedBy = :owner "
+            + "WHERE l.name = :name AND l.lockedUntil <= :now")
+    int acquire(@Param("name") String name, @Param("owner") String owner, @Param("now") LocalDateTime now,
+            @Param("lockedUntil") LocalDateTime lockedUntil);
+
+    @Modifying
+    @Query("UPDATE JobLock l SET l.lockedUntil = :now, l.lockedBy = NULL WHERE l.name = :name AND l.lockedBy = :owner")
+    int release(@Param("name") String name, @Param("owner") String owner, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,21 @@
+package org.arkadipta.projobackend.repository;
+
+import org.arkadipta.projobackend.entity.Label;
+import org.arkadipta.projobackend.entity.User;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface LabelRepository extends JpaRepository<Label, Long> {
+    List<Label> findByUserOrderByNameAsc(User user);
+
+    List<Label> findByIdInAndUser(Collection<Long> ids, User user);
+
+    Optional<Label> findByIdAndUser(Long id, User user);
+
+    boolean existsByUserAndNameIgnoreCase(User user, String name);
+}
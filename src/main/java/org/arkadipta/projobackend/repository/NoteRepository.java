@@ -10,6 +10,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -33,6 +34,13 @@ public interface NoteRepository extends JpaRepository<Note, Long> {
                         @Param("search") String search,
                         Pageable pageable);
 
+        // Search index: (id, content) of the notes to index
+        @Query("SELECT n.id, n.content FROM Note n WHERE n.user = :user")
+        List<Object[]> findSearchTextByUser(@Param("user") User user);
+
+        @Query("SELECT n.id, n.content FROM Note n WHERE n.id IN :ids AND n.user = :user")
+        List<Object[]> findSearchTextByIdIn(@Param("ids") Collection<Long> ids, @Param("user") User user);
+
         // Enhanced queries for privacy and collaboration features
         @Query("""
                         SELECT DISTINCT n FROM Note n
@@ -5,10 +5,14 @@ import org.arkadipta.projobackend.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.LockModeType;
+
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -25,5 +29,24 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
             "LOWER(p.description) LIKE LOWER(CONCAT('%', :search, '%')))")
     Page<Project> findByUserAndSearch(@Param("user") User user, @Param("search") String search, Pageable pageable);
 
+    // Search index: (id, title, description) of the projects to index
+    @Query("SELECT p.id, p.title, p.description FROM Project p WHERE p.user = :user")
+    List<Object[]> findSearchTextByUser(@Param("user") User user);
+
+    @Query("SELECT p.id, p.title, p.description FROM Project p WHERE p.id IN :ids AND p.user = :user")
+    List<Object[]> findSearchTextByIdIn(@Param("ids") Collection<Long> ids, @Param("user") User user);
+
+    // Typeahead: (id, title) of the projects to suggest
+    @Query("SELECT p.id, p.title FROM Project p WHERE p.user = :user")
+    List<Object[]> findTitleRowsByUser(@Param("user") User user);
+
+    @Query("SELECT p.id, p.title FROM Project p WHERE p.id IN :ids AND p.user = :user")
+    List<Object[]> findTitleRowsByIdIn(@Param("ids") Collection<Long> ids, @Param("user") User user);
+
     long countByUserId(Long userId);
+
+    // Serializes schedule changes within a project
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Project p WHERE p.id = :id")
+    Optional<Project> lockById(@Param("id") Long id);
 }
@@ -0,0 +1,18 @@
+package org.arkadipta.projobackend.repository;
+
+import org.arkadipta.projobackend.entity.SavedView;
+import org.arkadipta.projobackend.entity.User;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface SavedViewRepository extends JpaRepository<SavedView, Long> {
+    List<SavedView> findByUserOrderByNameAsc(User user);
+
+    Optional<SavedView> findByIdAndUser(Long id, User user);
+
+    boolean existsByUserAndNameIgnoreCase(User user, String name);
+}
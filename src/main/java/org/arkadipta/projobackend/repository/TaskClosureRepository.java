@@ -0,0 +1,113 @@
+package org.arkadipta.projobackend.repository;
+
+import org.arkadipta.projobackend.dto.response.SubtaskNode;
+import org.arkadipta.projobackend.entity.TaskClosure;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface TaskClosureRepository extends JpaRepository<TaskClosure, TaskClosure.Key> {
+    boolean existsByAncestorIdAndDescendantId(Long ancestorId, Long descendantId);
+
+    // A new leaf gets its own row plus one row per path reaching its parent
+    @Modifying
+    @Query(value = """
+            INSERT INTO task_closure (ancestor_id, descendant_id, depth)
+            SELECT c.ancestor_id, t.id, c.depth + 1 FROM task_closure c, tasks t
+            WHERE c.descendant_id = :parentId AND t.id = :taskId
+            UNION ALL SELECT t.id, t.id, 0 FROM tasks t WHERE t.id = :taskId
+            """, nativeQuery = true)
+    int insertLeaf(@Param("taskId") Long taskId, @Param("parentId") Long parentId);
+
+    // Cut every path entering the subtree from above; paths inside the subtree stay
+    @Modifying
+    @Query(value = """
+            DELETE FROM task_closure
+            WHERE descendant_id IN (SELECT descendant_id FROM task_closure WHERE ancestor_id = :taskId)
+              AND ancestor_id IN (SELECT ancestor_id FROM task_closure
+                                  WHERE descendant_id = :taskId AND ancestor_id <> :taskId)
+            """, nativeQuery = true)
+    int detachSubtree(@Param("taskId") Long taskId);
+
+    // Connect every ancestor of the new parent, the parent included, to every node of the subtree
+    @Modifying
+    @Query(value = """
+            INSERT INTO task_closure (ancestor_id, descendant_id, depth)
+            SELECT above.ancestor_id, below.descendant_id, above.depth + below.depth + 1
+            FROM task_closure above CROSS JOIN task_closure below
+            WHERE above.descendant_id = :parentId AND below.ancestor_id = :taskId
+            """, nativeQuery = true)
+    int graftSubtree(@Param("taskId") Long taskId, @Param("parentId") Long parentId);
+
+    // Paths between surviving tasks get one step shorter per spliced-out task they run through
+    @Modifying
+    @Query(value = """
+            UPDATE task_closure c SET depth = c.depth - (
+                SELECT COUNT(*) FROM task_closure up JOIN task_closure down ON down.ancestor_id = up.descendant_id
+                WHERE up.ancestor_id = c.ancestor_id AND down.descendant_id = c.descendant_id
+                  AND up.descendant_id IN (:taskIds) AND up.depth > 0 AND down.depth > 0)
+            WHERE c.ancestor_id NOT IN (:taskIds) AND c.descendant_id NOT IN (:taskIds)
+              AND c.ancestor_id IN (SELECT ancestor_id FROM task_closure
+                                    WHERE descendant_id IN (:taskIds) AND depth > 0)
+              AND c.descendant_id IN (SELECT descendant_id FROM task_closure
+                                      WHERE ancestor_id IN (:taskIds) AND depth > 0)
+            """, nativeQuery = true)
+    int shortenPathsThrough(@Param("taskIds") Collection<Long> taskIds);
+
+    @Modifying
+    @Query(value = """
+            DELETE FROM task_closure
+            WHERE (ancestor_id IN (:taskIds) OR descendant_id IN (:taskIds)) AND ancestor_id <> descendant_id
+            """, nativeQuery = true)
+    int deletePathsOf(@Param("taskIds") Collection<Long> taskIds);
+
+    // Both ends of every path lie in the descendant's project
+    @Modifying
+    @Query(value = """
+            DELETE FROM task_closure
+            WHERE descendant_id IN (SELECT id FROM tasks WHERE project_id = :projectId)
+            """, nativeQuery = true)
+    int deleteByProject(@Param("projectId") Long projectId);
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO task_closure (ancestor_id, descendant_id, depth)
+            SELECT t.id, t.id, 0 FROM tasks t WHERE t.id IN (:taskIds)
+            """, nativeQuery = true)
+    int insertSelfRows(@Param("taskIds") Collection<Long> taskIds);
+
+    // Tasks inserted before the closure table existed get their own row
+    @Modifying
+    @Query(value = """
+            INSERT INTO task_closure (ancestor_id, descendant_id, depth)
+            SELECT t.id, t.id, 0 FROM tasks t
+            WHERE NOT EXISTS (SELECT 1 FROM task_closure c WHERE c.ancestor_id = t.id AND c.descendant_id = t.id)
+            """, nativeQuery = true)
+    int insertMissingSelfRows();
+
+    @Query("""
+            SELECT new org.arkadipta.projobackend.dto.response.SubtaskNode(t.id, t.parentId, c.depth, t.title,
+                    t.status, t.priority, t.dueDate, t.totalTimeSeconds)
+            FROM TaskClosure c JOIN c.descendant t
+            WHERE c.ancestor.id = :taskId AND c.depth > 0
+            ORDER BY c.depth, t.id
+            """)
+    List<SubtaskNode> findSubtree(@Param("taskId") Long taskId);
+
+    // Task count, completed count and tracked seconds over the subtree, root included
+    @Query("""
+            SELECT COUNT(t),
+                   COALESCE(SUM(CASE WHEN t.status IN (org.arkadipta.projobackend.enums.TaskStatus.DONE,
+                           org.arkadipta.projobackend.enums.TaskStatus.COMPLETED) THEN 1 ELSE 0 END), 0),
+                   COALESCE(SUM(t.totalTimeSeconds), 0)
+            FROM TaskClosure c JOIN c.descendant t
+            WHERE c.ancestor.id = :taskId
+            """)
+    List<Object[]> findRollup(@Param("taskId") Long taskId);
+}
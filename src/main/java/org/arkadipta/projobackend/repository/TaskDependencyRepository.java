@@ -0,0 +1,30 @@
+package org.arkadipta.projobackend.repository;
+
+import org.arkadipta.projobackend.entity.TaskDependency;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface TaskDependencyRepository extends JpaRepository<TaskDependency, Long> {
+    boolean existsByPredecessorIdAndSuccessorId(Long predecessorId, Long successorId);
+
+    List<TaskDependency> findByProjectIdOrderById(Long projectId);
+
+    // Whole-project adjacency for the schedule engine: predecessor, successor, type, lag
+    @Query("SELECT d.predecessor.id, d.successor.id, d.type, d.lagDays FROM TaskDependency d WHERE d.project.id = :projectId")
+    List<Object[]> findEdgesByProjectId(@Param("projectId") Long projectId);
+
+    // Edges of the given tasks, for walks that only read the part of the graph a change reaches
+    @Query("SELECT d.predecessor.id, d.successor.id, d.type, d.lagDays FROM TaskDependency d WHERE d.predecessor.id IN :taskIds OR d.successor.id IN :taskIds")
+    List<Object[]> findEdgesTouching(@Param("taskIds") Collection<Long> taskIds);
+
+    @Modifying
+    @Query("DELETE FROM TaskDependency d WHERE d.predecessor.id IN :taskIds OR d.successor.id IN :taskIds")
+    int deleteTouching(@Param("taskIds") Collection<Long> taskIds);
+}
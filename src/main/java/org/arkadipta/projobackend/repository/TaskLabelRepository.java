@@ -0,0 +1,26 @@
+package org.arkadipta.projobackend.repository;
+
+import org.arkadipta.projobackend.entity.TaskLabel;
+import org.arkadipta.projobackend.entity.User;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface TaskLabelRepository extends JpaRepository<TaskLabel, TaskLabel.Key> {
+    // (task id, label id) pairs
+    @Query("SELECT l.task.id, l.label.id FROM TaskLabel l WHERE l.label.user = :user")
+    List<Object[]> findPairsByUser(@Param("user") User user);
+
+    @Query("SELECT l.task.id, l.label.id FROM TaskLabel l WHERE l.task.id IN :taskIds")
+    List<Object[]> findPairsByTaskIdIn(@Param("taskIds") Collection<Long> taskIds);
+
+    @Modifying
+    @Query("DELETE FROM TaskLabel l WHERE l.task.id = :taskId")
+    int deleteByTaskId(@Param("taskId") Long taskId);
+}
@@ -1,36 +1,34 @@
 package org.arkadipta.projobackend.repository;
 
+import org.arkadipta.projobackend.dto.response.GanttTask;
+import org.arkadipta.projobackend.dto.response.KanbanCard;
+import org.arkadipta.projobackend.dto.response.TaskSummary;
 import org.arkadipta.projobackend.entity.Project;
 import org.arkadipta.projobackend.entity.Task;
 import org.arkadipta.projobackend.entity.User;
-import org.arkadipta.projobackend.enums.Priority;
 import org.arkadipta.projobackend.enums.TaskStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.LockModeType;
+
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
-        Page<Task> findByUser(User user, Pageable pageable);
-
-        Page<Task> findByProject(Project project, Pageable pageable);
-
+public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task> {
         Page<Task> findByUserAndProject(User user, Project project, Pageable pageable);
 
-        Page<Task> findByUserAndStatus(User user, TaskStatus status, Pageable pageable);
-
-        Page<Task> findByUserAndPriority(User user, Priority priority, Pageable pageable);
-
-        Page<Task> findByProjectAndStatus(Project project, TaskStatus status, Pageable pageable);
-
         List<Task> findByUser(User user);
 
         List<Task> findByProject(Project project);
@@ -51,6 +49,304 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
                         @Param("today") LocalDate today,
                         @Param("completedStatus") TaskStatus completedStatus);
 
+        // Timer compare-and-set: only one caller can move the column from NULL to set and back.
+        // Both bump timer_version, which orders the states the active timer registry receives.
+        @Modifying
+        @Query(value = """
+                        UPDATE tasks SET timer_started_at = :startTime, timer_version = timer_version + 1
+                        WHERE id = :id AND timer_started_at IS NULL
+                        """, nativeQuery = true)
+        int claimTimer(@Param("id") Long id, @Param("startTime") LocalDateTime startTime);
+
+        @Modifying
+        @Query(value = """
+                        UPDATE tasks SET timer_started_at = NULL, timer_version = timer_version + 1
+                        WHERE id = :id AND timer_started_at IS NOT NULL
+                        """, nativeQuery = true)
+        int releaseTimer(@Param("id") Long id);
+
+        @Modifying
+        @Query("UPDATE Task t SET t.totalTimeSeconds = t.totalTimeSeconds + :seconds WHERE t.id = :id")
+        int addTimeSpent(@Param("id") Long id, @Param("seconds") long seconds);
+
+        @Modifying
+        @Query("UPDATE Task t SET t.totalTimeSeconds = 0 WHERE t.id = :id")
+        int resetTimeSpent(@Param("id") Long id);
+
+        // Auto-close: release timers and credit the capped duration in one statement per batch
+        @Modifying
+        @Query(value = """
+                        UPDATE tasks SET timer_started_at = NULL, timer_version = timer_version + 1,
+                                         total_time_seconds = total_time_seconds + :seconds
+                        WHERE id IN :ids
+                        """, nativeQuery = true)
+        int releaseTimersAndAddTimeSpent(@Param("ids") Collection<Long> ids, @Param("seconds") long seconds);
+
+        // Read-only views select just the columns they render, with the project title joined in
+        @Query("""
+                        SELECT new org.arkadipta.projobackend.dto.response.KanbanCard(t.id, t.title, t.priority,
+                                t.dueDate, t.status, t.boardRank, p.id, p.title)
+                        FROM Task t JOIN t.project p WHERE t.project = :project
+                        ORDER BY t.status, t.boardRank ASC NULLS LAST, t.id
+                        """)
+        List<KanbanCard> findKanbanCardsByProject(@Param("project") Project project);
+
+        @Query("""
+                        SELECT new org.arkadipta.projobackend.dto.response.KanbanCard(t.id, t.title, t.priority,
+                                t.dueDate, t.status, t.boardRank, p.id, p.title)
+                        FROM Task t JOIN t.project p WHERE t.user = :user
+                        ORDER BY t.status, t.boardRank ASC NULLS LAST, t.id
+                        """)
+        List<KanbanCard> findKanbanCardsByUser(@Param("user") User user);
+
+        @Query("""
+                        SELECT new org.arkadipta.projobackend.dto.response.GanttTask(t.id, t.title, t.startDate,
+                                t.dueDate, t.status, t.priority, p.id, p.title, t.slackDays)
+                        FROM Task t JOIN t.project p WHERE t.project = :project
+                        ORDER BY t.startDate ASC NULLS LAST, t.id
+                        """)
+        List<GanttTask> findGanttTasksByProject(@Param("project") Project project);
+
+        @Query("""
+                        SELECT new org.arkadipta.projobackend.dto.response.GanttTask(t.id, t.title, t.startDate,
+                                t.dueDate, t.status, t.priority, p.id, p.title, t.slackDays)
+                        FROM Task t JOIN t.project p WHERE t.user = :user
+                        ORDER BY t.startDate ASC NULLS LAST, t.id
+                        """)
+        List<GanttTask> findGanttTasksByUser(@Param("user") User user);
+
+        @Query("""
+                        SELECT new org.arkadipta.projobackend.dto.response.TaskSummary(t.id, t.title, t.dueDate,
+                                t.priority, t.status, p.id, p.title)
+                        FROM Task t JOIN t.project p
+                        WHERE t.user = :user AND t.dueDate BETWEEN :startDate AND :endDate
+                        ORDER BY t.dueDate, t.id
+                        """)
+        List<TaskSummary> findSummariesDueBetween(@Param("user") User user,
+                        @Param("startDate") LocalDate startDate,
+                        @Param("endDate") LocalDate endDate);
+
+        @Query("""
+                        SELECT new org.arkadipta.projobackend.dto.response.TaskSummary(t.id, t.title, t.dueDate,
+                                t.priority, t.status, p.id, p.title)
+                        FROM Task t JOIN t.project p
+                        WHERE t.user = :user AND t.dueDate BETWEEN :startDate AND :endDate AND t.status <> :excludedStatus
+                        ORDER BY t.dueDate, t.id
+                        """)
+        List<TaskSummary> findSummariesDueBetweenExcludingStatus(@Param("user") User user,
+                        @Param("startDate") LocalDate startDate,
+                        @Param("endDate") LocalDate endDate,
+                        @Param("excludedStatus") TaskStatus excludedStatus);
+
+        // Recurring series that can have occurrences in the window, one row per occurrence already
+        // materialized in it: id, title, dueDate, priority, project id, project title, rule, end, materialized date
+        @Query("""
+                        SELECT s.id, s.title, s.dueDate, s.priority, p.id, p.title, s.recurrenceRule, s.recurrenceEnd,
+                                o.occurrenceDate
+                        FROM Task s JOIN s.project p
+                                LEFT JOIN Task o ON o.seriesId = s.id AND o.occurrenceDate BETWEEN :startDate AND :endDate
+                        WHERE s.user = :user AND s.recurrenceRule IS NOT NULL AND s.dueDate <= :endDate
+                                AND (s.recurrenceEnd IS NULL OR s.recurrenceEnd >= :startDate)
+                        ORDER BY s.id
+                        """)
+        List<Object[]> findSeriesInWindow(@Param("user") User user,
+                        @Param("startDate") LocalDate startDate,
+                        @Param("endDate") LocalDate endDate);
+
+        Optional<Task> findBySeriesIdAndOccurrenceDate(Long seriesId, LocalDate occurrenceDate);
+
+        // Occurrences outlive their series as ordinary tasks
+        @Modifying
+        @Query("UPDATE Task t SET t.seriesId = NULL, t.occurrenceDate = NULL WHERE t.seriesId IN :seriesIds")
+        int detachOccurrences(@Param("seriesIds") Collection<Long> seriesIds);
+
+        @Query("SELECT MAX(t.boardRank) FROM Task t WHERE t.project = :project AND t.status = :status")
+        String findMaxBoardRank(@Param("project") Project project, @Param("status") TaskStatus status);
+
+        @Query("SELECT t.boardRank FROM Task t WHERE t.id = :id AND t.project = :project AND t.status = :status")
+        Optional<String> findBoardRankInColumn(@Param("id") Long id, @Param("project") Project project,
+                        @Param("status") TaskStatus status);
+
+        @Query("SELECT t.id FROM Task t WHERE t.project.id = :projectId AND t.status = :status ORDER BY t.boardRank ASC NULLS LAST, t.createdAt, t.id")
+        List<Long> findIdsInBoardOrder(@Param("projectId") Long projectId, @Param("status") TaskStatus status);
+
+        @Query("SELECT DISTINCT t.project.id, t.status FROM Task t WHERE t.boardRank IS NULL OR LENGTH(t.boardRank) > :maxLength")
+        List<Object[]> findColumnsNeedingRebalance(@Param("maxLength") int maxLength);
+
+        @Modifying
+        @Query("UPDATE Task t SET t.boardRank = :rank WHERE t.id = :id")
+        int updateBoardRank(@Param("id") Long id, @Param("rank") String rank);
+
+        @Modifying
+        @Query("UPDATE Task t SET t.status = :status, t.boardRank = :rank WHERE t.id = :id")
+        int updateBoardPosition(@Param("id") Long id, @Param("status") TaskStatus status, @Param("rank") String rank);
+
+        // Kanban board: per-column counts plus the first cards of every column from one windowed scan
+        @Query("SELECT t.status, COUNT(t) FROM Task t WHERE t.project = :project GROUP BY t.status")
+        List<Object[]> countByStatusForProject(@Param("project") Project project);
+
+        @Query("SELECT t.status, COUNT(t) FROM Task t WHERE t.user = :user GROUP BY t.status")
+        List<Object[]> countByStatusForUser(@Param("user") User user);
+
+        @Query(value = """
+                        SELECT r.id, r.title, r.priority, r.due_date, r.status, r.board_rank, r.project_id, r.project_title
+                        FROM (SELECT t.id, t.title, t.priority, t.due_date, t.status, t.board_rank,
+                                        p.id AS project_id, p.title AS project_title,
+                                        ROW_NUMBER() OVER (PARTITION BY t.status
+                                                ORDER BY t.board_rank ASC NULLS LAST, t.id) AS rn
+                                FROM tasks t JOIN projects p ON p.id = t.project_id
+                                WHERE t.project_id = :projectId) r
+                        WHERE r.rn <= :perColumn
+                        ORDER BY r.status, r.rn
+                        """, nativeQuery = true)
+        List<Object[]> findKanbanHeadsForProject(@Param("projectId") Long projectId, @Param("perColumn") int perColumn);
+
+        @Query(value = """
+                        SELECT r.id, r.title, r.priority, r.due_date, r.status, r.board_rank, r.project_id, r.project_title
+                        FROM (SELECT t.id, t.title, t.priority, t.due_date, t.status, t.board_rank,
+                                        p.id AS project_id, p.title AS project_title,
+                                        ROW_NUMBER() OVER (PARTITION BY t.status
+                                                ORDER BY t.board_rank ASC NULLS LAST, t.id) AS rn
+                                FROM tasks t JOIN projects p ON p.id = t.project_id
+                                WHERE t.user_id = :userId) r
+                        WHERE r.rn <= :perColumn
+                        ORDER BY r.status, r.rn
+                        """, nativeQuery = true)
+        List<Object[]> findKanbanHeadsForUser(@Param("userId") Long userId, @Param("perColumn") int perColumn);
+
+        // Load more: keyset on (rank, id) with unranked cards last. A null rank continues among the
+        // unranked cards; the NULL branch keeps this independent of the column's collation.
+        @Query("""
+                        SELECT new org.arkadipta.projobackend.dto.response.KanbanCard(t.id, t.title, t.priority,
+                                t.dueDate, t.status, t.boardRank, p.id, p.title)
+                        FROM Task t JOIN t.project p
+                        WHERE t.project = :project AND t.status = :status
+                        AND (t.boardRank > :rank OR (t.boardRank = :rank AND t.id > :afterId)
+                                OR (t.boardRank IS NULL AND (:rank IS NOT NULL OR t.id > :afterId)))
+                        ORDER BY t.boardRank ASC NULLS LAST, t.id
+                        """)
+        List<KanbanCard> findKanbanPageForProject(@Param("project") Project project, @Param("status") TaskStatus status,
+                        @Param("rank") String rank, @Param("afterId") Long afterId, Pageable pageable);
+
+        @Query("""
+                        SELECT new org.arkadipta.projobackend.dto.response.KanbanCard(t.id, t.title, t.priority,
+                                t.dueDate, t.status, t.boardRank, p.id, p.title)
+                        FROM Task t JOIN t.project p
+                        WHERE t.user = :user AND t.status = :status
+                        AND (t.boardRank > :rank OR (t.boardRank = :rank AND t.id > :afterId)
+                                OR (t.boardRank IS NULL AND (:rank IS NOT NULL OR t.id > :afterId)))
+                        ORDER BY t.boardRank ASC NULLS LAST, t.id
+                        """)
+        List<KanbanCard> findKanbanPageForUser(@Param("user") User user, @Param("status") TaskStatus status,
+                        @Param("rank") String rank, @Param("afterId") Long afterId, Pageable pageable);
+
+        // Schedule engine: dates and stored schedule of every task in a project, or of the tasks a change reaches
+        @Query("SELECT t.id, t.startDate, t.dueDate, t.topoOrder, t.scheduleEarliestStart, t.scheduleTail FROM Task t WHERE t.project.id = :projectId")
+        List<Object[]> findScheduleRows(@Param("projectId") Long projectId);
+
+        @Query("SELECT t.id, t.startDate, t.dueDate, t.topoOrder, t.scheduleEarliestStart, t.scheduleTail FROM Task t WHERE t.project.id = :projectId AND t.id IN :ids")
+        List<Object[]> findScheduleRowsByIdIn(@Param("projectId") Long projectId, @Param("ids") Collection<Long> ids);
+
+        @Query("SELECT MAX(t.topoOrder) FROM Task t WHERE t.project.id = :projectId")
+        Optional<Integer> findMaxTopoOrder(@Param("projectId") Long projectId);
+
+        // Project and id of tasks never scheduled
+        @Query("SELECT t.project.id, t.id FROM Task t WHERE t.project IS NOT NULL AND (t.scheduleEarliestStart IS NULL OR t.scheduleTail IS NULL)")
+        List<Object[]> findUnscheduledTasks();
+
+        @Query("SELECT DISTINCT t.project.id FROM Task t WHERE t.id IN :ids")
+        List<Long> findProjectIdsByIdIn(@Param("ids") Collection<Long> ids);
+
+        // Subtask hierarchy: parent_id is kept in step with task_closure by TaskHierarchyService
+        @Modifying
+        @Query(value = "UPDATE tasks SET parent_id = :parentId WHERE id = :taskId", nativeQuery = true)
+        int updateParent(@Param("taskId") Long taskId, @Param("parentId") Long parentId);
+
+        @Modifying
+        @Query(value = "UPDATE tasks SET parent_id = NULL WHERE id = :taskId", nativeQuery = true)
+        int clearParent(@Param("taskId") Long taskId);
+
+        @Modifying
+        @Query(value = "UPDATE tasks SET parent_id = NULL WHERE id IN (:taskIds)", nativeQuery = true)
+        int clearParents(@Param("taskIds") Collection<Long> taskIds);
+
+        @Modifying
+        @Query(value = "UPDATE tasks SET parent_id = NULL WHERE project_id = :projectId AND parent_id IS NOT NULL",
+                        nativeQuery = true)
+        int clearParentsInProject(@Param("projectId") Long projectId);
+
+        // Run once task_closure no longer holds the removed tasks: the new parent is the depth-1 ancestor
+        @Modifying
+        @Query(value = """
+                        UPDATE tasks SET parent_id = (SELECT c.ancestor_id FROM task_closure c
+                                                      WHERE c.descendant_id = tasks.id AND c.depth = 1)
+                        WHERE parent_id IN (:taskIds) AND id NOT IN (:taskIds)
+                        """, nativeQuery = true)
+        int promoteChildren(@Param("taskIds") Collection<Long> taskIds);
+
+        // Filter index: (id, status, priority, project id) rows and the page fetch for resolved ids
+        @Query("SELECT t.id, t.status, t.priority, t.project.id FROM Task t WHERE t.user = :user")
+        List<Object[]> findFacetsByUser(@Param("user") User user);
+
+        @Query("SELECT t.id, t.status, t.priority, t.project.id FROM Task t WHERE t.id IN :ids AND t.user = :user")
+        List<Object[]> findFacetsByIdIn(@Param("ids") Collection<Long> ids, @Param("user") User user);
+
+        @Query("SELECT t FROM Task t JOIN FETCH t.project WHERE t.id IN :ids")
+        List<Task> findWithProjectByIdIn(@Param("ids") Collection<Long> ids);
+
+        // Saved views: (id, status, priority, project id, due date, title, created at) rows evaluated in memory
+        @Query("SELECT t.id, t.status, t.priority, t.project.id, t.dueDate, t.title, t.createdAt FROM Task t WHERE t.user = :user")
+        List<Object[]> findViewRowsByUser(@Param("user") User user);
+
+        @Query("SELECT t.id, t.status, t.priority, t.project.id, t.dueDate, t.title, t.createdAt FROM Task t WHERE t.id IN :ids AND t.user = :user")
+        List<Object[]> findViewRowsByIdIn(@Param("ids") Collection<Long> ids, @Param("user") User user);
+
+        // Search index: (id, title, description) of the tasks to index
+        @Query("SELECT t.id, t.title, t.description FROM Task t WHERE t.user = :user")
+        List<Object[]> findSearchTextByUser(@Param("user") User user);
+
+        @Query("SELECT t.id, t.title, t.description FROM Task t WHERE t.id IN :ids AND t.user = :user")
+        List<Object[]> findSearchTextByIdIn(@Param("ids") Collection<Long> ids, @Param("user") User user);
+
+        // Typeahead: (id, title, project id) of the tasks to suggest
+        @Query("SELECT t.id, t.title, p.id FROM Task t LEFT JOIN t.project p WHERE t.user = :user")
+        List<Object[]> findTitleRowsByUser(@Param("user") User user);
+
+        @Query("SELECT t.id, t.title, p.id FROM Task t LEFT JOIN t.project p WHERE t.id IN :ids AND t.user = :user")
+        List<Object[]> findTitleRowsByIdIn(@Param("ids") Collection<Long> ids, @Param("user") User user);
+
+        // Bulk mutations: every statement is scoped to the owner so foreign ids are silently skipped
+        @Query("SELECT t.id FROM Task t WHERE t.id IN :ids AND t.user = :user")
+        List<Long> findOwnedIds(@Param("ids") Collection<Long> ids, @Param("user") User user);
+
+        @Modifying
+        @Query("UPDATE Task t SET t.status = :status WHERE t.id IN :ids AND t.user = :user")
+        int bulkUpdateStatus(@Param("ids") Collection<Long> ids, @Param("user") User user,
+                        @Param("status") TaskStatus status);
+
+        @Modifying
+        @Query("UPDATE Task t SET t.project = :project WHERE t.id IN :ids AND t.user = :user")
+        int bulkMove(@Param("ids") Collection<Long> ids, @Param("user") User user,
+                        @Param("project") Project project);
+
+        @Modifying
+        @Query("DELETE FROM Task t WHERE t.id IN :ids AND t.user = :user")
+        int bulkDelete(@Param("ids") Collection<Long> ids, @Param("user") User user);
+
+        @Lock(LockModeType.PESSIMISTIC_WRITE)
+        @Query("SELECT t FROM Task t WHERE t.id IN :ids")
+        List<Task> lockByIdIn(@Param("ids") Collection<Long> ids);
+
+        // Recompute the denormalized totals from the tracking rows, touching only rows that drifted
+        @Modifying
+        @Query(value = """
+                        UPDATE tasks SET total_time_seconds = COALESCE((SELECT SUM(tt.duration)
+                                FROM task_time_tracking tt WHERE tt.task_id = tasks.id), 0)
+                        WHERE total_time_seconds <> COALESCE((SELECT SUM(tt.duration)
+                                FROM task_time_tracking tt WHERE tt.task_id = tasks.id), 0)
+                        """, nativeQuery = true)
+        int repairTimeSpentTotals();
+
         long countByUserAndStatus(User user, TaskStatus status);
 
         long countByProject(Project project);
@@ -66,4 +362,8 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
 
         @Query("SELECT t FROM Task t WHERE t.dueDate < :today AND t.status != 'COMPLETED' AND t.status != 'OVERDUE' AND t.isCompleted = false")
         List<Task> findOverdueTasks(@Param("today") LocalDate today);
+
+        // Committed timer state per task, read by the active timer registry sync
+        @Query("SELECT t.id, t.timerVersion, t.timerStartedAt FROM Task t WHERE t.id IN :ids")
+        List<Object[]> findTimerStates(@Param("ids") Collection<Long> ids);
 }
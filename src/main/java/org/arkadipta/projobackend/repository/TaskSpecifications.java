@@ -0,0 +1,86 @@
+package org.arkadipta.projobackend.repository;
+
+import jakarta.persistence.criteria.JoinType;
+import org.arkadipta.projobackend.dto.request.TaskFilter;
+import org.arkadipta.projobackend.entity.Task;
+import org.arkadipta.projobackend.entity.User;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Predicates of the task list. They are combined into a single statement whose
+ * leading user_id or project_id equality and optional status, priority or due
+ * date terms match the composite indexes declared on Task.
+ */
+public final class TaskSpecifications {
+
+    // Sortable properties, each backed by an index that starts with user_id
+    private static final Set<String> SORT_FIELDS = Set.of("createdAt", "dueDate", "status", "priority", "title");
+
+    private TaskSpecifications() {
+    }
+
+    /**
+     * Every criterion of the filter that is set, scoped to the user's tasks
+     */
+    public static Specification<Task> matching(User user, TaskFilter filter) {
+        List<Specification<Task>> specs = new ArrayList<>();
+        specs.add(ownedBy(user));
+        specs.add(withProject());
+        if (filter.getProjectId() != null) {
+            specs.add((root, query, cb) -> cb.equal(root.get("project").get("id"), filter.getProjectId()));
+        }
+        if (filter.getStatus() != null) {
+            specs.add((root, query, cb) -> cb.equal(root.get("status"), filter.getStatus()));
+        }
+        if (filter.getPriority() != null) {
+            specs.add((root, query, cb) -> cb.equal(root.get("priority"), filter.getPriority()));
+        }
+        if (filter.getDueFrom() != null) {
+            specs.add((root, query, cb) -> cb.greaterThanOrEqualTo(root.get("dueDate"), filter.getDueFrom()));
+        }
+        if (filter.getDueTo() != null) {
+            specs.add((root, query, cb) -> cb.lessThanOrEqualTo(root.get("dueDate"), filter.getDueTo()));
+        }
+        if (filter.getSearch() != null && !filter.getSearch().isBlank()) {
+            String pattern = containsPattern(filter.getSearch());
+            specs.add((root, query, cb) -> cb.like(cb.lower(root.get("title")), pattern, '\\'));
+        }
+        return Specification.allOf(specs);
+    }
+
+    /**
+     * Reject sorting on properties without a supporting index
+     */
+    public static void requireIndexedSort(Sort sort) {
+        for (Sort.Order order : sort) {
+            if (!SORT_FIELDS.contains(order.getProperty())) {
+                throw new RuntimeException("Cannot sort by " + order.getProperty());
+            }
+        }
+    }
+
+    public static Specification<Task> ownedBy(User user) {
+        return (root, query, cb) -> cb.equal(root.get("user"), user);
+    }
+
+    // The list renders the project title, so the page query fetches it; the count query must not
+    private static Specification<Task> withProject() {
+        return (root, query, cb) -> {
+            if (query.getResultType() != Long.class && query.getResultType() != long.class) {
+                root.fetch("project", JoinType.INNER);
+            }
+            return null;
+        };
+    }
+
+    static String containsPattern(String search) {
+        String escaped = search.trim().toLowerCase()
+                .replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+}
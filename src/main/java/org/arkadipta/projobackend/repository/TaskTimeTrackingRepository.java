@@ -3,12 +3,14 @@ package org.arkadipta.projobackend.repository;
 import org.arkadipta.projobackend.entity.Task;
 import org.arkadipta.projobackend.entity.TaskTimeTracking;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
 
 @Repository
 public interface TaskTimeTrackingRepository extends JpaRepository<TaskTimeTracking, Long> {
@@ -17,7 +19,27 @@ public interface TaskTimeTrackingRepository extends JpaRepository<TaskTimeTracki
     List<TaskTimeTracking> findByTaskOrderByStartTimeDesc(Task task);
 
     @Query("SELECT t FROM TaskTimeTracking t WHERE t.task = :task AND t.endTime IS NULL")
-    Optional<TaskTimeTracking> findActiveTimerByTask(@Param("task") Task task);
+    List<TaskTimeTracking> findActiveTimersByTask(@Param("task") Task task);
+
+    @Query("SELECT DISTINCT t.task.id FROM TaskTimeTracking t WHERE t.endTime IS NULL AND t.startTime < :cutoff")
+    List<Long> findTaskIdsWithTimersStartedBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    @Query("SELECT t FROM TaskTimeTracking t WHERE t.task.id IN :taskIds AND t.endTime IS NULL AND t.startTime < :cutoff")
+    List<TaskTimeTracking> findOpenTimersStartedBefore(@Param("taskIds") Collection<Long> taskIds,
+            @Param("cutoff") LocalDateTime cutoff);
+
+    // Close timers at start + cap in a single statement
+    @Modifying
+    @Query("UPDATE TaskTimeTracking t SET t.endTime = t.startTime + :maxSeconds second, t.duration = :maxSeconds WHERE t.id IN :ids")
+    int closeWithCappedDuration(@Param("ids") Collection<Long> ids, @Param("maxSeconds") int maxSeconds);
+
+    // Bulk task deletes bypass the JPA cascade, so the tracking rows go first
+    @Modifying
+    @Query("DELETE FROM TaskTimeTracking t WHERE t.task.id IN :taskIds")
+    int deleteByTaskIdIn(@Param("taskIds") Collection<Long> taskIds);
+
+    @Query("SELECT t.task.id, t.task.timerVersion, t.startTime FROM TaskTimeTracking t WHERE t.endTime IS NULL")
+    List<Object[]> findActiveTimerStarts();
 
     @Query("SELECT SUM(t.duration) FROM TaskTimeTracking t WHERE t.task = :task AND t.duration IS NOT NULL")
     Long getTotalTimeSpentByTask(@Param("task") Task task);
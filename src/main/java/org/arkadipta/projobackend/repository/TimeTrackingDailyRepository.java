@@ -0,0 +1,69 @@
+package org.arkadipta.projobackend.repository;
+
+import org.arkadipta.projobackend.entity.TimeTrackingDaily;
+import org.arkadipta.projobackend.entity.User;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface TimeTrackingDailyRepository extends JpaRepository<TimeTrackingDaily, Long> {
+
+    @Modifying
+    @Query("UPDATE TimeTrackingDaily r SET r.seconds = r.seconds + :seconds WHERE r.task.id = :taskId AND r.workDate = :workDate")
+    int addSeconds(@Param("taskId") Long taskId, @Param("workDate") LocalDate workDate,
+            @Param("seconds") long seconds);
+
+    @Modifying
+    @Query("DELETE FROM TimeTrackingDaily r WHERE r.task.id = :taskId")
+    int deleteByTaskId(@Param("taskId") Long taskId);
+
+    @Query("""
+            SELECT r.workDate, SUM(r.seconds) FROM TimeTrackingDaily r
+            WHERE r.user = :user AND r.workDate BETWEEN :from AND :to
+            GROUP BY r.workDate ORDER BY r.workDate
+            """)
+    List<Object[]> sumByDay(@Param("user") User user, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("""
+            SELECT p.id, p.title, SUM(r.seconds) FROM TimeTrackingDaily r JOIN r.task t JOIN t.project p
+            WHERE r.user = :user AND r.workDate BETWEEN :from AND :to
+            GROUP BY p.id, p.title ORDER BY SUM(r.seconds) DESC
+            """)
+    List<Object[]> sumByProject(@Param("user") User user, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("""
+            SELECT t.id, t.title, p.title, SUM(r.seconds) FROM TimeTrackingDaily r JOIN r.task t JOIN t.project p
+            WHERE r.user = :user AND r.workDate BETWEEN :from AND :to
+            GROUP BY t.id, t.title, p.title ORDER BY SUM(r.seconds) DESC
+            """)
+    List<Object[]> sumByTask(@Param("user") User user, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    // Closed tracking rows summed per task and day, split at midnight like TimesheetService.recordTime:
+    // task id, user id, work date, seconds
+    @Query(value = """
+            WITH RECURSIVE slices (task_id, user_id, slice_start, slice_end, end_time) AS (
+                SELECT tt.task_id, t.user_id, tt.start_time,
+                       LEAST(tt.end_time, CAST(CAST(tt.start_time AS DATE) + INTERVAL '1' DAY AS TIMESTAMP)),
+                       tt.end_time
+                FROM task_time_tracking tt JOIN tasks t ON t.id = tt.task_id
+                WHERE tt.duration IS NOT NULL AND tt.end_time > tt.start_time
+                UNION ALL
+                SELECT task_id, user_id, slice_end,
+                       LEAST(end_time, CAST(CAST(slice_end AS DATE) + INTERVAL '1' DAY AS TIMESTAMP)),
+                       end_time
+                FROM slices
+                WHERE slice_end < end_time
+            )
+            SELECT task_id, user_id, CAST(slice_start AS DATE),
+                   SUM(CAST(FLOOR(EXTRACT(EPOCH FROM slice_end) - EXTRACT(EPOCH FROM slice_start)) AS BIGINT))
+            FROM slices
+            GROUP BY task_id, user_id, CAST(slice_start AS DATE)
+            """, nativeQuery = true)
+    List<Object[]> sumClosedTimeByTaskAndDay();
+}
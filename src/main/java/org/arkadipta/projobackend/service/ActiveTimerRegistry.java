@@ -0,0 +1,36 @@
+package org.arkadipta.projobackend.service;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Lookup of running timers keyed by task id, so timer status does not need a
+ * query against task_time_tracking.
+ * <p>
+ * Every timer start and stop bumps tasks.timer_version. The registry keeps
+ * the state with the highest version it has seen per task, so updates that
+ * arrive out of order, from any instance, cannot undo a newer one.
+ */
+public interface ActiveTimerRegistry {
+
+    /**
+     * Version recorded for a deleted task; no later state can replace it.
+     */
+    long DELETED = Long.MAX_VALUE;
+
+    boolean isRunning(Long taskId);
+
+    Optional<LocalDateTime> getStartTime(Long taskId);
+
+    /**
+     * Record the timer state of a task, a null start time meaning stopped,
+     * unless a state with the same or a newer version is already recorded.
+     */
+    void update(Long taskId, long version, LocalDateTime startTime);
+
+    /**
+     * Ids of the tasks currently recorded as running.
+     */
+    Set<Long> runningTaskIds();
+}
@@ -0,0 +1,78 @@
+package org.arkadipta.projobackend.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.arkadipta.projobackend.repository.TaskRepository;
+import org.arkadipta.projobackend.repository.TaskTimeTrackingRepository;
+import org.arkadipta.projobackend.util.TransactionHooks;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ActiveTimerRegistryLoader {
+
+    private final TaskTimeTrackingRepository timeTrackingRepository;
+    private final TaskRepository taskRepository;
+    private final ActiveTimerRegistry activeTimerRegistry;
+
+    /**
+     * Seed the registry from the open rows in task_time_tracking on startup,
+     * and re-check any entry it holds that is no longer open
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void loadActiveTimers() {
+        Set<Long> running = new HashSet<>();
+        for (Object[] row : timeTrackingRepository.findActiveTimerStarts()) {
+            Long taskId = (Long) row[0];
+            activeTimerRegistry.update(taskId, (Long) row[1], (LocalDateTime) row[2]);
+            running.add(taskId);
+        }
+
+        Set<Long> stale = new HashSet<>(activeTimerRegistry.runningTaskIds());
+        stale.removeAll(running);
+        sync(stale);
+        log.info("Loaded {} active timers into the registry", running.size());
+    }
+
+    /**
+     * Copy the committed timer state of the given tasks into the registry once
+     * the current transaction commits. Hooks of concurrent calls can run in
+     * any order, so each one re-reads the rows rather than replaying its own
+     * outcome, and the registry keeps the state with the highest version.
+     */
+    public void syncAfterCommit(Collection<Long> taskIds) {
+        List<Long> ids = List.copyOf(taskIds);
+        if (!ids.isEmpty()) {
+            TransactionHooks.afterCommit(() -> sync(ids));
+        }
+    }
+
+    private void sync(Collection<Long> taskIds) {
+        if (taskIds.isEmpty()) {
+            return;
+        }
+
+        Set<Long> found = new HashSet<>();
+        for (Object[] row : taskRepository.findTimerStates(taskIds)) {
+            Long taskId = (Long) row[0];
+            activeTimerRegistry.update(taskId, (Long) row[1], (LocalDateTime) row[2]);
+            found.add(taskId);
+        }
+        for (Long taskId : taskIds) {
+            if (!found.contains(taskId)) {
+                activeTimerRegistry.update(taskId, ActiveTimerRegistry.DELETED, null);
+            }
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package org.arkadipta.projobackend.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps activity_logs small by moving entries older than the retention window
+ * into gzipped NDJSON files, one per user and month, and reads them back for
+ * history queries. Each archive run appends a new gzip member, so files are
+ * only ever appended to, and one instance at a time runs it. Rows are deleted
+ * once archived, so every instance must mount the same archive directory.
+ */
+@Service
+@Slf4j
+public class ActivityArchiveService {
+
+    private static final TypeReference<Map<String, Object>> ENTRY_TYPE = new TypeReference<>() {
+    };
+
+    private static final String ARCHIVE_JOB = "activity-archive";
+
+    private static final String SELECT_BATCH_SQL = "SELECT id, user_id, action, timestamp, verb, entity_type, "
+            + "entity_id, project_id, payload FROM activity_logs WHERE timestamp < ? ORDER BY id LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final JobLockService jobLockService;
+    private final Path archiveDir;
+    private final int retentionDays;
+    private final int batchSize;
+    private final Duration lockLease;
+
+    public ActivityArchiveService(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+            ObjectMapper objectMapper, JobLockService jobLockService,
+            @Value("${app.activity.archive-dir:./data/activity-archive}") String archiveDir,
+            @Value("${app.activity.retention-days:90}") int retentionDays,
+            @Value("${app.activity.archive-batch-size:5000}") int batchSize,
+            @Value("${app.activity.archive-lock-minutes:120}") long lockMinutes) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.jobLockService = jobLockService;
+        this.archiveDir = Paths.get(archiveDir);
+        this.retentionDays = retentionDays;
+        this.batchSize = batchSize;
+        this.lockLease = Duration.ofMinutes(lockMinutes);
+    }
+
+    /**
+     * Fail startup unless the archive directory can be written; a missing or
+     * read-only mount would otherwise surface only in the nightly run
+     */
+    @PostConstruct
+    void validateArchiveDir() {
+        try {
+            Files.createDirectories(archiveDir);
+        } catch (IOException e) {
+            throw new IllegalStateException("Activity archive directory " + archiveDir + " cannot be created", e);
+        }
+        if (!Files.isWritable(archiveDir)) {
+            throw new IllegalStateException("Activity archive directory " + archiveDir + " is not writable");
+        }
+    }
+
+    /**
+     * Oldest timestamp still guaranteed to be in activity_logs
+     */
+    public LocalDateTime getRetentionCutoff() {
+        return LocalDateTime.now().minusDays(retentionDays);
+    }
+
+    /**
+     * Move entries older than the retention window to the archive - runs nightly.
+     * Returns 0 without archiving while another instance holds the job lock.
+     */
+    @Scheduled(cron = "${app.activity.archive-cron:0 0 4 * * ?}")
+    public int archiveExpiredActivity() {
+        // Two instances appending to the same file would interleave their gzip members
+        if (!jobLockService.tryAcquire(ARCHIVE_JOB, lockLease)) {
+            log.info("Skipping activity archive run, another instance holds the lock");
+            return 0;
+        }
+        try {
+            return archiveBatches();
+        } finally {
+            jobLockService.release(ARCHIVE_JOB);
+        }
+    }
+
+    private int archiveBatches() {
+        Timestamp cutoff = Timestamp.valueOf(getRetentionCutoff());
+        int archived = 0;
+
+        while (true) {
+            List<Map<String, Object>> rows = jdbcTemplate.queryForList(SELECT_BATCH_SQL, cutoff, batchSize);
+            if (rows.isEmpty()) {
+                break;
+            }
+
+            // Files are synced before the rows are deleted; a crash in between only leaves
+            // duplicates in the archive, which readers drop by id
+            appendToArchive(rows.stream().map(this::toArchiveEntry).toList());
+            List<Long> ids = rows.stream().map(row -> ((Number) row.get("id")).longValue()).toList();
+            transactionTemplate.executeWithoutResult(status -> namedJdbcTemplate.update(
+                    "DELETE FROM activity_logs WHERE id IN (:ids)", new MapSqlParameterSource("ids", ids)));
+            archived += rows.size();
+
+            if (rows.size() < batchSize) {
+                break;
+            }
+        }
+
+        if (archived > 0) {
+            log.info("Archived {} activity log entries older than {}", archived, cutoff);
+        }
+        return archived;
+    }
+
+    /**
+     * Archived entries of one user in [from, to), in no particular order; only
+     * that user's file for each month is read
+     */
+    public List<Map<String, Object>> readArchived(Long userId, LocalDateTime from, LocalDateTime to) {
+        List<Map<String, Object>> entries = new ArrayList<>();
+        YearMonth last = YearMonth.from(to);
+        for (YearMonth month = YearMonth.from(from); !month.isAfter(last); month = month.plusMonths(1)) {
+            Path file = archiveFile(month, userId);
+            if (!Files.exists(file)) {
+                continue;
+            }
+            readEntries(file, entry -> {
+                LocalDateTime timestamp = LocalDateTime.parse((String) entry.get("timestamp"));
+                if (!timestamp.isBefore(from) && timestamp.isBefore(to)) {
+                    entries.add(entry);
+                }
+            });
+        }
+        return entries;
+    }
+
+    private void readEntries(Path file, Consumer<Map<String, Object>> consumer) {
+        // GZIPInputStream reads concatenated members as one stream
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                consumer.accept(objectMapper.readValue(line, ENTRY_TYPE));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read activity archive " + file, e);
+        }
+    }
+
+    private void appendToArchive(List<Map<String, Object>> entries) {
+        Map<Path, List<Map<String, Object>>> byFile = new TreeMap<>();
+        for (Map<String, Object> entry : entries) {
+            YearMonth month = YearMonth.from(LocalDateTime.parse((String) entry.get("timestamp")));
+            Long userId = ((Number) entry.get("userId")).longValue();
+            byFile.computeIfAbsent(archiveFile(month, userId), file -> new ArrayList<>()).add(entry);
+        }
+
+        try {
+            for (Map.Entry<Path, List<Map<String, Object>>> file : byFile.entrySet()) {
+                Files.createDirectories(file.getKey().getParent());
+                try (FileOutputStream out = new FileOutputStream(file.getKey().toFile(), true);
+                        GZIPOutputStream gzip = new GZIPOutputStream(out);
+                        Writer writer = new BufferedWriter(new OutputStreamWriter(gzip, StandardCharsets.UTF_8))) {
+                    for (Map<String, Object> entry : file.getValue()) {
+                        writer.write(objectMapper.writeValueAsString(entry));
+                        writer.write('\n');
+                    }
+                    writer.flush();
+                    gzip.finish();
+                    out.getFD().sync();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write activity archive", e);
+        }
+    }
+
+    private Map<String, Object> toArchiveEntry(Map<String, Object> row) {
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("id", ((Number) row.get("id")).longValue());
+        entry.put("userId", ((Number) row.get("user_id")).longValue());
+        entry.put("action", row.get("action"));
+        entry.put("timestamp", ((Timestamp) row.get("timestamp")).toLocalDateTime().toString());
+        entry.put("verb", row.get("verb"));
+        entry.put("entityType", row.get("entity_type"));
+        entry.put("entityId", row.get("entity_id") != null ? ((Number) row.get("entity_id")).longValue() : null);
+        entry.put("projectId", row.get("project_id") != null ? ((Number) row.get("project_id")).longValue() : null);
+        entry.put("payload", row.get("payload"));
+        return entry;
+    }
+
+    private Path archiveFile(YearMonth month, Long userId) {
+        return archiveDir.resolve(month.toString()).resolve("user-" + userId + ".ndjson.gz");
+    }
+}
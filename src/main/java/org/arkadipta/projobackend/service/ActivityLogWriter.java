@@ -0,0 +1,258 @@
+package org.arkadipta.projobackend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.arkadipta.projobackend.entity.ActivityLog;
+import org.arkadipta.projobackend.entity.User;
+import org.arkadipta.projobackend.enums.ActivityEntityType;
+import org.arkadipta.projobackend.enums.ActivityVerb;
+import org.arkadipta.projobackend.util.TransactionHooks;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Buffers activity entries published by the services and writes them to
+ * activity_logs in batches, outside the user's transaction.
+ * Entries are queued only after the publishing transaction commits. A failed
+ * batch is retried once and then written entry by entry; entries published
+ * after shutdown are written by the publishing thread. The recent activity
+ * cache is evicted after each batch commits, not when an entry is published.
+ */
+@Service
+@Slf4j
+public class ActivityLogWriter {
+
+    private static final String INCREMENT_UNREAD_SQL = "UPDATE activity_read_cursors "
+            + "SET unread_count = unread_count + ? WHERE project_id = ? AND user_id <> ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final CacheService cacheService;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<ActivityEvent> queue;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final long offerTimeoutMs;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private volatile boolean running = true;
+    private Thread writerThread;
+
+    public ActivityLogWriter(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper, CacheService cacheService,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.activity.buffer-capacity:10000}") int bufferCapacity,
+            @Value("${app.activity.batch-size:500}") int batchSize,
+            @Value("${app.activity.flush-interval-ms:250}") long flushIntervalMs,
+            @Value("${app.activity.offer-timeout-ms:100}") long offerTimeoutMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.cacheService = cacheService;
+        // The fallback path writes from an afterCommit callback, where the caller's transaction is finished
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.queue = new ArrayBlockingQueue<>(bufferCapacity);
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.offerTimeoutMs = offerTimeoutMs;
+    }
+
+    /**
+     * Queue an activity entry once the current transaction commits
+     */
+    public void record(User user, ActivityVerb verb, ActivityEntityType entityType, Long entityId,
+            Long projectId, String action) {
+        record(user, verb, entityType, entityId, projectId, action, null);
+    }
+
+    /**
+     * Queue an activity entry with a JSON payload once the current transaction commits
+     */
+    public void record(User user, ActivityVerb verb, ActivityEntityType entityType, Long entityId,
+            Long projectId, String action, Map<String, Object> payload) {
+        ActivityEvent event = new ActivityEvent(user.getId(), action, LocalDateTime.now(), verb, entityType,
+                entityId, projectId, toJson(payload));
+        TransactionHooks.afterCommit(() -> enqueue(event));
+    }
+
+    private String toJson(Map<String, Object> payload) {
+        if (payload == null || payload.isEmpty()) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            log.warn("Dropping unserializable activity payload {}", payload.keySet(), e);
+            return null;
+        }
+    }
+
+    private void enqueue(ActivityEvent event) {
+        if (running) {
+            try {
+                if (queue.offer(event, offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+                    // Shutdown may have drained the queue already; whoever removes the entry writes it
+                    if (running || !queue.remove(event)) {
+                        return;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        // Buffer is full or the writer has stopped: the publishing thread pays for its own insert
+        // instead of dropping the entry
+        write(List.of(event));
+    }
+
+    @PostConstruct
+    void start() {
+        writerThread = new Thread(this::run, "activity-log-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        running = false;
+        writerThread.join(10000);
+
+        List<ActivityEvent> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            write(remaining);
+        }
+    }
+
+    private void run() {
+        List<ActivityEvent> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                ActivityEvent first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                // Keep collecting until the batch is full or the flush interval has passed
+                long deadline = System.currentTimeMillis() + flushIntervalMs;
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.currentTimeMillis();
+                    if (batch.size() >= batchSize || remaining <= 0 || !running) {
+                        break;
+                    }
+                    ActivityEvent next = queue.poll(remaining, TimeUnit.MILLISECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                write(batch);
+            } catch (InterruptedException e) {
+                running = false;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    void write(List<ActivityEvent> events) {
+        try {
+            insert(events);
+            return;
+        } catch (Exception e) {
+            log.warn("Failed to write {} activity log entries, retrying", events.size(), e);
+        }
+        try {
+            insert(events);
+            return;
+        } catch (Exception e) {
+            if (events.size() == 1) {
+                log.error("Dropping activity log entry {} after retry", events.get(0), e);
+                return;
+            }
+            log.warn("Retry of {} activity log entries failed, writing them one by one", events.size(), e);
+        }
+
+        // One bad entry (say, a user deleted in the meantime) must not take the rest of the batch with it
+        for (ActivityEvent event : events) {
+            try {
+                insert(List.of(event));
+            } catch (Exception e) {
+                log.error("Dropping activity log entry {}", event, e);
+            }
+        }
+    }
+
+    void insert(List<ActivityEvent> events) {
+        // Project readers' unread badges move by one update per (project, actor) in the batch
+        List<Map.Entry<ProjectActor, Long>> unreadIncrements = new ArrayList<>(events.stream()
+                .filter(event -> event.projectId() != null)
+                .collect(Collectors.groupingBy(event -> new ProjectActor(event.projectId(), event.userId()),
+                        Collectors.counting()))
+                .entrySet());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            // Sequence ids let Hibernate send these as JDBC batches of hibernate.jdbc.batch_size
+            for (ActivityEvent event : events) {
+                ActivityLog activity = new ActivityLog(entityManager.getReference(User.class, event.userId()),
+                        event.action());
+                activity.setTimestamp(event.timestamp());
+                activity.setVerb(event.verb());
+                activity.setEntityType(event.entityType());
+                activity.setEntityId(event.entityId());
+                activity.setProjectId(event.projectId());
+                activity.setPayload(event.payload());
+                entityManager.persist(activity);
+            }
+            entityManager.flush();
+            entityManager.clear();
+
+            jdbcTemplate.batchUpdate(INCREMENT_UNREAD_SQL, unreadIncrements, batchSize, (ps, increment) -> {
+                ps.setLong(1, increment.getValue());
+                ps.setLong(2, increment.getKey().projectId());
+                ps.setLong(3, increment.getKey().userId());
+            });
+        });
+        evictRecentActivity();
+    }
+
+    private void evictRecentActivity() {
+        // Evicting before the rows committed would let a dashboard read cache the old feed again;
+        // a failure here must not send a committed batch back through the retry
+        try {
+            cacheService.evictRecentActivity();
+        } catch (Exception e) {
+            log.warn("Failed to evict the recent activity cache", e);
+        }
+    }
+
+    private record ProjectActor(Long projectId, Long userId) {
+    }
+
+    private record ActivityEvent(Long userId, String action, LocalDateTime timestamp, ActivityVerb verb,
+            ActivityEntityType entityType, Long entityId, Long projectId, String payload) {
+    }
+}
@@ -0,0 +1,261 @@
+package org.arkadipta.projobackend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.arkadipta.projobackend.entity.ActivityLog;
+import org.arkadipta.projobackend.entity.ActivityReadCursor;
+import org.arkadipta.projobackend.entity.Project;
+import org.arkadipta.projobackend.entity.User;
+import org.arkadipta.projobackend.enums.ActivityEntityType;
+import org.arkadipta.projobackend.repository.ActivityLogRepository;
+import org.arkadipta.projobackend.repository.ActivityReadCursorRepository;
+import org.arkadipta.projobackend.repository.ProjectMemberRepository;
+import org.arkadipta.projobackend.repository.ProjectRepository;
+import org.arkadipta.projobackend.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@Transactional(readOnly = true)
+public class ActivityService {
+
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_HISTORY_SIZE = 1000;
+    private static final Comparator<Map<String, Object>> NEWEST_FIRST = Comparator
+            .comparing((Map<String, Object> item) -> (LocalDateTime) item.get("timestamp"))
+            .thenComparing(item -> (Long) item.get("id"))
+            .reversed();
+
+    @Autowired
+    private ActivityLogRepository activityLogRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ActivityReadCursorRepository activityReadCursorRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private ProjectMemberRepository projectMemberRepository;
+
+    @Autowired
+    private ActivityArchiveService activityArchiveService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Page through the current user's activity, newest first. The cursor is the
+     * id of the last entry of the previous page; null starts from the newest.
+     * Ids are taken in nextval order but writer batches commit concurrently, so
+     * an entry committed while a client is paging can fall behind its cursor;
+     * it shows up again when the feed is read from the top.
+     */
+    public Map<String, Object> getFeed(Long cursor, int limit, Long projectId, ActivityEntityType entityType) {
+        User user = getCurrentUser();
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        long before = cursor != null ? cursor : Long.MAX_VALUE;
+
+        Pageable pageable = PageRequest.of(0, pageSize + 1);
+        List<ActivityLog> entries;
+        if (projectId != null && entityType != null) {
+            entries = activityLogRepository.findFeedByProjectAndEntityType(user, projectId, entityType, before,
+                    pageable);
+        } else if (projectId != null) {
+            entries = activityLogRepository.findFeedByProject(user, projectId, before, pageable);
+        } else if (entityType != null) {
+            entries = activityLogRepository.findFeedByEntityType(user, entityType, before, pageable);
+        } else {
+            entries = activityLogRepository.findFeed(user, before, pageable);
+        }
+
+        return toPage(entries, pageSize);
+    }
+
+    /**
+     * Page through everyone's activity in a project the current user owns or
+     * has accepted an invite to, newest first.
+     */
+    public Map<String, Object> getProjectStream(Long projectId, Long cursor, int limit) {
+        User user = getCurrentUser();
+        checkProjectAccess(projectId, user);
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        long before = cursor != null ? cursor : Long.MAX_VALUE;
+
+        List<ActivityLog> entries = activityLogRepository.findProjectStream(projectId, before,
+                PageRequest.of(0, pageSize + 1));
+        return toPage(entries, pageSize);
+    }
+
+    @Transactional
+    public Map<String, Object> getUnreadCount(Long projectId) {
+        User user = getCurrentUser();
+        Project project = checkProjectAccess(projectId, user);
+        ActivityReadCursor cursor = getOrCreateReadCursor(user, project);
+
+        Map<String, Object> unread = new HashMap<>();
+        unread.put("projectId", projectId);
+        unread.put("lastReadId", cursor.getLastReadId());
+        unread.put("unreadCount", cursor.getUnreadCount());
+        return unread;
+    }
+
+    /**
+     * Unread counts for every project the current user has a non-zero badge on
+     */
+    public Map<Long, Long> getUnreadCounts() {
+        User user = getCurrentUser();
+        Map<Long, Long> counts = new HashMap<>();
+        for (Object[] row : activityReadCursorRepository.findUnreadCountsByUserId(user.getId())) {
+            counts.put((Long) row[0], (Long) row[1]);
+        }
+        return counts;
+    }
+
+    @Transactional
+    public Map<String, Object> markProjectRead(Long projectId) {
+        User user = getCurrentUser();
+        Project project = checkProjectAccess(projectId, user);
+        getOrCreateReadCursor(user, project);
+
+        // An entry still committing with an id below latestId is counted as read once it lands
+        Long latestId = activityLogRepository.findLatestIdByProjectId(projectId);
+        activityReadCursorRepository.markRead(user.getId(), projectId, latestId);
+
+        Map<String, Object> unread = new HashMap<>();
+        unread.put("projectId", projectId);
+        unread.put("lastReadId", latestId);
+        unread.put("unreadCount", 0L);
+        return unread;
+    }
+
+    /**
+     * Give a project reader a cursor so the activity writer starts counting for them.
+     * Readers without one start at the head of the stream.
+     */
+    @Transactional
+    public ActivityReadCursor getOrCreateReadCursor(User user, Project project) {
+        return activityReadCursorRepository.findByUserIdAndProjectId(user.getId(), project.getId())
+                .orElseGet(() -> activityReadCursorRepository.save(new ActivityReadCursor(user, project,
+                        activityLogRepository.findLatestIdByProjectId(project.getId()))));
+    }
+
+    private Project checkProjectAccess(Long projectId, User user) {
+        Project project = projectRepository.findById(projectId)
+                .orElseThrow(() -> new RuntimeException("Project not found"));
+        if (!project.getUser().getId().equals(user.getId())
+                && !projectMemberRepository.hasProjectAccess(projectId, user.getId())) {
+            throw new AccessDeniedException("You do not have access to this project");
+        }
+        return project;
+    }
+
+    private Map<String, Object> toPage(List<ActivityLog> entries, int pageSize) {
+        // Callers fetch one extra row to know whether another page exists
+        boolean hasMore = entries.size() > pageSize;
+        List<ActivityLog> page = hasMore ? entries.subList(0, pageSize) : entries;
+
+        Map<String, Object> feed = new HashMap<>();
+        feed.put("items", page.stream().map(this::toFeedItem).toList());
+        feed.put("nextCursor", hasMore ? page.get(page.size() - 1).getId() : null);
+        return feed;
+    }
+
+    /**
+     * The current user's activity in [from, to), newest first. Entries past the
+     * retention window are only included when includeArchive is set.
+     */
+    public Map<String, Object> getHistory(LocalDateTime from, LocalDateTime to, boolean includeArchive, int limit) {
+        if (!from.isBefore(to)) {
+            throw new RuntimeException("'from' must be before 'to'");
+        }
+        User user = getCurrentUser();
+        int size = Math.max(1, Math.min(limit, MAX_HISTORY_SIZE));
+
+        // Keyed by id so an entry that is both archived and not yet deleted appears once
+        Map<Long, Map<String, Object>> entries = new HashMap<>();
+        activityLogRepository.findHistory(user, from, to, PageRequest.of(0, size))
+                .forEach(activity -> entries.put(activity.getId(), toFeedItem(activity)));
+
+        boolean archiveSearched = includeArchive && from.isBefore(activityArchiveService.getRetentionCutoff());
+        if (archiveSearched) {
+            for (Map<String, Object> archived : activityArchiveService.readArchived(user.getId(), from, to)) {
+                Long id = ((Number) archived.get("id")).longValue();
+                entries.putIfAbsent(id, fromArchiveEntry(archived, user));
+            }
+        }
+
+        List<Map<String, Object>> items = entries.values().stream()
+                .sorted(NEWEST_FIRST)
+                .limit(size)
+                .toList();
+
+        Map<String, Object> history = new HashMap<>();
+        history.put("from", from);
+        history.put("to", to);
+        history.put("archiveSearched", archiveSearched);
+        history.put("items", items);
+        return history;
+    }
+
+    private Map<String, Object> fromArchiveEntry(Map<String, Object> entry, User user) {
+        Map<String, Object> item = new HashMap<>();
+        item.put("id", ((Number) entry.get("id")).longValue());
+        item.put("user", user.getUsername());
+        item.put("verb", entry.get("verb"));
+        item.put("entityType", entry.get("entityType"));
+        item.put("entityId", entry.get("entityId"));
+        item.put("projectId", entry.get("projectId"));
+        item.put("action", entry.get("action"));
+        item.put("payload", readPayload((String) entry.get("payload")));
+        item.put("timestamp", LocalDateTime.parse((String) entry.get("timestamp")));
+        return item;
+    }
+
+    private Map<String, Object> toFeedItem(ActivityLog activity) {
+        Map<String, Object> item = new HashMap<>();
+        item.put("id", activity.getId());
+        item.put("user", activity.getUser().getUsername());
+        item.put("verb", activity.getVerb());
+        item.put("entityType", activity.getEntityType());
+        item.put("entityId", activity.getEntityId());
+        item.put("projectId", activity.getProjectId());
+        item.put("action", activity.getAction());
+        item.put("payload", readPayload(activity.getPayload()));
+        item.put("timestamp", activity.getTimestamp());
+        return item;
+    }
+
+    private Object readPayload(String payload) {
+        if (payload == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readTree(payload);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    private User getCurrentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String username = authentication.getName();
+        return userRepository.findByUsername(username)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+    }
+}
@@ -3,9 +3,9 @@ package org.arkadipta.projobackend.service;
 import org.arkadipta.projobackend.dto.request.*;
 import org.arkadipta.projobackend.dto.response.LoginResponse;
 import org.arkadipta.projobackend.dto.response.UserResponse;
-import org.arkadipta.projobackend.entity.ActivityLog;
 import org.arkadipta.projobackend.entity.User;
-import org.arkadipta.projobackend.repository.ActivityLogRepository;
+import org.arkadipta.projobackend.enums.ActivityEntityType;
+import org.arkadipta.projobackend.enums.ActivityVerb;
 import org.arkadipta.projobackend.repository.UserRepository;
 import org.arkadipta.projobackend.util.JwtTokenUtil;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -28,7 +28,7 @@ public class AuthService {
     private UserRepository userRepository;
 
     @Autowired
-    private ActivityLogRepository activityLogRepository;
+    private ActivityLogWriter activityLogWriter;
 
     @Autowired
     private PasswordEncoder passwordEncoder;
@@ -63,8 +63,8 @@ public class AuthService {
         String jwtToken = jwtTokenUtil.generateToken(userDetails);
 
         // Log activity
-        ActivityLog log = new ActivityLog(user, "User logged in");
-        activityLogRepository.save(log);
+        activityLogWriter.record(user, ActivityVerb.LOGGED_IN, ActivityEntityType.USER, user.getId(), null,
+                "User logged in");
 
         UserResponse userResponse = new UserResponse(
                 user.getId(),
@@ -111,8 +111,8 @@ public class AuthService {
         emailService.sendVerificationOTP(request.getEmail(), request.getFullName(), otp);
 
         // Log activity
-        ActivityLog log = new ActivityLog(user, "User registered - Email verification pending");
-        activityLogRepository.save(log);
+        activityLogWriter.record(user, ActivityVerb.REGISTERED, ActivityEntityType.USER, user.getId(), null,
+                "User registered - Email verification pending");
     }
 
     public boolean validateToken(String token, String username) {
@@ -142,8 +142,8 @@ public class AuthService {
         userRepository.save(user);
 
         // Log activity
-        ActivityLog log = new ActivityLog(user, "Email verified successfully");
-        activityLogRepository.save(log);
+        activityLogWriter.record(user, ActivityVerb.EMAIL_VERIFIED, ActivityEntityType.USER, user.getId(), null,
+                "Email verified successfully");
     }
 
     public void resendVerificationOTP(ResendOTPRequest request) {
@@ -166,8 +166,8 @@ public class AuthService {
         emailService.sendVerificationOTP(request.getEmail(), user.getFullName(), otp);
 
         // Log activity
-        ActivityLog log = new ActivityLog(user, "Verification OTP resent");
-        activityLogRepository.save(log);
+        activityLogWriter.record(user, ActivityVerb.OTP_RESENT, ActivityEntityType.USER, user.getId(), null,
+                "Verification OTP resent");
     }
 
     public void forgotPassword(ForgotPasswordRequest request) {
@@ -186,8 +186,8 @@ public class AuthService {
         emailService.sendPasswordResetOTP(request.getEmail(), user.getFullName(), otp);
 
         // Log activity
-        ActivityLog log = new ActivityLog(user, "Password reset OTP requested");
-        activityLogRepository.save(log);
+        activityLogWriter.record(user, ActivityVerb.PASSWORD_RESET_REQUESTED, ActivityEntityType.USER, user.getId(), null,
+                "Password reset OTP requested");
     }
 
     public void resetPassword(ResetPasswordRequest request) {
@@ -208,7 +208,7 @@ public class AuthService {
         userRepository.save(user);
 
         // Log activity
-        ActivityLog log = new ActivityLog(user, "Password reset successfully");
-        activityLogRepository.save(log);
+        activityLogWriter.record(user, ActivityVerb.PASSWORD_RESET, ActivityEntityType.USER, user.getId(), null,
+                "Password reset successfully");
     }
 }
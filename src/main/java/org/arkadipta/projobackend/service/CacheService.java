@@ -13,11 +13,17 @@ public class CacheService {
     @Autowired(required = false)
     private CacheManager cacheManager;
 
-    @CacheEvict(value = { "dashboard_stats", "upcoming_tasks", "recent_activity" }, allEntries = true)
+    // recent_activity is left to evictRecentActivity, which the activity writer calls once its rows commit
+    @CacheEvict(value = { "dashboard_stats", "upcoming_tasks" }, allEntries = true)
     public void evictDashboardCaches() {
         // This method will clear dashboard-related caches when called
     }
 
+    @CacheEvict(value = "recent_activity", allEntries = true)
+    public void evictRecentActivity() {
+        // This method will clear the recent activity cache when called
+    }
+
     @CacheEvict(value = { "projects", "project", "project_task_count",
             "project_completed_task_count" }, allEntries = true)
     public void evictProjectCaches() {
@@ -29,6 +35,11 @@ public class CacheService {
         // This method will clear task-related caches when called
     }
 
+    @CacheEvict(value = { "issues", "issue", "issue-stats" }, allEntries = true)
+    public void evictIssueCaches() {
+        // This method will clear issue-related caches when called
+    }
+
     @CacheEvict(value = "user_details", allEntries = true)
     public void evictUserCaches() {
         // This method will clear user-related caches when called
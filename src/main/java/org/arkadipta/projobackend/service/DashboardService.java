@@ -1,5 +1,6 @@
 package org.arkadipta.projobackend.service;
 
+import org.arkadipta.projobackend.dto.response.TaskSummary;
 import org.arkadipta.projobackend.entity.ActivityLog;
 import org.arkadipta.projobackend.entity.Task;
 import org.arkadipta.projobackend.entity.User;
@@ -30,6 +31,9 @@ public class DashboardService {
     @Autowired
     private TaskRepository taskRepository;
 
+    @Autowired
+    private TaskRecurrenceService taskRecurrenceService;
+
     @Autowired
     private IssueRepository issueRepository;
 
@@ -80,30 +84,32 @@ public class DashboardService {
         return stats;
     }
 
-    @Cacheable(value = "upcoming_tasks", key = "#days")
+    @Cacheable(value = "upcoming_tasks", key = "T(org.springframework.security.core.context.SecurityContextHolder).getContext().getAuthentication().getName() + '_' + #days")
     public List<Map<String, Object>> getUpcomingTasks(int days) {
         User user = getCurrentUser();
         LocalDate today = LocalDate.now();
         LocalDate endDate = today.plusDays(days);
 
-        List<Task> upcomingTasks = taskRepository.findByUserAndDueDateBetween(user, today, endDate);
+        List<TaskSummary> upcomingTasks = taskRecurrenceService.withOccurrences(user,
+                taskRepository.findSummariesDueBetweenExcludingStatus(user, today, endDate, TaskStatus.DONE),
+                today, endDate);
 
         return upcomingTasks.stream()
-                .filter(task -> task.getStatus() != TaskStatus.DONE)
                 .map(task -> {
                     Map<String, Object> taskMap = new HashMap<>();
                     taskMap.put("id", task.getId());
+                    taskMap.put("seriesId", task.getSeriesId());
                     taskMap.put("title", task.getTitle());
                     taskMap.put("dueDate", task.getDueDate());
                     taskMap.put("priority", task.getPriority());
-                    taskMap.put("projectTitle", task.getProject().getTitle());
+                    taskMap.put("projectTitle", task.getProjectTitle());
                     taskMap.put("status", task.getStatus());
                     return taskMap;
                 })
                 .toList();
     }
 
-    @Cacheable(value = "recent_activity", key = "#limit")
+    @Cacheable(value = "recent_activity", key = "T(org.springframework.security.core.context.SecurityContextHolder).getContext().getAuthentication().getName() + '_' + #limit")
     public List<Map<String, Object>> getRecentActivity(int limit) {
         User user = getCurrentUser();
         Pageable pageable = PageRequest.of(0, limit);
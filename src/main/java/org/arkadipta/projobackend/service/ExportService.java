@@ -0,0 +1,187 @@
+package org.arkadipta.projobackend.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+import org.arkadipta.projobackend.entity.User;
+import org.arkadipta.projobackend.enums.ExportDataset;
+import org.arkadipta.projobackend.enums.ExportFormat;
+import org.arkadipta.projobackend.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams a user's data as CSV or NDJSON straight from a JDBC cursor, one row
+ * at a time, so memory use does not depend on how many rows are exported.
+ */
+@Service
+public class ExportService {
+
+    private static final String TASKS_SQL = """
+            SELECT t.id, t.title, t.description, t.status, t.priority, t.start_date, t.due_date,
+                   t.project_id, p.title AS project_title, t.total_time_seconds, t.created_at
+            FROM tasks t JOIN projects p ON p.id = t.project_id
+            WHERE t.user_id = ? ORDER BY t.id
+            """;
+
+    private static final String ISSUES_SQL = """
+            SELECT i.id, i.title, i.description, i.severity, i.status,
+                   i.project_id, p.title AS project_title, i.created_at, i.updated_at
+            FROM issues i JOIN projects p ON p.id = i.project_id
+            WHERE i.user_id = ? ORDER BY i.id
+            """;
+
+    private static final String NOTES_SQL = """
+            SELECT n.id, n.content, n.project_id, n.is_public, n.is_collaborative, n.created_at, n.updated_at
+            FROM notes n
+            WHERE n.user_id = ? ORDER BY n.id
+            """;
+
+    private static final String TIME_ENTRIES_SQL = """
+            SELECT tt.id, tt.task_id, t.title AS task_title, tt.start_time, tt.end_time, tt.duration
+            FROM task_time_tracking tt JOIN tasks t ON t.id = tt.task_id
+            WHERE t.user_id = ? ORDER BY tt.id
+            """;
+
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final UserRepository userRepository;
+    private final ObjectMapper objectMapper;
+
+    public ExportService(DataSource dataSource, PlatformTransactionManager transactionManager,
+            UserRepository userRepository, ObjectMapper objectMapper,
+            @Value("${app.export.fetch-size:1000}") int fetchSize) {
+        // PostgreSQL only honours the fetch size inside a transaction; otherwise it buffers the whole result
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate.setFetchSize(fetchSize);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.userRepository = userRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Build the response body for an export. The user is resolved here, on the
+     * request thread, because the body is written later on an async thread.
+     */
+    public StreamingResponseBody export(ExportDataset dataset, ExportFormat format, boolean gzip) {
+        Long userId = getCurrentUser().getId();
+        String sql = switch (dataset) {
+            case TASKS -> TASKS_SQL;
+            case ISSUES -> ISSUES_SQL;
+            case NOTES -> NOTES_SQL;
+            case TIME_ENTRIES -> TIME_ENTRIES_SQL;
+        };
+
+        return outputStream -> {
+            OutputStream out = gzip ? new GZIPOutputStream(outputStream, 8192) : outputStream;
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            ResultSetExtractor<Void> rowWriter = format == ExportFormat.CSV
+                    ? rs -> writeCsv(rs, writer)
+                    : rs -> writeNdjson(rs, writer);
+            try {
+                readOnlyTransaction.executeWithoutResult(status -> streamingJdbcTemplate.query(sql, rowWriter, userId));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            writer.flush();
+            if (out instanceof GZIPOutputStream gzipOut) {
+                gzipOut.finish();
+            }
+        };
+    }
+
+    public String fileName(ExportDataset dataset, ExportFormat format, boolean gzip) {
+        String name = dataset.name().toLowerCase().replace('_', '-') + "." + format.name().toLowerCase();
+        return gzip ? name + ".gz" : name;
+    }
+
+    private static Object readValue(ResultSet rs, int column) throws SQLException {
+        Object value = rs.getObject(column);
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime().toString();
+        }
+        if (value instanceof java.sql.Date date) {
+            return date.toLocalDate().toString();
+        }
+        if (value instanceof java.sql.Clob clob) {
+            return clob.getSubString(1, (int) clob.length());
+        }
+        return value;
+    }
+
+    private static String[] columnLabels(ResultSetMetaData metaData) throws SQLException {
+        String[] labels = new String[metaData.getColumnCount()];
+        for (int i = 0; i < labels.length; i++) {
+            labels[i] = metaData.getColumnLabel(i + 1).toLowerCase();
+        }
+        return labels;
+    }
+
+    private Void writeCsv(ResultSet rs, Writer writer) throws SQLException {
+        String[] labels = columnLabels(rs.getMetaData());
+        try {
+            CSVPrinter printer = new CSVPrinter(writer, CSVFormat.DEFAULT.builder().setHeader(labels).build());
+            while (rs.next()) {
+                for (int i = 1; i <= labels.length; i++) {
+                    printer.print(readValue(rs, i));
+                }
+                printer.println();
+            }
+            printer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return null;
+    }
+
+    private Void writeNdjson(ResultSet rs, Writer writer) throws SQLException {
+        String[] labels = columnLabels(rs.getMetaData());
+        try {
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(writer);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            while (rs.next()) {
+                generator.writeStartObject();
+                for (int i = 1; i <= labels.length; i++) {
+                    generator.writeFieldName(labels[i - 1]);
+                    generator.writeObject(readValue(rs, i));
+                }
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+            }
+            generator.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return null;
+    }
+
+    private User getCurrentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String username = authentication.getName();
+        return userRepository.findByUsername(username)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+    }
+}
@@ -0,0 +1,267 @@
+package org.arkadipta.projobackend.service;
+
+import org.arkadipta.projobackend.dto.request.FilterExpression;
+import org.arkadipta.projobackend.entity.User;
+import org.arkadipta.projobackend.enums.IssueStatus;
+import org.arkadipta.projobackend.enums.Priority;
+import org.arkadipta.projobackend.enums.Severity;
+import org.arkadipta.projobackend.enums.TaskStatus;
+import org.arkadipta.projobackend.repository.IssueLabelRepository;
+import org.arkadipta.projobackend.repository.IssueRepository;
+import org.arkadipta.projobackend.repository.TaskLabelRepository;
+import org.arkadipta.projobackend.repository.TaskRepository;
+import org.arkadipta.projobackend.util.FacetIndex;
+import org.arkadipta.projobackend.util.IdBitmap;
+import org.arkadipta.projobackend.util.PartitionAge;
+import org.arkadipta.projobackend.util.TransactionHooks;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Per-user bitmap indexes over task and issue facets (status, priority or
+ * severity, project and labels). A filter tree resolves to an id set with
+ * bitmap intersections and unions, and only the requested page is then
+ * loaded by id. An index is built from the database on first use, patched
+ * from the committed rows after every write through the services, rebuilt
+ * once it is older than the configured age and dropped when left idle.
+ */
+@Service
+public class FilterIndexService {
+
+    // Filterable fields with the check that turns a request value into its facet value
+    private static final Map<String, Function<String, String>> TASK_FIELDS = Map.of(
+            "status", value -> TaskStatus.valueOf(value.toUpperCase()).name(),
+            "priority", value -> Priority.valueOf(value.toUpperCase()).name(),
+            "project", FilterIndexService::idValue,
+            "label", FilterIndexService::idValue);
+    private static final Map<String, Function<String, String>> ISSUE_FIELDS = Map.of(
+            "status", value -> IssueStatus.valueOf(value.toUpperCase()).name(),
+            "severity", value -> Severity.valueOf(value.toUpperCase()).name(),
+            "project", FilterIndexService::idValue,
+            "label", FilterIndexService::idValue);
+    private static final int MAX_FILTER_NODES = 200;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private IssueRepository issueRepository;
+
+    @Autowired
+    private TaskLabelRepository taskLabelRepository;
+
+    @Autowired
+    private IssueLabelRepository issueLabelRepository;
+
+    @Autowired
+    private Clock clock;
+
+    @Value("${app.filter-index.ttl-minutes:30}")
+    private long ttlMinutes;
+
+    private final Map<Long, UserIndex> taskIndexes = new ConcurrentHashMap<>();
+    private final Map<Long, UserIndex> issueIndexes = new ConcurrentHashMap<>();
+
+    /**
+     * Ids of the user's tasks matching the filter; a null filter matches every task
+     */
+    public IdBitmap resolveTasks(User user, FilterExpression filter) {
+        UserIndex index = taskIndexes.computeIfAbsent(user.getId(), id -> new UserIndex(clock));
+        synchronized (index) {
+            if (index.age.isStale(ttlMinutes)) {
+                index.load(taskRepository.findFacetsByUser(user), taskLabelRepository.findPairsByUser(user),
+                        FilterIndexService::taskFacets);
+            }
+            index.age.touch();
+            return evaluate(index.facets, filter, TASK_FIELDS, new int[] { 0 });
+        }
+    }
+
+    /**
+     * Ids of the user's issues matching the filter; a null filter matches every issue
+     */
+    public IdBitmap resolveIssues(User user, FilterExpression filter) {
+        UserIndex index = issueIndexes.computeIfAbsent(user.getId(), id -> new UserIndex(clock));
+        synchronized (index) {
+            if (index.age.isStale(ttlMinutes)) {
+                index.load(issueRepository.findFacetsByUser(user), issueLabelRepository.findPairsByUser(user),
+                        FilterIndexService::issueFacets);
+            }
+            index.age.touch();
+            return evaluate(index.facets, filter, ISSUE_FIELDS, new int[] { 0 });
+        }
+    }
+
+    /**
+     * Re-read the given tasks once the current transaction commits and patch
+     * the user's index; ids that no longer exist, or belong to someone else,
+     * leave it. Reading the
+     * committed rows keeps the index right when hooks of concurrent writes run
+     * out of order.
+     */
+    public void refreshTasksAfterCommit(User user, Collection<Long> taskIds) {
+        List<Long> ids = List.copyOf(taskIds);
+        TransactionHooks.afterCommit(() -> refresh(taskIndexes.get(user.getId()), ids,
+                () -> taskRepository.findFacetsByIdIn(ids, user), () -> taskLabelRepository.findPairsByTaskIdIn(ids),
+                FilterIndexService::taskFacets));
+    }
+
+    public void refreshIssuesAfterCommit(User user, Collection<Long> issueIds) {
+        List<Long> ids = List.copyOf(issueIds);
+        TransactionHooks.afterCommit(() -> refresh(issueIndexes.get(user.getId()), ids,
+                () -> issueRepository.findFacetsByIdIn(ids, user), () -> issueLabelRepository.findPairsByIssueIdIn(ids),
+                FilterIndexService::issueFacets));
+    }
+
+    /**
+     * Drop the user's indexes after writes that touch an unknown set of rows,
+     * such as imports or project deletion; they are rebuilt on next use
+     */
+    public void invalidateAfterCommit(User user) {
+        TransactionHooks.afterCommit(() -> {
+            taskIndexes.remove(user.getId());
+            issueIndexes.remove(user.getId());
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${app.filter-index.sweep-interval-ms:300000}", initialDelayString = "${app.filter-index.sweep-interval-ms:300000}")
+    public void evictIdleIndexes() {
+        taskIndexes.values().removeIf(index -> index.age.isIdle(ttlMinutes));
+        issueIndexes.values().removeIf(index -> index.age.isIdle(ttlMinutes));
+    }
+
+    private void refresh(UserIndex index, List<Long> ids, Supplier<List<Object[]>> rows,
+            Supplier<List<Object[]>> labelPairs, Function<Object[], List<String>> facets) {
+        if (index == null || ids.isEmpty()) {
+            return;
+        }
+        synchronized (index) {
+            // An index that is not loaded yet will read these rows itself
+            if (!index.age.isLoaded()) {
+                return;
+            }
+            Map<Long, List<String>> facetsById = collectFacets(rows.get(), labelPairs.get(), facets);
+            for (Long id : ids) {
+                List<String> found = facetsById.get(id);
+                if (found != null) {
+                    index.facets.put(id, found);
+                } else {
+                    index.facets.remove(id);
+                }
+            }
+        }
+    }
+
+    private IdBitmap evaluate(FacetIndex index, FilterExpression filter, Map<String, Function<String, String>> fields,
+            int[] nodes) {
+        if (++nodes[0] > MAX_FILTER_NODES) {
+            throw new RuntimeException("Filter has too many conditions");
+        }
+        IdBitmap result = index.all().copy();
+        if (filter == null) {
+            return result;
+        }
+
+        if (filter.getField() != null) {
+            String field = filter.getField().toLowerCase();
+            Function<String, String> normalizer = fields.get(field);
+            if (normalizer == null) {
+                throw new RuntimeException("Cannot filter by " + filter.getField());
+            }
+            if (filter.getValues() == null || filter.getValues().isEmpty()) {
+                throw new RuntimeException("Filter on " + field + " needs at least one value");
+            }
+            IdBitmap matches = new IdBitmap();
+            for (String value : filter.getValues()) {
+                String facetValue;
+                try {
+                    facetValue = normalizer.apply(value.trim());
+                } catch (IllegalArgumentException e) {
+                    // Unknown values fail instead of silently matching nothing
+                    throw new RuntimeException("Invalid " + field + " value: " + value);
+                }
+                matches = matches.or(index.posting(FacetIndex.key(field, facetValue)));
+            }
+            result = result.and(matches);
+        }
+        if (filter.getAnd() != null) {
+            for (FilterExpression child : filter.getAnd()) {
+                result = result.and(evaluate(index, child, fields, nodes));
+            }
+        }
+        if (filter.getOr() != null && !filter.getOr().isEmpty()) {
+            IdBitmap any = new IdBitmap();
+            for (FilterExpression child : filter.getOr()) {
+                any = any.or(evaluate(index, child, fields, nodes));
+            }
+            result = result.and(any);
+        }
+        if (filter.getNot() != null) {
+            result = result.andNot(evaluate(index, filter.getNot(), fields, nodes));
+        }
+        return result;
+    }
+
+    private static String idValue(String value) {
+        return String.valueOf(Long.parseLong(value));
+    }
+
+    private static List<String> taskFacets(Object[] row) {
+        List<String> facets = new ArrayList<>(4);
+        facets.add(FacetIndex.key("status", ((TaskStatus) row[1]).name()));
+        facets.add(FacetIndex.key("priority", ((Priority) row[2]).name()));
+        facets.add(FacetIndex.key("project", row[3]));
+        return facets;
+    }
+
+    private static List<String> issueFacets(Object[] row) {
+        List<String> facets = new ArrayList<>(4);
+        facets.add(FacetIndex.key("status", ((IssueStatus) row[1]).name()));
+        facets.add(FacetIndex.key("severity", ((Severity) row[2]).name()));
+        facets.add(FacetIndex.key("project", row[3]));
+        return facets;
+    }
+
+    private static Map<Long, List<String>> collectFacets(List<Object[]> rows, List<Object[]> labelPairs,
+            Function<Object[], List<String>> facets) {
+        Map<Long, List<String>> facetsById = new HashMap<>(rows.size() * 2);
+        for (Object[] row : rows) {
+            facetsById.put((Long) row[0], facets.apply(row));
+        }
+        for (Object[] pair : labelPairs) {
+            List<String> found = facetsById.get((Long) pair[0]);
+            if (found != null) {
+                found.add(FacetIndex.key("label", pair[1]));
+            }
+        }
+        return facetsById;
+    }
+
+    private static final class UserIndex {
+        private final PartitionAge age;
+        private FacetIndex facets = new FacetIndex();
+
+        UserIndex(Clock clock) {
+            this.age = new PartitionAge(clock);
+        }
+
+        void load(List<Object[]> rows, List<Object[]> labelPairs, Function<Object[], List<String>> facetsOf) {
+            FacetIndex rebuilt = new FacetIndex();
+            collectFacets(rows, labelPairs, facetsOf).forEach(rebuilt::put);
+            facets = rebuilt;
+            age.loaded();
+        }
+    }
+}
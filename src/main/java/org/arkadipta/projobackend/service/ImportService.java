@@ -0,0 +1,371 @@
+package org.arkadipta.projobackend.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.arkadipta.projobackend.entity.Issue;
+import org.arkadipta.projobackend.entity.Project;
+import org.arkadipta.projobackend.entity.Task;
+import org.arkadipta.projobackend.entity.User;
+import org.arkadipta.projobackend.enums.ActivityEntityType;
+import org.arkadipta.projobackend.enums.ActivityVerb;
+import org.arkadipta.projobackend.enums.IssueStatus;
+import org.arkadipta.projobackend.enums.Priority;
+import org.arkadipta.projobackend.enums.Severity;
+import org.arkadipta.projobackend.enums.TaskStatus;
+import org.arkadipta.projobackend.repository.ProjectRepository;
+import org.arkadipta.projobackend.repository.TaskRepository;
+import org.arkadipta.projobackend.repository.UserRepository;
+import org.arkadipta.projobackend.util.RankKeys;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Bulk CSV import for tasks and issues. Rows are parsed as a stream, validated
+ * in parallel chunks and persisted in JDBC batches; invalid rows are skipped
+ * and reported back with their row number.
+ */
+@Service
+@Transactional
+public class ImportService {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ActivityLogWriter activityLogWriter;
+
+    @Autowired
+    private CacheService cacheService;
+
+    @Autowired
+    private TaskScheduleService taskScheduleService;
+
+    @Autowired
+    private TaskHierarchyService taskHierarchyService;
+
+    @Autowired
+    private FilterIndexService filterIndexService;
+
+    @Autowired
+    private SavedViewService savedViewService;
+
+    @Autowired
+    private SearchIndexService searchIndexService;
+
+    @Autowired
+    private TypeaheadService typeaheadService;
+
+    @Autowired
+    private IssueSimilarityService issueSimilarityService;
+
+    @Value("${app.import.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${app.import.max-rows:50000}")
+    private int maxRows;
+
+    @Value("${app.import.max-reported-errors:500}")
+    private int maxReportedErrors;
+
+    /**
+     * Columns: title, project (id or title), description, status, priority, startDate, dueDate
+     */
+    public Map<String, Object> importTasks(MultipartFile file) {
+        User user = getCurrentUser();
+        ProjectLookup projects = new ProjectLookup(projectRepository.findByUser(user));
+
+        ColumnRanks ranks = new ColumnRanks();
+
+        // Imported tasks are top-level, so each needs only its own closure row
+        Map<String, Object> report = runImport(file, record -> new Task(
+                requireTitle(record),
+                optional(record, "description"),
+                parseDate(record, "startDate"),
+                parseDate(record, "dueDate"),
+                parseEnum(record, "priority", Priority.class, Priority.MEDIUM),
+                parseEnum(record, "status", TaskStatus.class, TaskStatus.TO_DO),
+                projects.resolve(optional(record, "project")),
+                user), entity -> ranks.assign((Task) entity), persisted -> taskHierarchyService.addTopLevelTasks(
+                        persisted.stream().map(task -> ((Task) task).getId()).toList()));
+
+        taskScheduleService.scheduleUnplacedTasks();
+        cacheService.evictTaskCaches();
+        cacheService.evictDashboardCaches();
+        filterIndexService.invalidateAfterCommit(user);
+        searchIndexService.invalidateAfterCommit(user);
+        typeaheadService.invalidateAfterCommit(user);
+        savedViewService.invalidateAfterCommit(user);
+        recordImport(user, ActivityEntityType.TASK, "tasks", report);
+        return report;
+    }
+
+    /**
+     * Columns: title, project (id or title), description, severity, status
+     */
+    public Map<String, Object> importIssues(MultipartFile file) {
+        User user = getCurrentUser();
+        ProjectLookup projects = new ProjectLookup(projectRepository.findByUser(user));
+
+        Map<String, Object> report = runImport(file, record -> new Issue(
+                requireTitle(record),
+                optional(record, "description"),
+                parseEnum(record, "severity", Severity.class, Severity.MEDIUM),
+                parseEnum(record, "status", IssueStatus.class, IssueStatus.OPEN),
+                projects.resolve(optional(record, "project")),
+                user));
+
+        cacheService.evictIssueCaches();
+        cacheService.evictDashboardCaches();
+        filterIndexService.invalidateAfterCommit(user);
+        searchIndexService.invalidateAfterCommit(user);
+        issueSimilarityService.invalidateAfterCommit(user);
+        recordImport(user, ActivityEntityType.ISSUE, "issues", report);
+        return report;
+    }
+
+    private Map<String, Object> runImport(MultipartFile file, RowParser parser) {
+        return runImport(file, parser, entity -> {
+        }, persisted -> {
+        });
+    }
+
+    /**
+     * beforePersist runs on each valid entity in file order; afterChunk runs on each chunk's
+     * entities right after they are flushed, in the import transaction
+     */
+    private Map<String, Object> runImport(MultipartFile file, RowParser parser, Consumer<Object> beforePersist,
+            Consumer<List<Object>> afterChunk) {
+        CSVFormat format = CSVFormat.DEFAULT.builder()
+                .setHeader()
+                .setSkipHeaderRecord(true)
+                .setIgnoreHeaderCase(true)
+                .setIgnoreEmptyLines(true)
+                .setTrim(true)
+                .build();
+
+        int imported = 0;
+        int failed = 0;
+        List<Map<String, Object>> errors = new ArrayList<>();
+
+        try (Reader reader = new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8);
+                CSVParser csv = format.parse(reader)) {
+            if (!csv.getHeaderMap().containsKey("title")) {
+                throw new RuntimeException("CSV header must include a 'title' column");
+            }
+
+            List<CSVRecord> chunk = new ArrayList<>(chunkSize);
+            int rows = 0;
+            for (CSVRecord record : csv) {
+                if (++rows > maxRows) {
+                    throw new RuntimeException("Imports are limited to " + maxRows + " rows");
+                }
+                chunk.add(record);
+                if (chunk.size() == chunkSize) {
+                    ChunkResult result = importChunk(chunk, parser, beforePersist, afterChunk);
+                    imported += result.imported();
+                    failed += result.errors().size();
+                    addErrors(errors, result.errors());
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                ChunkResult result = importChunk(chunk, parser, beforePersist, afterChunk);
+                imported += result.imported();
+                failed += result.errors().size();
+                addErrors(errors, result.errors());
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read CSV file: " + e.getMessage());
+        }
+
+        Map<String, Object> report = new HashMap<>();
+        report.put("imported", imported);
+        report.put("failed", failed);
+        report.put("errors", errors);
+        return report;
+    }
+
+    private ChunkResult importChunk(List<CSVRecord> chunk, RowParser parser, Consumer<Object> beforePersist,
+            Consumer<List<Object>> afterChunk) {
+        // Parsing only builds detached entities from an immutable project map, so it can run in parallel
+        List<ParsedRow> parsed = chunk.parallelStream().map(record -> {
+            try {
+                return new ParsedRow(record.getRecordNumber(), parser.parse(record), null);
+            } catch (IllegalArgumentException e) {
+                return new ParsedRow(record.getRecordNumber(), null, e.getMessage());
+            }
+        }).toList();
+
+        List<Object> persisted = new ArrayList<>(parsed.size());
+        List<Map<String, Object>> errors = new ArrayList<>();
+        for (ParsedRow row : parsed) {
+            if (row.error() == null) {
+                beforePersist.accept(row.entity());
+                entityManager.persist(row.entity());
+                persisted.add(row.entity());
+            } else {
+                errors.add(Map.of("row", row.row(), "error", row.error()));
+            }
+        }
+
+        // Sequence ids let Hibernate send the chunk as JDBC batches; clearing keeps the context small
+        entityManager.flush();
+        afterChunk.accept(persisted);
+        entityManager.clear();
+        return new ChunkResult(persisted.size(), errors);
+    }
+
+    private void addErrors(List<Map<String, Object>> errors, List<Map<String, Object>> chunkErrors) {
+        int room = maxReportedErrors - errors.size();
+        if (room > 0) {
+            errors.addAll(chunkErrors.subList(0, Math.min(room, chunkErrors.size())));
+        }
+    }
+
+    private void recordImport(User user, ActivityEntityType entityType, String label, Map<String, Object> report) {
+        int imported = (int) report.get("imported");
+        if (imported == 0) {
+            return;
+        }
+        activityLogWriter.record(user, ActivityVerb.IMPORTED, entityType, null, null,
+                "Imported " + imported + " " + label + " from CSV",
+                Map.of("imported", imported, "failed", report.get("failed")));
+    }
+
+    private static String requireTitle(CSVRecord record) {
+        String title = optional(record, "title");
+        if (title == null) {
+            throw new IllegalArgumentException("Title is required");
+        }
+        if (title.length() > 255) {
+            throw new IllegalArgumentException("Title must not exceed 255 characters");
+        }
+        return title;
+    }
+
+    private static String optional(CSVRecord record, String column) {
+        if (!record.isMapped(column) || !record.isSet(column)) {
+            return null;
+        }
+        String value = record.get(column);
+        return value.isEmpty() ? null : value;
+    }
+
+    private static LocalDate parseDate(CSVRecord record, String column) {
+        String value = optional(record, column);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid " + column + " '" + value + "', expected yyyy-MM-dd");
+        }
+    }
+
+    private static <E extends Enum<E>> E parseEnum(CSVRecord record, String column, Class<E> type, E defaultValue) {
+        String value = optional(record, column);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Enum.valueOf(type, value.toUpperCase(Locale.ROOT).replace(' ', '_').replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid " + column + " '" + value + "'");
+        }
+    }
+
+    private User getCurrentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String username = authentication.getName();
+        return userRepository.findByUsername(username)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+    }
+
+    /**
+     * The user's projects keyed by id and by case-insensitive title, loaded once per import
+     */
+    private static final class ProjectLookup {
+        private final Map<Long, Project> byId = new HashMap<>();
+        private final Map<String, Project> byTitle = new HashMap<>();
+
+        private ProjectLookup(List<Project> projects) {
+            for (Project project : projects) {
+                byId.put(project.getId(), project);
+                byTitle.putIfAbsent(project.getTitle().toLowerCase(Locale.ROOT), project);
+            }
+        }
+
+        private Project resolve(String project) {
+            if (project == null) {
+                throw new IllegalArgumentException("Project is required");
+            }
+            Project resolved = byTitle.get(project.toLowerCase(Locale.ROOT));
+            if (resolved == null && project.chars().allMatch(Character::isDigit)) {
+                resolved = byId.get(Long.valueOf(project));
+            }
+            if (resolved == null) {
+                throw new IllegalArgumentException("Project '" + project + "' not found");
+            }
+            return resolved;
+        }
+    }
+
+    /**
+     * Bottom-of-column ranks for imported tasks, in file order. Each column's
+     * current maximum is read once per import and then counted up in memory.
+     */
+    private final class ColumnRanks {
+        private final Map<String, String> lastRanks = new HashMap<>();
+
+        private void assign(Task task) {
+            String column = task.getProject().getId() + ":" + task.getStatus();
+            String lower = lastRanks.containsKey(column) ? lastRanks.get(column)
+                    : taskRepository.findMaxBoardRank(task.getProject(), task.getStatus());
+            String rank = RankKeys.after(lower);
+            lastRanks.put(column, rank);
+            task.setBoardRank(rank);
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowParser {
+        Object parse(CSVRecord record);
+    }
+
+    private record ParsedRow(long row, Object entity, String error) {
+    }
+
+    private record ChunkResult(int imported, List<Map<String, Object>> errors) {
+    }
+}
@@ -0,0 +1,60 @@
+package org.arkadipta.projobackend.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Single-node registry. Use the Redis registry when several instances serve
+ * the same database.
+ */
+@Service
+@ConditionalOnProperty(name = "app.timer.registry", havingValue = "memory", matchIfMissing = true)
+public class InMemoryActiveTimerRegistry implements ActiveTimerRegistry {
+
+    // Stopped timers are kept for a while so late updates with older versions are ignored
+    private static final long STOPPED_RETENTION_MS = 60_000;
+
+    private record Entry(long version, LocalDateTime startTime, long recordedAt) {
+    }
+
+    private final Map<Long, Entry> timers = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean isRunning(Long taskId) {
+        return getStartTime(taskId).isPresent();
+    }
+
+    @Override
+    public Optional<LocalDateTime> getStartTime(Long taskId) {
+        return Optional.ofNullable(timers.get(taskId)).map(Entry::startTime);
+    }
+
+    @Override
+    public void update(Long taskId, long version, LocalDateTime startTime) {
+        timers.compute(taskId, (id, current) -> current != null && current.version() >= version
+                ? current
+                : new Entry(version, startTime, System.currentTimeMillis()));
+    }
+
+    @Override
+    public Set<Long> runningTaskIds() {
+        return timers.entrySet().stream()
+                .filter(entry -> entry.getValue().startTime() != null)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toSet());
+    }
+
+    @Scheduled(fixedDelay = STOPPED_RETENTION_MS)
+    public void pruneStoppedTimers() {
+        long cutoff = System.currentTimeMillis() - STOPPED_RETENTION_MS;
+        timers.values().removeIf(entry -> entry.startTime() == null && entry.recordedAt() < cutoff);
+    }
+}
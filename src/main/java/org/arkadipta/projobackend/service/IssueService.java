@@ -1,17 +1,24 @@
 package org.arkadipta.projobackend.service;
 
+import org.arkadipta.projobackend.dto.request.FilterExpression;
+import org.arkadipta.projobackend.dto.request.IssueFilter;
 import org.arkadipta.projobackend.dto.request.IssueRequest;
 import org.arkadipta.projobackend.entity.*;
+import org.arkadipta.projobackend.enums.ActivityEntityType;
+import org.arkadipta.projobackend.enums.ActivityVerb;
 import org.arkadipta.projobackend.enums.IssueStatus;
 import org.arkadipta.projobackend.enums.Priority;
+import org.arkadipta.projobackend.enums.SearchDocumentType;
 import org.arkadipta.projobackend.enums.Severity;
 import org.arkadipta.projobackend.enums.TaskStatus;
 import org.arkadipta.projobackend.repository.*;
+import org.arkadipta.projobackend.util.IdBitmap;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.Caching;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -20,8 +27,13 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -40,7 +52,31 @@ public class IssueService {
     private TaskRepository taskRepository;
 
     @Autowired
-    private ActivityLogRepository activityLogRepository;
+    private ActivityLogWriter activityLogWriter;
+
+    @Autowired
+    private TaskRankService taskRankService;
+
+    @Autowired
+    private TaskScheduleService taskScheduleService;
+
+    @Autowired
+    private TaskHierarchyService taskHierarchyService;
+
+    @Autowired
+    private FilterIndexService filterIndexService;
+
+    @Autowired
+    private SavedViewService savedViewService;
+
+    @Autowired
+    private SearchIndexService searchIndexService;
+
+    @Autowired
+    private TypeaheadService typeaheadService;
+
+    @Autowired
+    private IssueSimilarityService issueSimilarityService;
 
     private User getCurrentUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
@@ -49,25 +85,47 @@ public class IssueService {
                 .orElseThrow(() -> new RuntimeException("User not found"));
     }
 
-    @Cacheable(value = "issues", key = "T(org.springframework.security.core.context.SecurityContextHolder).getContext().getAuthentication().getName() + '_' + #pageable.pageNumber + '_' + #pageable.pageSize + '_' + #projectId + '_' + #status + '_' + #severity")
-    public Page<Issue> getAllIssues(Pageable pageable, Long projectId, IssueStatus status, Severity severity) {
+    // The in-memory issue indexes re-read the changed rows once the write commits
+    private void refreshIssueIndexesAfterCommit(User user, Collection<Long> ids) {
+        filterIndexService.refreshIssuesAfterCommit(user, ids);
+        searchIndexService.refreshAfterCommit(user, SearchDocumentType.ISSUE, ids);
+        issueSimilarityService.refreshAfterCommit(user, ids);
+    }
+
+    /**
+     * The user's issues matching every criterion of the filter, read with one
+     * statement like TaskService.getAllTasks
+     */
+    @Cacheable(value = "issues", key = "T(org.springframework.security.core.context.SecurityContextHolder).getContext().getAuthentication().getName() + '_' + #pageable.pageNumber + '_' + #pageable.pageSize + '_' + #pageable.sort + '_' + #filter.projectId + '_' + #filter.status + '_' + #filter.severity + '_' + #filter.search")
+    @Transactional(readOnly = true)
+    public Page<Issue> getAllIssues(Pageable pageable, IssueFilter filter) {
         User user = getCurrentUser();
+        IssueSpecifications.requireIndexedSort(pageable.getSort());
 
-        if (projectId != null && status != null) {
-            Project project = projectRepository.findByIdAndUser(projectId, user)
-                    .orElseThrow(() -> new RuntimeException("Project not found"));
-            return issueRepository.findByProjectAndStatus(project, status, pageable);
-        } else if (projectId != null) {
-            Project project = projectRepository.findByIdAndUser(projectId, user)
+        if (filter.getProjectId() != null) {
+            projectRepository.findByIdAndUser(filter.getProjectId(), user)
                     .orElseThrow(() -> new RuntimeException("Project not found"));
-            return issueRepository.findByProject(project, pageable);
-        } else if (status != null) {
-            return issueRepository.findByUserAndStatus(user, status, pageable);
-        } else if (severity != null) {
-            return issueRepository.findByUserAndSeverity(user, severity, pageable);
-        } else {
-            return issueRepository.findByUser(user, pageable);
         }
+        return issueRepository.findAll(IssueSpecifications.matching(user, filter), pageable);
+    }
+
+    /**
+     * Issues matching a filter tree over status, severity, project and labels,
+     * newest first, resolved in the user's bitmap index like TaskService.filterTasks
+     */
+    @Transactional(readOnly = true)
+    public Page<Issue> filterIssues(FilterExpression filter, Pageable pageable) {
+        User user = getCurrentUser();
+        IdBitmap matches = filterIndexService.resolveIssues(user, filter);
+        List<Long> pageIds = matches.descending(pageable.getOffset(), pageable.getPageSize());
+        if (pageIds.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, matches.cardinality());
+        }
+
+        Map<Long, Issue> issuesById = issueRepository.findWithProjectByIdIn(pageIds).stream()
+                .collect(Collectors.toMap(Issue::getId, Function.identity()));
+        List<Issue> content = pageIds.stream().map(issuesById::get).filter(Objects::nonNull).toList();
+        return new PageImpl<>(content, pageable, matches.cardinality());
     }
 
     @Cacheable(value = "issue", key = "#id")
@@ -95,11 +153,11 @@ public class IssueService {
         issue.setUser(user);
 
         Issue savedIssue = issueRepository.save(issue);
+        refreshIssueIndexesAfterCommit(user, List.of(savedIssue.getId()));
 
         // Log activity
-        ActivityLog log = new ActivityLog(user,
-                "Created issue '" + issue.getTitle() + "' in project '" + project.getTitle() + "'");
-        activityLogRepository.save(log);
+        activityLogWriter.record(user, ActivityVerb.CREATED, ActivityEntityType.ISSUE, savedIssue.getId(),
+                project.getId(), "Created issue '" + issue.getTitle() + "' in project '" + project.getTitle() + "'");
 
         return savedIssue;
     }
@@ -123,10 +181,11 @@ public class IssueService {
         issue.setProject(project);
 
         Issue updatedIssue = issueRepository.save(issue);
+        refreshIssueIndexesAfterCommit(user, List.of(id));
 
         // Log activity
-        ActivityLog log = new ActivityLog(user, "Updated issue '" + issue.getTitle() + "'");
-        activityLogRepository.save(log);
+        activityLogWriter.record(user, ActivityVerb.UPDATED, ActivityEntityType.ISSUE, issue.getId(),
+                project.getId(), "Updated issue '" + issue.getTitle() + "'");
 
         return updatedIssue;
     }
@@ -141,11 +200,13 @@ public class IssueService {
                 .orElseThrow(() -> new RuntimeException("Issue not found"));
 
         String issueTitle = issue.getTitle();
+        Long projectId = issue.getProject().getId();
         issueRepository.delete(issue);
+        refreshIssueIndexesAfterCommit(user, List.of(id));
 
         // Log activity
-        ActivityLog log = new ActivityLog(user, "Deleted issue '" + issueTitle + "'");
-        activityLogRepository.save(log);
+        activityLogWriter.record(user, ActivityVerb.DELETED, ActivityEntityType.ISSUE, id, projectId,
+                "Deleted issue '" + issueTitle + "'");
     }
 
     public Task convertIssueToTask(Long issueId, Map<String, Object> conversionData) {
@@ -160,6 +221,7 @@ public class IssueService {
         task.setProject(issue.getProject());
         task.setUser(user);
         task.setStatus(TaskStatus.TO_DO);
+        task.setBoardRank(taskRankService.nextRank(issue.getProject(), TaskStatus.TO_DO));
 
         // Set due date if provided
         if (conversionData.containsKey("dueDate")) {
@@ -182,14 +244,22 @@ public class IssueService {
         }
 
         Task savedTask = taskRepository.save(task);
+        taskHierarchyService.addTask(savedTask, null);
+        taskScheduleService.onTaskChanged(savedTask.getProject().getId(), savedTask.getId());
 
         // Mark issue as resolved
         issue.setStatus(IssueStatus.RESOLVED);
         issueRepository.save(issue);
+        filterIndexService.refreshTasksAfterCommit(user, List.of(savedTask.getId()));
+        savedViewService.refreshAfterCommit(user, List.of(savedTask.getId()));
+        searchIndexService.refreshAfterCommit(user, SearchDocumentType.TASK, List.of(savedTask.getId()));
+        typeaheadService.refreshAfterCommit(user, SearchDocumentType.TASK, List.of(savedTask.getId()));
+        refreshIssueIndexesAfterCommit(user, List.of(issueId));
 
         // Log activity
-        ActivityLog log = new ActivityLog(user, "Converted issue '" + issue.getTitle() + "' to task");
-        activityLogRepository.save(log);
+        activityLogWriter.record(user, ActivityVerb.CONVERTED, ActivityEntityType.ISSUE, issueId,
+                issue.getProject().getId(), "Converted issue '" + issue.getTitle() + "' to task",
+                Map.of("taskId", savedTask.getId()));
 
         return savedTask;
     }
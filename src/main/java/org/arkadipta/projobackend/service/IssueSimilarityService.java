@@ -0,0 +1,208 @@
+package org.arkadipta.projobackend.service;
+
+import org.arkadipta.projobackend.dto.response.SimilarIssue;
+import org.arkadipta.projobackend.entity.Issue;
+import org.arkadipta.projobackend.entity.Project;
+import org.arkadipta.projobackend.entity.User;
+import org.arkadipta.projobackend.repository.IssueRepository;
+import org.arkadipta.projobackend.repository.ProjectRepository;
+import org.arkadipta.projobackend.repository.UserRepository;
+import org.arkadipta.projobackend.util.MinHashIndex;
+import org.arkadipta.projobackend.util.PartitionAge;
+import org.arkadipta.projobackend.util.TransactionHooks;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Flags likely duplicate issues within a project. Each project's issues are
+ * hashed into a MinHash index on the first lookup, patched from the committed
+ * rows after writes through IssueService, rehashed once older than the
+ * configured age and dropped when left idle, so a
+ * lookup compares against the few issues sharing a bucket instead of every
+ * issue in the project.
+ */
+@Service
+public class IssueSimilarityService {
+
+    private static final int MAX_LIMIT = 20;
+
+    @Autowired
+    private IssueRepository issueRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private Clock clock;
+
+    @Value("${app.issue-similarity.threshold:0.5}")
+    private double threshold;
+
+    @Value("${app.issue-similarity.ttl-minutes:30}")
+    private long ttlMinutes;
+
+    private final Map<Long, Partition> partitions = new ConcurrentHashMap<>();
+
+    private User getCurrentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String username = authentication.getName();
+        return userRepository.findByUsername(username)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+    }
+
+    /**
+     * Issues of the current user's project likely to duplicate an issue with
+     * the given title and description, most similar first
+     */
+    @Transactional(readOnly = true)
+    public List<SimilarIssue> findDuplicates(Long projectId, String title, String description, int limit) {
+        User user = getCurrentUser();
+        Project project = projectRepository.findByIdAndUser(projectId, user)
+                .orElseThrow(() -> new RuntimeException("Project not found"));
+        return findDuplicates(project, text(title, description), null, limit);
+    }
+
+    /**
+     * Issues in the same project likely to duplicate the given one
+     */
+    @Transactional(readOnly = true)
+    public List<SimilarIssue> findSimilar(Long issueId, int limit) {
+        User user = getCurrentUser();
+        Issue issue = issueRepository.findByIdAndUser(issueId, user)
+                .orElseThrow(() -> new RuntimeException("Issue not found"));
+        return findDuplicates(issue.getProject(), text(issue.getTitle(), issue.getDescription()), issueId, limit);
+    }
+
+    /**
+     * Re-read the given issues once the current transaction commits and move
+     * them to the index of their project; ids that no longer exist leave it
+     */
+    public void refreshAfterCommit(User owner, Collection<Long> ids) {
+        List<Long> copy = List.copyOf(ids);
+        TransactionHooks.afterCommit(() -> refresh(owner, copy));
+    }
+
+    /**
+     * Drop the user's project indexes after writes that touch an unknown set
+     * of issues, such as imports or project deletion
+     */
+    public void invalidateAfterCommit(User user) {
+        TransactionHooks.afterCommit(() -> partitions.values()
+                .removeIf(partition -> partition.ownerId.equals(user.getId())));
+    }
+
+    @Scheduled(fixedDelayString = "${app.issue-similarity.sweep-interval-ms:300000}", initialDelayString = "${app.issue-similarity.sweep-interval-ms:300000}")
+    public void evictIdlePartitions() {
+        partitions.values().removeIf(partition -> partition.age.isIdle(ttlMinutes));
+    }
+
+    private List<SimilarIssue> findDuplicates(Project project, String text, Long excludedId, int limit) {
+        Partition partition = partitions.computeIfAbsent(project.getId(),
+                id -> new Partition(project.getUser().getId(), clock));
+        List<MinHashIndex.Match> matches;
+        synchronized (partition) {
+            if (partition.age.isStale(ttlMinutes)) {
+                MinHashIndex index = new MinHashIndex();
+                for (Object[] row : issueRepository.findSimilarityTextByProjectId(project.getId())) {
+                    index.put((Long) row[0], text((String) row[1], (String) row[2]));
+                }
+                partition.index = index;
+                partition.age.loaded();
+            }
+            partition.age.touch();
+            matches = partition.index.similar(text, excludedId == null ? -1 : excludedId, threshold,
+                    Math.min(Math.max(limit, 0), MAX_LIMIT));
+        }
+        if (matches.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Issue> issues = issueRepository.findAllById(matches.stream().map(MinHashIndex.Match::key).toList())
+                .stream().collect(Collectors.toMap(Issue::getId, Function.identity()));
+        List<SimilarIssue> similar = new ArrayList<>(matches.size());
+        for (MinHashIndex.Match match : matches) {
+            Issue issue = issues.get(match.key());
+            if (issue != null) {
+                similar.add(new SimilarIssue(issue.getId(), issue.getTitle(), issue.getStatus(), match.similarity()));
+            }
+        }
+        return similar;
+    }
+
+    private void refresh(User owner, List<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        List<Partition> owned = partitions.values().stream()
+                .filter(partition -> partition.ownerId.equals(owner.getId())).toList();
+        if (owned.isEmpty()) {
+            return;
+        }
+        List<Object[]> rows = issueRepository.findSimilarityTextByIdIn(ids, owner);
+        Set<Long> found = new HashSet<>();
+        for (Object[] row : rows) {
+            Long id = (Long) row[0];
+            found.add(id);
+            Partition target = partitions.get((Long) row[1]);
+            // An issue moved to another project leaves the index of its old one
+            for (Partition partition : owned) {
+                if (partition != target) {
+                    synchronized (partition) {
+                        partition.index.remove(id);
+                    }
+                }
+            }
+            if (target != null) {
+                synchronized (target) {
+                    // A partition that is not loaded yet will read this row itself
+                    if (target.age.isLoaded()) {
+                        target.index.put(id, text((String) row[2], (String) row[3]));
+                    }
+                }
+            }
+        }
+        for (Long id : ids) {
+            if (!found.contains(id)) {
+                for (Partition partition : owned) {
+                    synchronized (partition) {
+                        partition.index.remove(id);
+                    }
+                }
+            }
+        }
+    }
+
+    private static String text(String title, String description) {
+        return description == null ? title : title + "\n" + description;
+    }
+
+    private static final class Partition {
+        private final Long ownerId;
+        private final PartitionAge age;
+        private MinHashIndex index = new MinHashIndex();
+
+        private Partition(Long ownerId, Clock clock) {
+            this.ownerId = ownerId;
+            this.age = new PartitionAge(clock);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package org.arkadipta.projobackend.service;
+
+import org.arkadipta.projobackend.repository.JobLockRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Leases in job_locks that keep a scheduled job to one application instance at
+ * a time. A lease that is never released, say after a crash, expires on its own.
+ */
+@Service
+public class JobLockService {
+
+    private static final LocalDateTime NEVER_HELD = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final JobLockRepository jobLockRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final String instanceId = UUID.randomUUID().toString();
+
+    public JobLockService(JobLockRepository jobLockRepository, PlatformTransactionManager transactionManager) {
+        this.jobLockRepository = jobLockRepository;
+        // Each step commits on its own so the lease is visible to other instances right away
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Take the named lease for the given duration; false while anyone, this
+     * instance included, holds it
+     */
+    public boolean tryAcquire(String name, Duration lease) {
+        if (!jobLockRepository.existsById(name)) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> jobLockRepository.insert(name, NEVER_HELD));
+            } catch (DataIntegrityViolationException e) {
+                // Another instance created the row first; the compare-and-set below decides
+            }
+        }
+        LocalDateTime now = LocalDateTime.now();
+        Integer acquired = transactionTemplate.execute(status -> jobLockRepository.acquire(name, instanceId, now,
+                now.plus(lease)));
+        return acquired != null && acquired == 1;
+    }
+
+    public void release(String name) {
+        transactionTemplate.executeWithoutResult(status -> jobLockRepository.release(name, instanceId,
+                LocalDateTime.now()));
+    }
+}
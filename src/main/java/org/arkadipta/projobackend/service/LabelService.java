@@ -0,0 +1,162 @@
+package org.arkadipta.projobackend.service;
+
+import org.arkadipta.projobackend.dto.request.LabelRequest;
+import org.arkadipta.projobackend.entity.*;
+import org.arkadipta.projobackend.enums.ActivityEntityType;
+import org.arkadipta.projobackend.enums.ActivityVerb;
+import org.arkadipta.projobackend.repository.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+@Service
+@Transactional
+public class LabelService {
+
+    @Autowired
+    private LabelRepository labelRepository;
+
+    @Autowired
+    private TaskLabelRepository taskLabelRepository;
+
+    @Autowired
+    private IssueLabelRepository issueLabelRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private IssueRepository issueRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private FilterIndexService filterIndexService;
+
+    @Autowired
+    private ActivityLogWriter activityLogWriter;
+
+    private User getCurrentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String username = authentication.getName();
+        return userRepository.findByUsername(username)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+    }
+
+    @Transactional(readOnly = true)
+    public List<Label> getLabels() {
+        return labelRepository.findByUserOrderByNameAsc(getCurrentUser());
+    }
+
+    public Label createLabel(LabelRequest request) {
+        User user = getCurrentUser();
+        String name = request.getName().trim();
+        if (labelRepository.existsByUserAndNameIgnoreCase(user, name)) {
+            throw new RuntimeException("Label '" + name + "' already exists");
+        }
+        return labelRepository.save(new Label(name, request.getColor(), user));
+    }
+
+    public Label updateLabel(Long id, LabelRequest request) {
+        User user = getCurrentUser();
+        Label label = labelRepository.findByIdAndUser(id, user)
+                .orElseThrow(() -> new RuntimeException("Label not found"));
+        String name = request.getName().trim();
+        if (!label.getName().equalsIgnoreCase(name) && labelRepository.existsByUserAndNameIgnoreCase(user, name)) {
+            throw new RuntimeException("Label '" + name + "' already exists");
+        }
+        label.setName(name);
+        label.setColor(request.getColor());
+        return labelRepository.save(label);
+    }
+
+    // The label's rows on tasks and issues go with it, so the filter indexes are rebuilt
+    public void deleteLabel(Long id) {
+        User user = getCurrentUser();
+        Label label = labelRepository.findByIdAndUser(id, user)
+                .orElseThrow(() -> new RuntimeException("Label not found"));
+        labelRepository.delete(label);
+        filterIndexService.invalidateAfterCommit(user);
+    }
+
+    /**
+     * Replace the labels of a task with the given set
+     */
+    public List<Label> setTaskLabels(Long taskId, List<Long> labelIds) {
+        User user = getCurrentUser();
+        Task task = taskRepository.findByIdAndUser(taskId, user)
+                .orElseThrow(() -> new RuntimeException("Task not found"));
+        List<Label> labels = ownedLabels(user, labelIds);
+
+        taskLabelRepository.deleteByTaskId(taskId);
+        taskLabelRepository.saveAll(labels.stream().map(label -> new TaskLabel(task, label)).toList());
+        filterIndexService.refreshTasksAfterCommit(user, List.of(taskId));
+
+        activityLogWriter.record(user, ActivityVerb.UPDATED, ActivityEntityType.TASK, taskId,
+                task.getProject().getId(), "Changed labels of task '" + task.getTitle() + "'",
+                Map.of("labelIds", labels.stream().map(Label::getId).toList()));
+        return labels;
+    }
+
+    /**
+     * Replace the labels of an issue with the given set
+     */
+    public List<Label> setIssueLabels(Long issueId, List<Long> labelIds) {
+        User user = getCurrentUser();
+        Issue issue = issueRepository.findByIdAndUser(issueId, user)
+                .orElseThrow(() -> new RuntimeException("Issue not found"));
+        List<Label> labels = ownedLabels(user, labelIds);
+
+        issueLabelRepository.deleteByIssueId(issueId);
+        issueLabelRepository.saveAll(labels.stream().map(label -> new IssueLabel(issue, label)).toList());
+        filterIndexService.refreshIssuesAfterCommit(user, List.of(issueId));
+
+        activityLogWriter.record(user, ActivityVerb.UPDATED, ActivityEntityType.ISSUE, issueId,
+                issue.getProject().getId(), "Changed labels of issue '" + issue.getTitle() + "'",
+                Map.of("labelIds", labels.stream().map(Label::getId).toList()));
+        return labels;
+    }
+
+    /**
+     * Label ids of each given task, read with one query for a whole page
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, List<Long>> getTaskLabelIds(Collection<Long> taskIds) {
+        return groupPairs(taskIds.isEmpty() ? List.of() : taskLabelRepository.findPairsByTaskIdIn(taskIds));
+    }
+
+    @Transactional(readOnly = true)
+    public Map<Long, List<Long>> getIssueLabelIds(Collection<Long> issueIds) {
+        return groupPairs(issueIds.isEmpty() ? List.of() : issueLabelRepository.findPairsByIssueIdIn(issueIds));
+    }
+
+    private List<Label> ownedLabels(User user, List<Long> labelIds) {
+        List<Long> ids = labelIds.stream().filter(Objects::nonNull).distinct().toList();
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<Label> labels = labelRepository.findByIdInAndUser(ids, user);
+        if (labels.size() != ids.size()) {
+            throw new RuntimeException("Label not found");
+        }
+        return labels;
+    }
+
+    private static Map<Long, List<Long>> groupPairs(List<Object[]> pairs) {
+        Map<Long, List<Long>> grouped = new HashMap<>();
+        for (Object[] pair : pairs) {
+            grouped.computeIfAbsent((Long) pair[0], id -> new ArrayList<>()).add((Long) pair[1]);
+        }
+        return grouped;
+    }
+}
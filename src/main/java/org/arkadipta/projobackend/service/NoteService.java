@@ -1,11 +1,12 @@
 package org.arkadipta.projobackend.service;
 
 import org.arkadipta.projobackend.dto.request.NoteRequest;
-import org.arkadipta.projobackend.entity.ActivityLog;
 import org.arkadipta.projobackend.entity.Note;
 import org.arkadipta.projobackend.entity.Project;
 import org.arkadipta.projobackend.entity.User;
-import org.arkadipta.projobackend.repository.ActivityLogRepository;
+import org.arkadipta.projobackend.enums.ActivityEntityType;
+import org.arkadipta.projobackend.enums.ActivityVerb;
+import org.arkadipta.projobackend.enums.SearchDocumentType;
 import org.arkadipta.projobackend.repository.NoteRepository;
 import org.arkadipta.projobackend.repository.ProjectRepository;
 import org.arkadipta.projobackend.repository.UserRepository;
@@ -14,6 +15,7 @@ import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.Caching;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
@@ -25,6 +27,9 @@ import jakarta.persistence.EntityNotFoundException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -40,7 +45,10 @@ public class NoteService {
     private UserRepository userRepository;
 
     @Autowired
-    private ActivityLogRepository activityLogRepository;
+    private ActivityLogWriter activityLogWriter;
+
+    @Autowired
+    private SearchIndexService searchIndexService;
 
     private User getCurrentUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
@@ -69,7 +77,14 @@ public class NoteService {
                     .orElseThrow(() -> new RuntimeException("Project not found"));
             return noteRepository.findByProject(project, pageable);
         } else if (search != null && !search.trim().isEmpty()) {
-            return noteRepository.findByUserAndContentContaining(user, search, pageable);
+            // Ranked by relevance through the search index, then the page is fetched by id
+            List<Long> ids = searchIndexService.searchIds(user, search, SearchDocumentType.NOTE);
+            int from = (int) Math.min(pageable.getOffset(), ids.size());
+            List<Long> pageIds = ids.subList(from, Math.min(from + pageable.getPageSize(), ids.size()));
+            Map<Long, Note> notesById = noteRepository.findAllById(pageIds).stream()
+                    .collect(Collectors.toMap(Note::getId, Function.identity()));
+            List<Note> content = pageIds.stream().map(notesById::get).filter(Objects::nonNull).toList();
+            return new PageImpl<>(content, pageable, ids.size());
         } else {
             return noteRepository.findByUser(user, pageable);
         }
@@ -109,11 +124,12 @@ public class NoteService {
         }
 
         Note savedNote = noteRepository.save(note);
+        searchIndexService.refreshAfterCommit(user, SearchDocumentType.NOTE, List.of(savedNote.getId()));
 
         // Log activity
         String projectName = project != null ? project.getTitle() : "Personal Notes";
-        ActivityLog log = new ActivityLog(user, "Created note in " + projectName);
-        activityLogRepository.save(log);
+        activityLogWriter.record(user, ActivityVerb.CREATED, ActivityEntityType.NOTE, savedNote.getId(),
+                project != null ? project.getId() : null, "Created note in " + projectName);
 
         return savedNote;
     }
@@ -146,10 +162,12 @@ public class NoteService {
         }
 
         Note updatedNote = noteRepository.save(note);
+        // Collaborators edit notes that live in the owner's index
+        searchIndexService.refreshAfterCommit(note.getUser(), SearchDocumentType.NOTE, List.of(id));
 
         // Log activity
-        ActivityLog log = new ActivityLog(user, "Updated note");
-        activityLogRepository.save(log);
+        activityLogWriter.record(user, ActivityVerb.UPDATED, ActivityEntityType.NOTE, id,
+                note.getProject() != null ? note.getProject().getId() : null, "Updated note");
 
         return updatedNote;
     }
@@ -168,11 +186,13 @@ public class NoteService {
             throw new AccessDeniedException("Cannot delete this note");
         }
 
+        Long projectId = note.getProject() != null ? note.getProject().getId() : null;
         noteRepository.delete(note);
+        searchIndexService.refreshAfterCommit(note.getUser(), SearchDocumentType.NOTE, List.of(id));
 
         // Log activity
-        ActivityLog log = new ActivityLog(user, "Deleted note");
-        activityLogRepository.save(log);
+        activityLogWriter.record(user, ActivityVerb.DELETED, ActivityEntityType.NOTE, id, projectId,
+                "Deleted note");
     }
 
     @Cacheable(value = "note-stats", key = "T(org.springframework.security.core.context.SecurityContextHolder).getContext().getAuthentication().getName()")
@@ -35,6 +35,9 @@ public class ProjectMemberService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private ActivityService activityService;
+
     @Caching(evict = {
             @CacheEvict(value = "projectMembers", allEntries = true),
             @CacheEvict(value = "projects", allEntries = true),
@@ -95,6 +98,9 @@ public class ProjectMemberService {
 
         projectMember.setInviteStatus(response);
         projectMember = projectMemberRepository.save(projectMember);
+        if (response == InviteStatus.ACCEPTED) {
+            activityService.getOrCreateReadCursor(currentUser, projectMember.getProject());
+        }
 
         return convertToResponse(projectMember);
     }
@@ -1,10 +1,11 @@
 package org.arkadipta.projobackend.service;
 
 import org.arkadipta.projobackend.dto.request.ProjectRequest;
-import org.arkadipta.projobackend.entity.ActivityLog;
 import org.arkadipta.projobackend.entity.Project;
 import org.arkadipta.projobackend.entity.User;
-import org.arkadipta.projobackend.repository.ActivityLogRepository;
+import org.arkadipta.projobackend.enums.ActivityEntityType;
+import org.arkadipta.projobackend.enums.ActivityVerb;
+import org.arkadipta.projobackend.enums.SearchDocumentType;
 import org.arkadipta.projobackend.repository.ProjectRepository;
 import org.arkadipta.projobackend.repository.TaskRepository;
 import org.arkadipta.projobackend.repository.UserRepository;
@@ -34,7 +35,28 @@ public class ProjectService {
     private TaskRepository taskRepository;
 
     @Autowired
-    private ActivityLogRepository activityLogRepository;
+    private ActivityLogWriter activityLogWriter;
+
+    @Autowired
+    private ActivityService activityService;
+
+    @Autowired
+    private FilterIndexService filterIndexService;
+
+    @Autowired
+    private SavedViewService savedViewService;
+
+    @Autowired
+    private SearchIndexService searchIndexService;
+
+    @Autowired
+    private TypeaheadService typeaheadService;
+
+    @Autowired
+    private IssueSimilarityService issueSimilarityService;
+
+    @Autowired
+    private TaskHierarchyService taskHierarchyService;
 
     private User getCurrentUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
@@ -73,10 +95,13 @@ public class ProjectService {
         project.setUser(user);
 
         Project savedProject = projectRepository.save(project);
+        searchIndexService.refreshAfterCommit(user, SearchDocumentType.PROJECT, List.of(savedProject.getId()));
+        typeaheadService.refreshAfterCommit(user, SearchDocumentType.PROJECT, List.of(savedProject.getId()));
+        activityService.getOrCreateReadCursor(user, savedProject);
 
         // Log activity
-        ActivityLog log = new ActivityLog(user, "Created project '" + project.getTitle() + "'");
-        activityLogRepository.save(log);
+        activityLogWriter.record(user, ActivityVerb.CREATED, ActivityEntityType.PROJECT, savedProject.getId(),
+                savedProject.getId(), "Created project '" + project.getTitle() + "'");
 
         return savedProject;
     }
@@ -92,10 +117,12 @@ public class ProjectService {
         project.setDeadline(request.getDeadline());
 
         Project updatedProject = projectRepository.save(project);
+        searchIndexService.refreshAfterCommit(user, SearchDocumentType.PROJECT, List.of(id));
+        typeaheadService.refreshAfterCommit(user, SearchDocumentType.PROJECT, List.of(id));
 
         // Log activity
-        ActivityLog log = new ActivityLog(user, "Updated project '" + project.getTitle() + "'");
-        activityLogRepository.save(log);
+        activityLogWriter.record(user, ActivityVerb.UPDATED, ActivityEntityType.PROJECT, id, id,
+                "Updated project '" + project.getTitle() + "'");
 
         return updatedProject;
     }
@@ -107,11 +134,18 @@ public class ProjectService {
                 .orElseThrow(() -> new RuntimeException("Project not found"));
 
         String projectTitle = project.getTitle();
+        taskHierarchyService.removeProject(id);
         projectRepository.delete(project);
+        // The project's tasks and issues go with it
+        filterIndexService.invalidateAfterCommit(user);
+        savedViewService.invalidateAfterCommit(user);
+        searchIndexService.invalidateAfterCommit(user);
+        typeaheadService.invalidateAfterCommit(user);
+        issueSimilarityService.invalidateAfterCommit(user);
 
         // Log activity
-        ActivityLog log = new ActivityLog(user, "Deleted project '" + projectTitle + "'");
-        activityLogRepository.save(log);
+        activityLogWriter.record(user, ActivityVerb.DELETED, ActivityEntityType.PROJECT, id, id,
+                "Deleted project '" + projectTitle + "'");
     }
 
     @Cacheable(value = "project_task_count", key = "#projectId")
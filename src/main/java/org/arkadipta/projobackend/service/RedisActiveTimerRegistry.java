@@ -0,0 +1,82 @@
+package org.arkadipta.projobackend.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Registry shared by all instances through a single Redis hash of task id to
+ * "version|ISO start time". Stopped timers leave a short-lived marker key
+ * holding their version. Both keys share a hash tag so the update script also
+ * runs on a cluster.
+ */
+@Service
+@ConditionalOnProperty(name = "app.timer.registry", havingValue = "redis")
+public class RedisActiveTimerRegistry implements ActiveTimerRegistry {
+
+    private static final String KEY = "{projo:timers}:active";
+    private static final String STOPPED_KEY_PREFIX = "{projo:timers}:stopped:";
+    private static final long STOPPED_RETENTION_SECONDS = 60;
+
+    // Write the new state only if its version beats both the running entry and the stopped marker
+    private static final RedisScript<Long> UPDATE_SCRIPT = new DefaultRedisScript<>("""
+            local function version(value)
+              if not value then return -1 end
+              return tonumber(string.match(value, '^[^|]+'))
+            end
+            local current = math.max(version(redis.call('HGET', KEYS[1], ARGV[1])),
+                                     version(redis.call('GET', KEYS[2])))
+            if tonumber(ARGV[2]) <= current then
+              return 0
+            end
+            if ARGV[3] == '' then
+              redis.call('HDEL', KEYS[1], ARGV[1])
+              redis.call('SET', KEYS[2], ARGV[2], 'EX', ARGV[4])
+            else
+              redis.call('HSET', KEYS[1], ARGV[1], ARGV[2] .. '|' .. ARGV[3])
+              redis.call('DEL', KEYS[2])
+            end
+            return 1
+            """, Long.class);
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Override
+    public boolean isRunning(Long taskId) {
+        return redisTemplate.opsForHash().hasKey(KEY, taskId.toString());
+    }
+
+    @Override
+    public Optional<LocalDateTime> getStartTime(Long taskId) {
+        Object value = redisTemplate.opsForHash().get(KEY, taskId.toString());
+        return Optional.ofNullable(value)
+                .map(v -> LocalDateTime.parse(v.toString().substring(v.toString().indexOf('|') + 1)));
+    }
+
+    @Override
+    public void update(Long taskId, long version, LocalDateTime startTime) {
+        redisTemplate.execute(UPDATE_SCRIPT,
+                List.of(KEY, STOPPED_KEY_PREFIX + taskId),
+                taskId.toString(),
+                Long.toString(version),
+                startTime != null ? startTime.toString() : "",
+                Long.toString(STOPPED_RETENTION_SECONDS));
+    }
+
+    @Override
+    public Set<Long> runningTaskIds() {
+        return redisTemplate.opsForHash().keys(KEY).stream()
+                .map(key -> Long.valueOf(key.toString()))
+                .collect(Collectors.toSet());
+    }
+}
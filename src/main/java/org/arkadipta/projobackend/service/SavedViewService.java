@@ -0,0 +1,356 @@
+package org.arkadipta.projobackend.service;
+
+import org.arkadipta.projobackend.dto.request.SavedViewRequest;
+import org.arkadipta.projobackend.entity.SavedView;
+import org.arkadipta.projobackend.entity.Task;
+import org.arkadipta.projobackend.entity.User;
+import org.arkadipta.projobackend.enums.Priority;
+import org.arkadipta.projobackend.enums.TaskStatus;
+import org.arkadipta.projobackend.repository.ProjectRepository;
+import org.arkadipta.projobackend.repository.SavedViewRepository;
+import org.arkadipta.projobackend.repository.TaskRepository;
+import org.arkadipta.projobackend.repository.TaskSpecifications;
+import org.arkadipta.projobackend.repository.UserRepository;
+import org.arkadipta.projobackend.util.PartitionAge;
+import org.arkadipta.projobackend.util.TransactionHooks;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Saved task views. The ordered id set of an opened view is kept in memory,
+ * so opening it again reads one page of ids and fetches those tasks in one
+ * query. Writes through the services re-read the changed tasks after commit
+ * and move them in or out of every cached view of their owner; views with a
+ * relative due window are recomputed when the day changes, every result is
+ * recomputed once it is older than the ttl, and results left idle are dropped.
+ */
+@Service
+@Transactional
+public class SavedViewService {
+
+    private static final int MAX_VIEWS_PER_USER = 100;
+
+    @Autowired
+    private SavedViewRepository savedViewRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private Clock clock;
+
+    @Value("${app.saved-views.ttl-minutes:30}")
+    private long ttlMinutes;
+
+    private final Map<Long, UserViews> results = new ConcurrentHashMap<>();
+
+    private User getCurrentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String username = authentication.getName();
+        return userRepository.findByUsername(username)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+    }
+
+    @Transactional(readOnly = true)
+    public List<SavedView> getViews() {
+        return savedViewRepository.findByUserOrderByNameAsc(getCurrentUser());
+    }
+
+    public SavedView createView(SavedViewRequest request) {
+        User user = getCurrentUser();
+        String name = request.getName().trim();
+        if (savedViewRepository.existsByUserAndNameIgnoreCase(user, name)) {
+            throw new RuntimeException("View '" + name + "' already exists");
+        }
+        if (savedViewRepository.findByUserOrderByNameAsc(user).size() >= MAX_VIEWS_PER_USER) {
+            throw new RuntimeException("Cannot save more than " + MAX_VIEWS_PER_USER + " views");
+        }
+        SavedView view = new SavedView();
+        view.setUser(user);
+        apply(view, request, user);
+        return savedViewRepository.save(view);
+    }
+
+    public SavedView updateView(Long id, SavedViewRequest request) {
+        User user = getCurrentUser();
+        SavedView view = savedViewRepository.findByIdAndUser(id, user)
+                .orElseThrow(() -> new RuntimeException("View not found"));
+        String name = request.getName().trim();
+        if (!view.getName().equalsIgnoreCase(name) && savedViewRepository.existsByUserAndNameIgnoreCase(user, name)) {
+            throw new RuntimeException("View '" + name + "' already exists");
+        }
+        apply(view, request, user);
+        SavedView saved = savedViewRepository.save(view);
+        dropResultAfterCommit(user, id);
+        return saved;
+    }
+
+    public void deleteView(Long id) {
+        User user = getCurrentUser();
+        SavedView view = savedViewRepository.findByIdAndUser(id, user)
+                .orElseThrow(() -> new RuntimeException("View not found"));
+        savedViewRepository.delete(view);
+        dropResultAfterCommit(user, id);
+    }
+
+    /**
+     * One page of the view's tasks, read from its cached id set
+     */
+    @Transactional(readOnly = true)
+    public Page<Task> openView(Long id, Pageable pageable) {
+        User user = getCurrentUser();
+        SavedView view = savedViewRepository.findByIdAndUser(id, user)
+                .orElseThrow(() -> new RuntimeException("View not found"));
+
+        List<Long> pageIds;
+        int total;
+        UserViews userViews = results.computeIfAbsent(user.getId(), key -> new UserViews(clock));
+        synchronized (userViews) {
+            LocalDate today = LocalDate.now();
+            ViewResult result = userViews.views.get(id);
+            if (result == null || !result.resolvedOn.equals(today) || result.age.isStale(ttlMinutes)) {
+                result = new ViewResult(ViewCriteria.of(view, today), today, new PartitionAge(clock));
+                for (Object[] row : taskRepository.findViewRowsByUser(user)) {
+                    result.offer(ViewRow.of(row));
+                }
+                result.age.loaded();
+                userViews.views.put(id, result);
+            }
+            userViews.age.touch();
+            pageIds = result.page(pageable.getOffset(), pageable.getPageSize());
+            total = result.size();
+        }
+        if (pageIds.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, total);
+        }
+
+        Map<Long, Task> tasksById = taskRepository.findWithProjectByIdIn(pageIds).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+        List<Task> content = pageIds.stream().map(tasksById::get).filter(Objects::nonNull).toList();
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    /**
+     * Re-read the given tasks once the current transaction commits and move
+     * them in or out of the owner's cached views; ids that no longer exist
+     * leave every view
+     */
+    public void refreshAfterCommit(User user, Collection<Long> taskIds) {
+        List<Long> ids = List.copyOf(taskIds);
+        TransactionHooks.afterCommit(() -> refresh(user, ids));
+    }
+
+    /**
+     * Drop the user's cached results after writes that touch an unknown set of
+     * tasks, such as imports or project deletion
+     */
+    public void invalidateAfterCommit(User user) {
+        TransactionHooks.afterCommit(() -> results.remove(user.getId()));
+    }
+
+    @Scheduled(fixedDelayString = "${app.saved-views.sweep-interval-ms:300000}", initialDelayString = "${app.saved-views.sweep-interval-ms:300000}")
+    public void evictIdleResults() {
+        results.values().removeIf(userViews -> userViews.age.isIdle(ttlMinutes));
+    }
+
+    private void refresh(User user, List<Long> ids) {
+        UserViews userViews = results.get(user.getId());
+        if (userViews == null || ids.isEmpty()) {
+            return;
+        }
+        synchronized (userViews) {
+            if (userViews.views.isEmpty()) {
+                return;
+            }
+            Map<Long, ViewRow> rows = new HashMap<>();
+            for (Object[] row : taskRepository.findViewRowsByIdIn(ids, user)) {
+                ViewRow viewRow = ViewRow.of(row);
+                rows.put(viewRow.id(), viewRow);
+            }
+            for (ViewResult result : userViews.views.values()) {
+                for (Long id : ids) {
+                    result.remove(id);
+                    ViewRow row = rows.get(id);
+                    if (row != null) {
+                        result.offer(row);
+                    }
+                }
+            }
+        }
+    }
+
+    private void dropResultAfterCommit(User user, Long viewId) {
+        TransactionHooks.afterCommit(() -> {
+            UserViews userViews = results.get(user.getId());
+            if (userViews != null) {
+                synchronized (userViews) {
+                    userViews.views.remove(viewId);
+                }
+            }
+        });
+    }
+
+    private void apply(SavedView view, SavedViewRequest request, User user) {
+        String sortBy = request.getSortBy() == null ? "createdAt" : request.getSortBy();
+        TaskSpecifications.requireIndexedSort(Sort.by(sortBy));
+        if (request.getProjectId() != null) {
+            projectRepository.findByIdAndUser(request.getProjectId(), user)
+                    .orElseThrow(() -> new RuntimeException("Project not found"));
+        }
+        if (request.getDueFrom() != null && request.getDueTo() != null
+                && request.getDueFrom().isAfter(request.getDueTo())) {
+            throw new RuntimeException("Due range starts after it ends");
+        }
+        view.setName(request.getName().trim());
+        view.setProjectId(request.getProjectId());
+        view.setStatus(request.getStatus());
+        view.setPriority(request.getPriority());
+        view.setDueFrom(request.getDueFrom());
+        view.setDueTo(request.getDueTo());
+        view.setDueWithinDays(request.getDueWithinDays());
+        view.setSearch(request.getSearch() == null || request.getSearch().isBlank() ? null
+                : request.getSearch().trim());
+        view.setSortBy(sortBy);
+        view.setSortAscending("asc".equalsIgnoreCase(request.getSortDir()));
+    }
+
+    private record ViewRow(Long id, TaskStatus status, Priority priority, Long projectId, LocalDate dueDate,
+            String title, LocalDateTime createdAt) {
+
+        static ViewRow of(Object[] row) {
+            return new ViewRow((Long) row[0], (TaskStatus) row[1], (Priority) row[2], (Long) row[3],
+                    (LocalDate) row[4], (String) row[5], (LocalDateTime) row[6]);
+        }
+    }
+
+    /**
+     * A view's criteria with the relative due window resolved to dates; the
+     * same tests TaskSpecifications applies in SQL
+     */
+    private record ViewCriteria(Long projectId, TaskStatus status, Priority priority, LocalDate dueFrom,
+            LocalDate dueTo, String search, Comparator<ViewRow> order) {
+
+        static ViewCriteria of(SavedView view, LocalDate today) {
+            LocalDate from = view.getDueFrom();
+            LocalDate to = view.getDueTo();
+            if (view.getDueWithinDays() != null) {
+                LocalDate windowEnd = today.plusDays(view.getDueWithinDays());
+                from = from == null || from.isBefore(today) ? today : from;
+                to = to == null || to.isAfter(windowEnd) ? windowEnd : to;
+            }
+            String search = view.getSearch() == null ? null : view.getSearch().toLowerCase();
+            return new ViewCriteria(view.getProjectId(), view.getStatus(), view.getPriority(), from, to, search,
+                    order(view.getSortBy(), view.isSortAscending()));
+        }
+
+        boolean matches(ViewRow row) {
+            return (projectId == null || projectId.equals(row.projectId()))
+                    && (status == null || status == row.status())
+                    && (priority == null || priority == row.priority())
+                    && (dueFrom == null || row.dueDate() != null && !row.dueDate().isBefore(dueFrom))
+                    && (dueTo == null || row.dueDate() != null && !row.dueDate().isAfter(dueTo))
+                    && (search == null || row.title().toLowerCase().contains(search));
+        }
+
+        // Missing values sort last in either direction; equal keys keep the newest task first
+        private static Comparator<ViewRow> order(String sortBy, boolean ascending) {
+            Comparator<ViewRow> bySortKey = switch (sortBy) {
+                case "dueDate" -> Comparator.comparing(ViewRow::dueDate, nullsLast(ascending));
+                case "status" -> Comparator.comparing(ViewRow::status, nullsLast(ascending));
+                case "priority" -> Comparator.comparing(ViewRow::priority, nullsLast(ascending));
+                case "title" -> Comparator.comparing(ViewRow::title, nullsLast(ascending));
+                default -> Comparator.comparing(ViewRow::createdAt, nullsLast(ascending));
+            };
+            return bySortKey.thenComparing(ViewRow::id, Comparator.reverseOrder());
+        }
+
+        private static <T extends Comparable<? super T>> Comparator<T> nullsLast(boolean ascending) {
+            return Comparator.nullsLast(ascending ? Comparator.<T>naturalOrder() : Comparator.<T>reverseOrder());
+        }
+    }
+
+    private static final class ViewResult {
+        private final ViewCriteria criteria;
+        private final LocalDate resolvedOn;
+        private final TreeSet<ViewRow> members;
+        private final Map<Long, ViewRow> byId = new HashMap<>();
+        private final PartitionAge age;
+
+        ViewResult(ViewCriteria criteria, LocalDate resolvedOn, PartitionAge age) {
+            this.criteria = criteria;
+            this.resolvedOn = resolvedOn;
+            this.age = age;
+            this.members = new TreeSet<>(criteria.order());
+        }
+
+        void offer(ViewRow row) {
+            if (criteria.matches(row)) {
+                byId.put(row.id(), row);
+                members.add(row);
+            }
+        }
+
+        void remove(Long id) {
+            ViewRow row = byId.remove(id);
+            if (row != null) {
+                members.remove(row);
+            }
+        }
+
+        int size() {
+            return members.size();
+        }
+
+        List<Long> page(long offset, int limit) {
+            List<Long> ids = new ArrayList<>(Math.min(limit, members.size()));
+            Iterator<ViewRow> iterator = members.iterator();
+            for (long skipped = 0; skipped < offset && iterator.hasNext(); skipped++) {
+                iterator.next();
+            }
+            while (ids.size() < limit && iterator.hasNext()) {
+                ids.add(iterator.next().id());
+            }
+            return ids;
+        }
+    }
+
+    private static final class UserViews {
+        private final Map<Long, ViewResult> views = new HashMap<>();
+        private final PartitionAge age;
+
+        UserViews(Clock clock) {
+            this.age = new PartitionAge(clock);
+        }
+    }
+}
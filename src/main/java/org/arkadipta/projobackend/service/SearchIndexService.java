@@ -0,0 +1,403 @@
+package org.arkadipta.projobackend.service;
+
+import org.arkadipta.projobackend.dto.response.SearchHit;
+import org.arkadipta.projobackend.entity.Issue;
+import org.arkadipta.projobackend.entity.Note;
+import org.arkadipta.projobackend.entity.Project;
+import org.arkadipta.projobackend.entity.Task;
+import org.arkadipta.projobackend.entity.User;
+import org.arkadipta.projobackend.enums.SearchDocumentType;
+import org.arkadipta.projobackend.repository.IssueRepository;
+import org.arkadipta.projobackend.repository.NoteRepository;
+import org.arkadipta.projobackend.repository.ProjectRepository;
+import org.arkadipta.projobackend.repository.TaskRepository;
+import org.arkadipta.projobackend.repository.UserRepository;
+import org.arkadipta.projobackend.util.InvertedIndex;
+import org.arkadipta.projobackend.util.PartitionAge;
+import org.arkadipta.projobackend.util.TextAnalyzer;
+import org.arkadipta.projobackend.util.TransactionHooks;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-user inverted index over the titles and text of tasks, issues, notes
+ * and projects. A user's partition is built from the database on first
+ * search, patched from the committed rows after writes through the services,
+ * rebuilt once it is older than the configured age and dropped when left
+ * idle; it can be rebuilt at any time. Only ids and
+ * term frequencies live in memory: the page of hits is fetched by id and
+ * highlighted from the stored text.
+ */
+@Service
+public class SearchIndexService {
+
+    // Title words count three times as much as body words
+    private static final int TITLE_WEIGHT = 3;
+    private static final int MAX_QUERY_TERMS = 10;
+    private static final int MAX_PREFIX_EXPANSIONS = 50;
+    private static final int SNIPPET_LENGTH = 160;
+    private static final int NOTE_TITLE_LENGTH = 80;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private IssueRepository issueRepository;
+
+    @Autowired
+    private NoteRepository noteRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private Clock clock;
+
+    @Value("${app.search-index.ttl-minutes:30}")
+    private long ttlMinutes;
+
+    private final Map<Long, Partition> partitions = new ConcurrentHashMap<>();
+
+    private User getCurrentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String username = authentication.getName();
+        return userRepository.findByUsername(username)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+    }
+
+    /**
+     * The current user's documents matching every word of the query, best
+     * first. The last word also matches as a prefix while it is being typed.
+     * A null or empty set of types searches all of them.
+     */
+    @Transactional(readOnly = true)
+    public Page<SearchHit> search(String query, Set<SearchDocumentType> types, Pageable pageable) {
+        User user = getCurrentUser();
+        List<Set<String>> clauses = new ArrayList<>();
+        List<InvertedIndex.Match> matches = match(user, query, types, clauses);
+
+        int from = (int) Math.min(pageable.getOffset(), matches.size());
+        int to = Math.min(from + pageable.getPageSize(), matches.size());
+        List<InvertedIndex.Match> page = matches.subList(from, to);
+        if (page.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, matches.size());
+        }
+
+        Set<String> matchedTerms = new HashSet<>();
+        clauses.forEach(matchedTerms::addAll);
+        Map<Long, SearchHit> hits = loadHits(page, matchedTerms);
+        List<SearchHit> content = new ArrayList<>(page.size());
+        for (InvertedIndex.Match match : page) {
+            SearchHit hit = hits.get(match.key());
+            if (hit != null) {
+                hit.setScore(match.score());
+                content.add(hit);
+            }
+        }
+        return new PageImpl<>(content, pageable, matches.size());
+    }
+
+    /**
+     * Ids of the user's documents of one type matching the query, best first
+     */
+    @Transactional(readOnly = true)
+    public List<Long> searchIds(User user, String query, SearchDocumentType type) {
+        return match(user, query, Set.of(type), new ArrayList<>()).stream().map(match -> idOf(match.key()))
+                .toList();
+    }
+
+    /**
+     * Re-read the given documents once the current transaction commits and
+     * patch the owner's partition; ids that no longer exist leave it
+     */
+    public void refreshAfterCommit(User owner, SearchDocumentType type, Collection<Long> ids) {
+        List<Long> copy = List.copyOf(ids);
+        TransactionHooks.afterCommit(() -> refresh(owner, type, copy));
+    }
+
+    /**
+     * Drop the user's partition after writes that touch an unknown set of
+     * documents, such as imports or project deletion
+     */
+    public void invalidateAfterCommit(User user) {
+        TransactionHooks.afterCommit(() -> partitions.remove(user.getId()));
+    }
+
+    /**
+     * Rebuild the current user's partition from the database now
+     */
+    @Transactional(readOnly = true)
+    public int rebuild() {
+        User user = getCurrentUser();
+        Partition partition = partitions.computeIfAbsent(user.getId(), id -> new Partition(clock));
+        synchronized (partition) {
+            load(user, partition);
+            return partition.index.size();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.search-index.sweep-interval-ms:300000}", initialDelayString = "${app.search-index.sweep-interval-ms:300000}")
+    public void evictIdlePartitions() {
+        partitions.values().removeIf(partition -> partition.age.isIdle(ttlMinutes));
+    }
+
+    private List<InvertedIndex.Match> match(User user, String query, Set<SearchDocumentType> types,
+            List<Set<String>> clauses) {
+        String text = query == null ? "" : query;
+        List<TextAnalyzer.Token> tokens = TextAnalyzer.analyze(text);
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+        if (tokens.size() > MAX_QUERY_TERMS) {
+            throw new RuntimeException("Search query has too many words");
+        }
+
+        Partition partition = partitions.computeIfAbsent(user.getId(), id -> new Partition(clock));
+        List<InvertedIndex.Match> matches;
+        synchronized (partition) {
+            if (partition.age.isStale(ttlMinutes)) {
+                load(user, partition);
+            }
+            partition.age.touch();
+
+            for (int i = 0; i < tokens.size(); i++) {
+                Set<String> clause = new LinkedHashSet<>();
+                clause.add(tokens.get(i).term());
+                // The word being typed also matches longer words; both its raw and stemmed form are tried
+                if (i == tokens.size() - 1 && TextAnalyzer.endsInWord(text)) {
+                    TextAnalyzer.Token last = tokens.get(i);
+                    String raw = text.substring(last.start(), last.end()).toLowerCase();
+                    clause.addAll(partition.index.termsWithPrefix(raw, MAX_PREFIX_EXPANSIONS));
+                    clause.addAll(partition.index.termsWithPrefix(last.term(), MAX_PREFIX_EXPANSIONS));
+                }
+                clauses.add(clause);
+            }
+            matches = partition.index.search(clauses);
+        }
+
+        if (types == null || types.isEmpty() || types.size() == SearchDocumentType.values().length) {
+            return matches;
+        }
+        return matches.stream().filter(match -> types.contains(typeOf(match.key()))).toList();
+    }
+
+    private void load(User user, Partition partition) {
+        InvertedIndex index = new InvertedIndex();
+        for (SearchDocumentType type : SearchDocumentType.values()) {
+            for (Object[] row : textByUser(type, user)) {
+                index.put(key(type, (Long) row[0]), termFrequencies(type, row));
+            }
+        }
+        partition.index = index;
+        partition.age.loaded();
+    }
+
+    private void refresh(User owner, SearchDocumentType type, List<Long> ids) {
+        Partition partition = partitions.get(owner.getId());
+        if (partition == null || ids.isEmpty()) {
+            return;
+        }
+        synchronized (partition) {
+            // A partition that is not loaded yet will read these rows itself
+            if (!partition.age.isLoaded()) {
+                return;
+            }
+            Set<Long> found = new HashSet<>();
+            for (Object[] row : textByIdIn(type, ids, owner)) {
+                partition.index.put(key(type, (Long) row[0]), termFrequencies(type, row));
+                found.add((Long) row[0]);
+            }
+            for (Long id : ids) {
+                if (!found.contains(id)) {
+                    partition.index.remove(key(type, id));
+                }
+            }
+        }
+    }
+
+    private List<Object[]> textByUser(SearchDocumentType type, User user) {
+        return switch (type) {
+            case TASK -> taskRepository.findSearchTextByUser(user);
+            case ISSUE -> issueRepository.findSearchTextByUser(user);
+            case NOTE -> noteRepository.findSearchTextByUser(user);
+            case PROJECT -> projectRepository.findSearchTextByUser(user);
+        };
+    }
+
+    private List<Object[]> textByIdIn(SearchDocumentType type, Collection<Long> ids, User user) {
+        return switch (type) {
+            case TASK -> taskRepository.findSearchTextByIdIn(ids, user);
+            case ISSUE -> issueRepository.findSearchTextByIdIn(ids, user);
+            case NOTE -> noteRepository.findSearchTextByIdIn(ids, user);
+            case PROJECT -> projectRepository.findSearchTextByIdIn(ids, user);
+        };
+    }
+
+    // Rows are (id, title, body), except notes which are (id, content)
+    private static Map<String, Integer> termFrequencies(SearchDocumentType type, Object[] row) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        if (type == SearchDocumentType.NOTE) {
+            countTerms((String) row[1], 1, frequencies);
+        } else {
+            countTerms((String) row[1], TITLE_WEIGHT, frequencies);
+            countTerms((String) row[2], 1, frequencies);
+        }
+        return frequencies;
+    }
+
+    private static void countTerms(String text, int weight, Map<String, Integer> frequencies) {
+        for (TextAnalyzer.Token token : TextAnalyzer.analyze(text)) {
+            frequencies.merge(token.term(), weight, Integer::sum);
+        }
+    }
+
+    private Map<Long, SearchHit> loadHits(List<InvertedIndex.Match> page, Set<String> terms) {
+        Map<SearchDocumentType, List<Long>> idsByType = new EnumMap<>(SearchDocumentType.class);
+        for (InvertedIndex.Match match : page) {
+            idsByType.computeIfAbsent(typeOf(match.key()), type -> new ArrayList<>()).add(idOf(match.key()));
+        }
+
+        Map<Long, SearchHit> hits = new HashMap<>();
+        idsByType.forEach((type, ids) -> {
+            switch (type) {
+                case TASK -> {
+                    for (Task task : taskRepository.findWithProjectByIdIn(ids)) {
+                        hits.put(key(type, task.getId()), hit(type, task.getId(), task.getProject().getId(),
+                                task.getTitle(), task.getDescription(), terms));
+                    }
+                }
+                case ISSUE -> {
+                    for (Issue issue : issueRepository.findWithProjectByIdIn(ids)) {
+                        hits.put(key(type, issue.getId()), hit(type, issue.getId(), issue.getProject().getId(),
+                                issue.getTitle(), issue.getDescription(), terms));
+                    }
+                }
+                case NOTE -> {
+                    for (Note note : noteRepository.findAllById(ids)) {
+                        String firstLine = note.getContent().strip().lines().findFirst().orElse("");
+                        String title = firstLine.length() > NOTE_TITLE_LENGTH
+                                ? firstLine.substring(0, NOTE_TITLE_LENGTH) + "…"
+                                : firstLine;
+                        hits.put(key(type, note.getId()), hit(type, note.getId(),
+                                note.getProject() != null ? note.getProject().getId() : null, title,
+                                note.getContent(), terms));
+                    }
+                }
+                case PROJECT -> {
+                    for (Project project : projectRepository.findAllById(ids)) {
+                        hits.put(key(type, project.getId()), hit(type, project.getId(), project.getId(),
+                                project.getTitle(), project.getDescription(), terms));
+                    }
+                }
+            }
+        });
+        return hits;
+    }
+
+    private static SearchHit hit(SearchDocumentType type, Long id, Long projectId, String title, String body,
+            Set<String> terms) {
+        return new SearchHit(type, id, projectId, highlight(title, 0, title == null ? 0 : title.length(), terms),
+                snippet(body, terms), 0);
+    }
+
+    // A window of the body around its first match, or its opening when nothing in it matched
+    private static String snippet(String body, Set<String> terms) {
+        if (body == null || body.isBlank()) {
+            return null;
+        }
+        int first = -1;
+        for (TextAnalyzer.Token token : TextAnalyzer.analyze(body)) {
+            if (terms.contains(token.term())) {
+                first = token.start();
+                break;
+            }
+        }
+        int start = first < 0 ? 0 : Math.max(0, first - SNIPPET_LENGTH / 4);
+        while (start > 0 && Character.isLetterOrDigit(body.charAt(start - 1))) {
+            start--;
+        }
+        int end = Math.min(body.length(), start + SNIPPET_LENGTH);
+        while (end < body.length() && Character.isLetterOrDigit(body.charAt(end))) {
+            end++;
+        }
+        return (start > 0 ? "…" : "") + highlight(body, start, end, terms) + (end < body.length() ? "…" : "");
+    }
+
+    private static String highlight(String text, int start, int end, Set<String> terms) {
+        if (text == null) {
+            return null;
+        }
+        StringBuilder html = new StringBuilder(end - start + 32);
+        int position = start;
+        for (TextAnalyzer.Token token : TextAnalyzer.analyze(text)) {
+            if (token.end() <= start || token.start() >= end || !terms.contains(token.term())) {
+                continue;
+            }
+            escape(text, position, token.start(), html);
+            html.append("<mark>");
+            escape(text, token.start(), token.end(), html);
+            html.append("</mark>");
+            position = token.end();
+        }
+        escape(text, position, end, html);
+        return html.toString();
+    }
+
+    private static void escape(String text, int from, int to, StringBuilder html) {
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '<' -> html.append("&lt;");
+                case '>' -> html.append("&gt;");
+                case '&' -> html.append("&amp;");
+                case '"' -> html.append("&quot;");
+                default -> html.append(c);
+            }
+        }
+    }
+
+    // Document keys carry the type in their two low bits
+    private static long key(SearchDocumentType type, long id) {
+        return id << 2 | type.ordinal();
+    }
+
+    private static SearchDocumentType typeOf(long key) {
+        return SearchDocumentType.values()[(int) (key & 3)];
+    }
+
+    private static long idOf(long key) {
+        return key >>> 2;
+    }
+
+    private static final class Partition {
+        private final PartitionAge age;
+        private InvertedIndex index = new InvertedIndex();
+
+        Partition(Clock clock) {
+            this.age = new PartitionAge(clock);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package org.arkadipta.projobackend.service;
+
+import org.arkadipta.projobackend.dto.request.TaskDependencyRequest;
+import org.arkadipta.projobackend.entity.Project;
+import org.arkadipta.projobackend.entity.Task;
+import org.arkadipta.projobackend.entity.TaskDependency;
+import org.arkadipta.projobackend.entity.User;
+import org.arkadipta.projobackend.enums.ActivityEntityType;
+import org.arkadipta.projobackend.enums.ActivityVerb;
+import org.arkadipta.projobackend.enums.DependencyType;
+import org.arkadipta.projobackend.repository.ProjectRepository;
+import org.arkadipta.projobackend.repository.TaskDependencyRepository;
+import org.arkadipta.projobackend.repository.TaskRepository;
+import org.arkadipta.projobackend.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+
+@Service
+@Transactional
+public class TaskDependencyService {
+
+    @Autowired
+    private TaskDependencyRepository dependencyRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskScheduleService taskScheduleService;
+
+    @Autowired
+    private ActivityLogWriter activityLogWriter;
+
+    private User getCurrentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String username = authentication.getName();
+        return userRepository.findByUsername(username)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+    }
+
+    @CacheEvict(value = { "tasks_gantt", "task" }, allEntries = true)
+    public TaskDependency addDependency(Long successorId, TaskDependencyRequest request) {
+        User user = getCurrentUser();
+        Task successor = taskRepository.findByIdAndUser(successorId, user)
+                .orElseThrow(() -> new RuntimeException("Task not found"));
+        Task predecessor = taskRepository.findByIdAndUser(request.getPredecessorId(), user)
+                .orElseThrow(() -> new RuntimeException("Predecessor task not found"));
+
+        if (predecessor.getId().equals(successor.getId())) {
+            throw new RuntimeException("A task cannot depend on itself");
+        }
+        if (!predecessor.getProject().getId().equals(successor.getProject().getId())) {
+            throw new RuntimeException("Dependencies must link tasks in the same project");
+        }
+        if (dependencyRepository.existsByPredecessorIdAndSuccessorId(predecessor.getId(), successor.getId())) {
+            throw new RuntimeException("Dependency already exists");
+        }
+
+        DependencyType type = request.getType() != null ? request.getType() : DependencyType.FINISH_TO_START;
+        int lagDays = request.getLagDays() != null ? request.getLagDays() : 0;
+        TaskDependency dependency = dependencyRepository.saveAndFlush(
+                new TaskDependency(predecessor, successor, type, lagDays));
+
+        // Rejects cycles by throwing, which rolls the new edge back
+        taskScheduleService.onEdgeAdded(successor.getProject().getId(), predecessor.getId(), successor.getId());
+
+        activityLogWriter.record(user, ActivityVerb.UPDATED, ActivityEntityType.TASK, successor.getId(),
+                successor.getProject().getId(),
+                "Made task '" + successor.getTitle() + "' depend on '" + predecessor.getTitle() + "'",
+                Map.of("predecessorId", predecessor.getId(), "type", type, "lagDays", lagDays));
+
+        return dependency;
+    }
+
+    @CacheEvict(value = { "tasks_gantt", "task" }, allEntries = true)
+    public void removeDependency(Long dependencyId) {
+        User user = getCurrentUser();
+        TaskDependency dependency = dependencyRepository.findById(dependencyId)
+                .orElseThrow(() -> new RuntimeException("Dependency not found"));
+        Task successor = taskRepository.findByIdAndUser(dependency.getSuccessor().getId(), user)
+                .orElseThrow(() -> new RuntimeException("Dependency not found"));
+
+        Long predecessorId = dependency.getPredecessor().getId();
+        dependencyRepository.delete(dependency);
+        dependencyRepository.flush();
+        taskScheduleService.onEdgeRemoved(successor.getProject().getId(), predecessorId, successor.getId());
+
+        activityLogWriter.record(user, ActivityVerb.UPDATED, ActivityEntityType.TASK, successor.getId(),
+                successor.getProject().getId(),
+                "Removed a dependency from task '" + successor.getTitle() + "'",
+                Map.of("predecessorId", predecessorId));
+    }
+
+    @Transactional(readOnly = true)
+    public List<TaskDependency> getProjectDependencies(Long projectId) {
+        User user = getCurrentUser();
+        Project project = projectRepository.findByIdAndUser(projectId, user)
+                .orElseThrow(() -> new RuntimeException("Project not found"));
+        return dependencyRepository.findByProjectIdOrderById(project.getId());
+    }
+}
@@ -0,0 +1,188 @@
+package org.arkadipta.projobackend.service;
+
+import org.arkadipta.projobackend.dto.response.SubtaskNode;
+import org.arkadipta.projobackend.dto.response.TaskRollup;
+import org.arkadipta.projobackend.entity.Task;
+import org.arkadipta.projobackend.entity.User;
+import org.arkadipta.projobackend.enums.ActivityEntityType;
+import org.arkadipta.projobackend.enums.ActivityVerb;
+import org.arkadipta.projobackend.repository.TaskClosureRepository;
+import org.arkadipta.projobackend.repository.TaskRepository;
+import org.arkadipta.projobackend.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Subtask hierarchy backed by the task_closure table, so listing, counting and
+ * rolling up a subtree are single indexed reads and a move rewrites the
+ * affected paths with set-based statements. A task and its parent always
+ * belong to the same project.
+ */
+@Service
+@Transactional
+public class TaskHierarchyService {
+
+    @Autowired
+    private TaskClosureRepository closureRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ActivityLogWriter activityLogWriter;
+
+    private User getCurrentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String username = authentication.getName();
+        return userRepository.findByUsername(username)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+    }
+
+    /**
+     * Register a newly saved task as a leaf under the given parent, or as a
+     * top-level task when parentId is null
+     */
+    public void addTask(Task task, Long parentId) {
+        if (parentId == null) {
+            // A new task has no paths yet, so standing in as its own parent adds only the self row
+            closureRepository.insertLeaf(task.getId(), task.getId());
+            return;
+        }
+
+        requireParent(task, parentId);
+        closureRepository.insertLeaf(task.getId(), parentId);
+        taskRepository.updateParent(task.getId(), parentId);
+        task.setParentId(parentId);
+    }
+
+    /**
+     * Move a task together with its subtree under a new parent, or to the top
+     * level when parentId is null
+     */
+    @CacheEvict(value = "task", allEntries = true)
+    public Task moveTask(Long taskId, Long parentId) {
+        User user = getCurrentUser();
+        Task task = taskRepository.findByIdAndUser(taskId, user)
+                .orElseThrow(() -> new RuntimeException("Task not found"));
+        Task parent = parentId != null ? requireParent(task, parentId) : null;
+        if (parent != null && closureRepository.existsByAncestorIdAndDescendantId(taskId, parentId)) {
+            throw new RuntimeException("A task cannot be moved under itself or one of its subtasks");
+        }
+        if (Objects.equals(task.getParentId(), parentId)) {
+            return task;
+        }
+
+        closureRepository.detachSubtree(taskId);
+        if (parent != null) {
+            closureRepository.graftSubtree(taskId, parentId);
+            taskRepository.updateParent(taskId, parentId);
+            activityLogWriter.record(user, ActivityVerb.UPDATED, ActivityEntityType.TASK, taskId,
+                    task.getProject().getId(),
+                    "Moved task '" + task.getTitle() + "' under '" + parent.getTitle() + "'",
+                    Map.of("parentId", parentId));
+        } else {
+            taskRepository.clearParent(taskId);
+            activityLogWriter.record(user, ActivityVerb.UPDATED, ActivityEntityType.TASK, taskId,
+                    task.getProject().getId(), "Moved task '" + task.getTitle() + "' to the top level");
+        }
+        task.setParentId(parentId);
+        return task;
+    }
+
+    /**
+     * Splice a task out of the hierarchy before it is deleted or leaves its
+     * project: its children move up to its parent and it becomes a top-level task
+     */
+    public void removeTask(Task task) {
+        removeTasks(List.of(task.getId()));
+        task.setParentId(null);
+    }
+
+    /**
+     * Bulk variant of removeTask for set-based moves and deletes
+     */
+    public void removeTasks(List<Long> taskIds) {
+        if (taskIds.isEmpty()) {
+            return;
+        }
+        closureRepository.shortenPathsThrough(taskIds);
+        closureRepository.deletePathsOf(taskIds);
+        taskRepository.promoteChildren(taskIds);
+        taskRepository.clearParents(taskIds);
+    }
+
+    /**
+     * Drop the hierarchy of a project about to be deleted, so its tasks can go
+     * in any order without a child outliving the parent it references
+     */
+    public void removeProject(Long projectId) {
+        closureRepository.deleteByProject(projectId);
+        taskRepository.clearParentsInProject(projectId);
+    }
+
+    /**
+     * Give top-level tasks inserted outside this service, such as imports, their closure row
+     */
+    public void addTopLevelTasks(Collection<Long> taskIds) {
+        if (!taskIds.isEmpty()) {
+            closureRepository.insertSelfRows(taskIds);
+        }
+    }
+
+    /**
+     * Give tasks created before the closure table existed their closure row
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillClosure() {
+        closureRepository.insertMissingSelfRows();
+    }
+
+    /**
+     * Every task below the given one, ordered by depth
+     */
+    @Transactional(readOnly = true)
+    public List<SubtaskNode> getSubtasks(Long taskId) {
+        Task task = taskRepository.findByIdAndUser(taskId, getCurrentUser())
+                .orElseThrow(() -> new RuntimeException("Task not found"));
+        return closureRepository.findSubtree(task.getId());
+    }
+
+    /**
+     * Completion and tracked time over the task and everything below it
+     */
+    @Transactional(readOnly = true)
+    public TaskRollup getRollup(Long taskId) {
+        Task task = taskRepository.findByIdAndUser(taskId, getCurrentUser())
+                .orElseThrow(() -> new RuntimeException("Task not found"));
+
+        Object[] row = closureRepository.findRollup(task.getId()).get(0);
+        long total = ((Number) row[0]).longValue();
+        long completed = ((Number) row[1]).longValue();
+        long trackedSeconds = ((Number) row[2]).longValue();
+        int percentComplete = total == 0 ? 0 : (int) (completed * 100 / total);
+        return new TaskRollup(task.getId(), total, completed, percentComplete, trackedSeconds);
+    }
+
+    private Task requireParent(Task task, Long parentId) {
+        Task parent = taskRepository.findByIdAndUser(parentId, task.getUser())
+                .orElseThrow(() -> new RuntimeException("Parent task not found"));
+        if (!parent.getProject().getId().equals(task.getProject().getId())) {
+            throw new RuntimeException("A subtask must be in the same project as its parent");
+        }
+        return parent;
+    }
+}
@@ -0,0 +1,101 @@
+package org.arkadipta.projobackend.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.arkadipta.projobackend.entity.Project;
+import org.arkadipta.projobackend.enums.TaskStatus;
+import org.arkadipta.projobackend.repository.TaskRepository;
+import org.arkadipta.projobackend.util.RankKeys;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Maintains the fractional kanban ranks on tasks. Moving a card rewrites only
+ * its own rank; ranks grow longer as cards are squeezed into the same gap, so
+ * columns with overlong or missing ranks are respread in the background.
+ */
+@Service
+@Slf4j
+public class TaskRankService {
+
+    private static final String UPDATE_RANK_SQL = "UPDATE tasks SET board_rank = ? WHERE id = ?";
+
+    private final TaskRepository taskRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxRankLength;
+
+    public TaskRankService(TaskRepository taskRepository, JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            @Value("${app.kanban.max-rank-length:32}") int maxRankLength) {
+        this.taskRepository = taskRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.maxRankLength = maxRankLength;
+    }
+
+    public int getMaxRankLength() {
+        return maxRankLength;
+    }
+
+    /**
+     * Rank that places a card at the bottom of a column, respreading the
+     * column first if the rank would be overlong
+     */
+    public String nextRank(Project project, TaskStatus status) {
+        String rank = RankKeys.after(taskRepository.findMaxBoardRank(project, status));
+        if (rank.length() > maxRankLength) {
+            rebalanceColumn(project.getId(), status);
+            rank = RankKeys.after(taskRepository.findMaxBoardRank(project, status));
+        }
+        return rank;
+    }
+
+    /**
+     * Backfill ranks for tasks created before ranks existed, or by imports
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillRanks() {
+        int columns = rebalanceColumns();
+        if (columns > 0) {
+            log.info("Assigned kanban ranks in {} columns", columns);
+        }
+    }
+
+    /**
+     * Respread every column holding a missing or overlong rank - runs nightly
+     */
+    @Scheduled(cron = "${app.kanban.rebalance-cron:0 30 3 * * ?}")
+    public int rebalanceColumns() {
+        List<Object[]> columns = taskRepository.findColumnsNeedingRebalance(maxRankLength);
+        for (Object[] column : columns) {
+            rebalanceColumn((Long) column[0], (TaskStatus) column[1]);
+        }
+        return columns.size();
+    }
+
+    /**
+     * Give every card in the column an evenly spaced rank, keeping the current
+     * order; cards without a rank keep their creation order at the bottom.
+     * Joins the caller's transaction when there is one.
+     */
+    public void rebalanceColumn(Long projectId, TaskStatus status) {
+        transactionTemplate.executeWithoutResult(tx -> {
+            List<Long> ids = taskRepository.findIdsInBoardOrder(projectId, status);
+            List<String> ranks = RankKeys.spread(ids.size());
+
+            List<Object[]> args = new ArrayList<>(ids.size());
+            for (int i = 0; i < ids.size(); i++) {
+                args.add(new Object[] { ranks.get(i), ids.get(i) });
+            }
+            jdbcTemplate.batchUpdate(UPDATE_RANK_SQL, args);
+        });
+    }
+}
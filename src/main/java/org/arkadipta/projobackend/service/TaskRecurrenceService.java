@@ -0,0 +1,269 @@
+package org.arkadipta.projobackend.service;
+
+import org.arkadipta.projobackend.dto.response.TaskSummary;
+import org.arkadipta.projobackend.entity.Task;
+import org.arkadipta.projobackend.entity.User;
+import org.arkadipta.projobackend.enums.ActivityEntityType;
+import org.arkadipta.projobackend.enums.ActivityVerb;
+import org.arkadipta.projobackend.enums.Priority;
+import org.arkadipta.projobackend.enums.SearchDocumentType;
+import org.arkadipta.projobackend.enums.TaskStatus;
+import org.arkadipta.projobackend.repository.TaskRepository;
+import org.arkadipta.projobackend.repository.UserRepository;
+import org.arkadipta.projobackend.util.RecurrenceRule;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Recurring tasks. A series task stores its rule and is itself the occurrence
+ * on its due date; every other occurrence is generated on the fly for the
+ * window being read and only becomes a row in tasks when it is materialized,
+ * which happens the first time it is changed or its timer starts. Storage and
+ * reads therefore grow with the window, not with the age of the series.
+ */
+@Service
+@Transactional
+public class TaskRecurrenceService {
+
+    // Bounds the expansion of a single series for very wide windows
+    private static final int MAX_OCCURRENCES_PER_SERIES = 366;
+
+    private static final Comparator<TaskSummary> BY_DUE_DATE = Comparator
+            .comparing(TaskSummary::getDueDate)
+            .thenComparing(TaskSummary::getId, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(TaskSummary::getSeriesId, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRankService taskRankService;
+
+    @Autowired
+    private TaskHierarchyService taskHierarchyService;
+
+    @Autowired
+    private TaskScheduleService taskScheduleService;
+
+    @Autowired
+    private ActivityLogWriter activityLogWriter;
+
+    @Autowired
+    private CacheService cacheService;
+
+    @Autowired
+    private FilterIndexService filterIndexService;
+
+    @Autowired
+    private SavedViewService savedViewService;
+
+    @Autowired
+    private SearchIndexService searchIndexService;
+
+    @Autowired
+    private TypeaheadService typeaheadService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private User getCurrentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String username = authentication.getName();
+        return userRepository.findByUsername(username)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+    }
+
+    /**
+     * Validate a rule and store it on the task together with the date of its
+     * last occurrence; a blank rule stops the task from recurring
+     */
+    public void applyRule(Task task, String rule) {
+        if (rule == null || rule.isBlank()) {
+            task.setRecurrenceRule(null);
+            task.setRecurrenceEnd(null);
+            return;
+        }
+        if (task.getSeriesId() != null) {
+            throw new RuntimeException("An occurrence of a recurring task cannot recur itself");
+        }
+        if (task.getDueDate() == null) {
+            throw new RuntimeException("Recurring tasks need a due date");
+        }
+
+        RecurrenceRule parsed;
+        try {
+            parsed = RecurrenceRule.parse(rule);
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Invalid recurrence rule: " + e.getMessage());
+        }
+        task.setRecurrenceRule(parsed.toString());
+        task.setRecurrenceEnd(parsed.lastOccurrence(task.getDueDate()));
+    }
+
+    @CacheEvict(value = { "tasks_calendar", "task" }, allEntries = true)
+    public Task setRecurrence(Long taskId, String rule) {
+        User user = getCurrentUser();
+        Task task = taskRepository.findByIdAndUser(taskId, user)
+                .orElseThrow(() -> new RuntimeException("Task not found"));
+
+        applyRule(task, rule);
+        Task savedTask = taskRepository.save(task);
+        cacheService.evictDashboardCaches();
+
+        String action = savedTask.getRecurrenceRule() != null
+                ? "Set task '" + task.getTitle() + "' to repeat " + savedTask.getRecurrenceRule()
+                : "Stopped task '" + task.getTitle() + "' from repeating";
+        activityLogWriter.record(user, ActivityVerb.UPDATED, ActivityEntityType.TASK, taskId,
+                task.getProject().getId(), action);
+        return savedTask;
+    }
+
+    /**
+     * Add the user's virtual occurrences due within the window to the given
+     * rows and return everything in due date order
+     */
+    @Transactional(readOnly = true)
+    public List<TaskSummary> withOccurrences(User user, List<TaskSummary> tasks, LocalDate from, LocalDate to) {
+        List<TaskSummary> occurrences = expandOccurrences(user, from, to);
+        if (occurrences.isEmpty()) {
+            return tasks;
+        }
+
+        List<TaskSummary> merged = new ArrayList<>(tasks.size() + occurrences.size());
+        merged.addAll(tasks);
+        merged.addAll(occurrences);
+        merged.sort(BY_DUE_DATE);
+        return merged;
+    }
+
+    /**
+     * Virtual occurrences due within the window. The series task's own date and
+     * occurrences that were already materialized are real rows and are skipped.
+     */
+    @Transactional(readOnly = true)
+    public List<TaskSummary> expandOccurrences(User user, LocalDate from, LocalDate to) {
+        Map<Long, List<Object[]>> rowsBySeries = new LinkedHashMap<>();
+        for (Object[] row : taskRepository.findSeriesInWindow(user, from, to)) {
+            rowsBySeries.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add(row);
+        }
+
+        List<TaskSummary> occurrences = new ArrayList<>();
+        for (Map.Entry<Long, List<Object[]>> series : rowsBySeries.entrySet()) {
+            Object[] row = series.getValue().get(0);
+            LocalDate start = (LocalDate) row[2];
+            Set<LocalDate> materialized = new HashSet<>();
+            series.getValue().stream()
+                    .filter(materializedRow -> materializedRow[8] != null)
+                    .forEach(materializedRow -> materialized.add((LocalDate) materializedRow[8]));
+
+            RecurrenceRule rule = RecurrenceRule.parse((String) row[6]);
+            for (LocalDate date : rule.between(start, (LocalDate) row[7], from, to, MAX_OCCURRENCES_PER_SERIES)) {
+                if (date.equals(start) || materialized.contains(date)) {
+                    continue;
+                }
+                TaskSummary occurrence = new TaskSummary(null, (String) row[1], date, (Priority) row[3],
+                        TaskStatus.TO_DO, (Long) row[4], (String) row[5]);
+                occurrence.setSeriesId(series.getKey());
+                occurrence.setOccurrenceDate(date);
+                occurrences.add(occurrence);
+            }
+        }
+        return occurrences;
+    }
+
+    /**
+     * Turn a virtual occurrence into a real task so it can be changed or timed.
+     * Returns the existing task when the occurrence is already materialized, and
+     * the series task itself for its own date.
+     */
+    @CacheEvict(value = { "tasks_kanban", "tasks_gantt", "tasks_calendar" }, allEntries = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Task materializeOccurrence(Long seriesId, LocalDate date) {
+        return withOccurrence(seriesId, date, Function.identity());
+    }
+
+    /**
+     * Materialize an occurrence and apply a change to it in one transaction, so
+     * a failed change leaves the occurrence virtual. Two requests materializing
+     * the same date collide on uq_tasks_series_occurrence; the loser is rolled
+     * back and run again, and then finds the winner's row. Runs outside any
+     * caller transaction, which a retry could not recover.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public <T> T withOccurrence(Long seriesId, LocalDate date, Function<Task, T> change) {
+        try {
+            return transactionTemplate.execute(status -> change.apply(findOrCreateOccurrence(seriesId, date)));
+        } catch (DataIntegrityViolationException e) {
+            return transactionTemplate.execute(status -> change.apply(findOrCreateOccurrence(seriesId, date)));
+        }
+    }
+
+    private Task findOrCreateOccurrence(Long seriesId, LocalDate date) {
+        User user = getCurrentUser();
+        Task series = taskRepository.findByIdAndUser(seriesId, user)
+                .orElseThrow(() -> new RuntimeException("Task not found"));
+        if (series.getRecurrenceRule() == null) {
+            throw new RuntimeException("Task does not repeat");
+        }
+        if (date.equals(series.getDueDate())) {
+            return series;
+        }
+        Optional<Task> existing = taskRepository.findBySeriesIdAndOccurrenceDate(seriesId, date);
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+
+        RecurrenceRule rule = RecurrenceRule.parse(series.getRecurrenceRule());
+        if (!rule.between(series.getDueDate(), series.getRecurrenceEnd(), date, date, 1).contains(date)) {
+            throw new RuntimeException("Task does not repeat on " + date);
+        }
+
+        // Occurrences keep the series task's length
+        LocalDate startDate = series.getStartDate() != null
+                ? date.minusDays(ChronoUnit.DAYS.between(series.getStartDate(), series.getDueDate()))
+                : null;
+        Task occurrence = new Task(series.getTitle(), series.getDescription(), startDate, date,
+                series.getPriority(), TaskStatus.TO_DO, series.getProject(), user);
+        occurrence.setSeriesId(seriesId);
+        occurrence.setOccurrenceDate(date);
+        occurrence.setBoardRank(taskRankService.nextRank(series.getProject(), TaskStatus.TO_DO));
+
+        // Flushed here so a concurrent materialization fails before the change is applied
+        Task savedTask = taskRepository.saveAndFlush(occurrence);
+        taskHierarchyService.addTask(savedTask, null);
+        taskScheduleService.onTaskChanged(series.getProject().getId(), savedTask.getId());
+        filterIndexService.refreshTasksAfterCommit(user, List.of(savedTask.getId()));
+        savedViewService.refreshAfterCommit(user, List.of(savedTask.getId()));
+        searchIndexService.refreshAfterCommit(user, SearchDocumentType.TASK, List.of(savedTask.getId()));
+        typeaheadService.refreshAfterCommit(user, SearchDocumentType.TASK, List.of(savedTask.getId()));
+        cacheService.evictDashboardCaches();
+
+        activityLogWriter.record(user, ActivityVerb.CREATED, ActivityEntityType.TASK, savedTask.getId(),
+                series.getProject().getId(),
+                "Created the " + date + " occurrence of task '" + series.getTitle() + "'",
+                Map.of("seriesId", seriesId, "occurrenceDate", date.toString()));
+        return savedTask;
+    }
+}
@@ -22,6 +22,8 @@ public class TaskReminderService {
 
     private final TaskRepository taskRepository;
     private final TaskReminderEmailService taskReminderEmailService;
+    private final FilterIndexService filterIndexService;
+    private final SavedViewService savedViewService;
 
     /**
      * Send custom reminders - runs every 5 minutes
@@ -93,6 +95,8 @@ public class TaskReminderService {
             if (task.getStatus() != TaskStatus.COMPLETED && task.getStatus() != TaskStatus.OVERDUE) {
                 task.setStatus(TaskStatus.OVERDUE);
                 taskRepository.save(task);
+                filterIndexService.refreshTasksAfterCommit(task.getUser(), List.of(task.getId()));
+                savedViewService.refreshAfterCommit(task.getUser(), List.of(task.getId()));
                 log.info("Task marked as overdue: {}", task.getTitle());
 
                 // Send overdue notification
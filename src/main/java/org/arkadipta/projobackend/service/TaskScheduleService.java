@@ -0,0 +1,517 @@
+package org.arkadipta.projobackend.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.arkadipta.projobackend.enums.DependencyType;
+import org.arkadipta.projobackend.repository.ProjectRepository;
+import org.arkadipta.projobackend.repository.TaskDependencyRepository;
+import org.arkadipta.projobackend.repository.TaskRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Critical path scheduling over each project's dependency graph. Every task keeps
+ * its position in a topological order plus its earliest start, the length of the
+ * longest chain starting at it (tail) and its total slack, so gantt reads never
+ * traverse the graph.
+ *
+ * Changes are applied incrementally and only the part of the graph they reach is
+ * read: a new edge reorders the slice of the topological order between its
+ * endpoints (Pearce-Kelly), which is also where cycles are detected, and earliest
+ * starts and tails are re-evaluated downstream and upstream of the change until
+ * they stop moving. Slack is then rewritten in one statement for the rows whose
+ * value changed, which is every scheduled row only when the project finish moved.
+ * Adding an edge and rebuilding a project lock the project row so concurrent
+ * reorders cannot interleave; other changes take no lock.
+ *
+ * Tasks without dependencies have no topological position until their first
+ * edge is added. Durations are whole days from start to due date inclusive (1
+ * when either is missing), and a task's own start or due date acts as a
+ * start-no-earlier-than constraint.
+ */
+@Service
+@Slf4j
+public class TaskScheduleService {
+
+    private static final String UPDATE_SCHEDULE_SQL = "UPDATE tasks SET topo_order = ?, schedule_es = ?, "
+            + "schedule_tail = ? WHERE id = ?";
+    private static final String CLEAR_SCHEDULE_SQL = "UPDATE tasks SET topo_order = NULL, schedule_es = NULL, "
+            + "schedule_tail = NULL, slack_days = NULL WHERE id = ?";
+    private static final String FINISH_SQL = "SELECT MAX(schedule_es + schedule_tail) FROM tasks WHERE project_id = ?";
+    private static final String UPDATE_SLACK_SQL = "UPDATE tasks SET slack_days = ? - schedule_es - schedule_tail "
+            + "WHERE project_id = ? AND schedule_es IS NOT NULL AND schedule_tail IS NOT NULL "
+            + "AND (slack_days IS NULL OR slack_days <> ? - schedule_es - schedule_tail)";
+
+    // Unordered tasks have no edges, so where they sort among the others does not matter
+    private static final Comparator<Node> BY_ORDER = Comparator
+            .comparing((Node node) -> node.order, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparingLong(node -> node.id);
+
+    private final TaskRepository taskRepository;
+    private final TaskDependencyRepository dependencyRepository;
+    private final ProjectRepository projectRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    public TaskScheduleService(TaskRepository taskRepository, TaskDependencyRepository dependencyRepository,
+            ProjectRepository projectRepository, JdbcTemplate jdbcTemplate) {
+        this.taskRepository = taskRepository;
+        this.dependencyRepository = dependencyRepository;
+        this.projectRepository = projectRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Fold a newly stored edge into the schedule, throwing if it closes a cycle
+     * so the caller's transaction rolls the edge back
+     */
+    @Transactional
+    public void onEdgeAdded(Long projectId, Long predecessorId, Long successorId) {
+        lockProject(projectId);
+        Graph graph = new Graph(projectId);
+        Node from = graph.node(predecessorId);
+        Node to = graph.node(successorId);
+
+        // The first edge of a task gives it a position; the project lock keeps positions unique
+        if (from.order == null || to.order == null) {
+            int next = taskRepository.findMaxTopoOrder(projectId).orElse(-1) + 1;
+            if (from.order == null) {
+                from.order = next++;
+            }
+            if (to.order == null) {
+                to.order = next;
+            }
+        }
+
+        reorder(graph, from, to);
+        graph.forwardSeeds.add(to);
+        graph.backwardSeeds.add(from);
+        propagate(graph);
+    }
+
+    /**
+     * Update the schedule after an edge was deleted; the order stays valid as is
+     */
+    @Transactional
+    public void onEdgeRemoved(Long projectId, Long predecessorId, Long successorId) {
+        Graph graph = new Graph(projectId);
+        graph.forwardSeeds.add(graph.node(successorId));
+        graph.backwardSeeds.add(graph.node(predecessorId));
+        propagate(graph);
+    }
+
+    /**
+     * Place a new task or re-evaluate one whose dates changed
+     */
+    @Transactional
+    public void onTaskChanged(Long projectId, Long taskId) {
+        Graph graph = new Graph(projectId);
+        Node node = graph.node(taskId);
+        graph.forwardSeeds.add(node);
+        graph.backwardSeeds.add(node);
+        propagate(graph);
+    }
+
+    /**
+     * Take a task out of its project's graph before it is deleted or moved:
+     * its edges are deleted, its schedule cleared and its neighbours updated
+     */
+    @Transactional
+    public void removeTask(Long projectId, Long taskId) {
+        Graph graph = new Graph(projectId);
+        Node node = graph.node(taskId);
+
+        for (Edge edge : graph.in(node)) {
+            graph.out(edge.from).remove(edge);
+            graph.backwardSeeds.add(edge.from);
+        }
+        for (Edge edge : graph.out(node)) {
+            graph.in(edge.to).remove(edge);
+            graph.forwardSeeds.add(edge.to);
+        }
+        graph.nodes.remove(taskId);
+
+        dependencyRepository.deleteTouching(List.of(taskId));
+        jdbcTemplate.update(CLEAR_SCHEDULE_SQL, taskId);
+        propagate(graph);
+    }
+
+    /**
+     * Drop the dependencies of tasks about to be moved or deleted in bulk and
+     * return their projects, which the caller recomputes once the change is made
+     */
+    @Transactional
+    public List<Long> detachTasks(Collection<Long> taskIds) {
+        List<Long> projectIds = taskRepository.findProjectIdsByIdIn(taskIds);
+        dependencyRepository.deleteTouching(taskIds);
+        jdbcTemplate.batchUpdate(CLEAR_SCHEDULE_SQL, taskIds.stream().map(id -> new Object[] { id }).toList());
+        return projectIds;
+    }
+
+    /**
+     * Rebuild a project's order and schedule from scratch, used after set-based
+     * changes that bypass the incremental path
+     */
+    @Transactional
+    public void recomputeProject(Long projectId) {
+        lockProject(projectId);
+        Graph graph = new Graph(projectId);
+        graph.loadAll();
+        List<Node> sorted = topologicalSort(graph, graph.nodes.values());
+        int next = 0;
+        for (Node node : sorted) {
+            node.order = graph.in(node).isEmpty() && graph.out(node).isEmpty() ? null : next++;
+        }
+        graph.forwardSeeds.addAll(sorted);
+        graph.backwardSeeds.addAll(sorted);
+        propagate(graph);
+    }
+
+    /**
+     * Schedule tasks that have never been placed, such as imported tasks and
+     * tasks created before dependencies existed
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void scheduleUnplacedTasks() {
+        Map<Long, List<Long>> unplaced = new HashMap<>();
+        for (Object[] row : taskRepository.findUnscheduledTasks()) {
+            unplaced.computeIfAbsent((Long) row[0], projectId -> new ArrayList<>()).add((Long) row[1]);
+        }
+        unplaced.forEach((projectId, taskIds) -> {
+            Graph graph = new Graph(projectId);
+            graph.load(taskIds);
+            graph.forwardSeeds.addAll(graph.nodes.values());
+            graph.backwardSeeds.addAll(graph.nodes.values());
+            propagate(graph);
+        });
+        if (!unplaced.isEmpty()) {
+            log.info("Scheduled unplaced tasks in {} projects", unplaced.size());
+        }
+    }
+
+    private void lockProject(Long projectId) {
+        projectRepository.lockById(projectId)
+                .orElseThrow(() -> new RuntimeException("Project not found"));
+    }
+
+    // Pearce-Kelly: only nodes ordered between the endpoints can be affected by the new edge
+    private void reorder(Graph graph, Node from, Node to) {
+        if (from == to) {
+            throw new RuntimeException("A task cannot depend on itself");
+        }
+        if (from.order < to.order) {
+            return;
+        }
+
+        int upper = from.order;
+        int lower = to.order;
+        List<Node> forward = collect(to, graph::out, edge -> edge.to, node -> node.order < upper, from);
+        List<Node> backward = collect(from, graph::in, edge -> edge.from, node -> node.order > lower, null);
+        forward.sort(BY_ORDER);
+        backward.sort(BY_ORDER);
+
+        List<Integer> slots = new ArrayList<>();
+        backward.forEach(node -> slots.add(node.order));
+        forward.forEach(node -> slots.add(node.order));
+        slots.sort(null);
+
+        int slot = 0;
+        for (Node node : backward) {
+            node.order = slots.get(slot++);
+        }
+        for (Node node : forward) {
+            node.order = slots.get(slot++);
+        }
+    }
+
+    // Depth-first walk that stays inside the affected window; reaching cycleTarget means a cycle
+    private List<Node> collect(Node start, Function<Node, List<Edge>> edges, Function<Edge, Node> next,
+            Predicate<Node> inWindow, Node cycleTarget) {
+        List<Node> visited = new ArrayList<>();
+        Set<Node> seen = new HashSet<>();
+        Deque<Node> stack = new ArrayDeque<>();
+        stack.push(start);
+        seen.add(start);
+        while (!stack.isEmpty()) {
+            Node node = stack.pop();
+            visited.add(node);
+            for (Edge edge : edges.apply(node)) {
+                Node neighbour = next.apply(edge);
+                if (neighbour == cycleTarget) {
+                    throw new RuntimeException("Dependency would create a cycle");
+                }
+                if (inWindow.test(neighbour) && seen.add(neighbour)) {
+                    stack.push(neighbour);
+                }
+            }
+        }
+        return visited;
+    }
+
+    private List<Node> topologicalSort(Graph graph, Collection<Node> nodes) {
+        Map<Node, Integer> remaining = new HashMap<>();
+        // Ties keep the previous order so a rebuild moves as few tasks as possible
+        PriorityQueue<Node> ready = new PriorityQueue<>(Comparator
+                .comparing((Node node) -> node.order, Comparator.nullsLast(Comparator.naturalOrder()))
+                .thenComparingLong(node -> node.id));
+        for (Node node : nodes) {
+            remaining.put(node, graph.in(node).size());
+            if (graph.in(node).isEmpty()) {
+                ready.add(node);
+            }
+        }
+
+        List<Node> sorted = new ArrayList<>(nodes.size());
+        while (!ready.isEmpty()) {
+            Node node = ready.poll();
+            sorted.add(node);
+            for (Edge edge : graph.out(node)) {
+                if (remaining.merge(edge.to, -1, Integer::sum) == 0) {
+                    ready.add(edge.to);
+                }
+            }
+        }
+        if (sorted.size() != nodes.size()) {
+            throw new IllegalStateException("Dependency graph contains a cycle");
+        }
+        return sorted;
+    }
+
+    private void propagate(Graph graph) {
+        Set<Node> seeds = new HashSet<>(graph.forwardSeeds);
+        seeds.addAll(graph.backwardSeeds);
+        graph.expand(seeds);
+
+        // Earliest starts flow downstream in topological order, stopping where nothing moves
+        TreeSet<Node> downstream = new TreeSet<>(BY_ORDER);
+        downstream.addAll(graph.forwardSeeds);
+        while (!downstream.isEmpty()) {
+            Node node = downstream.pollFirst();
+            long earliestStart = earliestStart(graph, node);
+            if (graph.forwardSeeds.contains(node) || !Objects.equals(node.earliestStart, earliestStart)) {
+                node.earliestStart = earliestStart;
+                graph.out(node).forEach(edge -> downstream.add(edge.to));
+            }
+        }
+
+        // Tails flow upstream in reverse order
+        TreeSet<Node> upstream = new TreeSet<>(BY_ORDER.reversed());
+        upstream.addAll(graph.backwardSeeds);
+        while (!upstream.isEmpty()) {
+            Node node = upstream.pollFirst();
+            int tail = tail(graph, node);
+            if (graph.backwardSeeds.contains(node) || !Objects.equals(node.tail, tail)) {
+                node.tail = tail;
+                graph.in(node).forEach(edge -> upstream.add(edge.from));
+            }
+        }
+
+        List<Object[]> changed = new ArrayList<>();
+        for (Node node : graph.nodes.values()) {
+            if (node.isDirty()) {
+                changed.add(new Object[] { node.order, node.earliestStart, node.tail, node.id });
+            }
+        }
+        if (!changed.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_SCHEDULE_SQL, changed);
+        }
+
+        Long finish = jdbcTemplate.queryForObject(FINISH_SQL, Long.class, graph.projectId);
+        if (finish != null) {
+            jdbcTemplate.update(UPDATE_SLACK_SQL, finish, graph.projectId, finish);
+        }
+    }
+
+    private static long earliestStart(Graph graph, Node node) {
+        List<Edge> in = graph.in(node);
+        long earliestStart = node.anchor != null ? node.anchor : in.isEmpty() ? 0 : Long.MIN_VALUE;
+        for (Edge edge : in) {
+            earliestStart = Math.max(earliestStart, edge.from.placedEarliestStart() + edge.offset());
+        }
+        return earliestStart;
+    }
+
+    private static int tail(Graph graph, Node node) {
+        long tail = node.duration;
+        for (Edge edge : graph.out(node)) {
+            tail = Math.max(tail, edge.offset() + edge.to.placedTail());
+        }
+        return Math.toIntExact(tail);
+    }
+
+    /**
+     * The part of a project's graph a change reaches. Task rows are read the
+     * first time a node is needed and edges the first time a node's
+     * neighbours are needed.
+     */
+    private final class Graph {
+        private final Long projectId;
+        private final Map<Long, Node> nodes = new HashMap<>();
+        private final Set<Node> forwardSeeds = new HashSet<>();
+        private final Set<Node> backwardSeeds = new HashSet<>();
+
+        private Graph(Long projectId) {
+            this.projectId = projectId;
+        }
+
+        private void loadAll() {
+            for (Object[] row : taskRepository.findScheduleRows(projectId)) {
+                Node node = Node.fromRow(row);
+                node.expanded = true;
+                nodes.put(node.id, node);
+            }
+            for (Object[] row : dependencyRepository.findEdgesByProjectId(projectId)) {
+                link(row);
+            }
+        }
+
+        private Node node(Long taskId) {
+            Node node = nodes.get(taskId);
+            if (node == null) {
+                load(List.of(taskId));
+                node = nodes.get(taskId);
+                if (node == null) {
+                    throw new RuntimeException("Task not found in project");
+                }
+            }
+            return node;
+        }
+
+        private List<Edge> in(Node node) {
+            expand(node);
+            return node.in;
+        }
+
+        private List<Edge> out(Node node) {
+            expand(node);
+            return node.out;
+        }
+
+        private void load(Collection<Long> taskIds) {
+            for (Object[] row : taskRepository.findScheduleRowsByIdIn(projectId, taskIds)) {
+                Node node = Node.fromRow(row);
+                nodes.put(node.id, node);
+            }
+        }
+
+        private void expand(Node node) {
+            if (!node.expanded) {
+                expand(List.of(node));
+            }
+        }
+
+        // One query for the edges of all given nodes, then one for neighbours not read yet
+        private void expand(Collection<Node> candidates) {
+            List<Long> ids = candidates.stream().filter(node -> !node.expanded).map(node -> node.id).toList();
+            if (ids.isEmpty()) {
+                return;
+            }
+            List<Object[]> rows = dependencyRepository.findEdgesTouching(ids);
+            List<Long> missing = rows.stream()
+                    .flatMap(row -> Stream.of((Long) row[0], (Long) row[1]))
+                    .filter(id -> !nodes.containsKey(id))
+                    .distinct()
+                    .toList();
+            if (!missing.isEmpty()) {
+                load(missing);
+            }
+            ids.forEach(id -> nodes.get(id).expanded = true);
+            rows.forEach(this::link);
+        }
+
+        // Edges are stored once per endpoint list, whichever side is expanded first
+        private void link(Object[] row) {
+            Node from = node((Long) row[0]);
+            Node to = node((Long) row[1]);
+            boolean known = from.out.stream().anyMatch(edge -> edge.to == to);
+            if (!known) {
+                Edge edge = new Edge(from, to, (DependencyType) row[2], (Integer) row[3]);
+                from.out.add(edge);
+                to.in.add(edge);
+            }
+        }
+    }
+
+    private static final class Node {
+        private final long id;
+        private final int duration;
+        // Start-no-earlier-than from the task's own dates, as an epoch day
+        private final Long anchor;
+        private final Integer storedOrder;
+        private final Long storedEarliestStart;
+        private final Integer storedTail;
+        private final List<Edge> in = new ArrayList<>();
+        private final List<Edge> out = new ArrayList<>();
+        private boolean expanded;
+        private Integer order;
+        private Long earliestStart;
+        private Integer tail;
+
+        private Node(long id, LocalDate startDate, LocalDate dueDate, Integer order, Long earliestStart,
+                Integer tail) {
+            this.id = id;
+            this.duration = startDate != null && dueDate != null
+                    ? (int) Math.max(1, dueDate.toEpochDay() - startDate.toEpochDay() + 1)
+                    : 1;
+            this.anchor = startDate != null ? Long.valueOf(startDate.toEpochDay())
+                    : dueDate != null ? Long.valueOf(dueDate.toEpochDay() - duration + 1) : null;
+            this.storedOrder = order;
+            this.storedEarliestStart = earliestStart;
+            this.storedTail = tail;
+            this.order = order;
+            this.earliestStart = earliestStart;
+            this.tail = tail;
+        }
+
+        private static Node fromRow(Object[] row) {
+            return new Node((Long) row[0], (LocalDate) row[1], (LocalDate) row[2], (Integer) row[3],
+                    (Long) row[4], (Integer) row[5]);
+        }
+
+        // Neighbours that were never scheduled count as if they had no constraints of their own
+        private long placedEarliestStart() {
+            return earliestStart != null ? earliestStart : anchor != null ? anchor : 0;
+        }
+
+        private int placedTail() {
+            return tail != null ? tail : duration;
+        }
+
+        private boolean isDirty() {
+            return !Objects.equals(order, storedOrder) || !Objects.equals(earliestStart, storedEarliestStart)
+                    || !Objects.equals(tail, storedTail);
+        }
+    }
+
+    private record Edge(Node from, Node to, DependencyType type, int lag) {
+        // Minimum gap between the two start dates that the dependency imposes
+        long offset() {
+            return switch (type) {
+                case FINISH_TO_START -> from.duration + lag;
+                case START_TO_START -> lag;
+                case FINISH_TO_FINISH -> from.duration + lag - to.duration;
+                case START_TO_FINISH -> lag - to.duration;
+            };
+        }
+    }
+}
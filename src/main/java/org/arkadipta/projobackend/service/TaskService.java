@@ -1,29 +1,55 @@
 package org.arkadipta.projobackend.service;
 
+import org.arkadipta.projobackend.dto.request.FilterExpression;
+import org.arkadipta.projobackend.dto.request.TaskFilter;
 import org.arkadipta.projobackend.dto.request.TaskRequest;
+import org.arkadipta.projobackend.dto.response.GanttTask;
+import org.arkadipta.projobackend.dto.response.KanbanCard;
+import org.arkadipta.projobackend.dto.response.KanbanColumn;
+import org.arkadipta.projobackend.dto.response.TaskSummary;
 import org.arkadipta.projobackend.entity.*;
+import org.arkadipta.projobackend.enums.ActivityEntityType;
+import org.arkadipta.projobackend.enums.ActivityVerb;
 import org.arkadipta.projobackend.enums.Priority;
+import org.arkadipta.projobackend.enums.SearchDocumentType;
 import org.arkadipta.projobackend.enums.TaskStatus;
 import org.arkadipta.projobackend.repository.*;
+import org.arkadipta.projobackend.util.IdBitmap;
+import org.arkadipta.projobackend.util.RankKeys;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class TaskService {
 
+    private static final int KANBAN_MAX_PAGE_SIZE = 100;
+
     @Autowired
     private TaskRepository taskRepository;
 
@@ -37,11 +63,47 @@ public class TaskService {
     private TaskTimeTrackingRepository timeTrackingRepository;
 
     @Autowired
-    private ActivityLogRepository activityLogRepository;
+    private ActivityLogWriter activityLogWriter;
 
     @Autowired
     private CacheService cacheService;
 
+    @Autowired
+    private ActiveTimerRegistry activeTimerRegistry;
+
+    @Autowired
+    private ActiveTimerRegistryLoader activeTimerRegistryLoader;
+
+    @Autowired
+    private TimesheetService timesheetService;
+
+    @Autowired
+    private TaskRankService taskRankService;
+
+    @Autowired
+    private TaskScheduleService taskScheduleService;
+
+    @Autowired
+    private TaskHierarchyService taskHierarchyService;
+
+    @Autowired
+    private TaskRecurrenceService taskRecurrenceService;
+
+    @Autowired
+    private FilterIndexService filterIndexService;
+
+    @Autowired
+    private SavedViewService savedViewService;
+
+    @Autowired
+    private SearchIndexService searchIndexService;
+
+    @Autowired
+    private TypeaheadService typeaheadService;
+
+    @Value("${app.timer.max-duration-hours:12}")
+    private long maxTimerHours;
+
     private User getCurrentUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         String username = authentication.getName();
@@ -49,48 +111,178 @@ public class TaskService {
                 .orElseThrow(() -> new RuntimeException("User not found"));
     }
 
-    public Page<Task> getAllTasks(Pageable pageable, Long projectId, TaskStatus status, Priority priority) {
+    // The in-memory task indexes re-read the changed rows once the write commits
+    private void refreshTaskIndexesAfterCommit(User user, Collection<Long> ids) {
+        filterIndexService.refreshTasksAfterCommit(user, ids);
+        savedViewService.refreshAfterCommit(user, ids);
+        searchIndexService.refreshAfterCommit(user, SearchDocumentType.TASK, ids);
+        typeaheadService.refreshAfterCommit(user, SearchDocumentType.TASK, ids);
+    }
+
+    /**
+     * The user's tasks matching every criterion of the filter, read with one
+     * statement. Sorting is limited to properties with a supporting index.
+     */
+    @Transactional(readOnly = true)
+    public Page<Task> getAllTasks(Pageable pageable, TaskFilter filter) {
+        User user = getCurrentUser();
+        TaskSpecifications.requireIndexedSort(pageable.getSort());
+
+        if (filter.getProjectId() != null) {
+            projectRepository.findByIdAndUser(filter.getProjectId(), user)
+                    .orElseThrow(() -> new RuntimeException("Project not found"));
+        }
+        return taskRepository.findAll(TaskSpecifications.matching(user, filter), pageable);
+    }
+
+    /**
+     * Tasks matching a filter tree over status, priority, project and labels,
+     * newest first. The tree is resolved to ids in the user's bitmap index and
+     * only the requested page is loaded.
+     */
+    @Transactional(readOnly = true)
+    public Page<Task> filterTasks(FilterExpression filter, Pageable pageable) {
+        User user = getCurrentUser();
+        IdBitmap matches = filterIndexService.resolveTasks(user, filter);
+        List<Long> pageIds = matches.descending(pageable.getOffset(), pageable.getPageSize());
+        if (pageIds.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, matches.cardinality());
+        }
+
+        Map<Long, Task> tasksById = taskRepository.findWithProjectByIdIn(pageIds).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+        List<Task> content = pageIds.stream().map(tasksById::get).filter(Objects::nonNull).toList();
+        return new PageImpl<>(content, pageable, matches.cardinality());
+    }
+
+    @Cacheable(value = "tasks_kanban", key = "T(org.springframework.security.core.context.SecurityContextHolder).getContext().getAuthentication().getName() + '_' + (#projectId ?: 'all')")
+    @Transactional(readOnly = true)
+    public List<KanbanCard> getTasksForKanban(Long projectId) {
         User user = getCurrentUser();
 
-        if (projectId != null && status != null) {
+        if (projectId != null) {
             Project project = projectRepository.findByIdAndUser(projectId, user)
                     .orElseThrow(() -> new RuntimeException("Project not found"));
-            return taskRepository.findByProjectAndStatus(project, status, pageable);
-        } else if (projectId != null) {
+            return taskRepository.findKanbanCardsByProject(project);
+        } else {
+            return taskRepository.findKanbanCardsByUser(user);
+        }
+    }
+
+    /**
+     * Kanban board with a count for every column and only its first cards;
+     * columns are filled from a single windowed query without loading entities
+     */
+    @Transactional(readOnly = true)
+    public Map<TaskStatus, KanbanColumn> getKanbanBoard(Long projectId, int perColumn) {
+        User user = getCurrentUser();
+        int limit = clampKanbanLimit(perColumn);
+
+        List<Object[]> counts;
+        List<Object[]> heads;
+        if (projectId != null) {
             Project project = projectRepository.findByIdAndUser(projectId, user)
                     .orElseThrow(() -> new RuntimeException("Project not found"));
-            return taskRepository.findByProject(project, pageable);
-        } else if (status != null) {
-            return taskRepository.findByUserAndStatus(user, status, pageable);
-        } else if (priority != null) {
-            return taskRepository.findByUserAndPriority(user, priority, pageable);
+            counts = taskRepository.countByStatusForProject(project);
+            heads = taskRepository.findKanbanHeadsForProject(project.getId(), limit);
         } else {
-            return taskRepository.findByUser(user, pageable);
+            counts = taskRepository.countByStatusForUser(user);
+            heads = taskRepository.findKanbanHeadsForUser(user.getId(), limit);
+        }
+
+        Map<TaskStatus, KanbanColumn> board = new EnumMap<>(TaskStatus.class);
+        for (TaskStatus status : TaskStatus.values()) {
+            board.put(status, new KanbanColumn(status, 0L, new ArrayList<>(), null));
         }
+        for (Object[] row : counts) {
+            board.get((TaskStatus) row[0]).setCount((Long) row[1]);
+        }
+        for (Object[] row : heads) {
+            KanbanCard card = toKanbanCard(row);
+            board.get(card.getStatus()).getCards().add(card);
+        }
+        for (KanbanColumn column : board.values()) {
+            List<KanbanCard> cards = column.getCards();
+            if (column.getCount() > cards.size()) {
+                column.setNextCursor(kanbanCursor(cards.get(cards.size() - 1)));
+            }
+        }
+        return board;
     }
 
-    @Cacheable(value = "tasks_kanban", key = "#projectId ?: 'all'")
-    public List<Task> getTasksForKanban(Long projectId) {
+    /**
+     * Next page of a single kanban column after the cursor returned with the previous page
+     */
+    @Transactional(readOnly = true)
+    public KanbanColumn getKanbanColumn(Long projectId, TaskStatus status, String cursor, int pageSize) {
         User user = getCurrentUser();
+        int limit = clampKanbanLimit(pageSize);
+
+        String rank = "";
+        long afterId = 0;
+        if (cursor != null && !cursor.isBlank()) {
+            int separator = cursor.lastIndexOf(':');
+            if (separator < 0) {
+                throw new RuntimeException("Invalid cursor");
+            }
+            rank = separator > 0 ? cursor.substring(0, separator) : null;
+            afterId = Long.parseLong(cursor.substring(separator + 1));
+        }
 
+        Pageable page = PageRequest.of(0, limit + 1);
+        List<KanbanCard> cards;
         if (projectId != null) {
             Project project = projectRepository.findByIdAndUser(projectId, user)
                     .orElseThrow(() -> new RuntimeException("Project not found"));
-            return taskRepository.findByProject(project);
+            cards = taskRepository.findKanbanPageForProject(project, status, rank, afterId, page);
         } else {
-            return taskRepository.findByUser(user);
+            cards = taskRepository.findKanbanPageForUser(user, status, rank, afterId, page);
         }
+
+        String nextCursor = null;
+        if (cards.size() > limit) {
+            cards = new ArrayList<>(cards.subList(0, limit));
+            nextCursor = kanbanCursor(cards.get(limit - 1));
+        }
+        return new KanbanColumn(status, null, cards, nextCursor);
+    }
+
+    private int clampKanbanLimit(int limit) {
+        return Math.max(1, Math.min(limit, KANBAN_MAX_PAGE_SIZE));
     }
 
-    @Cacheable(value = "tasks_gantt", key = "#projectId ?: 'all'")
-    public List<Task> getTasksForGantt(Long projectId) {
-        return getTasksForKanban(projectId); // Same logic for now
+    // Unranked cards sort last and get an empty rank, which the column query reads as null
+    private static String kanbanCursor(KanbanCard card) {
+        return (card.getRank() != null ? card.getRank() : "") + ":" + card.getId();
     }
 
-    @Cacheable(value = "tasks_calendar", key = "#start + '_' + #end")
-    public List<Task> getTasksForCalendar(LocalDate start, LocalDate end) {
+    private static KanbanCard toKanbanCard(Object[] row) {
+        Object dueDate = row[3];
+        return new KanbanCard(((Number) row[0]).longValue(), (String) row[1], Priority.valueOf((String) row[2]),
+                dueDate instanceof java.sql.Date date ? date.toLocalDate() : (LocalDate) dueDate,
+                TaskStatus.valueOf((String) row[4]), (String) row[5], ((Number) row[6]).longValue(), (String) row[7]);
+    }
+
+    @Cacheable(value = "tasks_gantt", key = "T(org.springframework.security.core.context.SecurityContextHolder).getContext().getAuthentication().getName() + '_' + (#projectId ?: 'all')")
+    @Transactional(readOnly = true)
+    public List<GanttTask> getTasksForGantt(Long projectId) {
+        User user = getCurrentUser();
+
+        if (projectId != null) {
+            Project project = projectRepository.findByIdAndUser(projectId, user)
+                    .orElseThrow(() -> new RuntimeException("Project not found"));
+            return taskRepository.findGanttTasksByProject(project);
+        } else {
+            return taskRepository.findGanttTasksByUser(user);
+        }
+    }
+
+    @Cacheable(value = "tasks_calendar", key = "T(org.springframework.security.core.context.SecurityContextHolder).getContext().getAuthentication().getName() + '_' + #start + '_' + #end")
+    @Transactional(readOnly = true)
+    public List<TaskSummary> getTasksForCalendar(LocalDate start, LocalDate end) {
         User user = getCurrentUser();
-        return taskRepository.findByUserAndDueDateBetween(user, start, end);
+        return taskRecurrenceService.withOccurrences(user, taskRepository.findSummariesDueBetween(user, start, end),
+                start, end);
     }
 
     @Cacheable(value = "task", key = "#id")
@@ -115,12 +307,17 @@ public class TaskService {
         task.setStatus(request.getStatus());
         task.setProject(project);
         task.setUser(user);
+        task.setBoardRank(taskRankService.nextRank(project, request.getStatus()));
+        taskRecurrenceService.applyRule(task, request.getRecurrenceRule());
 
         Task savedTask = taskRepository.save(task);
+        taskHierarchyService.addTask(savedTask, request.getParentId());
+        taskScheduleService.onTaskChanged(project.getId(), savedTask.getId());
+        refreshTaskIndexesAfterCommit(user, List.of(savedTask.getId()));
 
         // Log activity
-        ActivityLog log = new ActivityLog(user, "Created task '" + task.getTitle() + "'");
-        activityLogRepository.save(log);
+        activityLogWriter.record(user, ActivityVerb.CREATED, ActivityEntityType.TASK, savedTask.getId(),
+                project.getId(), "Created task '" + task.getTitle() + "'");
 
         // Clear dashboard caches since task counts have changed
         cacheService.evictDashboardCaches();
@@ -128,7 +325,8 @@ public class TaskService {
         return savedTask;
     }
 
-    @CacheEvict(value = { "tasks_kanban", "tasks_gantt", "tasks_calendar", "task" }, key = "#id")
+    // Date changes can move the slack of every task in the project, so the view caches go entirely
+    @CacheEvict(value = { "tasks_kanban", "tasks_gantt", "tasks_calendar", "task" }, allEntries = true)
     public Task updateTask(Long id, TaskRequest request) {
         User user = getCurrentUser();
         Task task = taskRepository.findByIdAndUser(id, user)
@@ -137,6 +335,21 @@ public class TaskService {
         Project project = projectRepository.findByIdAndUser(request.getProjectId(), user)
                 .orElseThrow(() -> new RuntimeException("Project not found"));
 
+        boolean projectChanged = !task.getProject().getId().equals(project.getId());
+        boolean datesChanged = !Objects.equals(task.getStartDate(), request.getStartDate())
+                || !Objects.equals(task.getDueDate(), request.getDueDate());
+
+        // A card that lands in another column goes to the bottom of it
+        String rank = null;
+        if (task.getStatus() != request.getStatus() || projectChanged) {
+            rank = taskRankService.nextRank(project, request.getStatus());
+        }
+        // Dependencies and subtask links never cross projects, so a moved task leaves both behind
+        if (projectChanged) {
+            taskScheduleService.removeTask(task.getProject().getId(), id);
+            taskHierarchyService.removeTask(task);
+        }
+
         task.setTitle(request.getTitle());
         task.setDescription(request.getDescription());
         task.setStartDate(request.getStartDate());
@@ -144,12 +357,24 @@ public class TaskService {
         task.setPriority(request.getPriority());
         task.setStatus(request.getStatus());
         task.setProject(project);
+        // A moved series anchor moves the end of COUNT rules with it
+        if (datesChanged && task.getRecurrenceRule() != null) {
+            taskRecurrenceService.applyRule(task, task.getRecurrenceRule());
+        }
 
         Task updatedTask = taskRepository.save(task);
+        if (rank != null) {
+            taskRepository.updateBoardRank(id, rank);
+            updatedTask.setBoardRank(rank);
+        }
+        if (projectChanged || datesChanged) {
+            taskScheduleService.onTaskChanged(project.getId(), id);
+        }
+        refreshTaskIndexesAfterCommit(user, List.of(id));
 
         // Log activity
-        ActivityLog log = new ActivityLog(user, "Updated task '" + task.getTitle() + "'");
-        activityLogRepository.save(log);
+        activityLogWriter.record(user, ActivityVerb.UPDATED, ActivityEntityType.TASK, task.getId(),
+                project.getId(), "Updated task '" + task.getTitle() + "'");
 
         // Clear dashboard caches since task counts might have changed
         cacheService.evictDashboardCaches();
@@ -157,77 +382,287 @@ public class TaskService {
         return updatedTask;
     }
 
+    @CacheEvict(value = { "tasks_kanban", "tasks_gantt", "tasks_calendar", "task" }, allEntries = true)
     public Task updateTaskStatus(Long id, TaskStatus status) {
         User user = getCurrentUser();
         Task task = taskRepository.findByIdAndUser(id, user)
                 .orElseThrow(() -> new RuntimeException("Task not found"));
 
         TaskStatus oldStatus = task.getStatus();
+        String rank = oldStatus != status ? taskRankService.nextRank(task.getProject(), status) : null;
         task.setStatus(status);
         Task updatedTask = taskRepository.save(task);
+        if (rank != null) {
+            taskRepository.updateBoardRank(id, rank);
+            updatedTask.setBoardRank(rank);
+        }
+        refreshTaskIndexesAfterCommit(user, List.of(id));
 
         // Log activity
-        ActivityLog log = new ActivityLog(user,
-                "Changed task '" + task.getTitle() + "' status from " + oldStatus + " to " + status);
-        activityLogRepository.save(log);
+        activityLogWriter.record(user, ActivityVerb.STATUS_CHANGED, ActivityEntityType.TASK, task.getId(),
+                task.getProject().getId(),
+                "Changed task '" + task.getTitle() + "' status from " + oldStatus + " to " + status,
+                Map.of("from", oldStatus, "to", status));
+
+        // Clear dashboard caches since task counts have changed
+        cacheService.evictDashboardCaches();
 
         return updatedTask;
     }
 
+    /**
+     * Change the status of one occurrence of a recurring task, materializing it
+     * in the same transaction
+     */
+    @CacheEvict(value = { "tasks_kanban", "tasks_gantt", "tasks_calendar", "task" }, allEntries = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Task updateOccurrenceStatus(Long seriesId, LocalDate date, TaskStatus status) {
+        return taskRecurrenceService.withOccurrence(seriesId, date,
+                occurrence -> updateTaskStatus(occurrence.getId(), status));
+    }
+
+    // Deleting rewrites the parent of any subtasks and the schedule of the rest of the project
+    @CacheEvict(value = { "tasks_kanban", "tasks_gantt", "tasks_calendar", "task" }, allEntries = true)
     public void deleteTask(Long id) {
         User user = getCurrentUser();
         Task task = taskRepository.findByIdAndUser(id, user)
                 .orElseThrow(() -> new RuntimeException("Task not found"));
 
         String taskTitle = task.getTitle();
+        Long projectId = task.getProject().getId();
+        taskScheduleService.removeTask(projectId, id);
+        taskHierarchyService.removeTask(task);
+        if (task.getRecurrenceRule() != null) {
+            taskRepository.detachOccurrences(List.of(id));
+        }
         taskRepository.delete(task);
+        activeTimerRegistryLoader.syncAfterCommit(List.of(id));
+        refreshTaskIndexesAfterCommit(user, List.of(id));
 
         // Log activity
-        ActivityLog log = new ActivityLog(user, "Deleted task '" + taskTitle + "'");
-        activityLogRepository.save(log);
+        activityLogWriter.record(user, ActivityVerb.DELETED, ActivityEntityType.TASK, id, projectId,
+                "Deleted task '" + taskTitle + "'");
+    }
+
+    /**
+     * Drop a card between two neighbours in a kanban column. A null previousId
+     * puts it at the top, a null nextId at the bottom. Only the moved row is
+     * written unless the gap has run out, in which case the column is respread.
+     */
+    @CacheEvict(value = { "tasks_kanban", "tasks_gantt", "tasks_calendar", "task" }, allEntries = true)
+    public String moveTask(Long id, TaskStatus status, Long previousId, Long nextId) {
+        User user = getCurrentUser();
+        Task task = taskRepository.findByIdAndUser(id, user)
+                .orElseThrow(() -> new RuntimeException("Task not found"));
+        if (id.equals(previousId) || id.equals(nextId)) {
+            throw new RuntimeException("A task cannot be its own neighbour");
+        }
+
+        TaskStatus oldStatus = task.getStatus();
+        TaskStatus newStatus = status != null ? status : oldStatus;
+        Project project = task.getProject();
+
+        String rank = rankBetween(project, newStatus, previousId, nextId);
+        if (rank == null || rank.length() > taskRankService.getMaxRankLength()) {
+            taskRankService.rebalanceColumn(project.getId(), newStatus);
+            rank = rankBetween(project, newStatus, previousId, nextId);
+            if (rank == null) {
+                throw new RuntimeException("Neighbouring task not found in column " + newStatus);
+            }
+        }
+        taskRepository.updateBoardPosition(id, newStatus, rank);
+        refreshTaskIndexesAfterCommit(user, List.of(id));
+
+        if (oldStatus != newStatus) {
+            activityLogWriter.record(user, ActivityVerb.STATUS_CHANGED, ActivityEntityType.TASK, id,
+                    project.getId(),
+                    "Changed task '" + task.getTitle() + "' status from " + oldStatus + " to " + newStatus,
+                    Map.of("from", oldStatus, "to", newStatus));
+        }
+
+        return rank;
+    }
+
+    // Null when a neighbour is missing from the column or the neighbours are out of order
+    private String rankBetween(Project project, TaskStatus status, Long previousId, Long nextId) {
+        if (previousId == null && nextId == null) {
+            return taskRankService.nextRank(project, status);
+        }
+
+        String lower = null;
+        String upper = null;
+        if (previousId != null) {
+            lower = taskRepository.findBoardRankInColumn(previousId, project, status).orElse(null);
+            if (lower == null) {
+                return null;
+            }
+        }
+        if (nextId != null) {
+            upper = taskRepository.findBoardRankInColumn(nextId, project, status).orElse(null);
+            if (upper == null) {
+                return null;
+            }
+        }
+        if (lower != null && upper != null && lower.compareTo(upper) >= 0) {
+            return null;
+        }
+        return RankKeys.between(lower, upper);
+    }
+
+    // Bulk methods: one set-based statement per request, ids the caller does not own are skipped
+    @CacheEvict(value = { "tasks_kanban", "tasks_gantt", "tasks_calendar", "task" }, allEntries = true)
+    public int bulkUpdateStatus(List<Long> taskIds, TaskStatus status) {
+        if (status == null) {
+            throw new RuntimeException("Status is required");
+        }
+        User user = getCurrentUser();
+        List<Long> ids = distinctIds(taskIds);
+        // Ranks are kept, so the cards interleave with the target column by their old position
+        int updated = taskRepository.bulkUpdateStatus(ids, user, status);
+        cacheService.evictDashboardCaches();
+        refreshTaskIndexesAfterCommit(user, ids);
+
+        activityLogWriter.record(user, ActivityVerb.STATUS_CHANGED, ActivityEntityType.TASK, null, null,
+                "Changed status of " + updated + " tasks to " + status,
+                Map.of("taskIds", ids, "to", status, "count", updated));
+
+        return updated;
+    }
+
+    @CacheEvict(value = { "tasks_kanban", "tasks_gantt", "tasks_calendar", "task" }, allEntries = true)
+    public int bulkMoveTasks(List<Long> taskIds, Long projectId) {
+        if (projectId == null) {
+            throw new RuntimeException("Project ID is required");
+        }
+        User user = getCurrentUser();
+        Project project = projectRepository.findByIdAndUser(projectId, user)
+                .orElseThrow(() -> new RuntimeException("Project not found"));
+        List<Long> owned = taskRepository.findOwnedIds(distinctIds(taskIds), user);
+        if (owned.isEmpty()) {
+            return 0;
+        }
+
+        // Dependencies and subtask links never cross projects: moved tasks lose theirs and every
+        // touched project is rescheduled
+        Set<Long> projectIds = new HashSet<>(taskScheduleService.detachTasks(owned));
+        taskHierarchyService.removeTasks(owned);
+        int moved = taskRepository.bulkMove(owned, user, project);
+        cacheService.evictDashboardCaches();
+        projectIds.add(project.getId());
+        projectIds.forEach(taskScheduleService::recomputeProject);
+        refreshTaskIndexesAfterCommit(user, owned);
+
+        activityLogWriter.record(user, ActivityVerb.UPDATED, ActivityEntityType.TASK, null, project.getId(),
+                "Moved " + moved + " tasks to project '" + project.getTitle() + "'",
+                Map.of("taskIds", owned, "projectId", project.getId(), "count", moved));
+
+        return moved;
+    }
+
+    @CacheEvict(value = { "tasks_kanban", "tasks_gantt", "tasks_calendar", "task" }, allEntries = true)
+    public int bulkDeleteTasks(List<Long> taskIds) {
+        User user = getCurrentUser();
+        List<Long> owned = taskRepository.findOwnedIds(distinctIds(taskIds), user);
+        if (owned.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> projectIds = taskScheduleService.detachTasks(owned);
+        taskHierarchyService.removeTasks(owned);
+        taskRepository.detachOccurrences(owned);
+        timeTrackingRepository.deleteByTaskIdIn(owned);
+        int deleted = taskRepository.bulkDelete(owned, user);
+        cacheService.evictDashboardCaches();
+        projectIds.forEach(taskScheduleService::recomputeProject);
+        activeTimerRegistryLoader.syncAfterCommit(owned);
+        refreshTaskIndexesAfterCommit(user, owned);
+
+        activityLogWriter.record(user, ActivityVerb.DELETED, ActivityEntityType.TASK, null, null,
+                "Deleted " + deleted + " tasks",
+                Map.of("taskIds", owned, "count", deleted));
+
+        return deleted;
+    }
+
+    private List<Long> distinctIds(List<Long> taskIds) {
+        List<Long> ids = taskIds == null ? List.of()
+                : taskIds.stream().filter(Objects::nonNull).distinct().toList();
+        if (ids.isEmpty()) {
+            throw new RuntimeException("Task IDs are required");
+        }
+        return ids;
     }
 
     // Timer methods
+    @CacheEvict(value = "task", key = "#taskId")
     public void startTimer(Long taskId) {
         User user = getCurrentUser();
         Task task = taskRepository.findByIdAndUser(taskId, user)
                 .orElseThrow(() -> new RuntimeException("Task not found"));
 
-        // Check if there's already an active timer
-        Optional<TaskTimeTracking> activeTimer = timeTrackingRepository.findActiveTimerByTask(task);
-        if (activeTimer.isPresent()) {
+        // Claim the timer atomically so concurrent starts cannot open two rows
+        LocalDateTime startTime = LocalDateTime.now();
+        if (taskRepository.claimTimer(taskId, startTime) == 0) {
             throw new RuntimeException("Timer is already running for this task");
         }
 
-        TaskTimeTracking timeTracking = new TaskTimeTracking(task, LocalDateTime.now());
+        TaskTimeTracking timeTracking = new TaskTimeTracking(task, startTime);
         timeTrackingRepository.save(timeTracking);
+        activeTimerRegistryLoader.syncAfterCommit(List.of(taskId));
 
         // Log activity
-        ActivityLog log = new ActivityLog(user, "Started timer for task '" + task.getTitle() + "'");
-        activityLogRepository.save(log);
+        activityLogWriter.record(user, ActivityVerb.TIMER_STARTED, ActivityEntityType.TASK, taskId,
+                task.getProject().getId(), "Started timer for task '" + task.getTitle() + "'");
     }
 
+    /**
+     * Start the timer of one occurrence of a recurring task, materializing it
+     * in the same transaction; returns the occurrence
+     */
+    @CacheEvict(value = { "tasks_kanban", "tasks_gantt", "tasks_calendar", "task" }, allEntries = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Task startOccurrenceTimer(Long seriesId, LocalDate date) {
+        return taskRecurrenceService.withOccurrence(seriesId, date, occurrence -> {
+            startTimer(occurrence.getId());
+            return occurrence;
+        });
+    }
+
+    @CacheEvict(value = "task", key = "#taskId")
     public void stopTimer(Long taskId) {
         User user = getCurrentUser();
         Task task = taskRepository.findByIdAndUser(taskId, user)
                 .orElseThrow(() -> new RuntimeException("Task not found"));
 
-        TaskTimeTracking activeTimer = timeTrackingRepository.findActiveTimerByTask(task)
-                .orElseThrow(() -> new RuntimeException("No active timer found for this task"));
-
-        LocalDateTime endTime = LocalDateTime.now();
-        activeTimer.setEndTime(endTime);
-
-        // Calculate duration in seconds
-        long duration = java.time.Duration.between(activeTimer.getStartTime(), endTime).getSeconds();
-        activeTimer.setDuration((int) duration);
+        // Release the timer atomically; only the winning caller closes the open row
+        if (taskRepository.releaseTimer(taskId) == 0) {
+            throw new RuntimeException("No active timer found for this task");
+        }
 
-        timeTrackingRepository.save(activeTimer);
+        LocalDateTime now = LocalDateTime.now();
+        long duration = 0;
+        for (TaskTimeTracking activeTimer : timeTrackingRepository.findActiveTimersByTask(task)) {
+            // Cap forgotten timers at the configured maximum, as the stale timer sweeper does
+            LocalDateTime latestEnd = activeTimer.getStartTime().plusHours(maxTimerHours);
+            LocalDateTime endTime = now.isAfter(latestEnd) ? latestEnd : now;
+            activeTimer.setEndTime(endTime);
+
+            // Calculate duration in seconds
+            long timerDuration = java.time.Duration.between(activeTimer.getStartTime(), endTime).getSeconds();
+            activeTimer.setDuration(Math.toIntExact(timerDuration));
+            duration += timerDuration;
+
+            timeTrackingRepository.save(activeTimer);
+            timesheetService.recordTime(task, activeTimer.getStartTime(), endTime);
+        }
+        taskRepository.addTimeSpent(taskId, duration);
+        activeTimerRegistryLoader.syncAfterCommit(List.of(taskId));
 
         // Log activity
-        ActivityLog log = new ActivityLog(user,
-                "Stopped timer for task '" + task.getTitle() + "' (Duration: " + duration + "s)");
-        activityLogRepository.save(log);
+        activityLogWriter.record(user, ActivityVerb.TIMER_STOPPED, ActivityEntityType.TASK, taskId,
+                task.getProject().getId(),
+                "Stopped timer for task '" + task.getTitle() + "' (Duration: " + duration + "s)",
+                Map.of("durationSeconds", duration));
     }
 
     public boolean isTimerRunning(Long taskId) {
@@ -235,7 +670,23 @@ public class TaskService {
         Task task = taskRepository.findByIdAndUser(taskId, user)
                 .orElseThrow(() -> new RuntimeException("Task not found"));
 
-        return timeTrackingRepository.findActiveTimerByTask(task).isPresent();
+        return isTimerRunning(task);
+    }
+
+    /**
+     * Timer status for a task the caller has already loaded, answered from the
+     * registry without touching the database
+     */
+    public boolean isTimerRunning(Task task) {
+        return activeTimerRegistry.isRunning(task.getId());
+    }
+
+    public Optional<LocalDateTime> getActiveTimerStart(Long taskId) {
+        User user = getCurrentUser();
+        taskRepository.findByIdAndUser(taskId, user)
+                .orElseThrow(() -> new RuntimeException("Task not found"));
+
+        return activeTimerRegistry.getStartTime(taskId);
     }
 
     public List<TaskTimeTracking> getTimeHistory(Long taskId) {
@@ -246,16 +697,21 @@ public class TaskService {
         return timeTrackingRepository.findByTaskOrderByStartTimeDesc(task);
     }
 
+    @CacheEvict(value = "task", key = "#taskId")
     public void resetTimer(Long taskId) {
         User user = getCurrentUser();
         Task task = taskRepository.findByIdAndUser(taskId, user)
                 .orElseThrow(() -> new RuntimeException("Task not found"));
 
         timeTrackingRepository.deleteByTask(task);
+        taskRepository.releaseTimer(taskId);
+        taskRepository.resetTimeSpent(taskId);
+        timesheetService.clearTask(taskId);
+        activeTimerRegistryLoader.syncAfterCommit(List.of(taskId));
 
         // Log activity
-        ActivityLog log = new ActivityLog(user, "Reset timer for task '" + task.getTitle() + "'");
-        activityLogRepository.save(log);
+        activityLogWriter.record(user, ActivityVerb.TIMER_RESET, ActivityEntityType.TASK, taskId,
+                task.getProject().getId(), "Reset timer for task '" + task.getTitle() + "'");
     }
 
     public Long getTotalTimeSpent(Long taskId) {
@@ -263,7 +719,6 @@ public class TaskService {
         Task task = taskRepository.findByIdAndUser(taskId, user)
                 .orElseThrow(() -> new RuntimeException("Task not found"));
 
-        Long totalTime = timeTrackingRepository.getTotalTimeSpentByTask(task);
-        return totalTime != null ? totalTime : 0L;
+        return task.getTotalTimeSeconds();
     }
 }
@@ -0,0 +1,156 @@
+package org.arkadipta.projobackend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.arkadipta.projobackend.entity.Task;
+import org.arkadipta.projobackend.entity.TaskTimeTracking;
+import org.arkadipta.projobackend.entity.TimeTrackingDaily;
+import org.arkadipta.projobackend.enums.ActivityEntityType;
+import org.arkadipta.projobackend.enums.ActivityVerb;
+import org.arkadipta.projobackend.repository.TaskRepository;
+import org.arkadipta.projobackend.repository.TaskTimeTrackingRepository;
+import org.arkadipta.projobackend.repository.TimeTrackingDailyRepository;
+import org.arkadipta.projobackend.repository.UserRepository;
+import org.arkadipta.projobackend.util.TransactionHooks;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Service
+@Slf4j
+public class TimeTrackingMaintenanceService {
+
+    private final TaskRepository taskRepository;
+    private final TaskTimeTrackingRepository timeTrackingRepository;
+    private final TimeTrackingDailyRepository dailyRepository;
+    private final UserRepository userRepository;
+    private final ActivityLogWriter activityLogWriter;
+    private final TimesheetService timesheetService;
+    private final ActiveTimerRegistryLoader activeTimerRegistryLoader;
+    private final Counter autoClosedTimers;
+
+    @Value("${app.timer.max-duration-hours:12}")
+    private long maxDurationHours;
+
+    public TimeTrackingMaintenanceService(TaskRepository taskRepository,
+            TaskTimeTrackingRepository timeTrackingRepository,
+            TimeTrackingDailyRepository dailyRepository,
+            UserRepository userRepository,
+            ActivityLogWriter activityLogWriter,
+            TimesheetService timesheetService,
+            ActiveTimerRegistryLoader activeTimerRegistryLoader,
+            MeterRegistry meterRegistry) {
+        this.taskRepository = taskRepository;
+        this.timeTrackingRepository = timeTrackingRepository;
+        this.dailyRepository = dailyRepository;
+        this.userRepository = userRepository;
+        this.activityLogWriter = activityLogWriter;
+        this.timesheetService = timesheetService;
+        this.activeTimerRegistryLoader = activeTimerRegistryLoader;
+        this.autoClosedTimers = Counter.builder("projo.timers.auto_closed")
+                .description("Timers closed by the stale timer sweeper")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Close timers that have been running longer than the configured maximum,
+     * crediting exactly the maximum duration - runs every 5 minutes by default
+     */
+    @Scheduled(fixedDelayString = "${app.timer.sweep-interval-ms:300000}", initialDelayString = "${app.timer.sweep-interval-ms:300000}")
+    @Transactional
+    public int closeStaleTimers() {
+        int maxSeconds = Math.toIntExact(maxDurationHours * 3600);
+        LocalDateTime cutoff = LocalDateTime.now().minusSeconds(maxSeconds);
+
+        List<Long> taskIds = timeTrackingRepository.findTaskIdsWithTimersStartedBefore(cutoff);
+        if (taskIds.isEmpty()) {
+            return 0;
+        }
+
+        // Lock the task rows first so a concurrent stopTimer waits and then finds nothing to release
+        Map<Long, Task> tasks = taskRepository.lockByIdIn(taskIds).stream()
+                .collect(Collectors.toMap(Task::getId, task -> task));
+        List<TaskTimeTracking> staleTimers = timeTrackingRepository.findOpenTimersStartedBefore(tasks.keySet(), cutoff);
+        if (staleTimers.isEmpty()) {
+            return 0;
+        }
+
+        timeTrackingRepository.closeWithCappedDuration(
+                staleTimers.stream().map(TaskTimeTracking::getId).toList(), maxSeconds);
+
+        // Tasks normally have one stale row; group by row count so each group is a single update
+        Map<Long, Long> timersPerTask = staleTimers.stream()
+                .collect(Collectors.groupingBy(timer -> timer.getTask().getId(), Collectors.counting()));
+        timersPerTask.entrySet().stream()
+                .collect(Collectors.groupingBy(Map.Entry::getValue,
+                        Collectors.mapping(Map.Entry::getKey, Collectors.toList())))
+                .forEach((count, ids) -> taskRepository.releaseTimersAndAddTimeSpent(ids, count * maxSeconds));
+
+        for (TaskTimeTracking timer : staleTimers) {
+            Task task = tasks.get(timer.getTask().getId());
+            timesheetService.recordTime(task, timer.getStartTime(), timer.getStartTime().plusSeconds(maxSeconds));
+        }
+
+        // One entry per task; the writer flushes them as a single batch
+        for (Long taskId : timersPerTask.keySet()) {
+            Task task = tasks.get(taskId);
+            activityLogWriter.record(task.getUser(), ActivityVerb.TIMER_AUTO_STOPPED, ActivityEntityType.TASK,
+                    taskId, task.getProject().getId(), "Timer for task '" + task.getTitle()
+                            + "' was stopped automatically after " + maxDurationHours + "h",
+                    Map.of("durationSeconds", timersPerTask.get(taskId) * maxSeconds));
+        }
+
+        // Sync from the committed rows: a restart right after this commit must not be undone
+        activeTimerRegistryLoader.syncAfterCommit(timersPerTask.keySet());
+        TransactionHooks.afterCommit(() -> autoClosedTimers.increment(staleTimers.size()));
+
+        log.info("Auto-closed {} stale timers on {} tasks", staleTimers.size(), timersPerTask.size());
+        return staleTimers.size();
+    }
+
+    /**
+     * Recompute Task.totalTimeSeconds from task_time_tracking - runs nightly
+     */
+    @Scheduled(cron = "${app.timer.repair-cron:0 30 3 * * ?}")
+    @Transactional
+    public int repairTimeSpentTotals() {
+        int repaired = taskRepository.repairTimeSpentTotals();
+        if (repaired > 0) {
+            log.warn("Repaired time-spent totals on {} tasks", repaired);
+        }
+        return repaired;
+    }
+
+    /**
+     * Seed the daily timesheet rollup from existing tracking rows the first time
+     * the application starts against a database without it. Rows go through
+     * the entity so they take pooled sequence ids and are inserted in batches.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillDailyRollup() {
+        if (dailyRepository.count() == 0) {
+            List<TimeTrackingDaily> rows = dailyRepository.sumClosedTimeByTaskAndDay().stream()
+                    .map(row -> new TimeTrackingDaily(
+                            taskRepository.getReferenceById(((Number) row[0]).longValue()),
+                            userRepository.getReferenceById(((Number) row[1]).longValue()),
+                            ((Date) row[2]).toLocalDate(),
+                            ((Number) row[3]).longValue()))
+                    .toList();
+            dailyRepository.saveAll(rows);
+            if (!rows.isEmpty()) {
+                log.info("Backfilled {} daily timesheet rows", rows.size());
+            }
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package org.arkadipta.projobackend.service;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+import org.arkadipta.projobackend.entity.Task;
+import org.arkadipta.projobackend.entity.TimeTrackingDaily;
+import org.arkadipta.projobackend.entity.User;
+import org.arkadipta.projobackend.enums.TimesheetGrouping;
+import org.arkadipta.projobackend.repository.TimeTrackingDailyRepository;
+import org.arkadipta.projobackend.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@Transactional
+public class TimesheetService {
+
+    private static final long MAX_RANGE_DAYS = 731;
+
+    @Autowired
+    private TimeTrackingDailyRepository dailyRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User getCurrentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String username = authentication.getName();
+        return userRepository.findByUsername(username)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+    }
+
+    /**
+     * Add a closed timer interval to the daily rollup, splitting it at midnight.
+     * Callers hold the task row lock from the timer release, so the
+     * update-then-insert below cannot race for the same task.
+     */
+    public void recordTime(Task task, LocalDateTime start, LocalDateTime end) {
+        LocalDateTime cursor = start;
+        while (cursor.isBefore(end)) {
+            LocalDateTime nextMidnight = cursor.toLocalDate().plusDays(1).atStartOfDay();
+            LocalDateTime sliceEnd = nextMidnight.isBefore(end) ? nextMidnight : end;
+            long seconds = Duration.between(cursor, sliceEnd).getSeconds();
+
+            if (seconds > 0 && dailyRepository.addSeconds(task.getId(), cursor.toLocalDate(), seconds) == 0) {
+                dailyRepository.save(new TimeTrackingDaily(task, task.getUser(), cursor.toLocalDate(), seconds));
+            }
+            cursor = sliceEnd;
+        }
+    }
+
+    public void clearTask(Long taskId) {
+        dailyRepository.deleteByTaskId(taskId);
+    }
+
+    @Transactional(readOnly = true)
+    public Map<String, Object> getTimesheet(LocalDate from, LocalDate to, TimesheetGrouping grouping) {
+        List<Map<String, Object>> rows = getTimesheetRows(from, to, grouping);
+
+        Map<String, Object> timesheet = new HashMap<>();
+        timesheet.put("from", from);
+        timesheet.put("to", to);
+        timesheet.put("groupBy", grouping);
+        timesheet.put("rows", rows);
+        timesheet.put("totalSeconds", rows.stream().mapToLong(row -> (Long) row.get("seconds")).sum());
+        return timesheet;
+    }
+
+    @Transactional(readOnly = true)
+    public void writeTimesheetCsv(LocalDate from, LocalDate to, TimesheetGrouping grouping, Writer writer)
+            throws IOException {
+        List<Map<String, Object>> rows = getTimesheetRows(from, to, grouping);
+
+        // Header comes from the grouping so an empty range still yields a valid file
+        List<String> headers = columns(grouping);
+        CSVFormat format = CSVFormat.DEFAULT.builder().setHeader(headers.toArray(String[]::new)).build();
+        try (CSVPrinter printer = new CSVPrinter(writer, format)) {
+            for (Map<String, Object> row : rows) {
+                printer.printRecord(headers.stream().map(row::get).toList());
+            }
+        }
+    }
+
+    private static List<String> columns(TimesheetGrouping grouping) {
+        return switch (grouping) {
+            case DAY -> List.of("date", "seconds");
+            case WEEK -> List.of("weekStart", "seconds");
+            case PROJECT -> List.of("projectId", "projectTitle", "seconds");
+            case TASK -> List.of("taskId", "taskTitle", "projectTitle", "seconds");
+        };
+    }
+
+    private List<Map<String, Object>> getTimesheetRows(LocalDate from, LocalDate to, TimesheetGrouping grouping) {
+        if (from.isAfter(to)) {
+            throw new RuntimeException("'from' must not be after 'to'");
+        }
+        if (ChronoUnit.DAYS.between(from, to) > MAX_RANGE_DAYS) {
+            throw new RuntimeException("Timesheet range must not exceed " + MAX_RANGE_DAYS + " days");
+        }
+
+        User user = getCurrentUser();
+        List<Map<String, Object>> rows = new ArrayList<>();
+
+        switch (grouping) {
+            case DAY -> dailyRepository.sumByDay(user, from, to).forEach(row -> {
+                Map<String, Object> map = new LinkedHashMap<>();
+                map.put("date", row[0]);
+                map.put("seconds", row[1]);
+                rows.add(map);
+            });
+            case WEEK -> {
+                Map<LocalDate, Long> weeks = new LinkedHashMap<>();
+                for (Object[] row : dailyRepository.sumByDay(user, from, to)) {
+                    LocalDate weekStart = ((LocalDate) row[0]).with(DayOfWeek.MONDAY);
+                    weeks.merge(weekStart, (Long) row[1], Long::sum);
+                }
+                weeks.forEach((weekStart, seconds) -> {
+                    Map<String, Object> map = new LinkedHashMap<>();
+                    map.put("weekStart", weekStart);
+                    map.put("seconds", seconds);
+                    rows.add(map);
+                });
+            }
+            case PROJECT -> dailyRepository.sumByProject(user, from, to).forEach(row -> {
+                Map<String, Object> map = new LinkedHashMap<>();
+                map.put("projectId", row[0]);
+                map.put("projectTitle", row[1]);
+                map.put("seconds", row[2]);
+                rows.add(map);
+            });
+            case TASK -> dailyRepository.sumByTask(user, from, to).forEach(row -> {
+                Map<String, Object> map = new LinkedHashMap<>();
+                map.put("taskId", row[0]);
+                map.put("taskTitle", row[1]);
+                map.put("projectTitle", row[2]);
+                map.put("seconds", row[3]);
+                rows.add(map);
+            });
+        }
+        return rows;
+    }
+}
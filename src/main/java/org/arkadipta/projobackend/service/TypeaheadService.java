@@ -0,0 +1,176 @@
+package org.arkadipta.projobackend.service;
+
+import org.arkadipta.projobackend.dto.response.TitleSuggestion;
+import org.arkadipta.projobackend.entity.User;
+import org.arkadipta.projobackend.enums.SearchDocumentType;
+import org.arkadipta.projobackend.repository.ProjectRepository;
+import org.arkadipta.projobackend.repository.TaskRepository;
+import org.arkadipta.projobackend.repository.UserRepository;
+import org.arkadipta.projobackend.util.PartitionAge;
+import org.arkadipta.projobackend.util.PrefixIndex;
+import org.arkadipta.projobackend.util.TransactionHooks;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.ref.SoftReference;
+import java.time.Clock;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-user typeahead over project and task titles. A user's titles are read
+ * on the first lookup, patched from the committed rows after writes through
+ * the services, read again once older than the configured age and dropped
+ * when left idle. The index is only softly
+ * reachable, so the garbage collector may also reclaim it under memory
+ * pressure; the next lookup then loads it again.
+ */
+@Service
+public class TypeaheadService {
+
+    private static final int MAX_LIMIT = 50;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private Clock clock;
+
+    @Value("${app.typeahead.ttl-minutes:30}")
+    private long ttlMinutes;
+
+    private final Map<Long, Partition> partitions = new ConcurrentHashMap<>();
+
+    private User getCurrentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String username = authentication.getName();
+        return userRepository.findByUsername(username)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+    }
+
+    /**
+     * Up to limit of the current user's projects and tasks with a title word
+     * starting with the prefix; titles starting with it come first, then
+     * shorter titles. A null or empty set of types suggests both.
+     */
+    @Transactional(readOnly = true)
+    public List<TitleSuggestion> suggest(String prefix, Set<SearchDocumentType> types, int limit) {
+        if (types != null && !types.isEmpty()
+                && !Set.of(SearchDocumentType.PROJECT, SearchDocumentType.TASK).containsAll(types)) {
+            throw new RuntimeException("Suggestions only cover projects and tasks");
+        }
+        User user = getCurrentUser();
+        Partition partition = partitions.computeIfAbsent(user.getId(), id -> new Partition(clock));
+        synchronized (partition) {
+            PrefixIndex<TitleSuggestion> index = partition.index.get();
+            if (index == null || partition.age.isStale(ttlMinutes)) {
+                index = load(user, partition);
+            }
+            partition.age.touch();
+            int capped = Math.min(Math.max(limit, 0), MAX_LIMIT);
+            if (types == null || types.isEmpty() || types.size() == 2) {
+                return index.complete(prefix, capped);
+            }
+            return index.complete(prefix, capped, suggestion -> types.contains(suggestion.getType()));
+        }
+    }
+
+    /**
+     * Re-read the titles of the given projects or tasks once the current
+     * transaction commits; ids that no longer exist leave the index
+     */
+    public void refreshAfterCommit(User owner, SearchDocumentType type, Collection<Long> ids) {
+        List<Long> copy = List.copyOf(ids);
+        TransactionHooks.afterCommit(() -> refresh(owner, type, copy));
+    }
+
+    /**
+     * Drop the user's index after writes that touch an unknown set of titles,
+     * such as imports or project deletion
+     */
+    public void invalidateAfterCommit(User user) {
+        TransactionHooks.afterCommit(() -> partitions.remove(user.getId()));
+    }
+
+    @Scheduled(fixedDelayString = "${app.typeahead.sweep-interval-ms:300000}", initialDelayString = "${app.typeahead.sweep-interval-ms:300000}")
+    public void evictIdlePartitions() {
+        partitions.values().removeIf(partition -> partition.age.isIdle(ttlMinutes) || partition.index.get() == null);
+    }
+
+    private PrefixIndex<TitleSuggestion> load(User user, Partition partition) {
+        PrefixIndex<TitleSuggestion> index = new PrefixIndex<>();
+        for (Object[] row : projectRepository.findTitleRowsByUser(user)) {
+            put(index, SearchDocumentType.PROJECT, row);
+        }
+        for (Object[] row : taskRepository.findTitleRowsByUser(user)) {
+            put(index, SearchDocumentType.TASK, row);
+        }
+        partition.index = new SoftReference<>(index);
+        partition.age.loaded();
+        return index;
+    }
+
+    private void refresh(User owner, SearchDocumentType type, List<Long> ids) {
+        Partition partition = partitions.get(owner.getId());
+        if (partition == null || ids.isEmpty()) {
+            return;
+        }
+        synchronized (partition) {
+            // An index that is not loaded yet, or was reclaimed, will read these rows itself
+            PrefixIndex<TitleSuggestion> index = partition.index.get();
+            if (index == null) {
+                return;
+            }
+            List<Object[]> rows = type == SearchDocumentType.PROJECT
+                    ? projectRepository.findTitleRowsByIdIn(ids, owner)
+                    : taskRepository.findTitleRowsByIdIn(ids, owner);
+            Set<Long> found = new HashSet<>();
+            for (Object[] row : rows) {
+                put(index, type, row);
+                found.add((Long) row[0]);
+            }
+            for (Long id : ids) {
+                if (!found.contains(id)) {
+                    index.remove(key(type, id));
+                }
+            }
+        }
+    }
+
+    // Rows are (id, title) for projects and (id, title, project id) for tasks
+    private static void put(PrefixIndex<TitleSuggestion> index, SearchDocumentType type, Object[] row) {
+        Long id = (Long) row[0];
+        String title = (String) row[1];
+        Long projectId = type == SearchDocumentType.PROJECT ? id : (Long) row[2];
+        index.put(key(type, id), title, new TitleSuggestion(type, id, projectId, title));
+    }
+
+    // Projects and tasks share one index; the low bit tells them apart
+    private static long key(SearchDocumentType type, long id) {
+        return id << 1 | (type == SearchDocumentType.TASK ? 1 : 0);
+    }
+
+    private static final class Partition {
+        private final PartitionAge age;
+        private SoftReference<PrefixIndex<TitleSuggestion>> index = new SoftReference<>(null);
+
+        Partition(Clock clock) {
+            this.age = new PartitionAge(clock);
+        }
+    }
+}
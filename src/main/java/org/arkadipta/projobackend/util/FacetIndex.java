@@ -0,0 +1,72 @@
+package org.arkadipta.projobackend.util;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Inverted index from facet keys such as "status:TO_DO" or "label:12" to the
+ * bitmap of ids carrying them. Each id remembers its facets so an update only
+ * touches the postings that changed. Instances are not thread-safe.
+ */
+public final class FacetIndex {
+
+    private final IdBitmap all = new IdBitmap();
+    private final Map<String, IdBitmap> postings = new HashMap<>();
+    private final Map<Long, List<String>> facetsById = new HashMap<>();
+
+    public static String key(String field, Object value) {
+        return field + ":" + value;
+    }
+
+    /**
+     * Index an id under exactly the given facets, replacing what it had before
+     */
+    public void put(long id, List<String> facets) {
+        List<String> previous = facetsById.put(id, facets);
+        if (previous != null) {
+            previous.stream().filter(facet -> !facets.contains(facet)).forEach(facet -> removePosting(facet, id));
+        }
+        for (String facet : facets) {
+            postings.computeIfAbsent(facet, k -> new IdBitmap()).add(id);
+        }
+        all.add(id);
+    }
+
+    public void remove(long id) {
+        List<String> previous = facetsById.remove(id);
+        if (previous != null) {
+            previous.forEach(facet -> removePosting(facet, id));
+        }
+        all.remove(id);
+    }
+
+    /**
+     * Ids carrying the facet; the returned bitmap belongs to the index and must not be modified
+     */
+    public IdBitmap posting(String facet) {
+        IdBitmap posting = postings.get(facet);
+        return posting != null ? posting : new IdBitmap();
+    }
+
+    /**
+     * Every indexed id; the returned bitmap belongs to the index and must not be modified
+     */
+    public IdBitmap all() {
+        return all;
+    }
+
+    public int size() {
+        return facetsById.size();
+    }
+
+    private void removePosting(String facet, long id) {
+        IdBitmap posting = postings.get(facet);
+        if (posting != null) {
+            posting.remove(id);
+            if (posting.isEmpty()) {
+                postings.remove(facet);
+            }
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package org.arkadipta.projobackend.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Term to document postings with BM25 ranking. Documents are identified by a
+ * long key and described by their weighted term frequencies; the sorted term
+ * dictionary also answers prefix lookups for words still being typed. Not
+ * thread-safe; callers synchronize.
+ */
+public class InvertedIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private final NavigableMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+    private final Map<Long, Document> documents = new HashMap<>();
+    private long totalLength;
+
+    public record Match(long key, double score) {
+    }
+
+    private record Document(String[] terms, int length) {
+    }
+
+    /**
+     * Index a document, replacing its previous terms
+     */
+    public void put(long key, Map<String, Integer> termFrequencies) {
+        remove(key);
+        if (termFrequencies.isEmpty()) {
+            return;
+        }
+        int length = 0;
+        for (Map.Entry<String, Integer> entry : termFrequencies.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), term -> new HashMap<>()).put(key, entry.getValue());
+            length += entry.getValue();
+        }
+        documents.put(key, new Document(termFrequencies.keySet().toArray(String[]::new), length));
+        totalLength += length;
+    }
+
+    public void remove(long key) {
+        Document document = documents.remove(key);
+        if (document == null) {
+            return;
+        }
+        for (String term : document.terms()) {
+            Map<Long, Integer> docs = postings.get(term);
+            docs.remove(key);
+            if (docs.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+        totalLength -= document.length();
+    }
+
+    public int size() {
+        return documents.size();
+    }
+
+    public boolean contains(String term) {
+        return postings.containsKey(term);
+    }
+
+    /**
+     * Up to limit dictionary terms starting with the prefix, most frequent first
+     */
+    public List<String> termsWithPrefix(String prefix, int limit) {
+        List<String> terms = new ArrayList<>(postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false)
+                .keySet());
+        terms.sort(Comparator.comparingInt((String term) -> postings.get(term).size()).reversed());
+        return terms.size() > limit ? terms.subList(0, limit) : terms;
+    }
+
+    /**
+     * Documents containing every clause, best first. A clause is satisfied by
+     * any of its terms and scores as its best-matching term.
+     */
+    public List<Match> search(List<? extends Collection<String>> clauses) {
+        if (clauses.isEmpty() || documents.isEmpty()) {
+            return List.of();
+        }
+        double averageLength = (double) totalLength / documents.size();
+        Map<Long, Double> scores = null;
+        for (Collection<String> clause : clauses) {
+            Map<Long, Double> clauseScores = new HashMap<>();
+            for (String term : clause) {
+                Map<Long, Integer> docs = postings.get(term);
+                if (docs == null) {
+                    continue;
+                }
+                double idf = Math.log(1 + (documents.size() - docs.size() + 0.5) / (docs.size() + 0.5));
+                for (Map.Entry<Long, Integer> posting : docs.entrySet()) {
+                    if (scores != null && !scores.containsKey(posting.getKey())) {
+                        continue;
+                    }
+                    int frequency = posting.getValue();
+                    int length = documents.get(posting.getKey()).length();
+                    double score = idf * frequency * (K1 + 1)
+                            / (frequency + K1 * (1 - B + B * length / averageLength));
+                    clauseScores.merge(posting.getKey(), score, Math::max);
+                }
+            }
+            if (scores != null) {
+                for (Map.Entry<Long, Double> entry : clauseScores.entrySet()) {
+                    entry.setValue(entry.getValue() + scores.get(entry.getKey()));
+                }
+            }
+            scores = clauseScores;
+            if (scores.isEmpty()) {
+                return List.of();
+            }
+        }
+
+        List<Match> matches = new ArrayList<>(scores.size());
+        scores.forEach((key, score) -> matches.add(new Match(key, score)));
+        matches.sort(Comparator.comparingDouble(Match::score).reversed().thenComparing(Match::key,
+                Comparator.reverseOrder()));
+        return matches;
+    }
+}
@@ -0,0 +1,181 @@
+package org.arkadipta.projobackend.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Near-duplicate lookup over short texts with MinHash signatures and
+ * locality-sensitive hashing. A text is reduced to the character shingles of
+ * its analyzed terms; its signature keeps the minimum of each of 64 hash
+ * functions over them, and two signatures agree in a position with the
+ * probability that the shingle sets overlap (their Jaccard similarity). The
+ * signature is cut into 16 bands of 4 rows and each band hashed to a bucket,
+ * so a lookup only compares the documents sharing a bucket: pairs above
+ * about 0.5 similarity almost always do, unrelated ones almost never. Not
+ * thread-safe; callers synchronize.
+ */
+public class MinHashIndex {
+
+    private static final int SHINGLE_LENGTH = 4;
+    private static final int BANDS = 16;
+    private static final int ROWS = 4;
+    private static final int HASHES = BANDS * ROWS;
+    private static final long[] SEEDS = new long[HASHES];
+
+    static {
+        long seed = 0x5DEECE66DL;
+        for (int i = 0; i < HASHES; i++) {
+            seed = mix(seed + i);
+            SEEDS[i] = seed;
+        }
+    }
+
+    private final Map<Long, int[]> signatures = new HashMap<>();
+    private final Map<Long, Set<Long>> buckets = new HashMap<>();
+
+    public record Match(long key, double similarity) {
+    }
+
+    /**
+     * Index a text, replacing what the key held before. Texts without any
+     * terms are not indexed.
+     */
+    public void put(long key, String text) {
+        remove(key);
+        int[] signature = signature(text);
+        if (signature == null) {
+            return;
+        }
+        signatures.put(key, signature);
+        for (int band = 0; band < BANDS; band++) {
+            buckets.computeIfAbsent(bucket(signature, band), bucket -> new HashSet<>()).add(key);
+        }
+    }
+
+    public void remove(long key) {
+        int[] signature = signatures.remove(key);
+        if (signature == null) {
+            return;
+        }
+        for (int band = 0; band < BANDS; band++) {
+            long bucket = bucket(signature, band);
+            Set<Long> keys = buckets.get(bucket);
+            keys.remove(key);
+            if (keys.isEmpty()) {
+                buckets.remove(bucket);
+            }
+        }
+    }
+
+    public int size() {
+        return signatures.size();
+    }
+
+    /**
+     * Indexed documents at least as similar to the text as the threshold,
+     * most similar first, leaving out the excluded key
+     */
+    public List<Match> similar(String text, long excludedKey, double threshold, int limit) {
+        return similar(signature(text), excludedKey, threshold, limit);
+    }
+
+    /**
+     * As {@link #similar(String, long, double, int)} for a document already
+     * in the index, which is left out of its own matches
+     */
+    public List<Match> similarTo(long key, double threshold, int limit) {
+        return similar(signatures.get(key), key, threshold, limit);
+    }
+
+    private List<Match> similar(int[] signature, long excludedKey, double threshold, int limit) {
+        if (signature == null || limit <= 0) {
+            return List.of();
+        }
+        Set<Long> candidates = new HashSet<>();
+        for (int band = 0; band < BANDS; band++) {
+            Set<Long> keys = buckets.get(bucket(signature, band));
+            if (keys != null) {
+                candidates.addAll(keys);
+            }
+        }
+        candidates.remove(excludedKey);
+
+        List<Match> matches = new ArrayList<>();
+        for (Long candidate : candidates) {
+            int[] other = signatures.get(candidate);
+            int agreeing = 0;
+            for (int i = 0; i < HASHES; i++) {
+                if (signature[i] == other[i]) {
+                    agreeing++;
+                }
+            }
+            double similarity = (double) agreeing / HASHES;
+            if (similarity >= threshold) {
+                matches.add(new Match(candidate, similarity));
+            }
+        }
+        matches.sort(Comparator.comparingDouble(Match::similarity).reversed().thenComparing(Match::key,
+                Comparator.reverseOrder()));
+        return matches.size() > limit ? matches.subList(0, limit) : matches;
+    }
+
+    // Null when the text has no terms to compare
+    private static int[] signature(String text) {
+        StringBuilder terms = new StringBuilder();
+        for (TextAnalyzer.Token token : TextAnalyzer.analyze(text)) {
+            if (terms.length() > 0) {
+                terms.append(' ');
+            }
+            terms.append(token.term());
+        }
+        if (terms.length() == 0) {
+            return null;
+        }
+
+        int[] signature = new int[HASHES];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        int shingles = Math.max(1, terms.length() - SHINGLE_LENGTH + 1);
+        for (int start = 0; start < shingles; start++) {
+            long shingle = hash(terms, start, Math.min(terms.length(), start + SHINGLE_LENGTH));
+            for (int i = 0; i < HASHES; i++) {
+                int value = (int) (mix(shingle ^ SEEDS[i]) >>> 33);
+                if (value < signature[i]) {
+                    signature[i] = value;
+                }
+            }
+        }
+        return signature;
+    }
+
+    private static long bucket(int[] signature, int band) {
+        long hash = band;
+        for (int row = band * ROWS; row < (band + 1) * ROWS; row++) {
+            hash = hash * 0x9E3779B97F4A7C15L + signature[row];
+        }
+        return mix(hash);
+    }
+
+    // FNV-1a over the characters of the shingle
+    private static long hash(CharSequence text, int from, int to) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = from; i < to; i++) {
+            hash ^= text.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    // SplitMix64 finalizer
+    private static long mix(long value) {
+        long z = value;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
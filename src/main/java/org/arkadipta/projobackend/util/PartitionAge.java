@@ -0,0 +1,44 @@
+package org.arkadipta.projobackend.util;
+
+import java.time.Clock;
+
+/**
+ * Load and last-use times of an in-memory index partition. A partition is
+ * stale until it is first loaded and again once the load is older than the
+ * ttl; it is idle once unused for longer than the ttl. Callers guard
+ * loaded() and isStale() with the partition's lock; touch() and isIdle() may
+ * race with the idle sweep.
+ */
+public final class PartitionAge {
+
+    private final Clock clock;
+    private boolean loaded;
+    private long loadedAt;
+    private volatile long lastUsed;
+
+    public PartitionAge(Clock clock) {
+        this.clock = clock;
+        this.lastUsed = clock.millis();
+    }
+
+    public void loaded() {
+        loaded = true;
+        loadedAt = clock.millis();
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public boolean isStale(long ttlMinutes) {
+        return !loaded || clock.millis() - loadedAt > ttlMinutes * 60_000;
+    }
+
+    public void touch() {
+        lastUsed = clock.millis();
+    }
+
+    public boolean isIdle(long ttlMinutes) {
+        return clock.millis() - lastUsed > ttlMinutes * 60_000;
+    }
+}
@@ -0,0 +1,150 @@
+package org.arkadipta.projobackend.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+
+/**
+ * Sorted index of short texts such as titles for typeahead. Each text is
+ * entered once per word, so a prefix matches the start of any word; matches
+ * at the start of the text rank first, then shorter texts. A lookup walks
+ * only the range of entries sharing the prefix. Not thread-safe; callers
+ * synchronize.
+ */
+public class PrefixIndex<V> {
+
+    private static final int MAX_WORDS = 16;
+    private static final char SEPARATOR = '\u0000';
+
+    private final NavigableMap<String, Entry<V>> entries = new TreeMap<>();
+    private final Map<Long, String> texts = new HashMap<>();
+
+    // One word start of an indexed text; texts matching at their start rank before the rest, then shorter first
+    private record Entry<V>(long key, int rank, String text, V value) {
+    }
+
+    /**
+     * Index a text under the key, replacing what the key held before
+     */
+    public void put(long key, String text, V value) {
+        remove(key);
+        String normalized = normalize(text);
+        if (normalized.isEmpty()) {
+            return;
+        }
+        texts.put(key, normalized);
+        for (int start : wordStarts(normalized)) {
+            int rank = (start == 0 ? 0 : 1 << 20) + normalized.length();
+            entries.put(entryKey(normalized.substring(start), key), new Entry<>(key, rank, normalized, value));
+        }
+    }
+
+    public void remove(long key) {
+        String text = texts.remove(key);
+        if (text == null) {
+            return;
+        }
+        for (int start : wordStarts(text)) {
+            entries.remove(entryKey(text.substring(start), key));
+        }
+    }
+
+    public int size() {
+        return texts.size();
+    }
+
+    /**
+     * Up to limit values whose text has a word starting with the prefix, best
+     * first. The prefix is normalized like the indexed texts, so it may span
+     * several words.
+     */
+    public List<V> complete(String prefix, int limit) {
+        return complete(prefix, limit, value -> true);
+    }
+
+    /**
+     * As {@link #complete(String, int)}, skipping values the filter rejects
+     */
+    public List<V> complete(String prefix, int limit, Predicate<? super V> filter) {
+        String normalized = normalize(prefix);
+        if (normalized.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        // Keep the best limit entries in a max-heap; a text matching at several words keeps its best entry
+        Comparator<Entry<V>> order = Comparator.<Entry<V>>comparingInt(Entry::rank).thenComparing(Entry::text)
+                .thenComparingLong(Entry::key);
+        PriorityQueue<Entry<V>> best = new PriorityQueue<>(limit + 1, order.reversed());
+        Map<Long, Entry<V>> kept = new HashMap<>();
+        for (Entry<V> entry : entries.subMap(normalized, true, normalized + Character.MAX_VALUE, false).values()) {
+            if (best.size() == limit && order.compare(entry, best.peek()) >= 0) {
+                continue;
+            }
+            if (!filter.test(entry.value())) {
+                continue;
+            }
+            Entry<V> previous = kept.get(entry.key());
+            if (previous != null) {
+                if (order.compare(entry, previous) >= 0) {
+                    continue;
+                }
+                best.remove(previous);
+            }
+            best.add(entry);
+            kept.put(entry.key(), entry);
+            if (best.size() > limit) {
+                kept.remove(best.poll().key());
+            }
+        }
+
+        List<Entry<V>> sorted = new ArrayList<>(best);
+        sorted.sort(order);
+        List<V> values = new ArrayList<>(sorted.size());
+        for (Entry<V> entry : sorted) {
+            values.add(entry.value());
+        }
+        return values;
+    }
+
+    // Lower-cased words separated by single spaces
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder normalized = new StringBuilder(text.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                if (pendingSpace && normalized.length() > 0) {
+                    normalized.append(' ');
+                }
+                normalized.append(c);
+                pendingSpace = false;
+            } else {
+                pendingSpace = true;
+            }
+        }
+        return normalized.toString().toLowerCase(Locale.ROOT);
+    }
+
+    private static List<Integer> wordStarts(String normalized) {
+        List<Integer> starts = new ArrayList<>();
+        starts.add(0);
+        for (int i = normalized.indexOf(' '); i >= 0 && starts.size() < MAX_WORDS; i = normalized.indexOf(' ', i + 1)) {
+            starts.add(i + 1);
+        }
+        return starts;
+    }
+
+    // The key keeps entries of equal suffixes apart; the separator sorts below every character
+    private static String entryKey(String suffix, long key) {
+        return suffix + SEPARATOR + key;
+    }
+}
@@ -0,0 +1,128 @@
+package org.arkadipta.projobackend.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fractional base-36 sort keys for manually ordered lists. Keys compare with
+ * plain String ordering and a new key can always be generated between any
+ * two existing ones, so moving an item only rewrites that item's key.
+ * Generated keys never end in '0', which keeps room below every key.
+ * Appending with after() grows keys logarithmically in the number of appends.
+ */
+public final class RankKeys {
+
+    private static final String DIGITS = "0123456789abcdefghijklmnopqrstuvwxyz";
+    private static final int BASE = DIGITS.length();
+
+    private RankKeys() {
+    }
+
+    /**
+     * A key strictly between lower and upper; a null bound is open-ended
+     */
+    public static String between(String lower, String upper) {
+        String a = lower == null ? "" : validate(lower);
+        if (upper != null && a.compareTo(validate(upper)) >= 0) {
+            throw new IllegalArgumentException("Rank " + lower + " is not below " + upper);
+        }
+        return midpoint(a, upper);
+    }
+
+    /**
+     * A key above lower for appending to the end of a list. Counts up at the
+     * width of lower; once every digit is the largest, continues at twice the
+     * width, so each run of appends is BASE^width times longer than the last.
+     */
+    public static String after(String lower) {
+        if (lower == null) {
+            return between(null, null);
+        }
+        char[] digits = validate(lower).toCharArray();
+        int last = digits.length - 1;
+        for (int i = last; i >= 0; i--) {
+            int digit = DIGITS.indexOf(digits[i]);
+            if (digit < BASE - 1) {
+                digits[i] = DIGITS.charAt(digit + 1);
+                for (int j = i + 1; j <= last; j++) {
+                    digits[j] = DIGITS.charAt(0);
+                }
+                // A carry leaves a trailing '0'; skip to the next key that does not end in one
+                if (i < last) {
+                    digits[last] = DIGITS.charAt(1);
+                }
+                return new String(digits);
+            }
+        }
+        return lower + String.valueOf(DIGITS.charAt(0)).repeat(lower.length() - 1) + DIGITS.charAt(1);
+    }
+
+    /**
+     * n keys in ascending order spread evenly over the shortest width that
+     * leaves at least BASE free slots between neighbours
+     */
+    public static List<String> spread(int n) {
+        int width = 1;
+        long space = BASE;
+        while (space / (n + 1L) < BASE) {
+            space *= BASE;
+            width++;
+        }
+
+        long step = space / (n + 1L);
+        List<String> keys = new ArrayList<>(n);
+        for (int i = 1; i <= n; i++) {
+            keys.add(encode(i * step, width));
+        }
+        return keys;
+    }
+
+    private static String midpoint(String a, String b) {
+        if (b != null) {
+            // Copy the shared prefix, treating a as padded with zeros
+            int n = 0;
+            while (n < b.length() && (n < a.length() ? a.charAt(n) : DIGITS.charAt(0)) == b.charAt(n)) {
+                n++;
+            }
+            if (n > 0) {
+                return b.substring(0, n) + midpoint(a.length() > n ? a.substring(n) : "", b.substring(n));
+            }
+        }
+
+        int digitA = a.isEmpty() ? 0 : DIGITS.indexOf(a.charAt(0));
+        int digitB = b != null ? DIGITS.indexOf(b.charAt(0)) : BASE;
+        if (digitB - digitA > 1) {
+            return String.valueOf(DIGITS.charAt((digitA + digitB + 1) / 2));
+        }
+        if (b != null && b.length() > 1) {
+            return b.substring(0, 1);
+        }
+        return DIGITS.charAt(digitA) + midpoint(a.length() > 1 ? a.substring(1) : "", null);
+    }
+
+    private static String encode(long value, int width) {
+        char[] chars = new char[width];
+        for (int i = width - 1; i >= 0; i--) {
+            chars[i] = DIGITS.charAt((int) (value % BASE));
+            value /= BASE;
+        }
+
+        int end = width;
+        while (end > 1 && chars[end - 1] == DIGITS.charAt(0)) {
+            end--;
+        }
+        return new String(chars, 0, end);
+    }
+
+    private static String validate(String key) {
+        if (key.isEmpty() || key.charAt(key.length() - 1) == DIGITS.charAt(0)) {
+            throw new IllegalArgumentException("Invalid rank: " + key);
+        }
+        for (int i = 0; i < key.length(); i++) {
+            if (DIGITS.indexOf(key.charAt(i)) < 0) {
+                throw new IllegalArgumentException("Invalid rank: " + key);
+            }
+        }
+        return key;
+    }
+}
@@ -0,0 +1,258 @@
+package org.arkadipta.projobackend.util;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * The subset of RFC 5545 RRULE used by recurring tasks: FREQ (DAILY, WEEKLY,
+ * MONTHLY, YEARLY), INTERVAL, BYDAY for weekly rules, and COUNT or UNTIL.
+ * COUNT is capped at MAX_COUNT, since lastOccurrence walks the series on the
+ * request thread; longer series can use UNTIL or no end at all. Monthly and yearly rules repeat the start date's day and skip periods where
+ * it does not exist, as the RFC does. Expansion jumps straight to the
+ * requested window, so its cost depends on the window and not on how long the
+ * series has been running.
+ */
+public final class RecurrenceRule {
+
+    public enum Frequency {
+        DAILY, WEEKLY, MONTHLY, YEARLY
+    }
+
+    public static final int MAX_COUNT = 1000;
+
+    private static final DateTimeFormatter UNTIL_FORMAT = DateTimeFormatter.BASIC_ISO_DATE;
+    private static final List<String> DAY_CODES = List.of("MO", "TU", "WE", "TH", "FR", "SA", "SU");
+
+    private final Frequency frequency;
+    private final int interval;
+    private final Set<DayOfWeek> byDay;
+    private final Integer count;
+    private final LocalDate until;
+
+    private RecurrenceRule(Frequency frequency, int interval, Set<DayOfWeek> byDay, Integer count, LocalDate until) {
+        this.frequency = frequency;
+        this.interval = interval;
+        this.byDay = byDay;
+        this.count = count;
+        this.until = until;
+    }
+
+    /**
+     * Parse a rule such as "FREQ=WEEKLY;INTERVAL=2;BYDAY=MO,TH", with or
+     * without the "RRULE:" prefix
+     */
+    public static RecurrenceRule parse(String rule) {
+        String text = rule.trim();
+        if (text.regionMatches(true, 0, "RRULE:", 0, 6)) {
+            text = text.substring(6);
+        }
+
+        Frequency frequency = null;
+        int interval = 1;
+        Set<DayOfWeek> byDay = EnumSet.noneOf(DayOfWeek.class);
+        Integer count = null;
+        LocalDate until = null;
+        for (String part : text.split(";")) {
+            String[] pair = part.split("=", 2);
+            if (pair.length != 2 || pair[1].isBlank()) {
+                throw new IllegalArgumentException("Malformed rule part: " + part);
+            }
+            String value = pair[1].trim().toUpperCase(Locale.ROOT);
+            switch (pair[0].trim().toUpperCase(Locale.ROOT)) {
+                case "FREQ" -> frequency = parseFrequency(value);
+                case "INTERVAL" -> interval = positive("INTERVAL", value);
+                case "COUNT" -> {
+                    count = positive("COUNT", value);
+                    if (count > MAX_COUNT) {
+                        throw new IllegalArgumentException("COUNT cannot exceed " + MAX_COUNT);
+                    }
+                }
+                case "UNTIL" -> until = parseUntil(value);
+                case "BYDAY" -> {
+                    for (String code : value.split(",")) {
+                        int day = DAY_CODES.indexOf(code.trim());
+                        if (day < 0) {
+                            throw new IllegalArgumentException("Unsupported BYDAY value: " + code);
+                        }
+                        byDay.add(DayOfWeek.of(day + 1));
+                    }
+                }
+                default -> throw new IllegalArgumentException("Unsupported rule part: " + pair[0]);
+            }
+        }
+
+        if (frequency == null) {
+            throw new IllegalArgumentException("FREQ is required");
+        }
+        if (count != null && until != null) {
+            throw new IllegalArgumentException("COUNT and UNTIL cannot be combined");
+        }
+        if (!byDay.isEmpty() && frequency != Frequency.WEEKLY) {
+            throw new IllegalArgumentException("BYDAY is only supported for weekly rules");
+        }
+        return new RecurrenceRule(frequency, interval, byDay, count, until);
+    }
+
+    /**
+     * The last occurrence of a series starting at start, or null when it never ends.
+     * COUNT rules are walked once here so that expansion never has to.
+     */
+    public LocalDate lastOccurrence(LocalDate start) {
+        if (until != null) {
+            return until;
+        }
+        if (count == null) {
+            return null;
+        }
+
+        LocalDate last = start;
+        int seen = 0;
+        for (long period = 0; seen < count; period++) {
+            for (LocalDate date : datesInPeriod(start, period)) {
+                last = date;
+                if (++seen == count) {
+                    break;
+                }
+            }
+        }
+        return last;
+    }
+
+    /**
+     * Occurrences within [from, to] of a series starting at start and ending at
+     * seriesEnd (see lastOccurrence; null when open-ended), at most limit of them
+     */
+    public List<LocalDate> between(LocalDate start, LocalDate seriesEnd, LocalDate from, LocalDate to, int limit) {
+        LocalDate first = from.isAfter(start) ? from : start;
+        LocalDate last = seriesEnd != null && seriesEnd.isBefore(to) ? seriesEnd : to;
+
+        List<LocalDate> dates = new ArrayList<>();
+        for (long period = firstPeriod(start, first); !periodStart(start, period).isAfter(last); period++) {
+            for (LocalDate date : datesInPeriod(start, period)) {
+                if (date.isAfter(last)) {
+                    return dates;
+                }
+                if (!date.isBefore(first)) {
+                    dates.add(date);
+                    if (dates.size() == limit) {
+                        return dates;
+                    }
+                }
+            }
+        }
+        return dates;
+    }
+
+    // Index of the period holding the given date, counted in whole intervals from the start
+    private long firstPeriod(LocalDate start, LocalDate date) {
+        long units = switch (frequency) {
+            case DAILY -> ChronoUnit.DAYS.between(start, date);
+            case WEEKLY -> ChronoUnit.WEEKS.between(weekOf(start), weekOf(date));
+            case MONTHLY -> ChronoUnit.MONTHS.between(YearMonth.from(start), YearMonth.from(date));
+            case YEARLY -> (long) date.getYear() - start.getYear();
+        };
+        return units / interval;
+    }
+
+    private LocalDate periodStart(LocalDate start, long period) {
+        long units = period * interval;
+        return switch (frequency) {
+            case DAILY -> start.plusDays(units);
+            case WEEKLY -> weekOf(start).plusWeeks(units);
+            case MONTHLY -> YearMonth.from(start).plusMonths(units).atDay(1);
+            case YEARLY -> LocalDate.of(Math.toIntExact(start.getYear() + units), Month.JANUARY, 1);
+        };
+    }
+
+    // Dates of one period in ascending order; never earlier than the start
+    private List<LocalDate> datesInPeriod(LocalDate start, long period) {
+        LocalDate periodStart = periodStart(start, period);
+        return switch (frequency) {
+            case DAILY -> List.of(periodStart);
+            case WEEKLY -> (byDay.isEmpty() ? EnumSet.of(start.getDayOfWeek()) : byDay).stream()
+                    .map(day -> periodStart.plusDays(day.getValue() - 1L))
+                    .filter(date -> !date.isBefore(start))
+                    .toList();
+            case MONTHLY -> {
+                YearMonth month = YearMonth.from(periodStart);
+                yield month.isValidDay(start.getDayOfMonth())
+                        ? List.of(month.atDay(start.getDayOfMonth()))
+                        : List.of();
+            }
+            case YEARLY -> {
+                YearMonth month = YearMonth.of(periodStart.getYear(), start.getMonth());
+                yield month.isValidDay(start.getDayOfMonth())
+                        ? List.of(month.atDay(start.getDayOfMonth()))
+                        : List.of();
+            }
+        };
+    }
+
+    private static LocalDate weekOf(LocalDate date) {
+        return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+
+    private static Frequency parseFrequency(String value) {
+        try {
+            return Frequency.valueOf(value);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported FREQ: " + value);
+        }
+    }
+
+    private static int positive(String name, String value) {
+        try {
+            int number = Integer.parseInt(value);
+            if (number > 0) {
+                return number;
+            }
+        } catch (NumberFormatException e) {
+            // fall through to the error below
+        }
+        throw new IllegalArgumentException(name + " must be a positive number");
+    }
+
+    private static LocalDate parseUntil(String value) {
+        try {
+            // Date-time values are cut to their date; tasks only carry dates
+            return LocalDate.parse(value.length() > 8 ? value.substring(0, 8) : value, UNTIL_FORMAT);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("UNTIL must be a date such as 20250131");
+        }
+    }
+
+    /**
+     * Normalized rule text, as stored on the series task
+     */
+    @Override
+    public String toString() {
+        StringBuilder rule = new StringBuilder("FREQ=").append(frequency);
+        if (interval > 1) {
+            rule.append(";INTERVAL=").append(interval);
+        }
+        if (!byDay.isEmpty()) {
+            rule.append(";BYDAY=").append(byDay.stream()
+                    .map(day -> DAY_CODES.get(day.getValue() - 1))
+                    .collect(Collectors.joining(",")));
+        }
+        if (count != null) {
+            rule.append(";COUNT=").append(count);
+        }
+        if (until != null) {
+            rule.append(";UNTIL=").append(until.format(UNTIL_FORMAT));
+        }
+        return rule.toString();
+    }
+}
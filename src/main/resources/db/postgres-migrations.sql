@@ -0,0 +1,209 @@
+-- PostgreSQL schema changes for environments running with spring.jpa.hibernate.ddl-auto=validate.
+-- Statements are idempotent; apply the whole file before deploying a new build.
+
+-- Version the active timer registry orders timer starts and stops by
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS timer_version BIGINT NOT NULL DEFAULT 0;
+
+-- Per-task timer compare-and-set column
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS timer_started_at TIMESTAMP;
+
+-- Close duplicate open timers left behind by concurrent starts, keeping the newest one
+UPDATE task_time_tracking t
+SET end_time = t.start_time, duration = 0
+WHERE t.end_time IS NULL
+  AND EXISTS (SELECT 1 FROM task_time_tracking o
+              WHERE o.task_id = t.task_id AND o.end_time IS NULL AND o.id > t.id);
+
+UPDATE tasks t
+SET timer_started_at = o.start_time
+FROM task_time_tracking o
+WHERE o.task_id = t.id AND o.end_time IS NULL;
+
+-- At most one open timer row per task
+CREATE UNIQUE INDEX IF NOT EXISTS uq_task_time_tracking_open
+    ON task_time_tracking (task_id) WHERE end_time IS NULL;
+
+-- Denormalized time spent per task
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS total_time_seconds BIGINT NOT NULL DEFAULT 0;
+
+UPDATE tasks SET total_time_seconds = COALESCE((SELECT SUM(tt.duration)
+        FROM task_time_tracking tt WHERE tt.task_id = tasks.id), 0);
+
+-- Daily timesheet rollup; rows are seeded from task_time_tracking, split at midnight,
+-- by the backfill that runs on application startup while the table is empty.
+CREATE SEQUENCE IF NOT EXISTS time_tracking_daily_seq INCREMENT BY 50;
+CREATE TABLE IF NOT EXISTS time_tracking_daily (
+    id BIGINT PRIMARY KEY DEFAULT nextval('time_tracking_daily_seq'),
+    task_id BIGINT NOT NULL REFERENCES tasks (id) ON DELETE CASCADE,
+    user_id BIGINT NOT NULL REFERENCES users (id) ON DELETE CASCADE,
+    work_date DATE NOT NULL,
+    seconds BIGINT NOT NULL,
+    CONSTRAINT uq_time_tracking_daily_task_date UNIQUE (task_id, work_date)
+);
+CREATE INDEX IF NOT EXISTS idx_time_tracking_daily_user_date ON time_tracking_daily (user_id, work_date);
+
+-- Structured activity events; existing rows keep only their action text
+ALTER TABLE activity_logs ADD COLUMN IF NOT EXISTS verb VARCHAR(32);
+ALTER TABLE activity_logs ADD COLUMN IF NOT EXISTS entity_type VARCHAR(16);
+ALTER TABLE activity_logs ADD COLUMN IF NOT EXISTS entity_id BIGINT;
+ALTER TABLE activity_logs ADD COLUMN IF NOT EXISTS project_id BIGINT;
+ALTER TABLE activity_logs ADD COLUMN IF NOT EXISTS payload TEXT;
+
+CREATE INDEX IF NOT EXISTS idx_activity_logs_user_id ON activity_logs (user_id, id);
+CREATE INDEX IF NOT EXISTS idx_activity_logs_user_entity ON activity_logs (user_id, entity_type, id);
+CREATE INDEX IF NOT EXISTS idx_activity_logs_project_id ON activity_logs (project_id, id);
+
+-- Time-range history reads and the retention sweep
+CREATE INDEX IF NOT EXISTS idx_activity_logs_user_timestamp ON activity_logs (user_id, timestamp);
+CREATE INDEX IF NOT EXISTS idx_activity_logs_timestamp ON activity_logs (timestamp);
+
+-- Per-user read cursors over project activity streams
+CREATE TABLE IF NOT EXISTS activity_read_cursors (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id BIGINT NOT NULL REFERENCES users (id) ON DELETE CASCADE,
+    project_id BIGINT NOT NULL REFERENCES projects (id) ON DELETE CASCADE,
+    last_read_id BIGINT NOT NULL,
+    unread_count BIGINT NOT NULL,
+    CONSTRAINT uq_activity_read_cursors_user_project UNIQUE (user_id, project_id)
+);
+CREATE INDEX IF NOT EXISTS idx_activity_read_cursors_project ON activity_read_cursors (project_id);
+
+-- Pooled sequences replace identity columns so Hibernate can batch inserts.
+-- Each sequence starts past the current max id and never moves backwards on re-run.
+ALTER TABLE tasks ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE IF NOT EXISTS tasks_seq INCREMENT BY 50;
+SELECT setval('tasks_seq', GREATEST((SELECT COALESCE(MAX(id), 0) + 50 FROM tasks), (SELECT last_value FROM tasks_seq)));
+ALTER TABLE issues ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE IF NOT EXISTS issues_seq INCREMENT BY 50;
+SELECT setval('issues_seq', GREATEST((SELECT COALESCE(MAX(id), 0) + 50 FROM issues), (SELECT last_value FROM issues_seq)));
+ALTER TABLE notes ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE IF NOT EXISTS notes_seq INCREMENT BY 50;
+SELECT setval('notes_seq', GREATEST((SELECT COALESCE(MAX(id), 0) + 50 FROM notes), (SELECT last_value FROM notes_seq)));
+-- Activity ids are cursor keys, so this one is not pooled: ids follow nextval order across instances
+ALTER TABLE activity_logs ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE IF NOT EXISTS activity_logs_seq INCREMENT BY 1;
+SELECT setval('activity_logs_seq', GREATEST((SELECT COALESCE(MAX(id), 0) + 50 FROM activity_logs), (SELECT last_value FROM activity_logs_seq)));
+ALTER TABLE task_time_tracking ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE IF NOT EXISTS task_time_tracking_seq INCREMENT BY 50;
+SELECT setval('task_time_tracking_seq', GREATEST((SELECT COALESCE(MAX(id), 0) + 50 FROM task_time_tracking), (SELECT last_value FROM task_time_tracking_seq)));
+ALTER TABLE time_tracking_daily ALTER COLUMN id DROP IDENTITY IF EXISTS;
+SELECT setval('time_tracking_daily_seq', GREATEST((SELECT COALESCE(MAX(id), 0) + 50 FROM time_tracking_daily), (SELECT last_value FROM time_tracking_daily_seq)));
+ALTER TABLE project_members ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE IF NOT EXISTS project_members_seq INCREMENT BY 50;
+SELECT setval('project_members_seq', GREATEST((SELECT COALESCE(MAX(id), 0) + 50 FROM project_members), (SELECT last_value FROM project_members_seq)));
+
+-- Fractional kanban ranks; "C" collation so the database orders them exactly like String.compareTo.
+-- Existing tasks are ranked by the backfill that runs on application startup.
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS board_rank VARCHAR(255) COLLATE "C";
+CREATE INDEX IF NOT EXISTS idx_tasks_project_status_rank ON tasks (project_id, status, board_rank);
+
+-- Task dependencies and the stored critical path schedule.
+-- Existing tasks are scheduled by the job that runs on application startup.
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS topo_order INT;
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS schedule_es BIGINT;
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS schedule_tail INT;
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS slack_days INT;
+CREATE TABLE IF NOT EXISTS task_dependencies (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    predecessor_id BIGINT NOT NULL REFERENCES tasks (id) ON DELETE CASCADE,
+    successor_id BIGINT NOT NULL REFERENCES tasks (id) ON DELETE CASCADE,
+    project_id BIGINT NOT NULL REFERENCES projects (id) ON DELETE CASCADE,
+    type VARCHAR(20) NOT NULL,
+    lag_days INT NOT NULL,
+    CONSTRAINT uq_task_dependencies_edge UNIQUE (predecessor_id, successor_id)
+);
+CREATE INDEX IF NOT EXISTS idx_task_dependencies_successor ON task_dependencies (successor_id);
+CREATE INDEX IF NOT EXISTS idx_task_dependencies_project ON task_dependencies (project_id);
+
+-- Subtask hierarchy: parent_id on tasks plus a closure table holding every ancestor/descendant pair.
+-- Each existing task gets its depth-0 row here; tasks start out at the top level.
+-- A parent deleted by a cascade rather than through TaskHierarchyService leaves its children at the top level.
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS parent_id BIGINT;
+ALTER TABLE tasks DROP CONSTRAINT IF EXISTS tasks_parent_id_fkey;
+ALTER TABLE tasks ADD CONSTRAINT tasks_parent_id_fkey FOREIGN KEY (parent_id) REFERENCES tasks (id) ON DELETE SET NULL;
+CREATE INDEX IF NOT EXISTS idx_tasks_parent ON tasks (parent_id);
+CREATE TABLE IF NOT EXISTS task_closure (
+    ancestor_id BIGINT NOT NULL REFERENCES tasks (id) ON DELETE CASCADE,
+    descendant_id BIGINT NOT NULL REFERENCES tasks (id) ON DELETE CASCADE,
+    depth INT NOT NULL,
+    PRIMARY KEY (ancestor_id, descendant_id)
+);
+CREATE INDEX IF NOT EXISTS idx_task_closure_descendant ON task_closure (descendant_id, depth);
+INSERT INTO task_closure (ancestor_id, descendant_id, depth)
+SELECT id, id, 0 FROM tasks ON CONFLICT DO NOTHING;
+
+-- Recurring tasks: rule and last occurrence on the series task, series link and original date on
+-- materialized occurrences. Other occurrences are generated at read time and never stored.
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS recurrence_rule VARCHAR(255);
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS recurrence_end DATE;
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS series_id BIGINT;
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS occurrence_date DATE;
+CREATE UNIQUE INDEX IF NOT EXISTS uq_tasks_series_occurrence ON tasks (series_id, occurrence_date);
+CREATE INDEX IF NOT EXISTS idx_tasks_recurring ON tasks (user_id, due_date) WHERE recurrence_rule IS NOT NULL;
+
+-- Labels on tasks and issues. The bitmap filter indexes are built in memory from these tables.
+CREATE SEQUENCE IF NOT EXISTS labels_seq INCREMENT BY 50;
+CREATE TABLE IF NOT EXISTS labels (
+    id BIGINT PRIMARY KEY DEFAULT nextval('labels_seq'),
+    name VARCHAR(50) NOT NULL,
+    color VARCHAR(7),
+    user_id BIGINT NOT NULL REFERENCES users (id) ON DELETE CASCADE,
+    created_at TIMESTAMP NOT NULL,
+    CONSTRAINT uq_labels_user_name UNIQUE (user_id, name)
+);
+CREATE TABLE IF NOT EXISTS task_labels (
+    task_id BIGINT NOT NULL REFERENCES tasks (id) ON DELETE CASCADE,
+    label_id BIGINT NOT NULL REFERENCES labels (id) ON DELETE CASCADE,
+    PRIMARY KEY (task_id, label_id)
+);
+CREATE INDEX IF NOT EXISTS idx_task_labels_label ON task_labels (label_id, task_id);
+CREATE TABLE IF NOT EXISTS issue_labels (
+    issue_id BIGINT NOT NULL REFERENCES issues (id) ON DELETE CASCADE,
+    label_id BIGINT NOT NULL REFERENCES labels (id) ON DELETE CASCADE,
+    PRIMARY KEY (issue_id, label_id)
+);
+CREATE INDEX IF NOT EXISTS idx_issue_labels_label ON issue_labels (label_id, issue_id);
+
+-- Task and issue lists compose every filter into one statement; each combination of
+-- user or project with status, priority/severity, due date and sort column has an index.
+CREATE INDEX IF NOT EXISTS idx_tasks_user_created ON tasks (user_id, created_at);
+CREATE INDEX IF NOT EXISTS idx_tasks_user_due ON tasks (user_id, due_date);
+CREATE INDEX IF NOT EXISTS idx_tasks_user_status_due ON tasks (user_id, status, due_date);
+CREATE INDEX IF NOT EXISTS idx_tasks_user_priority_due ON tasks (user_id, priority, due_date);
+CREATE INDEX IF NOT EXISTS idx_tasks_user_title ON tasks (user_id, title);
+CREATE INDEX IF NOT EXISTS idx_tasks_project_due ON tasks (project_id, due_date);
+CREATE INDEX IF NOT EXISTS idx_issues_user_created ON issues (user_id, created_at);
+CREATE INDEX IF NOT EXISTS idx_issues_user_status_created ON issues (user_id, status, created_at);
+CREATE INDEX IF NOT EXISTS idx_issues_user_severity_created ON issues (user_id, severity, created_at);
+CREATE INDEX IF NOT EXISTS idx_issues_user_title ON issues (user_id, title);
+CREATE INDEX IF NOT EXISTS idx_issues_project_status_created ON issues (project_id, status, created_at);
+-- The title search is LIKE '%term%' on lower(title); trigram indexes serve it on PostgreSQL.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX IF NOT EXISTS idx_tasks_title_trgm ON tasks USING gin (lower(title) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_issues_title_trgm ON issues USING gin (lower(title) gin_trgm_ops);
+
+-- Saved task views. Their result sets are cached in memory and patched after task writes.
+CREATE SEQUENCE IF NOT EXISTS saved_views_seq INCREMENT BY 50;
+CREATE TABLE IF NOT EXISTS saved_views (
+    id BIGINT PRIMARY KEY DEFAULT nextval('saved_views_seq'),
+    name VARCHAR(100) NOT NULL,
+    project_id BIGINT,
+    status VARCHAR(255),
+    priority VARCHAR(255),
+    due_from DATE,
+    due_to DATE,
+    due_within_days INT,
+    search VARCHAR(255),
+    sort_by VARCHAR(20) NOT NULL,
+    sort_ascending BOOLEAN NOT NULL,
+    user_id BIGINT NOT NULL REFERENCES users (id) ON DELETE CASCADE,
+    created_at TIMESTAMP NOT NULL,
+    CONSTRAINT uq_saved_views_user_name UNIQUE (user_id, name)
+);
+
+-- Leases that keep scheduled jobs to one instance at a time
+CREATE TABLE IF NOT EXISTS job_locks (
+    name VARCHAR(64) PRIMARY KEY,
+    locked_until TIMESTAMP NOT NULL,
+    locked_by VARCHAR(64)
+);
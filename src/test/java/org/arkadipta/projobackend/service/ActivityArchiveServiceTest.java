@@ -0,0 +1,139 @@
+package org.arkadipta.projobackend.service;
+
+import org.arkadipta.projobackend.entity.User;
+import org.arkadipta.projobackend.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+
+import static org.arkadipta.projobackend.support.TestUsers.createUser;
+import static org.arkadipta.projobackend.support.TestUsers.login;
+import static org.arkadipta.projobackend.support.TestUsers.logout;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ActivityArchiveServiceTest {
+
+    @Autowired
+    private ActivityArchiveService archiveService;
+
+    @Autowired
+    private ActivityService activityService;
+
+    @Autowired
+    private JobLockService jobLockService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${app.activity.archive-dir}")
+    private String archiveDir;
+
+    @BeforeEach
+    void clearArchive() throws IOException {
+        // Ids restart with the in-memory database, so files from earlier runs would match
+        FileSystemUtils.deleteRecursively(Paths.get(archiveDir));
+    }
+
+    @AfterEach
+    void clearSecurityContext() {
+        logout();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void expiredEntriesMoveToArchiveAndStayReadable() {
+        User user = createUser(userRepository, "activity-archive");
+
+        LocalDateTime old = LocalDateTime.now().minusDays(200).truncatedTo(ChronoUnit.SECONDS);
+        for (int i = 0; i < 3; i++) {
+            insertActivity(user, "Old event " + i, old.plusDays(i * 20L));
+        }
+        assertTrue(archiveService.archiveExpiredActivity() >= 3);
+
+        // A second run appends another gzip member to the same monthly files
+        insertActivity(user, "Old event 3", old.plusDays(1));
+        assertTrue(archiveService.archiveExpiredActivity() >= 1);
+        insertActivity(user, "Recent event", LocalDateTime.now().minusDays(1));
+
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM activity_logs WHERE user_id = ?", Integer.class, user.getId()));
+
+        login("activity-archive");
+        LocalDateTime from = old.minusDays(1);
+        LocalDateTime to = LocalDateTime.now();
+
+        Map<String, Object> hot = activityService.getHistory(from, to, false, 100);
+        assertEquals(1, ((List<?>) hot.get("items")).size());
+
+        Map<String, Object> all = activityService.getHistory(from, to, true, 100);
+        List<Map<String, Object>> items = (List<Map<String, Object>>) all.get("items");
+        assertEquals(5, items.size());
+        assertEquals("Recent event", items.get(0).get("action"));
+        assertEquals("Old event 0", items.get(items.size() - 1).get("action"));
+    }
+
+    @Test
+    void entriesAreFiledPerUserAndMonth() {
+        User owner = createUser(userRepository, "archive-owner");
+        User other = createUser(userRepository, "archive-other");
+        LocalDateTime old = LocalDateTime.now().minusDays(200).truncatedTo(ChronoUnit.SECONDS);
+        insertActivity(owner, "Owner event", old);
+        insertActivity(other, "Other event", old);
+        archiveService.archiveExpiredActivity();
+
+        Path monthDir = Paths.get(archiveDir).resolve(YearMonth.from(old).toString());
+        assertTrue(Files.exists(monthDir.resolve("user-" + owner.getId() + ".ndjson.gz")));
+        assertTrue(Files.exists(monthDir.resolve("user-" + other.getId() + ".ndjson.gz")));
+
+        List<Map<String, Object>> entries = archiveService.readArchived(owner.getId(), old.minusDays(1), old.plusDays(1));
+        assertEquals(List.of("Owner event"), entries.stream().map(entry -> entry.get("action")).toList());
+    }
+
+    @Test
+    void runIsSkippedWhileAnotherInstanceHoldsTheLock() {
+        User user = createUser(userRepository, "archive-locked");
+        insertActivity(user, "Old event", LocalDateTime.now().minusDays(200));
+
+        assertTrue(jobLockService.tryAcquire("activity-archive", Duration.ofMinutes(5)));
+        try {
+            assertEquals(0, archiveService.archiveExpiredActivity());
+            assertEquals(1, jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM activity_logs WHERE user_id = ?", Integer.class, user.getId()));
+        } finally {
+            jobLockService.release("activity-archive");
+        }
+
+        assertTrue(archiveService.archiveExpiredActivity() >= 1);
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM activity_logs WHERE user_id = ?", Integer.class, user.getId()));
+    }
+
+    private void insertActivity(User user, String action, LocalDateTime timestamp) {
+        jdbcTemplate.update("INSERT INTO activity_logs (id, user_id, action, timestamp) "
+                + "VALUES (NEXT VALUE FOR activity_logs_seq, ?, ?, ?)",
+                user.getId(), action, Timestamp.valueOf(timestamp));
+    }
+}
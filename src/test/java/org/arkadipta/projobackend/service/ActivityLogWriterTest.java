@@ -0,0 +1,240 @@
+package org.arkadipta.projobackend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.arkadipta.projobackend.entity.User;
+import org.arkadipta.projobackend.enums.ActivityEntityType;
+import org.arkadipta.projobackend.enums.ActivityVerb;
+import org.arkadipta.projobackend.repository.ActivityLogRepository;
+import org.arkadipta.projobackend.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.arkadipta.projobackend.support.TestUsers.createUser;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ActivityLogWriterTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CacheService cacheService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ActivityLogRepository activityLogRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private ActivityLogWriter writer;
+
+    @AfterEach
+    void stopWriter() throws InterruptedException {
+        if (writer != null) {
+            writer.shutdown();
+        }
+    }
+
+    @Test
+    void fullBatchesAreWrittenWithoutWaitingForTheInterval() throws InterruptedException {
+        User user = createUser(userRepository, "writer-size");
+        writer = spy(newWriter(100, 3, 5000, 100));
+        List<Integer> batchSizes = recordBatchSizes();
+        writer.start();
+
+        // Published in one transaction, so all seven are queued together on commit
+        transactionTemplate.executeWithoutResult(status -> recordEntries(user, 7));
+
+        // The last, partial batch waits out the five-second interval
+        assertEquals(6, awaitEntries(user, 6));
+        assertEquals(List.of(3, 3), batchSizes);
+        assertEquals(7, awaitEntries(user, 7));
+        assertEquals(List.of(3, 3, 1), batchSizes);
+    }
+
+    @Test
+    void partialBatchIsWrittenOnceTheIntervalPasses() throws InterruptedException {
+        User user = createUser(userRepository, "writer-interval");
+        writer = spy(newWriter(100, 500, 100, 100));
+        List<Integer> batchSizes = recordBatchSizes();
+        writer.start();
+
+        transactionTemplate.executeWithoutResult(status -> recordEntries(user, 2));
+
+        assertEquals(2, awaitEntries(user, 2));
+        assertEquals(List.of(2), batchSizes);
+    }
+
+    @Test
+    void publisherWritesItsOwnEntryWhenTheBufferIsFull() throws InterruptedException {
+        User user = createUser(userRepository, "writer-full");
+        writer = spy(newWriter(1, 1, 100, 0));
+
+        // Hold the writer thread inside its first insert so the one-slot buffer stays full
+        CountDownLatch writerBusy = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> insertThreads = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> {
+            insertThreads.add(Thread.currentThread().getName());
+            if (Thread.currentThread().getName().equals("activity-log-writer") && writerBusy.getCount() > 0) {
+                writerBusy.countDown();
+                release.await(10, TimeUnit.SECONDS);
+            }
+            return invocation.callRealMethod();
+        }).when(writer).insert(anyList());
+        writer.start();
+
+        recordEntries(user, 1);
+        assertTrue(writerBusy.await(5, TimeUnit.SECONDS));
+        recordEntries(user, 2);
+
+        // The second entry waits in the buffer, the third is inserted by this thread
+        assertEquals(List.of("activity-log-writer", Thread.currentThread().getName()), insertThreads);
+        release.countDown();
+
+        assertEquals(3, awaitEntries(user, 3));
+        assertEquals(3, insertThreads.size());
+    }
+
+    @Test
+    void failedBatchIsRetriedOnce() throws InterruptedException {
+        User user = createUser(userRepository, "writer-retry");
+        writer = spy(newWriter(100, 500, 100, 100));
+        doThrow(new IllegalStateException("connection reset")).doCallRealMethod().when(writer).insert(anyList());
+        writer.start();
+
+        transactionTemplate.executeWithoutResult(status -> recordEntries(user, 4));
+
+        assertEquals(4, awaitEntries(user, 4));
+        verify(writer, times(2)).insert(anyList());
+    }
+
+    @Test
+    void badEntryDoesNotDropTheRestOfItsBatch() throws InterruptedException {
+        User user = createUser(userRepository, "writer-poison");
+        User removed = createUser(userRepository, "writer-removed");
+        writer = startWriter(100, 500, 100, 100);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            recordEntries(user, 2);
+            writer.record(removed, ActivityVerb.UPDATED, ActivityEntityType.TASK, 1L, null, "Updated task");
+            recordEntries(user, 1);
+            // Gone before the writer gets to its entry
+            userRepository.delete(removed);
+        });
+
+        // Batch, retry, then one insert per entry
+        verify(writer, timeout(5000).times(2 + 4)).insert(anyList());
+        assertEquals(3, awaitEntries(user, 3));
+    }
+
+    @Test
+    void shutdownDrainsTheBufferAndLaterEntriesAreWrittenThrough() throws InterruptedException {
+        User user = createUser(userRepository, "writer-shutdown");
+        writer = startWriter(100, 500, 1000, 100);
+
+        transactionTemplate.executeWithoutResult(status -> recordEntries(user, 5));
+        writer.shutdown();
+        assertEquals(5, activityLogRepository.findByUserOrderByTimestampDesc(user).size());
+
+        // A transaction committing after shutdown still gets its entry written
+        transactionTemplate.executeWithoutResult(status -> recordEntries(user, 1));
+        assertEquals(6, activityLogRepository.findByUserOrderByTimestampDesc(user).size());
+    }
+
+    @Test
+    void recentActivityIsEvictedOnceTheBatchHasCommitted() throws InterruptedException {
+        User user = createUser(userRepository, "writer-evict");
+        CacheService caches = mock(CacheService.class);
+        List<Integer> visibleAtEviction = new CopyOnWriteArrayList<>();
+        CountDownLatch evicted = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            visibleAtEviction.add(jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM activity_logs WHERE user_id = ?", Integer.class, user.getId()));
+            evicted.countDown();
+            return null;
+        }).when(caches).evictRecentActivity();
+        writer = spy(newWriter(100, 500, 100, 100, caches));
+        writer.start();
+
+        transactionTemplate.executeWithoutResult(status -> recordEntries(user, 3));
+        verify(caches, never()).evictRecentActivity();
+
+        // The batch's own transaction has committed, so its rows are visible from another connection
+        assertTrue(evicted.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(3), visibleAtEviction);
+    }
+
+    private List<Integer> recordBatchSizes() {
+        // The writer reuses its batch list, so note the size as each batch is handed over
+        List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> {
+            batchSizes.add(invocation.<List<?>>getArgument(0).size());
+            return invocation.callRealMethod();
+        }).when(writer).write(anyList());
+        return batchSizes;
+    }
+
+    private int awaitEntries(User user, int expected) throws InterruptedException {
+        int written = 0;
+        for (int attempt = 0; attempt < 100 && written < expected; attempt++) {
+            Thread.sleep(100);
+            written = activityLogRepository.findByUserOrderByTimestampDesc(user).size();
+        }
+        return written;
+    }
+
+    private void recordEntries(User user, int count) {
+        for (int i = 0; i < count; i++) {
+            writer.record(user, ActivityVerb.CREATED, ActivityEntityType.TASK, (long) i, null, "Created task " + i);
+        }
+    }
+
+    private ActivityLogWriter startWriter(int capacity, int batchSize, long flushIntervalMs, long offerTimeoutMs) {
+        ActivityLogWriter spy = spy(newWriter(capacity, batchSize, flushIntervalMs, offerTimeoutMs));
+        spy.start();
+        return spy;
+    }
+
+    private ActivityLogWriter newWriter(int capacity, int batchSize, long flushIntervalMs, long offerTimeoutMs) {
+        return newWriter(capacity, batchSize, flushIntervalMs, offerTimeoutMs, cacheService);
+    }
+
+    private ActivityLogWriter newWriter(int capacity, int batchSize, long flushIntervalMs, long offerTimeoutMs,
+            CacheService cacheService) {
+        ActivityLogWriter activityLogWriter = new ActivityLogWriter(jdbcTemplate, objectMapper, cacheService,
+                transactionManager, capacity, batchSize, flushIntervalMs, offerTimeoutMs);
+        ReflectionTestUtils.setField(activityLogWriter, "entityManager", entityManager);
+        return activityLogWriter;
+    }
+}
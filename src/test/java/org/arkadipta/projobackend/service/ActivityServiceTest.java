@@ -0,0 +1,84 @@
+package org.arkadipta.projobackend.service;
+
+import org.arkadipta.projobackend.entity.ActivityLog;
+import org.arkadipta.projobackend.entity.User;
+import org.arkadipta.projobackend.enums.ActivityEntityType;
+import org.arkadipta.projobackend.enums.ActivityVerb;
+import org.arkadipta.projobackend.repository.ActivityLogRepository;
+import org.arkadipta.projobackend.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.arkadipta.projobackend.support.TestUsers.createUser;
+import static org.arkadipta.projobackend.support.TestUsers.login;
+import static org.arkadipta.projobackend.support.TestUsers.logout;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ActivityServiceTest {
+
+    @Autowired
+    private ActivityService activityService;
+
+    @Autowired
+    private ActivityLogRepository activityLogRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterEach
+    void clearSecurityContext() {
+        logout();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void feedPagesByCursorAndFilters() {
+        User user = createUser(userRepository, "activity-feed");
+
+        List<ActivityLog> logs = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            ActivityLog log = new ActivityLog(user, "Event " + i);
+            log.setVerb(ActivityVerb.UPDATED);
+            log.setEntityType(i % 5 == 0 ? ActivityEntityType.ISSUE : ActivityEntityType.TASK);
+            log.setEntityId((long) i);
+            log.setProjectId(i % 2 == 0 ? 1L : 2L);
+            log.setPayload("{\"index\":" + i + "}");
+            logs.add(log);
+        }
+        activityLogRepository.saveAll(logs);
+
+        login("activity-feed");
+
+        List<Long> seen = new ArrayList<>();
+        Long cursor = null;
+        do {
+            Map<String, Object> page = activityService.getFeed(cursor, 10, null, null);
+            ((List<Map<String, Object>>) page.get("items")).forEach(item -> seen.add((Long) item.get("id")));
+            cursor = (Long) page.get("nextCursor");
+        } while (cursor != null);
+
+        assertEquals(25, seen.size());
+        for (int i = 1; i < seen.size(); i++) {
+            assertTrue(seen.get(i) < seen.get(i - 1), "feed is newest first without duplicates");
+        }
+
+        Map<String, Object> issues = activityService.getFeed(null, 50, null, ActivityEntityType.ISSUE);
+        assertEquals(5, ((List<?>) issues.get("items")).size());
+        assertNull(issues.get("nextCursor"));
+
+        Map<String, Object> projectIssues = activityService.getFeed(null, 50, 1L, ActivityEntityType.ISSUE);
+        List<Map<String, Object>> items = (List<Map<String, Object>>) projectIssues.get("items");
+        assertEquals(3, items.size());
+        assertTrue(items.stream().allMatch(item -> Long.valueOf(1L).equals(item.get("projectId"))));
+        assertNotNull(items.get(0).get("payload"));
+    }
+}
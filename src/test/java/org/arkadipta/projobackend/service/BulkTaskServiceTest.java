@@ -0,0 +1,109 @@
+package org.arkadipta.projobackend.service;
+
+import org.arkadipta.projobackend.entity.Project;
+import org.arkadipta.projobackend.entity.Task;
+import org.arkadipta.projobackend.entity.User;
+import org.arkadipta.projobackend.enums.Priority;
+import org.arkadipta.projobackend.enums.TaskStatus;
+import org.arkadipta.projobackend.repository.ProjectRepository;
+import org.arkadipta.projobackend.repository.TaskRepository;
+import org.arkadipta.projobackend.repository.TaskTimeTrackingRepository;
+import org.arkadipta.projobackend.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.arkadipta.projobackend.support.TestUsers.createUser;
+import static org.arkadipta.projobackend.support.TestUsers.login;
+import static org.arkadipta.projobackend.support.TestUsers.logout;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+// The spied bean needs its own context; a database of its own keeps that context's
+// create-drop from resetting sequences under the shared one
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:bulktaskdb")
+@ActiveProfiles("test")
+class BulkTaskServiceTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskTimeTrackingRepository timeTrackingRepository;
+
+    @Autowired
+    private ActiveTimerRegistry activeTimerRegistry;
+
+    @MockitoSpyBean
+    private CacheService cacheService;
+
+    @AfterEach
+    void clearSecurityContext() {
+        logout();
+    }
+
+    @Test
+    void bulkMutationsOnlyTouchTasksOwnedByTheCaller() {
+        User owner = createUser(userRepository, "bulk-owner");
+        User other = createUser(userRepository, "bulk-other");
+        Project source = projectRepository.save(new Project("Source", null, null, owner));
+        Project target = projectRepository.save(new Project("Target", null, null, owner));
+        Project foreignProject = projectRepository.save(new Project("Foreign", null, null, other));
+
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(taskRepository.save(new Task("Task " + i, null, null, null, Priority.MEDIUM,
+                    TaskStatus.TO_DO, source, owner)).getId());
+        }
+        Long foreignId = taskRepository.save(new Task("Foreign", null, null, null, Priority.MEDIUM,
+                TaskStatus.TO_DO, foreignProject, other)).getId();
+        List<Long> requested = new ArrayList<>(ids);
+        requested.add(foreignId);
+
+        login("bulk-owner");
+
+        clearInvocations(cacheService);
+        assertEquals(5, taskService.bulkUpdateStatus(requested, TaskStatus.DONE));
+        verify(cacheService, times(1)).evictDashboardCaches();
+        assertEquals(5, taskService.bulkMoveTasks(requested, target.getId()));
+        verify(cacheService, times(2)).evictDashboardCaches();
+        assertThrows(RuntimeException.class, () -> taskService.bulkMoveTasks(ids, foreignProject.getId()));
+        verify(cacheService, times(2)).evictDashboardCaches();
+
+        List<Task> moved = taskRepository.findByUserAndProject(owner, target);
+        assertEquals(5, moved.size());
+        assertTrue(moved.stream().allMatch(task -> task.getStatus() == TaskStatus.DONE));
+        Task foreign = taskRepository.findById(foreignId).orElseThrow();
+        assertEquals(TaskStatus.TO_DO, foreign.getStatus());
+
+        taskService.startTimer(ids.get(0));
+        taskService.stopTimer(ids.get(0));
+        taskService.startTimer(ids.get(1));
+        assertTrue(activeTimerRegistry.isRunning(ids.get(1)));
+        clearInvocations(cacheService);
+        assertEquals(5, taskService.bulkDeleteTasks(requested));
+        verify(cacheService, times(1)).evictDashboardCaches();
+        assertFalse(activeTimerRegistry.isRunning(ids.get(1)));
+        assertTrue(taskRepository.findByUser(owner).isEmpty());
+        assertTrue(taskRepository.existsById(foreignId));
+        assertTrue(timeTrackingRepository.findAll().stream()
+                .noneMatch(row -> ids.contains(row.getTask().getId())));
+    }
+}
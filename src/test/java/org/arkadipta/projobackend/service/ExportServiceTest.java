@@ -0,0 +1,94 @@
+package org.arkadipta.projobackend.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVRecord;
+import org.arkadipta.projobackend.entity.Project;
+import org.arkadipta.projobackend.entity.Task;
+import org.arkadipta.projobackend.entity.User;
+import org.arkadipta.projobackend.enums.ExportDataset;
+import org.arkadipta.projobackend.enums.ExportFormat;
+import org.arkadipta.projobackend.enums.Priority;
+import org.arkadipta.projobackend.enums.TaskStatus;
+import org.arkadipta.projobackend.repository.ProjectRepository;
+import org.arkadipta.projobackend.repository.TaskRepository;
+import org.arkadipta.projobackend.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.arkadipta.projobackend.support.TestUsers.createUser;
+import static org.arkadipta.projobackend.support.TestUsers.login;
+import static org.arkadipta.projobackend.support.TestUsers.logout;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ExportServiceTest {
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @AfterEach
+    void clearSecurityContext() {
+        logout();
+    }
+
+    @Test
+    void tasksStreamAsCsvAndGzippedNdjson() throws Exception {
+        User user = createUser(userRepository, "task-export");
+
+        Project project = projectRepository.save(new Project("Export", null, null, user));
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            tasks.add(new Task("Task " + i, "Needs \"quotes\", commas\nand newlines", null,
+                    LocalDate.of(2026, 1, 1).plusDays(i), Priority.HIGH, TaskStatus.TO_DO, project, user));
+        }
+        taskRepository.saveAll(tasks);
+
+        login("task-export");
+
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+        exportService.export(ExportDataset.TASKS, ExportFormat.CSV, false).writeTo(csv);
+        List<CSVRecord> records = CSVFormat.DEFAULT.builder().setHeader().setSkipHeaderRecord(true).build()
+                .parse(new StringReader(csv.toString(StandardCharsets.UTF_8))).getRecords();
+        assertEquals(250, records.size());
+        assertEquals("Needs \"quotes\", commas\nand newlines", records.get(0).get("description"));
+        assertEquals("2026-01-01", records.get(0).get("due_date"));
+        assertEquals("Export", records.get(0).get("project_title"));
+
+        ByteArrayOutputStream gzipped = new ByteArrayOutputStream();
+        exportService.export(ExportDataset.TASKS, ExportFormat.NDJSON, true).writeTo(gzipped);
+        String ndjson = new String(new GZIPInputStream(new ByteArrayInputStream(gzipped.toByteArray()))
+                .readAllBytes(), StandardCharsets.UTF_8);
+        String[] lines = ndjson.split("\n");
+        assertEquals(250, lines.length);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertEquals("Task 0", first.get("title").asText());
+        assertEquals("HIGH", first.get("priority").asText());
+    }
+}
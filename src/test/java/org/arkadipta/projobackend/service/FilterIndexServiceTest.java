@@ -0,0 +1,121 @@
+package org.arkadipta.projobackend.service;
+
+import org.arkadipta.projobackend.dto.request.FilterExpression;
+import org.arkadipta.projobackend.dto.request.IssueRequest;
+import org.arkadipta.projobackend.dto.request.LabelRequest;
+import org.arkadipta.projobackend.dto.request.TaskRequest;
+import org.arkadipta.projobackend.entity.Issue;
+import org.arkadipta.projobackend.entity.Project;
+import org.arkadipta.projobackend.entity.Task;
+import org.arkadipta.projobackend.entity.User;
+import org.arkadipta.projobackend.enums.IssueStatus;
+import org.arkadipta.projobackend.enums.Priority;
+import org.arkadipta.projobackend.enums.Severity;
+import org.arkadipta.projobackend.enums.TaskStatus;
+import org.arkadipta.projobackend.repository.ProjectRepository;
+import org.arkadipta.projobackend.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.arkadipta.projobackend.support.TestUsers.createUser;
+import static org.arkadipta.projobackend.support.TestUsers.login;
+import static org.arkadipta.projobackend.support.TestUsers.logout;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class FilterIndexServiceTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private IssueService issueService;
+
+    @Autowired
+    private LabelService labelService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @AfterEach
+    void clearSecurityContext() {
+        logout();
+    }
+
+    @Test
+    void filtersCombineAndFollowWrites() {
+        User user = createUser(userRepository, "filter-owner");
+        Project web = projectRepository.save(new Project("Web", null, null, user));
+        Project api = projectRepository.save(new Project("API", null, null, user));
+        login("filter-owner");
+
+        String bug = labelService.createLabel(new LabelRequest("bug", "#d73a4a")).getId().toString();
+        String ui = labelService.createLabel(new LabelRequest("ui", null)).getId().toString();
+        Long a = createTask("A", TaskStatus.TO_DO, Priority.HIGH, web, bug);
+        Long b = createTask("B", TaskStatus.IN_PROGRESS, Priority.LOW, web, bug, ui);
+        Long c = createTask("C", TaskStatus.TO_DO, Priority.HIGH, api);
+        Long d = createTask("D", TaskStatus.DONE, Priority.MEDIUM, api, ui);
+
+        FilterExpression todoAndBugOrHigh = FilterExpression.allOf(
+                field("status", "TO_DO"),
+                FilterExpression.anyOf(field("label", bug), field("priority", "HIGH")));
+        assertEquals(Set.of(a, c), filter(todoAndBugOrHigh));
+        assertEquals(Set.of(a), filter(FilterExpression.allOf(field("project", web.getId().toString()),
+                FilterExpression.negate(field("label", ui)))));
+        assertEquals(Set.of(a, b, c, d), filter(null));
+
+        // Writes through the services patch the index once they commit
+        taskService.updateTaskStatus(c, TaskStatus.DONE);
+        labelService.setTaskLabels(d, List.of(Long.valueOf(bug)));
+        taskService.deleteTask(b);
+        assertEquals(Set.of(a), filter(todoAndBugOrHigh));
+        assertEquals(Set.of(a, d), filter(field("label", bug)));
+        assertEquals(Set.of(c, d), filter(field("status", "done")));
+
+        // Pages come newest first
+        List<Task> firstPage = taskService.filterTasks(null, PageRequest.of(0, 2)).getContent();
+        assertEquals(List.of(d, c), firstPage.stream().map(Task::getId).toList());
+        assertEquals(3, taskService.filterTasks(null, PageRequest.of(1, 2)).getTotalElements());
+
+        assertThrows(RuntimeException.class, () -> filter(field("severity", "HIGH")));
+        assertThrows(RuntimeException.class, () -> filter(field("status", "FINISHED")));
+
+        Issue issue = issueService.createIssue(new IssueRequest("Crash", null, Severity.HIGH, IssueStatus.OPEN,
+                api.getId()));
+        issueService.createIssue(new IssueRequest("Typo", null, Severity.LOW, IssueStatus.OPEN, api.getId()));
+        labelService.setIssueLabels(issue.getId(), List.of(Long.valueOf(bug)));
+        assertEquals(List.of(issue.getId()), issueService.filterIssues(FilterExpression.allOf(
+                field("severity", "HIGH"), field("label", bug)), PageRequest.of(0, 10))
+                .getContent().stream().map(Issue::getId).toList());
+    }
+
+    private Set<Long> filter(FilterExpression filter) {
+        return taskService.filterTasks(filter, PageRequest.of(0, 100)).getContent().stream()
+                .map(Task::getId).collect(Collectors.toSet());
+    }
+
+    private static FilterExpression field(String field, String... values) {
+        return new FilterExpression(field, List.of(values));
+    }
+
+    private Long createTask(String title, TaskStatus status, Priority priority, Project project, String... labels) {
+        Long id = taskService.createTask(new TaskRequest(title, null, null, null, priority, status,
+                project.getId())).getId();
+        if (labels.length > 0) {
+            labelService.setTaskLabels(id, List.of(labels).stream().map(Long::valueOf).toList());
+        }
+        return id;
+    }
+}
@@ -0,0 +1,95 @@
+package org.arkadipta.projobackend.service;
+
+import org.arkadipta.projobackend.entity.Project;
+import org.arkadipta.projobackend.entity.Task;
+import org.arkadipta.projobackend.entity.User;
+import org.arkadipta.projobackend.enums.Priority;
+import org.arkadipta.projobackend.enums.TaskStatus;
+import org.arkadipta.projobackend.repository.ProjectRepository;
+import org.arkadipta.projobackend.repository.TaskClosureRepository;
+import org.arkadipta.projobackend.repository.TaskRepository;
+import org.arkadipta.projobackend.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.arkadipta.projobackend.support.TestUsers.createUser;
+import static org.arkadipta.projobackend.support.TestUsers.login;
+import static org.arkadipta.projobackend.support.TestUsers.logout;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ImportServiceTest {
+
+    @Autowired
+    private ImportService importService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskClosureRepository closureRepository;
+
+    @AfterEach
+    void clearSecurityContext() {
+        logout();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void validRowsAreImportedAndInvalidRowsReported() {
+        User user = createUser(userRepository, "task-import");
+        Project project = projectRepository.save(new Project("Migration", null, null, user));
+
+        StringBuilder csv = new StringBuilder("Title,Project,Status,Priority,DueDate,Description\n");
+        for (int i = 0; i < 2500; i++) {
+            csv.append("Task ").append(i).append(",Migration,in progress,high,2026-03-01,\"Line, with comma\"\n");
+        }
+        csv.append(",Migration,TO_DO,LOW,,\n");
+        csv.append("Orphan,Unknown project,TO_DO,LOW,,\n");
+        csv.append("Bad date,").append(project.getId()).append(",TO_DO,LOW,03/01/2026,\n");
+
+        login("task-import");
+        Map<String, Object> report = importService.importTasks(new MockMultipartFile("file", "tasks.csv",
+                "text/csv", csv.toString().getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(2500, report.get("imported"));
+        assertEquals(3, report.get("failed"));
+        List<Map<String, Object>> errors = (List<Map<String, Object>>) report.get("errors");
+        assertEquals(List.of(2501L, 2502L, 2503L), errors.stream().map(error -> error.get("row")).toList());
+
+        List<Task> tasks = taskRepository.findByUser(user);
+        assertEquals(2500, tasks.size());
+        Task first = tasks.get(0);
+        assertEquals(TaskStatus.IN_PROGRESS, first.getStatus());
+        assertEquals(Priority.HIGH, first.getPriority());
+        assertEquals(LocalDate.of(2026, 3, 1), first.getDueDate());
+        assertEquals("Line, with comma", first.getDescription());
+        assertEquals(0L, first.getTotalTimeSeconds());
+
+        // Every row is ranked at the bottom of its column in file order
+        assertTrue(tasks.stream().allMatch(task -> task.getBoardRank() != null));
+        assertEquals(tasks.stream().map(Task::getId).sorted().toList(),
+                taskRepository.findIdsInBoardOrder(project.getId(), TaskStatus.IN_PROGRESS));
+
+        // Tasks from the first and the last chunk both get their closure row
+        Task last = tasks.get(tasks.size() - 1);
+        assertTrue(closureRepository.existsByAncestorIdAndDescendantId(first.getId(), first.getId()));
+        assertTrue(closureRepository.existsByAncestorIdAndDescendantId(last.getId(), last.getId()));
+    }
+}
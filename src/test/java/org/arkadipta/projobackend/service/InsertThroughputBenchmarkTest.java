@@ -0,0 +1,81 @@
+package org.arkadipta.projobackend.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.arkadipta.projobackend.entity.Project;
+import org.arkadipta.projobackend.entity.Task;
+import org.arkadipta.projobackend.entity.User;
+import org.arkadipta.projobackend.enums.Priority;
+import org.arkadipta.projobackend.enums.TaskStatus;
+import org.arkadipta.projobackend.repository.ProjectRepository;
+import org.arkadipta.projobackend.repository.TaskRepository;
+import org.arkadipta.projobackend.repository.UserRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.arkadipta.projobackend.support.TestUsers.createUser;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Task insert throughput with sequence ids and JDBC batching.
+ * Run with: mvn test -Dtest=InsertThroughputBenchmarkTest -Dbenchmark=true
+ */
+@Slf4j
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class InsertThroughputBenchmarkTest {
+
+    private static final int ROWS = 50_000;
+    private static final int CHUNK = 1_000;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void batchedTaskInserts() {
+        User owner = createUser(userRepository, "insert-benchmark");
+        Project project = projectRepository.save(new Project("Benchmark", null, null, owner));
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        long started = System.nanoTime();
+        for (int offset = 0; offset < ROWS; offset += CHUNK) {
+            List<Task> chunk = new ArrayList<>(CHUNK);
+            for (int i = 0; i < CHUNK; i++) {
+                chunk.add(new Task("Task " + (offset + i), null, null, null, Priority.MEDIUM, TaskStatus.TO_DO,
+                        project, owner));
+            }
+            transactionTemplate.executeWithoutResult(status -> taskRepository.saveAll(chunk));
+        }
+        long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+
+        log.info("Inserted {} tasks in {} ms ({} rows/s), {} statements prepared",
+                ROWS, elapsedMs, ROWS * 1000L / Math.max(1, elapsedMs), statistics.getPrepareStatementCount());
+        assertEquals(ROWS, taskRepository.countByProject(project));
+        // Batched inserts plus one sequence call per 50 ids, instead of one statement per row
+        assertTrue(statistics.getPrepareStatementCount() < ROWS / 10);
+    }
+}
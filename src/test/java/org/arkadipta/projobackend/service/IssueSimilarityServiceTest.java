@@ -0,0 +1,100 @@
+package org.arkadipta.projobackend.service;
+
+import org.arkadipta.projobackend.dto.request.IssueRequest;
+import org.arkadipta.projobackend.dto.request.ProjectRequest;
+import org.arkadipta.projobackend.dto.response.SimilarIssue;
+import org.arkadipta.projobackend.entity.Issue;
+import org.arkadipta.projobackend.entity.Project;
+import org.arkadipta.projobackend.enums.IssueStatus;
+import org.arkadipta.projobackend.enums.Severity;
+import org.arkadipta.projobackend.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.arkadipta.projobackend.support.TestUsers.createUser;
+import static org.arkadipta.projobackend.support.TestUsers.login;
+import static org.arkadipta.projobackend.support.TestUsers.logout;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class IssueSimilarityServiceTest {
+
+    @Autowired
+    private IssueSimilarityService issueSimilarityService;
+
+    @Autowired
+    private IssueService issueService;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterEach
+    void clearSecurityContext() {
+        logout();
+    }
+
+    @Test
+    void flagsDuplicatesWithinTheProjectAndFollowsWrites() {
+        createUser(userRepository, "similarity-owner");
+        login("similarity-owner");
+
+        Project web = projectService.createProject(new ProjectRequest("Web", null, null));
+        Project mobile = projectService.createProject(new ProjectRequest("Mobile", null, null));
+        Issue original = createIssue("Login page crashes on Safari",
+                "Submitting the login form in Safari 17 crashes the whole page.", web);
+        createIssue("Export to CSV drops the due dates", "Exported rows have an empty due date column.", web);
+        Issue mobileCopy = createIssue("Login page crashes on Safari",
+                "Submitting the login form in Safari 17 crashes the whole page.", mobile);
+
+        // A reworded report of the same bug is flagged before it is filed; unrelated issues and other projects are not
+        List<SimilarIssue> flagged = issueSimilarityService.findDuplicates(web.getId(),
+                "Login page crashed in Safari", "Submitting the login form on Safari 17 crashes the page.", 5);
+        assertEquals(List.of(original.getId()), ids(flagged));
+        assertTrue(flagged.get(0).getSimilarity() >= 0.5);
+        assertTrue(issueSimilarityService.findDuplicates(web.getId(), "Dark mode colours are off", null, 5).isEmpty());
+        Issue duplicate = createIssue("Login page crashed in Safari",
+                "Submitting the login form on Safari 17 crashes the page.", web);
+
+        // The new issue joins the index once it commits
+        assertEquals(List.of(duplicate.getId()), ids(issueSimilarityService.findSimilar(original.getId(), 5)));
+        assertEquals(List.of(duplicate.getId(), original.getId()), ids(issueSimilarityService.findDuplicates(
+                web.getId(), "Login page crashed in Safari",
+                "Submitting the login form on Safari 17 crashes the page.", 5)));
+
+        // Edits, moves and deletes patch the index
+        issueService.updateIssue(duplicate.getId(), new IssueRequest("Avatar upload times out", null, Severity.LOW,
+                IssueStatus.OPEN, web.getId()));
+        assertTrue(issueSimilarityService.findSimilar(original.getId(), 5).isEmpty());
+        issueService.updateIssue(duplicate.getId(), new IssueRequest("Login page crashed in Safari",
+                "Submitting the login form on Safari 17 crashes the page.", Severity.LOW, IssueStatus.OPEN,
+                web.getId()));
+        assertEquals(List.of(duplicate.getId()), ids(issueSimilarityService.findSimilar(original.getId(), 5)));
+        issueService.updateIssue(duplicate.getId(), new IssueRequest("Login page crashed in Safari",
+                "Submitting the login form on Safari 17 crashes the page.", Severity.LOW, IssueStatus.OPEN,
+                mobile.getId()));
+        assertTrue(issueSimilarityService.findSimilar(original.getId(), 5).isEmpty());
+        assertEquals(List.of(mobileCopy.getId()), ids(issueSimilarityService.findSimilar(duplicate.getId(), 5)));
+        issueService.deleteIssue(duplicate.getId());
+        assertTrue(issueSimilarityService.findDuplicates(mobile.getId(), "Login page crashed in Safari",
+                "Submitting the login form on Safari 17 crashes the page.", 5).stream()
+                .noneMatch(similar -> similar.getId().equals(duplicate.getId())));
+    }
+
+    private Issue createIssue(String title, String description, Project project) {
+        return issueService.createIssue(new IssueRequest(title, description, Severity.MEDIUM, IssueStatus.OPEN,
+                project.getId()));
+    }
+
+    private static List<Long> ids(List<SimilarIssue> issues) {
+        return issues.stream().map(SimilarIssue::getId).toList();
+    }
+}
@@ -0,0 +1,111 @@
+package org.arkadipta.projobackend.service;
+
+import org.arkadipta.projobackend.dto.request.TaskRequest;
+import org.arkadipta.projobackend.dto.response.KanbanCard;
+import org.arkadipta.projobackend.dto.response.KanbanColumn;
+import org.arkadipta.projobackend.entity.Project;
+import org.arkadipta.projobackend.entity.Task;
+import org.arkadipta.projobackend.entity.User;
+import org.arkadipta.projobackend.enums.Priority;
+import org.arkadipta.projobackend.enums.TaskStatus;
+import org.arkadipta.projobackend.repository.ProjectRepository;
+import org.arkadipta.projobackend.repository.TaskRepository;
+import org.arkadipta.projobackend.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.arkadipta.projobackend.support.TestUsers.createUser;
+import static org.arkadipta.projobackend.support.TestUsers.login;
+import static org.arkadipta.projobackend.support.TestUsers.logout;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class KanbanBoardTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @AfterEach
+    void clearSecurityContext() {
+        logout();
+    }
+
+    @Test
+    void boardReturnsCountsHeadsAndPerColumnCursors() {
+        User user = createUser(userRepository, "kanban-board");
+        Project project = projectRepository.save(new Project("Big board", null, null, user));
+        login("kanban-board");
+
+        for (int i = 0; i < 25; i++) {
+            taskService.createTask(new TaskRequest("Todo " + i, null, null, LocalDate.of(2026, 5, 1),
+                    Priority.HIGH, TaskStatus.TO_DO, project.getId()));
+        }
+        for (int i = 0; i < 3; i++) {
+            taskService.createTask(new TaskRequest("Doing " + i, null, null, null, Priority.LOW,
+                    TaskStatus.IN_PROGRESS, project.getId()));
+        }
+        // Unranked cards sort after every ranked card in their column
+        taskRepository.save(new Task("Unranked 1", null, null, null, Priority.LOW, TaskStatus.TO_DO, project, user));
+        taskRepository.save(new Task("Unranked 2", null, null, null, Priority.LOW, TaskStatus.TO_DO, project, user));
+
+        Map<TaskStatus, KanbanColumn> board = taskService.getKanbanBoard(project.getId(), 10);
+        assertEquals(List.of(TaskStatus.values()), new ArrayList<>(board.keySet()));
+
+        KanbanColumn todo = board.get(TaskStatus.TO_DO);
+        assertEquals(27L, todo.getCount());
+        assertEquals(10, todo.getCards().size());
+        KanbanCard first = todo.getCards().get(0);
+        assertEquals("Todo 0", first.getTitle());
+        assertEquals("Big board", first.getProjectTitle());
+        assertEquals(Priority.HIGH, first.getPriority());
+        assertEquals(LocalDate.of(2026, 5, 1), first.getDueDate());
+        assertNotNull(todo.getNextCursor());
+
+        KanbanColumn doing = board.get(TaskStatus.IN_PROGRESS);
+        assertEquals(3L, doing.getCount());
+        assertEquals(3, doing.getCards().size());
+        assertNull(doing.getNextCursor());
+        assertEquals(0L, board.get(TaskStatus.DONE).getCount());
+
+        List<Long> paged = new ArrayList<>(todo.getCards().stream().map(KanbanCard::getId).toList());
+        String cursor = todo.getNextCursor();
+        while (cursor != null) {
+            KanbanColumn page = taskService.getKanbanColumn(project.getId(), TaskStatus.TO_DO, cursor, 10);
+            page.getCards().forEach(card -> paged.add(card.getId()));
+            cursor = page.getNextCursor();
+        }
+        assertEquals(taskRepository.findIdsInBoardOrder(project.getId(), TaskStatus.TO_DO), paged);
+
+        // One card per page puts cursors on the last ranked card and on both unranked ones
+        List<Long> single = new ArrayList<>();
+        cursor = null;
+        do {
+            KanbanColumn page = taskService.getKanbanColumn(project.getId(), TaskStatus.TO_DO, cursor, 1);
+            page.getCards().forEach(card -> single.add(card.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        assertEquals(paged, single);
+
+        Map<TaskStatus, KanbanColumn> userBoard = taskService.getKanbanBoard(null, 5);
+        assertEquals(27L, userBoard.get(TaskStatus.TO_DO).getCount());
+        assertEquals(5, userBoard.get(TaskStatus.TO_DO).getCards().size());
+    }
+}
@@ -0,0 +1,249 @@
+package org.arkadipta.projobackend.service;
+
+import org.arkadipta.projobackend.dto.request.IssueFilter;
+import org.arkadipta.projobackend.dto.request.IssueRequest;
+import org.arkadipta.projobackend.dto.request.TaskFilter;
+import org.arkadipta.projobackend.dto.request.TaskRequest;
+import org.arkadipta.projobackend.entity.Issue;
+import org.arkadipta.projobackend.entity.Project;
+import org.arkadipta.projobackend.entity.Task;
+import org.arkadipta.projobackend.entity.User;
+import org.arkadipta.projobackend.enums.IssueStatus;
+import org.arkadipta.projobackend.enums.Priority;
+import org.arkadipta.projobackend.enums.Severity;
+import org.arkadipta.projobackend.enums.TaskStatus;
+import org.arkadipta.projobackend.repository.ProjectRepository;
+import org.arkadipta.projobackend.repository.UserRepository;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import static org.arkadipta.projobackend.support.TestUsers.createUser;
+import static org.arkadipta.projobackend.support.TestUsers.login;
+import static org.arkadipta.projobackend.support.TestUsers.logout;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Every combination of list filters runs as one statement whose plan reads
+ * tasks and issues through an index. H2's EXPLAIN stands in for PostgreSQL's
+ * planner; both pick the composite indexes declared on the entities.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:listquerydb",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=org.arkadipta.projobackend.service.ListQueryPlanTest$SqlCapture" })
+@ActiveProfiles("test")
+class ListQueryPlanTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private IssueService issueService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private Project web;
+
+    private Project api;
+
+    private final List<Task> tasks = new ArrayList<>();
+
+    private static boolean foreignKeyIndexesDropped;
+
+    @BeforeEach
+    void createData() throws SQLException {
+        dropForeignKeyIndexes();
+        String username = "list-owner-" + System.nanoTime();
+        User user = createUser(userRepository, username);
+        web = projectRepository.save(new Project("Web", null, null, user));
+        api = projectRepository.save(new Project("API", null, null, user));
+        login(username);
+
+        LocalDate today = LocalDate.now();
+        tasks.add(createTask("Fix login", TaskStatus.TO_DO, Priority.HIGH, today, web));
+        tasks.add(createTask("Write docs", TaskStatus.TO_DO, Priority.LOW, today.plusDays(10), web));
+        tasks.add(createTask("Fix 100% CPU", TaskStatus.IN_PROGRESS, Priority.HIGH, today.plusDays(3), api));
+        tasks.add(createTask("Deploy", TaskStatus.TO_DO, Priority.HIGH, today.plusDays(4), api));
+        tasks.add(createTask("Plan sprint", TaskStatus.DONE, Priority.MEDIUM, null, web));
+    }
+
+    @AfterEach
+    void clearSecurityContext() {
+        logout();
+        SqlCapture.STATEMENTS.clear();
+    }
+
+    @Test
+    void everyTaskFilterCombinationUsesAnIndex() throws SQLException {
+        LocalDate today = LocalDate.now();
+        for (int mask = 0; mask < 32; mask++) {
+            TaskFilter filter = new TaskFilter(
+                    (mask & 1) != 0 ? web.getId() : null,
+                    (mask & 2) != 0 ? TaskStatus.TO_DO : null,
+                    (mask & 4) != 0 ? Priority.HIGH : null,
+                    (mask & 8) != 0 ? today : null,
+                    (mask & 8) != 0 ? today.plusDays(5) : null,
+                    (mask & 16) != 0 ? "FIX" : null);
+            for (Sort sort : List.of(Sort.by("createdAt").descending(), Sort.by("dueDate"))) {
+                SqlCapture.STATEMENTS.clear();
+                Set<Long> found = taskService.getAllTasks(PageRequest.of(0, 2, sort), filter).getContent().stream()
+                        .map(Task::getId).collect(Collectors.toSet());
+                Set<Long> expected = expected(filter);
+                assertEquals(Math.min(2, expected.size()), found.size(), "page size of filter " + mask);
+                assertTrue(expected.containsAll(found), "results of filter " + mask);
+                assertIndexedPlans("tasks", "mask " + mask + " " + sort);
+            }
+        }
+    }
+
+    @Test
+    void everyIssueFilterCombinationUsesAnIndex() throws SQLException {
+        List<Issue> issues = List.of(
+                issueService.createIssue(new IssueRequest("Crash on save", null, Severity.HIGH, IssueStatus.OPEN,
+                        web.getId())),
+                issueService.createIssue(new IssueRequest("Typo", null, Severity.LOW, IssueStatus.OPEN, api.getId())),
+                issueService.createIssue(new IssueRequest("Crash on load", null, Severity.HIGH, IssueStatus.RESOLVED,
+                        web.getId())));
+
+        for (int mask = 0; mask < 16; mask++) {
+            IssueFilter filter = new IssueFilter(
+                    (mask & 1) != 0 ? web.getId() : null,
+                    (mask & 2) != 0 ? IssueStatus.OPEN : null,
+                    (mask & 4) != 0 ? Severity.HIGH : null,
+                    (mask & 8) != 0 ? "crash" : null);
+            SqlCapture.STATEMENTS.clear();
+            List<Long> found = issueService.getAllIssues(PageRequest.of(0, 10, Sort.by("createdAt").descending()),
+                    filter).getContent().stream().map(Issue::getId).toList();
+            List<Long> expected = issues.stream()
+                    .filter(issue -> filter.getProjectId() == null
+                            || issue.getProject().getId().equals(filter.getProjectId()))
+                    .filter(issue -> filter.getStatus() == null || issue.getStatus() == filter.getStatus())
+                    .filter(issue -> filter.getSeverity() == null || issue.getSeverity() == filter.getSeverity())
+                    .filter(issue -> filter.getSearch() == null
+                            || issue.getTitle().toLowerCase().contains(filter.getSearch()))
+                    .map(Issue::getId)
+                    .toList();
+            assertEquals(Set.copyOf(expected), Set.copyOf(found), "results of filter " + mask);
+            assertIndexedPlans("issues", "mask " + mask);
+        }
+    }
+
+    @Test
+    void searchMatchesLiterallyAndUnindexedSortsAreRejected() {
+        List<Task> percent = taskService.getAllTasks(PageRequest.of(0, 10),
+                new TaskFilter(null, null, null, null, null, "0%")).getContent();
+        assertEquals(List.of(tasks.get(2).getId()), percent.stream().map(Task::getId).toList());
+
+        assertThrows(RuntimeException.class, () -> taskService.getAllTasks(
+                PageRequest.of(0, 10, Sort.by("description")), new TaskFilter()));
+        assertThrows(RuntimeException.class, () -> issueService.getAllIssues(
+                PageRequest.of(0, 10, Sort.by("dueDate")), new IssueFilter()));
+    }
+
+    /**
+     * H2 indexes every foreign key on its own, PostgreSQL does not. Dropping the
+     * constraints on tasks and issues in this test's private database leaves the
+     * planner the same indexes it has on PostgreSQL.
+     */
+    private void dropForeignKeyIndexes() throws SQLException {
+        if (foreignKeyIndexesDropped) {
+            return;
+        }
+        try (Connection connection = dataSource.getConnection()) {
+            List<String> drops = new ArrayList<>();
+            try (PreparedStatement query = connection.prepareStatement("""
+                    SELECT TABLE_NAME, CONSTRAINT_NAME FROM INFORMATION_SCHEMA.TABLE_CONSTRAINTS
+                    WHERE CONSTRAINT_TYPE = 'FOREIGN KEY' AND TABLE_NAME IN ('TASKS', 'ISSUES')
+                    """); ResultSet constraints = query.executeQuery()) {
+                while (constraints.next()) {
+                    drops.add("ALTER TABLE " + constraints.getString(1) + " DROP CONSTRAINT "
+                            + constraints.getString(2));
+                }
+            }
+            for (String drop : drops) {
+                try (PreparedStatement statement = connection.prepareStatement(drop)) {
+                    statement.execute();
+                }
+            }
+        }
+        foreignKeyIndexesDropped = true;
+    }
+
+    private void assertIndexedPlans(String table, String label) throws SQLException {
+        List<String> selects = SqlCapture.STATEMENTS.stream()
+                .filter(sql -> sql.startsWith("select") && sql.contains(" from " + table + " "))
+                .toList();
+        assertFalse(selects.isEmpty(), "no " + table + " query for " + label);
+        try (Connection connection = dataSource.getConnection()) {
+            for (String sql : selects) {
+                try (PreparedStatement explain = connection.prepareStatement("EXPLAIN " + sql);
+                        ResultSet plan = explain.executeQuery()) {
+                    plan.next();
+                    String text = plan.getString(1);
+                    assertFalse(text.contains("tableScan"), label + " scans a table:\n" + text);
+                    assertTrue(text.contains("IDX_" + table.toUpperCase() + "_"), label + " skips the list indexes:\n"
+                            + text);
+                }
+            }
+        }
+    }
+
+    private Set<Long> expected(TaskFilter filter) {
+        return tasks.stream()
+                .filter(task -> filter.getProjectId() == null || task.getProject().getId().equals(filter.getProjectId()))
+                .filter(task -> filter.getStatus() == null || task.getStatus() == filter.getStatus())
+                .filter(task -> filter.getPriority() == null || task.getPriority() == filter.getPriority())
+                .filter(task -> filter.getDueFrom() == null
+                        || task.getDueDate() != null && !task.getDueDate().isBefore(filter.getDueFrom()))
+                .filter(task -> filter.getDueTo() == null
+                        || task.getDueDate() != null && !task.getDueDate().isAfter(filter.getDueTo()))
+                .filter(task -> filter.getSearch() == null
+                        || task.getTitle().toLowerCase().contains(filter.getSearch().toLowerCase()))
+                .map(Task::getId)
+                .collect(Collectors.toSet());
+    }
+
+    private Task createTask(String title, TaskStatus status, Priority priority, LocalDate due, Project project) {
+        Task task = taskService.createTask(new TaskRequest(title, null, null, due, priority, status, project.getId()));
+        task.setProject(project);
+        return task;
+    }
+
+    /**
+     * Records the SQL Hibernate sends so the test can ask the database for its plan
+     */
+    public static class SqlCapture implements StatementInspector {
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package org.arkadipta.projobackend.service;
+
+import org.arkadipta.projobackend.entity.Project;
+import org.arkadipta.projobackend.entity.ProjectMember;
+import org.arkadipta.projobackend.entity.User;
+import org.arkadipta.projobackend.enums.ActivityEntityType;
+import org.arkadipta.projobackend.enums.ActivityVerb;
+import org.arkadipta.projobackend.enums.InviteStatus;
+import org.arkadipta.projobackend.repository.ProjectMemberRepository;
+import org.arkadipta.projobackend.repository.ProjectRepository;
+import org.arkadipta.projobackend.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.arkadipta.projobackend.support.TestUsers.createUser;
+import static org.arkadipta.projobackend.support.TestUsers.login;
+import static org.arkadipta.projobackend.support.TestUsers.logout;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ProjectActivityStreamTest {
+
+    @Autowired
+    private ActivityService activityService;
+
+    @Autowired
+    private ActivityLogWriter activityLogWriter;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private ProjectMemberRepository projectMemberRepository;
+
+    @AfterEach
+    void clearSecurityContext() {
+        logout();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void membersReadTheStreamAndCountUnreadFromOthers() throws InterruptedException {
+        User owner = createUser(userRepository, "stream-owner");
+        User member = createUser(userRepository, "stream-member");
+        createUser(userRepository, "stream-outsider");
+
+        Project project = projectRepository.save(new Project("Shared", null, null, owner));
+        projectMemberRepository.save(new ProjectMember(project, member, InviteStatus.ACCEPTED));
+        Long projectId = project.getId();
+
+        // Opening the badge creates the cursor at the head of the stream
+        login("stream-member");
+        assertEquals(0L, activityService.getUnreadCount(projectId).get("unreadCount"));
+
+        for (int i = 0; i < 3; i++) {
+            activityLogWriter.record(owner, ActivityVerb.CREATED, ActivityEntityType.TASK, (long) i, projectId,
+                    "Created task " + i);
+        }
+        activityLogWriter.record(member, ActivityVerb.UPDATED, ActivityEntityType.TASK, 0L, projectId,
+                "Updated task 0");
+
+        long unread = 0;
+        for (int attempt = 0; attempt < 50 && unread < 3; attempt++) {
+            Thread.sleep(100);
+            unread = (Long) activityService.getUnreadCount(projectId).get("unreadCount");
+        }
+        assertEquals(3L, unread, "the member's own entry is not unread");
+        assertEquals(Map.of(projectId, 3L), activityService.getUnreadCounts());
+
+        List<Map<String, Object>> items = (List<Map<String, Object>>) activityService
+                .getProjectStream(projectId, null, 10).get("items");
+        assertEquals(4, items.size());
+        assertEquals("stream-member", items.get(0).get("user"));
+
+        activityService.markProjectRead(projectId);
+        assertEquals(0L, activityService.getUnreadCount(projectId).get("unreadCount"));
+        assertTrue(activityService.getUnreadCounts().isEmpty());
+
+        login("stream-outsider");
+        assertThrows(AccessDeniedException.class, () -> activityService.getProjectStream(projectId, null, 10));
+    }
+
+}
@@ -0,0 +1,110 @@
+package org.arkadipta.projobackend.service;
+
+import org.arkadipta.projobackend.dto.request.SavedViewRequest;
+import org.arkadipta.projobackend.dto.request.TaskRequest;
+import org.arkadipta.projobackend.entity.Project;
+import org.arkadipta.projobackend.entity.SavedView;
+import org.arkadipta.projobackend.entity.Task;
+import org.arkadipta.projobackend.entity.User;
+import org.arkadipta.projobackend.enums.Priority;
+import org.arkadipta.projobackend.enums.TaskStatus;
+import org.arkadipta.projobackend.repository.ProjectRepository;
+import org.arkadipta.projobackend.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.arkadipta.projobackend.support.TestUsers.createUser;
+import static org.arkadipta.projobackend.support.TestUsers.login;
+import static org.arkadipta.projobackend.support.TestUsers.logout;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class SavedViewServiceTest {
+
+    @Autowired
+    private SavedViewService savedViewService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @AfterEach
+    void clearSecurityContext() {
+        logout();
+    }
+
+    @Test
+    void viewResultsFollowTaskWrites() {
+        User user = createUser(userRepository, "view-owner");
+        Project web = projectRepository.save(new Project("Web", null, null, user));
+        Project api = projectRepository.save(new Project("API", null, null, user));
+        login("view-owner");
+
+        LocalDate today = LocalDate.now();
+        Long a = createTask("A", Priority.HIGH, today.plusDays(2), web);
+        Long b = createTask("B", Priority.HIGH, today.plusDays(10), web);
+        createTask("C", Priority.LOW, today.plusDays(1), web);
+        createTask("D", Priority.HIGH, null, api);
+
+        SavedViewRequest request = new SavedViewRequest("High this week", null, null, Priority.HIGH, 7, null);
+        request.setSortBy("dueDate");
+        request.setSortDir("asc");
+        SavedView view = savedViewService.createView(request);
+        assertEquals(List.of(a), open(view));
+
+        // Writes through the services move tasks in and out of the cached result
+        Long e = createTask("E", Priority.HIGH, today.plusDays(1), api);
+        taskService.updateTask(b, new TaskRequest("B", null, null, today.plusDays(3), Priority.HIGH,
+                TaskStatus.TO_DO, web.getId()));
+        assertEquals(List.of(e, a, b), open(view));
+
+        taskService.deleteTask(a);
+        taskService.updateTask(e, new TaskRequest("E", null, null, today.plusDays(1), Priority.LOW,
+                TaskStatus.TO_DO, api.getId()));
+        assertEquals(List.of(b), open(view));
+
+        Long f = createTask("F", Priority.HIGH, today, api);
+        assertEquals(List.of(f), savedViewService.openView(view.getId(), PageRequest.of(0, 1)).getContent()
+                .stream().map(Task::getId).toList());
+        assertEquals(2, savedViewService.openView(view.getId(), PageRequest.of(1, 1)).getTotalElements());
+
+        // Changing the criteria drops the cached result
+        request.setProjectId(web.getId());
+        savedViewService.updateView(view.getId(), request);
+        assertEquals(List.of(b), open(view));
+
+        request.setProjectId(null);
+        savedViewService.updateView(view.getId(), request);
+        projectService.deleteProject(api.getId());
+        assertEquals(List.of(b), open(view));
+
+        request.setSortBy("description");
+        assertThrows(RuntimeException.class, () -> savedViewService.updateView(view.getId(), request));
+    }
+
+    private List<Long> open(SavedView view) {
+        return savedViewService.openView(view.getId(), PageRequest.of(0, 50)).getContent().stream()
+                .map(Task::getId).toList();
+    }
+
+    private Long createTask(String title, Priority priority, LocalDate due, Project project) {
+        return taskService.createTask(new TaskRequest(title, null, null, due, priority, TaskStatus.TO_DO,
+                project.getId())).getId();
+    }
+}
@@ -0,0 +1,101 @@
+package org.arkadipta.projobackend.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.arkadipta.projobackend.entity.Note;
+import org.arkadipta.projobackend.entity.User;
+import org.arkadipta.projobackend.enums.SearchDocumentType;
+import org.arkadipta.projobackend.repository.NoteRepository;
+import org.arkadipta.projobackend.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.arkadipta.projobackend.support.TestUsers.createUser;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Note search through the inverted index against the LIKE '%term%' query it
+ * replaces. Run with: mvn test -Dtest=SearchBenchmarkTest -Dbenchmark=true
+ */
+@Slf4j
+@SpringBootTest
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class SearchBenchmarkTest {
+
+    private static final int NOTES = 20_000;
+    private static final int WORDS_PER_NOTE = 40;
+    private static final int QUERIES = 200;
+    private static final String[] VOCABULARY = new String[2_000];
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private NoteRepository noteRepository;
+
+    @Autowired
+    private SearchIndexService searchIndexService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void indexAgainstLike() {
+        Random random = new Random(42);
+        for (int i = 0; i < VOCABULARY.length; i++) {
+            VOCABULARY[i] = String.format("w%04dq", i);
+        }
+        User owner = createUser(userRepository, "search-benchmark");
+        for (int offset = 0; offset < NOTES; offset += 1_000) {
+            List<Note> chunk = new ArrayList<>(1_000);
+            for (int i = 0; i < 1_000; i++) {
+                StringBuilder content = new StringBuilder();
+                for (int w = 0; w < WORDS_PER_NOTE; w++) {
+                    content.append(VOCABULARY[random.nextInt(VOCABULARY.length)]).append(' ');
+                }
+                chunk.add(new Note(content.toString(), null, owner));
+            }
+            transactionTemplate.executeWithoutResult(status -> noteRepository.saveAll(chunk));
+        }
+
+        List<String> queries = new ArrayList<>(QUERIES);
+        for (int i = 0; i < QUERIES; i++) {
+            queries.add(VOCABULARY[random.nextInt(VOCABULARY.length)]);
+        }
+
+        long buildStarted = System.nanoTime();
+        searchIndexService.searchIds(owner, queries.get(0) + " ", SearchDocumentType.NOTE);
+        long buildMs = (System.nanoTime() - buildStarted) / 1_000_000;
+
+        long likeStarted = System.nanoTime();
+        long likeTotal = 0;
+        for (String query : queries) {
+            likeTotal += noteRepository.findByUserAndContentContaining(owner, query, PageRequest.of(0, 20))
+                    .getTotalElements();
+        }
+        long likeMicros = (System.nanoTime() - likeStarted) / 1_000 / QUERIES;
+
+        long indexStarted = System.nanoTime();
+        long indexTotal = 0;
+        for (String query : queries) {
+            // Trailing space: whole-word lookups, the same terms the LIKE baseline finds
+            indexTotal += searchIndexService.searchIds(owner, query + " ", SearchDocumentType.NOTE).size();
+        }
+        long indexMicros = (System.nanoTime() - indexStarted) / 1_000 / QUERIES;
+
+        log.info("{} notes: index built in {} ms; LIKE {} us/query, index {} us/query ({}x)",
+                NOTES, buildMs, likeMicros, indexMicros, likeMicros / Math.max(1, indexMicros));
+        // Vocabulary words have equal length and are never stemmed, so both find the same notes
+        assertEquals(likeTotal, indexTotal);
+        assertTrue(indexMicros < likeMicros);
+    }
+}
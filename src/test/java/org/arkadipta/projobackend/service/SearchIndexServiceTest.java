@@ -0,0 +1,114 @@
+package org.arkadipta.projobackend.service;
+
+import org.arkadipta.projobackend.dto.request.IssueRequest;
+import org.arkadipta.projobackend.dto.request.NoteRequest;
+import org.arkadipta.projobackend.dto.request.ProjectRequest;
+import org.arkadipta.projobackend.dto.request.TaskRequest;
+import org.arkadipta.projobackend.dto.response.SearchHit;
+import org.arkadipta.projobackend.entity.Issue;
+import org.arkadipta.projobackend.entity.Note;
+import org.arkadipta.projobackend.entity.Project;
+import org.arkadipta.projobackend.entity.Task;
+import org.arkadipta.projobackend.enums.IssueStatus;
+import org.arkadipta.projobackend.enums.Priority;
+import org.arkadipta.projobackend.enums.SearchDocumentType;
+import org.arkadipta.projobackend.enums.Severity;
+import org.arkadipta.projobackend.enums.TaskStatus;
+import org.arkadipta.projobackend.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.arkadipta.projobackend.support.TestUsers.createUser;
+import static org.arkadipta.projobackend.support.TestUsers.login;
+import static org.arkadipta.projobackend.support.TestUsers.logout;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class SearchIndexServiceTest {
+
+    @Autowired
+    private SearchIndexService searchIndexService;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private IssueService issueService;
+
+    @Autowired
+    private NoteService noteService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterEach
+    void clearSecurityContext() {
+        logout();
+    }
+
+    @Test
+    void searchRanksHighlightsAndFollowsWrites() {
+        createUser(userRepository, "search-owner");
+        login("search-owner");
+
+        Project project = projectService.createProject(new ProjectRequest("Billing", "Invoices and payments", null));
+        Task titled = taskService.createTask(new TaskRequest("Crashing checkout", "Happens after payment",
+                null, null, Priority.HIGH, TaskStatus.TO_DO, project.getId()));
+        Task described = taskService.createTask(new TaskRequest("Refactor cart",
+                "The cart crashed once while <testing>", null, null, Priority.LOW, TaskStatus.TO_DO,
+                project.getId()));
+        Issue issue = issueService.createIssue(new IssueRequest("Checkout crashes on Safari", null, Severity.HIGH,
+                IssueStatus.OPEN, project.getId()));
+
+        // Stemmed words match across forms; title matches rank above body matches
+        List<SearchHit> crash = search("crash", null);
+        assertEquals(3, crash.size());
+        assertEquals(Set.of("TASK:" + titled.getId(), "ISSUE:" + issue.getId()),
+                Set.of(key(crash.get(0)), key(crash.get(1))));
+        assertEquals("TASK:" + described.getId(), key(crash.get(2)));
+        assertEquals("Refactor cart", crash.get(2).getTitle());
+        assertEquals("The cart <mark>crashed</mark> once while &lt;testing&gt;", crash.get(2).getSnippet());
+
+        // Every word must match, and the word being typed matches as a prefix
+        assertEquals(List.of("ISSUE:" + issue.getId()), keys(search("crash safa", null)));
+        assertTrue(search("crash safa ", null).isEmpty());
+        assertEquals(List.of("PROJECT:" + project.getId()), keys(search("invoice", Set.of(SearchDocumentType.PROJECT))));
+
+        // Writes through the services patch the index once they commit
+        taskService.updateTask(titled.getId(), new TaskRequest("Slow checkout", null, null, null, Priority.HIGH,
+                TaskStatus.TO_DO, project.getId()));
+        issueService.deleteIssue(issue.getId());
+        Note note = noteService.createNote(new NoteRequest("Crash report from support", project.getId()));
+        projectService.updateProject(project.getId(), new ProjectRequest("Payments", null, null));
+        assertEquals(List.of("NOTE:" + note.getId(), "TASK:" + described.getId()), keys(search("crash", null)));
+        assertTrue(search("invoice", null).isEmpty());
+        assertEquals(List.of(note.getId()), noteService.getAllNotes(PageRequest.of(0, 10), null, "crashes")
+                .getContent().stream().map(Note::getId).toList());
+
+        assertEquals(4, searchIndexService.rebuild());
+        assertEquals(1, searchIndexService.search("crash", null, PageRequest.of(1, 1)).getContent().size());
+    }
+
+    private List<SearchHit> search(String query, Set<SearchDocumentType> types) {
+        return searchIndexService.search(query, types, PageRequest.of(0, 20)).getContent();
+    }
+
+    private static List<String> keys(List<SearchHit> hits) {
+        return hits.stream().map(SearchIndexServiceTest::key).toList();
+    }
+
+    private static String key(SearchHit hit) {
+        return hit.getType() + ":" + hit.getId();
+    }
+}
@@ -0,0 +1,164 @@
+package org.arkadipta.projobackend.service;
+
+import org.arkadipta.projobackend.dto.request.TaskRequest;
+import org.arkadipta.projobackend.dto.response.SubtaskNode;
+import org.arkadipta.projobackend.dto.response.TaskRollup;
+import org.arkadipta.projobackend.entity.Project;
+import org.arkadipta.projobackend.entity.Task;
+import org.arkadipta.projobackend.entity.User;
+import org.arkadipta.projobackend.enums.Priority;
+import org.arkadipta.projobackend.enums.TaskStatus;
+import org.arkadipta.projobackend.repository.ProjectRepository;
+import org.arkadipta.projobackend.repository.TaskRepository;
+import org.arkadipta.projobackend.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.arkadipta.projobackend.support.TestUsers.createUser;
+import static org.arkadipta.projobackend.support.TestUsers.login;
+import static org.arkadipta.projobackend.support.TestUsers.logout;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TaskHierarchyServiceTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskHierarchyService taskHierarchyService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    void clearSecurityContext() {
+        logout();
+    }
+
+    @Test
+    void subtreesFollowMovesAndDeletes() {
+        User user = createUser(userRepository, "hierarchy-owner");
+        Project project = projectRepository.save(new Project("Hierarchy", null, null, user));
+        login("hierarchy-owner");
+
+        Long epic = createTask("Epic", null, project);
+        Long storyA = createTask("Story A", epic, project);
+        Long storyB = createTask("Story B", epic, project);
+        Long subtaskA1 = createTask("Subtask A1", storyA, project);
+        Long subtaskA2 = createTask("Subtask A2", storyA, project);
+        assertEquals(Map.of(storyA, 1, storyB, 1, subtaskA1, 2, subtaskA2, 2), depths(epic));
+
+        taskService.updateTaskStatus(subtaskA1, TaskStatus.DONE);
+        transactionTemplate.executeWithoutResult(status -> taskRepository.addTimeSpent(subtaskA2, 600));
+        TaskRollup rollup = taskHierarchyService.getRollup(epic);
+        assertEquals(5, rollup.getTotalTasks());
+        assertEquals(1, rollup.getCompletedTasks());
+        assertEquals(20, rollup.getPercentComplete());
+        assertEquals(600, rollup.getTrackedSeconds());
+
+        // Story A takes its subtasks along when it moves under Story B
+        taskHierarchyService.moveTask(storyA, storyB);
+        assertEquals(Map.of(storyB, 1, storyA, 2, subtaskA1, 3, subtaskA2, 3), depths(epic));
+        assertThrows(RuntimeException.class, () -> taskHierarchyService.moveTask(storyB, subtaskA1));
+        assertThrows(RuntimeException.class, () -> taskHierarchyService.moveTask(storyB, storyB));
+
+        // Deleting Story B promotes Story A back under the epic
+        taskService.deleteTask(storyB);
+        assertEquals(Map.of(storyA, 1, subtaskA1, 2, subtaskA2, 2), depths(epic));
+        assertEquals(epic, taskRepository.findById(storyA).orElseThrow().getParentId());
+
+        taskHierarchyService.moveTask(storyA, null);
+        assertTrue(taskHierarchyService.getSubtasks(epic).isEmpty());
+        assertEquals(Map.of(subtaskA1, 1, subtaskA2, 1), depths(storyA));
+        assertEquals(1, taskHierarchyService.getRollup(epic).getTotalTasks());
+    }
+
+    @Test
+    void bulkDeleteSplicesOutNestedTasksTogether() {
+        User user = createUser(userRepository, "hierarchy-bulk");
+        Project project = projectRepository.save(new Project("Bulk hierarchy", null, null, user));
+        login("hierarchy-bulk");
+
+        Long epic = createTask("Epic", null, project);
+        Long story = createTask("Story", epic, project);
+        Long task = createTask("Task", story, project);
+        Long subtask = createTask("Subtask", task, project);
+        Long leaf = createTask("Leaf", subtask, project);
+        Long sibling = createTask("Sibling", story, project);
+
+        // Story and Task leave in the same statements; everything below them moves up to the epic
+        taskService.bulkDeleteTasks(List.of(story, task));
+        assertEquals(Map.of(subtask, 1, leaf, 2, sibling, 1), depths(epic));
+        assertEquals(epic, taskRepository.findById(subtask).orElseThrow().getParentId());
+        assertEquals(epic, taskRepository.findById(sibling).orElseThrow().getParentId());
+        assertEquals(subtask, taskRepository.findById(leaf).orElseThrow().getParentId());
+
+        // Removing a root leaves its children at the top level
+        taskService.bulkDeleteTasks(List.of(epic));
+        assertNull(taskRepository.findById(subtask).orElseThrow().getParentId());
+        assertEquals(Map.of(leaf, 1), depths(subtask));
+        assertTrue(taskHierarchyService.getSubtasks(sibling).isEmpty());
+    }
+
+    @Test
+    void projectWithSubtasksCanBeDeletedUnderTheParentKey() {
+        User user = createUser(userRepository, "hierarchy-project");
+        Project project = projectRepository.save(new Project("Doomed", null, null, user));
+        login("hierarchy-project");
+
+        // Task maps parent_id as a plain column, so add the key PostgreSQL has, without its ON DELETE action
+        jdbcTemplate.execute("ALTER TABLE tasks ADD CONSTRAINT fk_tasks_parent_test "
+                + "FOREIGN KEY (parent_id) REFERENCES tasks (id)");
+        try {
+            Long epic = createTask("Epic", null, project);
+            Long story = createTask("Story", epic, project);
+            Long subtask = createTask("Subtask", story, project);
+
+            projectService.deleteProject(project.getId());
+
+            assertTrue(taskRepository.findAllById(List.of(epic, story, subtask)).isEmpty());
+            assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM task_closure "
+                    + "WHERE descendant_id IN (?, ?, ?)", Integer.class, epic, story, subtask));
+        } finally {
+            jdbcTemplate.execute("ALTER TABLE tasks DROP CONSTRAINT fk_tasks_parent_test");
+        }
+    }
+
+    private Long createTask(String title, Long parentId, Project project) {
+        TaskRequest request = new TaskRequest(title, null, null, null, Priority.MEDIUM, TaskStatus.TO_DO,
+                project.getId());
+        request.setParentId(parentId);
+        return taskService.createTask(request).getId();
+    }
+
+    private Map<Long, Integer> depths(Long taskId) {
+        return taskHierarchyService.getSubtasks(taskId).stream()
+                .collect(Collectors.toMap(SubtaskNode::getId, SubtaskNode::getDepth));
+    }
+}
@@ -0,0 +1,176 @@
+package org.arkadipta.projobackend.service;
+
+import org.arkadipta.projobackend.dto.request.TaskRequest;
+import org.arkadipta.projobackend.entity.Project;
+import org.arkadipta.projobackend.entity.Task;
+import org.arkadipta.projobackend.entity.User;
+import org.arkadipta.projobackend.enums.Priority;
+import org.arkadipta.projobackend.enums.TaskStatus;
+import org.arkadipta.projobackend.repository.ProjectRepository;
+import org.arkadipta.projobackend.repository.TaskRepository;
+import org.arkadipta.projobackend.repository.UserRepository;
+import org.arkadipta.projobackend.util.RankKeys;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.arkadipta.projobackend.support.TestUsers.createUser;
+import static org.arkadipta.projobackend.support.TestUsers.login;
+import static org.arkadipta.projobackend.support.TestUsers.logout;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TaskRankServiceTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRankService taskRankService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @AfterEach
+    void clearSecurityContext() {
+        logout();
+    }
+
+    @Test
+    void generatedKeysStayBetweenTheirNeighbours() {
+        Random random = new Random(42);
+        List<String> keys = new ArrayList<>(RankKeys.spread(3));
+        for (int i = 0; i < 2000; i++) {
+            int slot = random.nextInt(keys.size() + 1);
+            String lower = slot == 0 ? null : keys.get(slot - 1);
+            String upper = slot == keys.size() ? null : keys.get(slot);
+            String key = RankKeys.between(lower, upper);
+            assertTrue(lower == null || lower.compareTo(key) < 0);
+            assertTrue(upper == null || key.compareTo(upper) < 0);
+            assertNotEquals('0', key.charAt(key.length() - 1));
+            keys.add(slot, key);
+        }
+
+        List<String> spread = RankKeys.spread(10000);
+        for (int i = 1; i < spread.size(); i++) {
+            assertTrue(spread.get(i - 1).compareTo(spread.get(i)) < 0);
+        }
+    }
+
+    @Test
+    void appendedKeysGrowLogarithmically() {
+        String key = null;
+        for (int i = 0; i < 100_000; i++) {
+            String next = RankKeys.after(key);
+            assertTrue(key == null || key.compareTo(next) < 0);
+            assertNotEquals('0', next.charAt(next.length() - 1));
+            key = next;
+        }
+        assertTrue(key.length() <= 8, key);
+    }
+
+    @Test
+    void thousandsOfAppendedCardsKeepShortRanks() {
+        User user = createUser(userRepository, "kanban-append");
+        Project project = projectRepository.save(new Project("Backlog", null, null, user));
+        login("kanban-append");
+
+        for (int i = 0; i < 3000; i++) {
+            taskService.createTask(new TaskRequest("Card " + i, null, null, null, Priority.MEDIUM,
+                    TaskStatus.TO_DO, project.getId()));
+        }
+
+        List<Long> column = columnIds(project, TaskStatus.TO_DO);
+        assertEquals(3000, column.size());
+        assertTrue(column.stream().allMatch(id -> rankOf(id).length() <= 8));
+    }
+
+    @Test
+    void movingACardRewritesOnlyItsRankAndLongRanksAreRespread() {
+        User user = createUser(userRepository, "kanban-rank");
+        Project project = projectRepository.save(new Project("Board", null, null, user));
+        login("kanban-rank");
+
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            ids.add(taskService.createTask(new TaskRequest("Card " + i, null, null, null, Priority.MEDIUM,
+                    TaskStatus.TO_DO, project.getId())).getId());
+        }
+        assertEquals(ids, columnIds(project, TaskStatus.TO_DO));
+
+        // Card 3 dropped between card 0 and card 1
+        String before = rankOf(ids.get(1));
+        taskService.moveTask(ids.get(3), null, ids.get(0), ids.get(1));
+        assertEquals(List.of(ids.get(0), ids.get(3), ids.get(1), ids.get(2)), columnIds(project, TaskStatus.TO_DO));
+        assertEquals(before, rankOf(ids.get(1)));
+
+        // Squeezing cards into the same gap eventually forces a respread
+        for (int i = 0; i < 200; i++) {
+            List<Long> column = columnIds(project, TaskStatus.TO_DO);
+            taskService.moveTask(column.get(3), null, column.get(0), column.get(1));
+        }
+        assertTrue(columnIds(project, TaskStatus.TO_DO).stream()
+                .allMatch(id -> rankOf(id).length() <= taskRankService.getMaxRankLength()));
+
+        // Moving to another column and the top of it
+        taskService.moveTask(ids.get(2), TaskStatus.IN_PROGRESS, null, null);
+        taskService.moveTask(ids.get(0), TaskStatus.IN_PROGRESS, null, ids.get(2));
+        assertEquals(List.of(ids.get(0), ids.get(2)), columnIds(project, TaskStatus.IN_PROGRESS));
+
+        // Tasks saved without a rank are backfilled at the bottom in creation order
+        Task unranked = taskRepository.save(new Task("Imported", null, null, null, Priority.LOW,
+                TaskStatus.IN_PROGRESS, project, user));
+        assertTrue(taskRankService.rebalanceColumns() >= 1);
+        assertNotNull(rankOf(unranked.getId()));
+        assertEquals(List.of(ids.get(0), ids.get(2), unranked.getId()), columnIds(project, TaskStatus.IN_PROGRESS));
+    }
+
+    @Test
+    void wholeEntitySavesKeepTheCurrentRank() {
+        User user = createUser(userRepository, "kanban-stale");
+        Project project = projectRepository.save(new Project("Stale", null, null, user));
+        login("kanban-stale");
+
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            ids.add(taskService.createTask(new TaskRequest("Card " + i, null, null, null, Priority.MEDIUM,
+                    TaskStatus.TO_DO, project.getId())).getId());
+        }
+
+        // A copy loaded before the move, as a reminder job or a concurrent edit would hold it
+        Task stale = taskRepository.findById(ids.get(2)).orElseThrow();
+        taskService.moveTask(ids.get(2), null, null, ids.get(0));
+        String moved = rankOf(ids.get(2));
+
+        stale.setTitle("Renamed");
+        taskRepository.save(stale);
+        assertEquals(moved, rankOf(ids.get(2)));
+        assertEquals(List.of(ids.get(2), ids.get(0), ids.get(1)), columnIds(project, TaskStatus.TO_DO));
+
+        // Status changes through the single-task endpoint still rank the card into its new column
+        taskService.updateTaskStatus(ids.get(0), TaskStatus.DONE);
+        assertEquals(List.of(ids.get(0)), columnIds(project, TaskStatus.DONE));
+        assertNotNull(rankOf(ids.get(0)));
+    }
+
+    private List<Long> columnIds(Project project, TaskStatus status) {
+        return taskRepository.findIdsInBoardOrder(project.getId(), status);
+    }
+
+    private String rankOf(Long id) {
+        return taskRepository.findById(id).orElseThrow().getBoardRank();
+    }
+}
@@ -0,0 +1,188 @@
+package org.arkadipta.projobackend.service;
+
+import org.arkadipta.projobackend.dto.request.TaskRequest;
+import org.arkadipta.projobackend.dto.response.TaskSummary;
+import org.arkadipta.projobackend.entity.Project;
+import org.arkadipta.projobackend.entity.Task;
+import org.arkadipta.projobackend.entity.User;
+import org.arkadipta.projobackend.enums.Priority;
+import org.arkadipta.projobackend.enums.TaskStatus;
+import org.arkadipta.projobackend.repository.ProjectRepository;
+import org.arkadipta.projobackend.repository.TaskRepository;
+import org.arkadipta.projobackend.repository.UserRepository;
+import org.arkadipta.projobackend.util.RecurrenceRule;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.arkadipta.projobackend.support.TestUsers.createUser;
+import static org.arkadipta.projobackend.support.TestUsers.login;
+import static org.arkadipta.projobackend.support.TestUsers.logout;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TaskRecurrenceServiceTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRecurrenceService taskRecurrenceService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @AfterEach
+    void clearSecurityContext() {
+        logout();
+    }
+
+    @Test
+    void occurrencesAreGeneratedForTheWindowAndMaterializedOnDemand() {
+        User user = createUser(userRepository, "recurrence-owner");
+        Project project = projectRepository.save(new Project("Chores", null, null, user));
+        login("recurrence-owner");
+
+        // Mondays and Thursdays, six times, starting Monday 6 January 2025
+        Task series = createTask("Water plants", LocalDate.of(2025, 1, 6), "RRULE:FREQ=WEEKLY;BYDAY=TH,MO;COUNT=6",
+                project);
+        assertEquals("FREQ=WEEKLY;BYDAY=MO,TH;COUNT=6", series.getRecurrenceRule());
+        assertEquals(LocalDate.of(2025, 1, 23), series.getRecurrenceEnd());
+
+        List<TaskSummary> january = taskService.getTasksForCalendar(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 31));
+        assertEquals(List.of(6, 9, 13, 16, 20, 23), january.stream().map(task -> task.getDueDate().getDayOfMonth()).toList());
+        assertEquals(series.getId(), january.get(0).getId());
+        assertTrue(january.stream().skip(1).allMatch(task -> task.getId() == null
+                && series.getId().equals(task.getSeriesId())));
+        assertTrue(taskService.getTasksForCalendar(LocalDate.of(2025, 2, 1), LocalDate.of(2025, 12, 31)).isEmpty());
+
+        LocalDate thirteenth = LocalDate.of(2025, 1, 13);
+        Task occurrence = taskRecurrenceService.materializeOccurrence(series.getId(), thirteenth);
+        assertEquals(series.getId(), occurrence.getSeriesId());
+        assertEquals(occurrence.getId(), taskRecurrenceService.materializeOccurrence(series.getId(), thirteenth).getId());
+        assertThrows(RuntimeException.class,
+                () -> taskRecurrenceService.materializeOccurrence(series.getId(), LocalDate.of(2025, 1, 14)));
+
+        // The materialized row replaces the virtual one, even after its own due date moves
+        taskService.updateTask(occurrence.getId(), new TaskRequest("Water plants", null, null,
+                LocalDate.of(2025, 1, 14), Priority.MEDIUM, TaskStatus.IN_PROGRESS, project.getId()));
+        List<TaskSummary> week = taskService.getTasksForCalendar(LocalDate.of(2025, 1, 12), LocalDate.of(2025, 1, 18));
+        assertEquals(2, week.size());
+        assertEquals(occurrence.getId(), week.get(0).getId());
+        assertNull(week.get(1).getId());
+        assertEquals(LocalDate.of(2025, 1, 16), week.get(1).getDueDate());
+
+        // An open-ended series only costs the window being read
+        createTask("Stand-up", LocalDate.of(2000, 1, 3), "FREQ=DAILY", project);
+        assertEquals(7, taskService.getTasksForCalendar(LocalDate.of(2030, 3, 4), LocalDate.of(2030, 3, 10)).size());
+
+        assertThrows(RuntimeException.class, () -> createTask("Broken", LocalDate.of(2025, 1, 6), "FREQ=HOURLY", project));
+    }
+
+    @Test
+    void countIsCappedBeforeTheSeriesIsWalked() {
+        // At the cap the series is still walked to its end
+        assertEquals(LocalDate.of(2025, 1, 1).plusDays(RecurrenceRule.MAX_COUNT - 1),
+                RecurrenceRule.parse("FREQ=DAILY;COUNT=" + RecurrenceRule.MAX_COUNT).lastOccurrence(LocalDate.of(2025, 1, 1)));
+
+        User user = createUser(userRepository, "recurrence-count");
+        Project project = projectRepository.save(new Project("Counted", null, null, user));
+        login("recurrence-count");
+        RuntimeException error = assertTimeout(Duration.ofSeconds(1), () -> assertThrows(RuntimeException.class,
+                () -> createTask("Forever", LocalDate.of(2025, 1, 6), "FREQ=DAILY;COUNT=2000000000", project)));
+        assertEquals("Invalid recurrence rule: COUNT cannot exceed " + RecurrenceRule.MAX_COUNT, error.getMessage());
+    }
+
+    @Test
+    void occurrenceChangesCommitTogetherWithTheirOccurrence() {
+        User user = createUser(userRepository, "recurrence-atomic");
+        Project project = projectRepository.save(new Project("Atomic", null, null, user));
+        login("recurrence-atomic");
+        Task series = createTask("Daily check", LocalDate.of(2025, 1, 6), "FREQ=DAILY;COUNT=10", project);
+
+        Task done = taskService.updateOccurrenceStatus(series.getId(), LocalDate.of(2025, 1, 7), TaskStatus.DONE);
+        assertEquals(TaskStatus.DONE, done.getStatus());
+        assertEquals(done.getId(), taskRepository.findBySeriesIdAndOccurrenceDate(series.getId(),
+                LocalDate.of(2025, 1, 7)).orElseThrow().getId());
+
+        Task timed = taskService.startOccurrenceTimer(series.getId(), LocalDate.of(2025, 1, 8));
+        assertEquals(LocalDate.of(2025, 1, 8), timed.getOccurrenceDate());
+        assertThrows(RuntimeException.class, () -> taskService.startOccurrenceTimer(series.getId(),
+                LocalDate.of(2025, 1, 8)));
+
+        // A failed change leaves the occurrence virtual
+        assertThrows(IllegalStateException.class, () -> taskRecurrenceService.withOccurrence(series.getId(),
+                LocalDate.of(2025, 1, 9), occurrence -> {
+                    throw new IllegalStateException("change failed");
+                }));
+        assertTrue(taskRepository.findBySeriesIdAndOccurrenceDate(series.getId(), LocalDate.of(2025, 1, 9)).isEmpty());
+    }
+
+    @Test
+    void concurrentMaterializationsReturnTheSameOccurrence() throws Exception {
+        User user = createUser(userRepository, "recurrence-race");
+        Project project = projectRepository.save(new Project("Race", null, null, user));
+        login("recurrence-race");
+        Task series = createTask("Race", LocalDate.of(2025, 1, 6), "FREQ=DAILY", project);
+
+        for (int day = 7; day < 17; day++) {
+            LocalDate date = LocalDate.of(2025, 1, day);
+            CountDownLatch start = new CountDownLatch(1);
+            ExecutorService executor = Executors.newFixedThreadPool(2);
+            try {
+                List<Future<Long>> ids = new ArrayList<>();
+                for (int i = 0; i < 2; i++) {
+                    ids.add(executor.submit(() -> {
+                        login("recurrence-race");
+                        try {
+                            start.await();
+                            return taskRecurrenceService.materializeOccurrence(series.getId(), date).getId();
+                        } finally {
+                            logout();
+                        }
+                    }));
+                }
+                start.countDown();
+                assertEquals(ids.get(0).get(10, TimeUnit.SECONDS), ids.get(1).get(10, TimeUnit.SECONDS));
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    @Test
+    void monthlyRulesSkipMonthsWithoutTheDay() {
+        RecurrenceRule rule = RecurrenceRule.parse("FREQ=MONTHLY");
+        assertEquals(List.of(LocalDate.of(2025, 3, 31), LocalDate.of(2025, 5, 31)),
+                rule.between(LocalDate.of(2025, 1, 31), null, LocalDate.of(2025, 2, 1), LocalDate.of(2025, 6, 30), 10));
+
+        RecurrenceRule everyOtherWeek = RecurrenceRule.parse("FREQ=WEEKLY;INTERVAL=2;COUNT=3");
+        assertEquals(LocalDate.of(2025, 2, 3), everyOtherWeek.lastOccurrence(LocalDate.of(2025, 1, 6)));
+    }
+
+    private Task createTask(String title, LocalDate dueDate, String rule, Project project) {
+        TaskRequest request = new TaskRequest(title, null, null, dueDate, Priority.MEDIUM, TaskStatus.TO_DO,
+                project.getId());
+        request.setRecurrenceRule(rule);
+        return taskService.createTask(request);
+    }
+}
@@ -0,0 +1,130 @@
+package org.arkadipta.projobackend.service;
+
+import org.arkadipta.projobackend.dto.request.TaskDependencyRequest;
+import org.arkadipta.projobackend.dto.request.TaskRequest;
+import org.arkadipta.projobackend.dto.response.GanttTask;
+import org.arkadipta.projobackend.entity.Project;
+import org.arkadipta.projobackend.entity.TaskDependency;
+import org.arkadipta.projobackend.entity.User;
+import org.arkadipta.projobackend.enums.DependencyType;
+import org.arkadipta.projobackend.enums.Priority;
+import org.arkadipta.projobackend.enums.TaskStatus;
+import org.arkadipta.projobackend.repository.ProjectRepository;
+import org.arkadipta.projobackend.repository.TaskRepository;
+import org.arkadipta.projobackend.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.arkadipta.projobackend.support.TestUsers.createUser;
+import static org.arkadipta.projobackend.support.TestUsers.login;
+import static org.arkadipta.projobackend.support.TestUsers.logout;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TaskScheduleServiceTest {
+
+    private static final LocalDate START = LocalDate.of(2025, 3, 3);
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskDependencyService taskDependencyService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @AfterEach
+    void clearSecurityContext() {
+        logout();
+    }
+
+    @Test
+    void slackFollowsDependencyAndDateChanges() {
+        User user = createUser(userRepository, "schedule-owner");
+        Project project = projectRepository.save(new Project("Schedule", null, null, user));
+        login("schedule-owner");
+
+        // A takes three days, B two and C one, all able to start on the same day
+        Long a = createTask("A", START, START.plusDays(2), project);
+        Long b = createTask("B", START, START.plusDays(1), project);
+        Long c = createTask("C", START, START, project);
+        assertEquals(Map.of(a, 0, b, 1, c, 2), slack(project));
+
+        TaskDependency aToC = taskDependencyService.addDependency(c, dependencyOn(a));
+        taskDependencyService.addDependency(c, dependencyOn(b));
+        assertEquals(Map.of(a, 0, b, 1, c, 0), slack(project));
+        assertTrue(gantt(project).get(a).isCritical());
+
+        RuntimeException cycle = assertThrows(RuntimeException.class,
+                () -> taskDependencyService.addDependency(a, dependencyOn(c)));
+        assertEquals("Dependency would create a cycle", cycle.getMessage());
+
+        // Stretching B to four days puts it on the critical path instead of A
+        taskService.updateTask(b, new TaskRequest("B", null, START, START.plusDays(3), Priority.MEDIUM,
+                TaskStatus.TO_DO, project.getId()));
+        assertEquals(Map.of(a, 1, b, 0, c, 0), slack(project));
+
+        taskDependencyService.removeDependency(aToC.getId());
+        assertEquals(Map.of(a, 2, b, 0, c, 0), slack(project));
+    }
+
+    @Test
+    void unconnectedTasksOnlyMoveSlackThroughTheProjectFinish() {
+        User user = createUser(userRepository, "schedule-finish");
+        Project project = projectRepository.save(new Project("Finish", null, null, user));
+        login("schedule-finish");
+
+        Long a = createTask("A", START, START.plusDays(2), project);
+        Long c = createTask("C", START, START, project);
+        Long b = createTask("B", START, START.plusDays(1), project);
+        taskDependencyService.addDependency(c, dependencyOn(a));
+        assertEquals(Map.of(a, 0, b, 2, c, 0), slack(project));
+
+        // Only tasks with dependencies take a place in the topological order
+        assertNull(taskRepository.findById(b).orElseThrow().getTopoOrder());
+        assertTrue(taskRepository.findById(a).orElseThrow().getTopoOrder()
+                < taskRepository.findById(c).orElseThrow().getTopoOrder());
+
+        // A ten-day task pushes the finish out, which moves every other task's slack
+        Long d = createTask("D", START, START.plusDays(9), project);
+        assertNull(taskRepository.findById(d).orElseThrow().getTopoOrder());
+        assertEquals(Map.of(a, 6, b, 8, c, 6, d, 0), slack(project));
+
+        taskService.deleteTask(d);
+        assertEquals(Map.of(a, 0, b, 2, c, 0), slack(project));
+    }
+
+    private Long createTask(String title, LocalDate startDate, LocalDate dueDate, Project project) {
+        return taskService.createTask(new TaskRequest(title, null, startDate, dueDate, Priority.MEDIUM,
+                TaskStatus.TO_DO, project.getId())).getId();
+    }
+
+    private TaskDependencyRequest dependencyOn(Long predecessorId) {
+        return new TaskDependencyRequest(predecessorId, DependencyType.FINISH_TO_START, 0);
+    }
+
+    private Map<Long, GanttTask> gantt(Project project) {
+        return taskService.getTasksForGantt(project.getId()).stream()
+                .collect(Collectors.toMap(GanttTask::getId, task -> task));
+    }
+
+    private Map<Long, Integer> slack(Project project) {
+        return taskService.getTasksForGantt(project.getId()).stream()
+                .collect(Collectors.toMap(GanttTask::getId, GanttTask::getSlackDays));
+    }
+}
@@ -0,0 +1,160 @@
+package org.arkadipta.projobackend.service;
+
+import org.arkadipta.projobackend.entity.Project;
+import org.arkadipta.projobackend.entity.Task;
+import org.arkadipta.projobackend.entity.TaskTimeTracking;
+import org.arkadipta.projobackend.entity.User;
+import org.arkadipta.projobackend.enums.Priority;
+import org.arkadipta.projobackend.enums.TaskStatus;
+import org.arkadipta.projobackend.repository.ProjectRepository;
+import org.arkadipta.projobackend.repository.TaskRepository;
+import org.arkadipta.projobackend.repository.TaskTimeTrackingRepository;
+import org.arkadipta.projobackend.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.arkadipta.projobackend.support.TestUsers.createUser;
+import static org.arkadipta.projobackend.support.TestUsers.login;
+import static org.arkadipta.projobackend.support.TestUsers.logout;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TaskTimerConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int CALLS = 4000;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskTimeTrackingRepository timeTrackingRepository;
+
+    @Autowired
+    private ActiveTimerRegistry activeTimerRegistry;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void parallelStartAndStopNeverOpenTwoTimers() throws Exception {
+        User user = createUser(userRepository, "timer-race");
+
+        Project project = projectRepository.save(new Project("Race", null, null, user));
+        Task task = taskRepository.save(new Task("Contended task", null, null, null,
+                Priority.MEDIUM, TaskStatus.IN_PROGRESS, project, user));
+        Long taskId = task.getId();
+
+        AtomicInteger starts = new AtomicInteger();
+        AtomicInteger stops = new AtomicInteger();
+        CountDownLatch ready = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        for (int i = 0; i < CALLS; i++) {
+            boolean start = i % 2 == 0;
+            executor.submit(() -> {
+                login("timer-race");
+                try {
+                    ready.await();
+                    if (start) {
+                        taskService.startTimer(taskId);
+                        starts.incrementAndGet();
+                    } else {
+                        taskService.stopTimer(taskId);
+                        stops.incrementAndGet();
+                    }
+                } catch (RuntimeException | InterruptedException e) {
+                    // Losing the race is expected; the invariants below are what matter
+                } finally {
+                    logout();
+                }
+            });
+        }
+
+        ready.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.MINUTES));
+
+        List<TaskTimeTracking> rows = timeTrackingRepository.findByTask(task);
+        long open = rows.stream().filter(row -> row.getEndTime() == null).count();
+        Task reloaded = taskRepository.findById(taskId).orElseThrow();
+
+        assertTrue(starts.get() > 0, "at least one start should win");
+        assertTrue(open <= 1, "never more than one open timer row");
+        assertEquals(starts.get(), rows.size(), "one tracking row per successful start");
+        assertEquals(starts.get() - stops.get(), open, "every successful stop closed exactly one row");
+        assertEquals(open == 1, reloaded.getTimerStartedAt() != null);
+        assertEquals(open == 1, activeTimerRegistry.isRunning(taskId));
+        assertEquals(rows.stream().filter(row -> row.getDuration() != null).mapToLong(TaskTimeTracking::getDuration).sum(),
+                reloaded.getTotalTimeSeconds(), "denormalized total matches the closed rows");
+    }
+
+    @Test
+    void stopDuringTaskUpdateKeepsTheTotal() throws Exception {
+        User user = createUser(userRepository, "timer-update");
+
+        Project project = projectRepository.save(new Project("Update race", null, null, user));
+        Task task = taskRepository.save(new Task("Tracked task", null, null, null,
+                Priority.MEDIUM, TaskStatus.IN_PROGRESS, project, user));
+        Long taskId = task.getId();
+        LocalDateTime startTime = LocalDateTime.now().minusHours(1).truncatedTo(ChronoUnit.SECONDS);
+        transactionTemplate.executeWithoutResult(status -> {
+            taskRepository.claimTimer(taskId, startTime);
+            timeTrackingRepository.save(new TaskTimeTracking(task, startTime));
+        });
+
+        // The update loads the task before the stop commits and flushes after it
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Task loaded = taskRepository.findById(taskId).orElseThrow();
+                loaded.setTitle("Renamed task");
+
+                Future<?> stop = executor.submit(() -> {
+                    login("timer-update");
+                    try {
+                        taskService.stopTimer(taskId);
+                    } finally {
+                        logout();
+                    }
+                });
+                try {
+                    stop.get(1, TimeUnit.MINUTES);
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+        } finally {
+            executor.shutdown();
+        }
+
+        Task reloaded = taskRepository.findById(taskId).orElseThrow();
+        assertEquals("Renamed task", reloaded.getTitle());
+        assertNull(reloaded.getTimerStartedAt());
+        assertTrue(reloaded.getTotalTimeSeconds() >= 3600, "the stop's credit survives the update");
+        assertFalse(activeTimerRegistry.isRunning(taskId));
+    }
+}
@@ -0,0 +1,126 @@
+package org.arkadipta.projobackend.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.arkadipta.projobackend.dto.response.GanttTask;
+import org.arkadipta.projobackend.dto.response.KanbanCard;
+import org.arkadipta.projobackend.dto.response.TaskSummary;
+import org.arkadipta.projobackend.entity.Project;
+import org.arkadipta.projobackend.entity.Task;
+import org.arkadipta.projobackend.entity.User;
+import org.arkadipta.projobackend.enums.Priority;
+import org.arkadipta.projobackend.enums.TaskStatus;
+import org.arkadipta.projobackend.repository.ProjectRepository;
+import org.arkadipta.projobackend.repository.TaskRepository;
+import org.arkadipta.projobackend.repository.UserRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.arkadipta.projobackend.support.TestUsers.createUser;
+import static org.arkadipta.projobackend.support.TestUsers.login;
+import static org.arkadipta.projobackend.support.TestUsers.logout;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The task views must cost a fixed number of statements however many tasks and
+ * projects they cover, and must not hydrate any Task or Project entities
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class TaskViewQueryCountTest {
+
+    private static final int PROJECTS = 5;
+    private static final int TASKS_PER_PROJECT = 12;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Project firstProject;
+
+    @BeforeEach
+    void createTasks() {
+        User owner = createUser(userRepository, "view-queries");
+
+        List<Task> tasks = new ArrayList<>();
+        for (int p = 0; p < PROJECTS; p++) {
+            Project project = projectRepository.save(new Project("Views " + p, null, null, owner));
+            if (firstProject == null) {
+                firstProject = project;
+            }
+            for (int i = 0; i < TASKS_PER_PROJECT; i++) {
+                tasks.add(new Task("Task " + p + "-" + i, null, LocalDate.now(), LocalDate.now().plusDays(i % 5),
+                        Priority.MEDIUM, i % 3 == 0 ? TaskStatus.DONE : TaskStatus.TO_DO, project, owner));
+            }
+        }
+        taskRepository.saveAll(tasks);
+
+        login("view-queries");
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        statistics.setStatisticsEnabled(false);
+        logout();
+    }
+
+    @Test
+    void viewsRunAFixedNumberOfStatementsWithoutLoadingTasks() {
+        List<KanbanCard> kanban = taskService.getTasksForKanban(null);
+        assertEquals(PROJECTS * TASKS_PER_PROJECT, kanban.size());
+        assertStatements(2); // user lookup + projection
+
+        assertEquals(TASKS_PER_PROJECT, taskService.getTasksForKanban(firstProject.getId()).size());
+        assertStatements(3); // user + project ownership check + projection
+
+        List<GanttTask> gantt = taskService.getTasksForGantt(null);
+        assertEquals(PROJECTS * TASKS_PER_PROJECT, gantt.size());
+        assertTrue(gantt.stream().allMatch(task -> task.getProjectTitle().startsWith("Views ")));
+        assertStatements(2);
+
+        List<TaskSummary> calendar = taskService.getTasksForCalendar(LocalDate.now(), LocalDate.now().plusDays(30));
+        assertEquals(PROJECTS * TASKS_PER_PROJECT, calendar.size());
+        assertStatements(3); // user + projection + recurring series in the window
+
+        List<Map<String, Object>> upcoming = dashboardService.getUpcomingTasks(7);
+        assertEquals(PROJECTS * 8, upcoming.size());
+        assertTrue(upcoming.stream().noneMatch(task -> task.get("status") == TaskStatus.DONE));
+        assertStatements(3);
+    }
+
+    private void assertStatements(long expected) {
+        assertEquals(expected, statistics.getPrepareStatementCount());
+        // Only the current user is ever hydrated, plus the project for the ownership check
+        assertTrue(statistics.getEntityLoadCount() <= 2);
+        assertEquals(0, statistics.getEntityStatistics(Task.class.getName()).getLoadCount());
+        statistics.clear();
+    }
+}
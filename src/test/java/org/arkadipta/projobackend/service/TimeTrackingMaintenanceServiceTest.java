@@ -0,0 +1,161 @@
+package org.arkadipta.projobackend.service;
+
+import org.arkadipta.projobackend.entity.Project;
+import org.arkadipta.projobackend.entity.Task;
+import org.arkadipta.projobackend.entity.TaskTimeTracking;
+import org.arkadipta.projobackend.entity.User;
+import org.arkadipta.projobackend.enums.Priority;
+import org.arkadipta.projobackend.enums.TaskStatus;
+import org.arkadipta.projobackend.repository.ProjectRepository;
+import org.arkadipta.projobackend.repository.TaskRepository;
+import org.arkadipta.projobackend.repository.TaskTimeTrackingRepository;
+import org.arkadipta.projobackend.repository.UserRepository;
+import org.arkadipta.projobackend.util.TransactionHooks;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.arkadipta.projobackend.support.TestUsers.createUser;
+import static org.arkadipta.projobackend.support.TestUsers.login;
+import static org.arkadipta.projobackend.support.TestUsers.logout;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TimeTrackingMaintenanceServiceTest {
+
+    @Autowired
+    private TimeTrackingMaintenanceService maintenanceService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskTimeTrackingRepository timeTrackingRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private ActiveTimerRegistry activeTimerRegistry;
+
+    @Autowired
+    private ActiveTimerRegistryLoader activeTimerRegistryLoader;
+
+    @Test
+    void staleTimersAreClosedAtTheCap() {
+        User user = createUser(userRepository, "stale-timer");
+
+        Project project = projectRepository.save(new Project("Sweep", null, null, user));
+        LocalDateTime startTime = LocalDateTime.now().minusHours(30).truncatedTo(ChronoUnit.SECONDS);
+
+        Task task = new Task("Forgotten timer", null, null, null, Priority.LOW, TaskStatus.IN_PROGRESS, project, user);
+        task = taskRepository.save(task);
+        Long taskId = task.getId();
+        transactionTemplate.executeWithoutResult(status -> taskRepository.claimTimer(taskId, startTime));
+        TaskTimeTracking timer = timeTrackingRepository.save(new TaskTimeTracking(task, startTime));
+
+        assertTrue(maintenanceService.closeStaleTimers() >= 1);
+
+        TaskTimeTracking closed = timeTrackingRepository.findById(timer.getId()).orElseThrow();
+        Task reloaded = taskRepository.findById(task.getId()).orElseThrow();
+        assertEquals(12 * 3600, closed.getDuration());
+        assertEquals(startTime.plusHours(12), closed.getEndTime());
+        assertNull(reloaded.getTimerStartedAt());
+        assertEquals(12 * 3600L, reloaded.getTotalTimeSeconds());
+    }
+
+    @Test
+    void everyOpenRowOfATaskIsCreditedOnce() {
+        User user = createUser(userRepository, "stale-multi");
+        Project project = projectRepository.save(new Project("Sweep multi", null, null, user));
+        LocalDateTime startTime = LocalDateTime.now().minusHours(30).truncatedTo(ChronoUnit.SECONDS);
+
+        // Rows left open by concurrent starts before the claim column existed
+        Task doubled = startStaleTimer(user, project, "Two open rows", startTime, 2);
+        Task single = startStaleTimer(user, project, "One open row", startTime, 1);
+        assertTrue(activeTimerRegistry.isRunning(doubled.getId()));
+
+        assertTrue(maintenanceService.closeStaleTimers() >= 3);
+
+        Task reloadedDoubled = taskRepository.findById(doubled.getId()).orElseThrow();
+        Task reloadedSingle = taskRepository.findById(single.getId()).orElseThrow();
+        assertTrue(timeTrackingRepository.findActiveTimersByTask(doubled).isEmpty());
+        assertEquals(2 * 12 * 3600L, reloadedDoubled.getTotalTimeSeconds());
+        assertEquals(12 * 3600L, reloadedSingle.getTotalTimeSeconds());
+        assertNull(reloadedDoubled.getTimerStartedAt());
+        assertFalse(activeTimerRegistry.isRunning(doubled.getId()));
+        assertFalse(activeTimerRegistry.isRunning(single.getId()));
+    }
+
+    @Test
+    void restartCommittedBeforeTheSweepHookStaysRunning() throws Exception {
+        User user = createUser(userRepository, "stale-restart");
+        Project project = projectRepository.save(new Project("Sweep restart", null, null, user));
+        LocalDateTime startTime = LocalDateTime.now().minusHours(30).truncatedTo(ChronoUnit.SECONDS);
+        Task task = startStaleTimer(user, project, "Restarted timer", startTime, 1);
+        Long taskId = task.getId();
+
+        // Registered first, so the restart commits after the sweep and before the sweep's own hook runs
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                TransactionHooks.afterCommit(() -> {
+                    try {
+                        executor.submit(() -> {
+                            login("stale-restart");
+                            try {
+                                taskService.startTimer(taskId);
+                            } finally {
+                                logout();
+                            }
+                        }).get(1, TimeUnit.MINUTES);
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                });
+                maintenanceService.closeStaleTimers();
+            });
+        } finally {
+            executor.shutdown();
+        }
+
+        Task reloaded = taskRepository.findById(taskId).orElseThrow();
+        assertNotNull(reloaded.getTimerStartedAt());
+        assertEquals(1, timeTrackingRepository.findActiveTimersByTask(reloaded).size());
+        assertTrue(activeTimerRegistry.isRunning(taskId), "the sweep must not undo the restart");
+        assertEquals(reloaded.getTimerStartedAt(), activeTimerRegistry.getStartTime(taskId).orElseThrow());
+    }
+
+    private Task startStaleTimer(User user, Project project, String title, LocalDateTime startTime, int openRows) {
+        Task task = taskRepository.save(new Task(title, null, null, null, Priority.LOW, TaskStatus.IN_PROGRESS,
+                project, user));
+        Long taskId = task.getId();
+        transactionTemplate.executeWithoutResult(status -> {
+            taskRepository.claimTimer(taskId, startTime);
+            for (int i = 0; i < openRows; i++) {
+                timeTrackingRepository.save(new TaskTimeTracking(task, startTime));
+            }
+            activeTimerRegistryLoader.syncAfterCommit(List.of(taskId));
+        });
+        return task;
+    }
+}
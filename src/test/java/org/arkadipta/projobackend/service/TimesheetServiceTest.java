@@ -0,0 +1,190 @@
+package org.arkadipta.projobackend.service;
+
+import org.arkadipta.projobackend.entity.Project;
+import org.arkadipta.projobackend.entity.Task;
+import org.arkadipta.projobackend.entity.TaskTimeTracking;
+import org.arkadipta.projobackend.entity.TimeTrackingDaily;
+import org.arkadipta.projobackend.entity.User;
+import org.arkadipta.projobackend.enums.Priority;
+import org.arkadipta.projobackend.enums.TaskStatus;
+import org.arkadipta.projobackend.enums.TimesheetGrouping;
+import org.arkadipta.projobackend.repository.ProjectRepository;
+import org.arkadipta.projobackend.repository.TaskRepository;
+import org.arkadipta.projobackend.repository.TaskTimeTrackingRepository;
+import org.arkadipta.projobackend.repository.TimeTrackingDailyRepository;
+import org.arkadipta.projobackend.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.StringWriter;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.arkadipta.projobackend.support.TestUsers.createUser;
+import static org.arkadipta.projobackend.support.TestUsers.login;
+import static org.arkadipta.projobackend.support.TestUsers.logout;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TimesheetServiceTest {
+
+    // A Monday, so the week grouping starts on it
+    private static final LocalDate MONDAY = LocalDate.of(2024, 3, 4);
+
+    @Autowired
+    private TimesheetService timesheetService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TimeTrackingMaintenanceService maintenanceService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskTimeTrackingRepository timeTrackingRepository;
+
+    @Autowired
+    private TimeTrackingDailyRepository dailyRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    void clearSecurityContext() {
+        logout();
+    }
+
+    @Test
+    void stoppingATimerRollsItsTimeUpPerDay() {
+        User user = createUser(userRepository, "timesheet-stop");
+        Project project = projectRepository.save(new Project("Rollup", null, null, user));
+        Task task = taskRepository.save(new Task("Overnight", null, null, null, Priority.MEDIUM,
+                TaskStatus.IN_PROGRESS, project, user));
+        Long taskId = task.getId();
+
+        // Started an hour before today's midnight, so the stop splits it over two days
+        LocalDate today = LocalDate.now();
+        LocalDateTime startTime = today.atStartOfDay().minusHours(1);
+        transactionTemplate.executeWithoutResult(status -> {
+            taskRepository.claimTimer(taskId, startTime);
+            timeTrackingRepository.save(new TaskTimeTracking(task, startTime));
+        });
+
+        login("timesheet-stop");
+        taskService.stopTimer(taskId);
+
+        Map<LocalDate, Long> days = dailySeconds(taskId);
+        long total = taskRepository.findById(taskId).orElseThrow().getTotalTimeSeconds();
+        assertEquals(3600L, days.get(today.minusDays(1)));
+        assertEquals(total - 3600, days.getOrDefault(today, 0L));
+        assertEquals(total, days.values().stream().mapToLong(Long::longValue).sum());
+    }
+
+    @Test
+    void intervalsAreSplitAtMidnight() {
+        User user = createUser(userRepository, "timesheet-split");
+        Project project = projectRepository.save(new Project("Split", null, null, user));
+        Task task = taskRepository.save(new Task("Long haul", null, null, null, Priority.MEDIUM,
+                TaskStatus.IN_PROGRESS, project, user));
+
+        transactionTemplate.executeWithoutResult(status -> timesheetService.recordTime(task,
+                MONDAY.atTime(22, 0), MONDAY.plusDays(2).atTime(2, 0)));
+
+        assertEquals(Map.of(MONDAY, 7200L, MONDAY.plusDays(1), 86400L, MONDAY.plusDays(2), 7200L),
+                dailySeconds(task.getId()));
+    }
+
+    @Test
+    void backfillSplitsClosedRowsAtMidnight() {
+        User user = createUser(userRepository, "timesheet-backfill");
+        Project project = projectRepository.save(new Project("Backfill", null, null, user));
+        Task task = taskRepository.save(new Task("Imported history", null, null, null, Priority.MEDIUM,
+                TaskStatus.IN_PROGRESS, project, user));
+        timeTrackingRepository.save(new TaskTimeTracking(task, MONDAY.atTime(23, 30),
+                MONDAY.plusDays(1).atTime(0, 45), 4500));
+        timeTrackingRepository.save(new TaskTimeTracking(task, MONDAY.plusDays(1).atTime(9, 0),
+                MONDAY.plusDays(1).atTime(10, 0), 3600));
+
+        // The backfill only runs against an empty rollup
+        dailyRepository.deleteAll();
+        maintenanceService.backfillDailyRollup();
+
+        assertEquals(Map.of(MONDAY, 1800L, MONDAY.plusDays(1), 2700L + 3600L), dailySeconds(task.getId()));
+    }
+
+    @Test
+    void timesheetIsGroupedAndExported() throws Exception {
+        User user = createUser(userRepository, "timesheet-groups");
+        Project api = projectRepository.save(new Project("API", null, null, user));
+        Project web = projectRepository.save(new Project("Web", null, null, user));
+        Task endpoints = taskRepository.save(new Task("Endpoints", null, null, null, Priority.MEDIUM,
+                TaskStatus.IN_PROGRESS, api, user));
+        Task pages = taskRepository.save(new Task("Pages", null, null, null, Priority.MEDIUM,
+                TaskStatus.IN_PROGRESS, web, user));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            timesheetService.recordTime(endpoints, MONDAY.atTime(9, 0), MONDAY.atTime(11, 0));
+            timesheetService.recordTime(pages, MONDAY.plusDays(1).atTime(9, 0), MONDAY.plusDays(1).atTime(10, 0));
+            timesheetService.recordTime(pages, MONDAY.plusDays(7).atTime(9, 0), MONDAY.plusDays(7).atTime(9, 30));
+        });
+
+        login("timesheet-groups");
+        LocalDate to = MONDAY.plusDays(13);
+
+        assertEquals(List.of(Map.of("date", MONDAY, "seconds", 7200L),
+                Map.of("date", MONDAY.plusDays(1), "seconds", 3600L),
+                Map.of("date", MONDAY.plusDays(7), "seconds", 1800L)),
+                rows(MONDAY, to, TimesheetGrouping.DAY));
+        assertEquals(List.of(Map.of("weekStart", MONDAY, "seconds", 10800L),
+                Map.of("weekStart", MONDAY.plusDays(7), "seconds", 1800L)),
+                rows(MONDAY, to, TimesheetGrouping.WEEK));
+        assertEquals(List.of(Map.of("projectId", api.getId(), "projectTitle", "API", "seconds", 7200L),
+                Map.of("projectId", web.getId(), "projectTitle", "Web", "seconds", 5400L)),
+                rows(MONDAY, to, TimesheetGrouping.PROJECT));
+        assertEquals(List.of(
+                Map.of("taskId", endpoints.getId(), "taskTitle", "Endpoints", "projectTitle", "API", "seconds", 7200L),
+                Map.of("taskId", pages.getId(), "taskTitle", "Pages", "projectTitle", "Web", "seconds", 5400L)),
+                rows(MONDAY, to, TimesheetGrouping.TASK));
+        assertEquals(12600L, timesheetService.getTimesheet(MONDAY, to, TimesheetGrouping.DAY).get("totalSeconds"));
+
+        StringWriter csv = new StringWriter();
+        timesheetService.writeTimesheetCsv(MONDAY, to, TimesheetGrouping.PROJECT, csv);
+        assertEquals("projectId,projectTitle,seconds\r\n"
+                + api.getId() + ",API,7200\r\n"
+                + web.getId() + ",Web,5400\r\n", csv.toString());
+
+        // An empty range still produces the header row
+        StringWriter empty = new StringWriter();
+        timesheetService.writeTimesheetCsv(MONDAY.minusDays(30), MONDAY.minusDays(1), TimesheetGrouping.TASK, empty);
+        assertEquals("taskId,taskTitle,projectTitle,seconds\r\n", empty.toString());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Map<String, Object>> rows(LocalDate from, LocalDate to, TimesheetGrouping grouping) {
+        return (List<Map<String, Object>>) timesheetService.getTimesheet(from, to, grouping).get("rows");
+    }
+
+    private Map<LocalDate, Long> dailySeconds(Long taskId) {
+        return dailyRepository.findAll().stream()
+                .filter(row -> row.getTask().getId().equals(taskId))
+                .collect(Collectors.toMap(TimeTrackingDaily::getWorkDate, TimeTrackingDaily::getSeconds));
+    }
+
+}
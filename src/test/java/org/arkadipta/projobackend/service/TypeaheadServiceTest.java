@@ -0,0 +1,98 @@
+package org.arkadipta.projobackend.service;
+
+import org.arkadipta.projobackend.dto.request.ProjectRequest;
+import org.arkadipta.projobackend.dto.request.TaskRequest;
+import org.arkadipta.projobackend.dto.response.TitleSuggestion;
+import org.arkadipta.projobackend.entity.Project;
+import org.arkadipta.projobackend.entity.Task;
+import org.arkadipta.projobackend.enums.Priority;
+import org.arkadipta.projobackend.enums.SearchDocumentType;
+import org.arkadipta.projobackend.enums.TaskStatus;
+import org.arkadipta.projobackend.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.arkadipta.projobackend.support.TestUsers.createUser;
+import static org.arkadipta.projobackend.support.TestUsers.login;
+import static org.arkadipta.projobackend.support.TestUsers.logout;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TypeaheadServiceTest {
+
+    @Autowired
+    private TypeaheadService typeaheadService;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterEach
+    void clearSecurityContext() {
+        logout();
+    }
+
+    @Test
+    void suggestsByWordPrefixAndFollowsWrites() {
+        createUser(userRepository, "typeahead-owner");
+        login("typeahead-owner");
+        Project billing = projectService.createProject(new ProjectRequest("Billing", null, null));
+        Task invoices = createTask("Send invoices", billing);
+        Task bill = createTask("Bill customers", billing);
+        Task review = createTask("Review billing reports", billing);
+
+        // Titles starting with the prefix come first, shortest first; then word matches
+        assertEquals(List.of("PROJECT:" + billing.getId(), "TASK:" + bill.getId(), "TASK:" + review.getId()),
+                keys(suggest("bil", null, 10)));
+        assertEquals(List.of("TASK:" + review.getId()), keys(suggest("billing rep", null, 10)));
+        assertEquals(List.of("TASK:" + bill.getId(), "TASK:" + review.getId()),
+                keys(suggest("BIL", Set.of(SearchDocumentType.TASK), 10)));
+        assertEquals(1, suggest("bil", null, 1).size());
+        assertEquals(billing.getId(), suggest("send", null, 10).get(0).getProjectId());
+        assertThrows(RuntimeException.class, () -> suggest("bil", Set.of(SearchDocumentType.NOTE), 10));
+
+        // Writes through the services patch the loaded index once they commit
+        taskService.updateTask(invoices.getId(), new TaskRequest("Billing run", null, null, null, Priority.LOW,
+                TaskStatus.TO_DO, billing.getId()));
+        taskService.deleteTask(bill.getId());
+        Project ops = projectService.createProject(new ProjectRequest("Ops", null, null));
+        Task deploy = createTask("Deploy billing", ops);
+        assertEquals(List.of("PROJECT:" + billing.getId(), "TASK:" + invoices.getId(), "TASK:" + deploy.getId(),
+                "TASK:" + review.getId()), keys(suggest("billing", null, 10)));
+        assertTrue(suggest("send", null, 10).isEmpty());
+
+        projectService.deleteProject(ops.getId());
+        assertEquals(List.of("PROJECT:" + billing.getId(), "TASK:" + invoices.getId(), "TASK:" + review.getId()),
+                keys(suggest("billing", null, 10)));
+
+        // Another user's titles never show up
+        createUser(userRepository, "typeahead-other");
+        login("typeahead-other");
+        assertTrue(suggest("billing", null, 10).isEmpty());
+    }
+
+    private Task createTask(String title, Project project) {
+        return taskService.createTask(new TaskRequest(title, null, null, null, Priority.MEDIUM, TaskStatus.TO_DO,
+                project.getId()));
+    }
+
+    private List<TitleSuggestion> suggest(String prefix, Set<SearchDocumentType> types, int limit) {
+        return typeaheadService.suggest(prefix, types, limit);
+    }
+
+    private static List<String> keys(List<TitleSuggestion> suggestions) {
+        return suggestions.stream().map(suggestion -> suggestion.getType() + ":" + suggestion.getId()).toList();
+    }
+}
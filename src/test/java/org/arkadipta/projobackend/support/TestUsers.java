@@ -0,0 +1,40 @@
+package org.arkadipta.projobackend.support;
+
+import org.arkadipta.projobackend.entity.User;
+import org.arkadipta.projobackend.repository.UserRepository;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+
+/**
+ * Users and logins for service tests. The services read the current user's
+ * name from the security context, so logging in only needs the username.
+ */
+public final class TestUsers {
+
+    private TestUsers() {
+    }
+
+    /**
+     * Save a user whose full name and email are derived from the username
+     */
+    public static User createUser(UserRepository userRepository, String username) {
+        User user = new User(username, "password");
+        user.setFullName(username);
+        user.setEmail(username + "@example.com");
+        return userRepository.save(user);
+    }
+
+    /**
+     * Act as the given user on the current thread
+     */
+    public static void login(String username) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(username, null, List.of()));
+    }
+
+    public static void logout() {
+        SecurityContextHolder.clearContext();
+    }
+}
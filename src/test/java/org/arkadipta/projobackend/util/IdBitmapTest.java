@@ -0,0 +1,77 @@
+package org.arkadipta.projobackend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdBitmapTest {
+
+    @Test
+    void setOperationsMatchTreeSetAcrossContainerKinds() {
+        Random random = new Random(42);
+        for (int round = 0; round < 20; round++) {
+            // Mixes sparse chunks with chunks dense enough to switch to bitmap containers
+            TreeSet<Long> left = randomIds(random);
+            TreeSet<Long> right = randomIds(random);
+            IdBitmap a = toBitmap(left);
+            IdBitmap b = toBitmap(right);
+
+            TreeSet<Long> and = new TreeSet<>(left);
+            and.retainAll(right);
+            TreeSet<Long> or = new TreeSet<>(left);
+            or.addAll(right);
+            TreeSet<Long> andNot = new TreeSet<>(left);
+            andNot.removeAll(right);
+
+            assertEquals(and, toSet(a.and(b)));
+            assertEquals(or, toSet(a.or(b)));
+            assertEquals(andNot, toSet(a.andNot(b)));
+            assertEquals(left, toSet(a));
+
+            // Removing most of a dense chunk shrinks it back without losing ids
+            left.stream().filter(id -> id % 3 != 0).toList().forEach(id -> {
+                a.remove(id);
+                left.remove(id);
+            });
+            assertEquals(left, toSet(a));
+            assertEquals(left.size(), a.cardinality());
+        }
+    }
+
+    @Test
+    void descendingPagesWalkFromTheLargestId() {
+        IdBitmap bitmap = IdBitmap.of(1, 5, 70_000, 70_001, 200_000);
+        assertEquals(List.of(200_000L, 70_001L), bitmap.descending(0, 2));
+        assertEquals(List.of(70_000L, 5L), bitmap.descending(2, 2));
+        assertEquals(List.of(1L), bitmap.descending(4, 2));
+        assertTrue(bitmap.descending(5, 2).isEmpty());
+    }
+
+    private static TreeSet<Long> randomIds(Random random) {
+        TreeSet<Long> ids = new TreeSet<>();
+        int dense = 3000 + random.nextInt(6000);
+        for (int i = 0; i < dense; i++) {
+            ids.add((long) random.nextInt(65_536));
+        }
+        for (int i = 0; i < 500; i++) {
+            ids.add(65_536L + random.nextInt(1_000_000));
+        }
+        return ids;
+    }
+
+    private static IdBitmap toBitmap(TreeSet<Long> ids) {
+        IdBitmap bitmap = new IdBitmap();
+        ids.forEach(bitmap::add);
+        return bitmap;
+    }
+
+    private static TreeSet<Long> toSet(IdBitmap bitmap) {
+        return Arrays.stream(bitmap.toArray()).boxed().collect(Collectors.toCollection(TreeSet::new));
+    }
+}
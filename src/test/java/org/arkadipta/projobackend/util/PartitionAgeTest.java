@@ -0,0 +1,73 @@
+package org.arkadipta.projobackend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PartitionAgeTest {
+
+    @Test
+    void staleUntilLoadedAndAgainPastTheTtl() {
+        MutableClock clock = new MutableClock();
+        PartitionAge age = new PartitionAge(clock);
+        assertFalse(age.isLoaded());
+        assertTrue(age.isStale(30));
+
+        age.loaded();
+        assertTrue(age.isLoaded());
+        clock.advance(Duration.ofMinutes(30));
+        assertFalse(age.isStale(30));
+        clock.advance(Duration.ofMillis(1));
+        assertTrue(age.isStale(30));
+
+        // Reloading restarts the age
+        age.loaded();
+        assertFalse(age.isStale(30));
+    }
+
+    @Test
+    void idleOnlyWhenUnusedPastTheTtl() {
+        MutableClock clock = new MutableClock();
+        PartitionAge age = new PartitionAge(clock);
+        age.loaded();
+
+        clock.advance(Duration.ofMinutes(20));
+        age.touch();
+        clock.advance(Duration.ofMinutes(20));
+        assertFalse(age.isIdle(30));
+        // Use keeps a partition from being dropped but not from being reloaded
+        assertTrue(age.isStale(30));
+
+        clock.advance(Duration.ofMinutes(11));
+        assertTrue(age.isIdle(30));
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now = Instant.parse("2026-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}